@@ -25,11 +25,27 @@ android {
             )
         }
     }
+    buildFeatures {
+        // AppLog 가 디버그 빌드 여부(BuildConfig.DEBUG)로 상세 로그를 거른다
+        buildConfig = true
+    }
     compileOptions {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+
+    testOptions {
+        // JVM 단위 테스트에서 android.util.Log 등 스텁 호출이 예외 대신 기본값을 반환
+        unitTests.isReturnDefaultValues = true
+    }
     
+    sourceSets {
+        getByName("main") {
+            // 저장소 루트의 모듈형 대시보드(index.html, assets/css, assets/js)를 APK 의 web/ 아래에 포함
+            assets.srcDir(layout.buildDirectory.dir("generated/webModuleAssets"))
+        }
+    }
+
     packaging {
         resources {
             excludes += "/META-INF/{AL2.0,LGPL2.1}"
@@ -47,6 +63,16 @@ android {
     }
 }
 
+val syncWebModuleAssets by tasks.registering(Sync::class) {
+    from(rootProject.file("index.html")) { into("web") }
+    from(rootProject.file("assets")) { into("web/assets") }
+    into(layout.buildDirectory.dir("generated/webModuleAssets"))
+}
+
+tasks.named("preBuild") {
+    dependsOn(syncWebModuleAssets)
+}
+
 dependencies {
 
     implementation(libs.appcompat)
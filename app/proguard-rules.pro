@@ -31,4 +31,10 @@
 
 # Keep NanoHTTPD classes  
 -keep class fi.iki.elonen.** { *; }
--dontwarn fi.iki.elonen.**
\ No newline at end of file
+-dontwarn fi.iki.elonen.**
+
+# Strip AppLog debug/verbose calls (and their message building) from minified builds
+-assumenosideeffects class com.example.couponman_6.AppLog {
+    public static void v(...);
+    public static void d(...);
+}
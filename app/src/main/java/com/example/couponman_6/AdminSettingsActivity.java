@@ -8,8 +8,10 @@ import android.text.format.Formatter;
 import android.util.Log;
 import android.view.View;
 import android.view.WindowManager;
+import android.widget.ArrayAdapter;
 import android.widget.Button;
 import android.widget.EditText;
+import android.widget.Spinner;
 import android.widget.Switch;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -26,6 +28,7 @@ public class AdminSettingsActivity extends AppCompatActivity {
     private Switch switchAutoSync;
     private Switch switchKeepScreenOn;
     private Switch switchForceRotation;
+    private Spinner spinnerLogLevel;
     private EditText etAdminUserId;
     private EditText etAdminPassword;
     private EditText etParkingUrl;
@@ -58,6 +61,7 @@ public class AdminSettingsActivity extends AppCompatActivity {
         switchAutoSync = findViewById(R.id.switchAutoSync);
         switchKeepScreenOn = findViewById(R.id.switchKeepScreenOn);
         switchForceRotation = findViewById(R.id.switchForceRotation);
+        spinnerLogLevel = findViewById(R.id.spinnerLogLevel);
         etAdminUserId = findViewById(R.id.etAdminUserId);
         etAdminPassword = findViewById(R.id.etAdminPassword);
         etParkingUrl = findViewById(R.id.etParkingUrl);
@@ -70,6 +74,11 @@ public class AdminSettingsActivity extends AppCompatActivity {
 
         sharedPreferences = getSharedPreferences("AdminSettings", MODE_PRIVATE);
         systemSettings = getSharedPreferences("SystemSettings", MODE_PRIVATE);
+
+        ArrayAdapter<String> logLevelAdapter = new ArrayAdapter<>(this,
+                android.R.layout.simple_spinner_item, AppLog.LEVEL_LABELS);
+        logLevelAdapter.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerLogLevel.setAdapter(logLevelAdapter);
     }
 
     private void loadSettings() {
@@ -77,6 +86,12 @@ public class AdminSettingsActivity extends AppCompatActivity {
         switchAutoSync.setChecked(sharedPreferences.getBoolean("auto_sync", false));
         switchKeepScreenOn.setChecked(sharedPreferences.getBoolean("keep_screen_on", true));
         switchForceRotation.setChecked(sharedPreferences.getBoolean("force_rotation", false));
+        int logLevel = sharedPreferences.getInt(AppLog.KEY_LOG_LEVEL, AppLog.getMinLevel());
+        for (int i = 0; i < AppLog.LEVELS.length; i++) {
+            if (AppLog.LEVELS[i] == logLevel) {
+                spinnerLogLevel.setSelection(i);
+            }
+        }
         etAdminUserId.setText(sharedPreferences.getString("admin_user_id", ""));
         etAdminPassword.setText(sharedPreferences.getString("admin_password", ""));
 
@@ -123,6 +138,8 @@ public class AdminSettingsActivity extends AppCompatActivity {
         editor.putBoolean("auto_sync", switchAutoSync.isChecked());
         editor.putBoolean("keep_screen_on", switchKeepScreenOn.isChecked());
         editor.putBoolean("force_rotation", switchForceRotation.isChecked());
+        int logLevel = AppLog.LEVELS[spinnerLogLevel.getSelectedItemPosition()];
+        editor.putInt(AppLog.KEY_LOG_LEVEL, logLevel);
 
         // API 인증 정보 저장
         String userId = etAdminUserId.getText().toString().trim();
@@ -144,6 +161,7 @@ public class AdminSettingsActivity extends AppCompatActivity {
         editor.putString("admin_password", password);
 
         editor.apply();
+        AppLog.setMinLevel(logLevel);
 
         // 주차등록 URL 저장 (SystemSettings에 저장)
         SharedPreferences.Editor systemEditor = systemSettings.edit();
@@ -0,0 +1,252 @@
+package com.example.couponman_6;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Method;
+import fi.iki.elonen.NanoHTTPD.Response;
+
+/**
+ * 경로 세그먼트 트라이 기반 라우팅 테이블.
+ * 템플릿은 "/api/corporates/{id}/employees" 형태이며, 매칭 중에는 URI 를 잘라내지 않고
+ * 파라미터 위치(start/end)만 기록한다. 실제 문자열은 핸들러가 {@link PathParams#get(String)} 할 때 만든다.
+ */
+public class ApiRouter {
+
+    /** 라우트 핸들러 */
+    public interface Handler {
+        Response handle(IHTTPSession session, PathParams params) throws Exception;
+    }
+
+    /** 등록된 라우트 (메서드 + 템플릿 + 인증 필요 여부) */
+    public static final class Route {
+        private final Method method;
+        private final String template;
+        private final boolean requiresAuth;
+        private final Handler handler;
+
+        Route(Method method, String template, boolean requiresAuth, Handler handler) {
+            this.method = method;
+            this.template = template;
+            this.requiresAuth = requiresAuth;
+            this.handler = handler;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public String getTemplate() {
+            return template;
+        }
+
+        public boolean requiresAuth() {
+            return requiresAuth;
+        }
+
+        public Handler getHandler() {
+            return handler;
+        }
+    }
+
+    /** 매칭된 경로 파라미터. URI 내 위치만 보관한다. */
+    public static final class PathParams {
+        private static final int MAX_PARAMS = 4;
+
+        private final String uri;
+        private final String[] names = new String[MAX_PARAMS];
+        private final int[] starts = new int[MAX_PARAMS];
+        private final int[] ends = new int[MAX_PARAMS];
+        private int count;
+
+        PathParams(String uri) {
+            this.uri = uri;
+        }
+
+        public String get(String name) {
+            for (int i = 0; i < count; i++) {
+                if (names[i].equals(name)) {
+                    return uri.substring(starts[i], ends[i]);
+                }
+            }
+            return null;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        void push(String name, int start, int end) {
+            names[count] = name;
+            starts[count] = start;
+            ends[count] = end;
+            count++;
+        }
+
+        void pop() {
+            count--;
+        }
+    }
+
+    /** 매칭 결과 */
+    public static final class Match {
+        private final Route route;
+        private final PathParams params;
+
+        Match(Route route, PathParams params) {
+            this.route = route;
+            this.params = params;
+        }
+
+        public Route getRoute() {
+            return route;
+        }
+
+        public PathParams getParams() {
+            return params;
+        }
+
+        public Response dispatch(IHTTPSession session) throws Exception {
+            return route.handler.handle(session, params);
+        }
+    }
+
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private final String segment;
+        private Node[] children = NO_CHILDREN;
+        private Node paramChild;
+        private String paramName;
+        private Map<Method, Route> routes;
+
+        Node(String segment) {
+            this.segment = segment;
+        }
+
+        Node staticChild(String uri, int start, int end) {
+            int length = end - start;
+            for (Node child : children) {
+                if (child.segment.length() == length && uri.regionMatches(start, child.segment, 0, length)) {
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final Node root = new Node("");
+    private int routeCount;
+
+    /** 인증이 필요한 라우트 등록 */
+    public ApiRouter add(Method method, String template, Handler handler) {
+        return add(method, template, true, handler);
+    }
+
+    /** 인증 없이 접근 가능한 라우트 등록 */
+    public ApiRouter addPublic(Method method, String template, Handler handler) {
+        return add(method, template, false, handler);
+    }
+
+    public ApiRouter add(Method method, String template, boolean requiresAuth, Handler handler) {
+        Node node = root;
+        int length = template.length();
+        int pos = template.startsWith("/") ? 1 : 0;
+        int paramCount = 0;
+        while (pos < length) {
+            int end = template.indexOf('/', pos);
+            if (end < 0) {
+                end = length;
+            }
+            String segment = template.substring(pos, end);
+            if (segment.startsWith("{") && segment.endsWith("}")) {
+                String name = segment.substring(1, segment.length() - 1);
+                if (node.paramChild == null) {
+                    node.paramChild = new Node(segment);
+                    node.paramName = name;
+                } else if (!node.paramName.equals(name)) {
+                    throw new IllegalArgumentException("Conflicting path parameter {" + name + "} in " + template);
+                }
+                node = node.paramChild;
+                paramCount++;
+            } else {
+                Node child = node.staticChild(segment, 0, segment.length());
+                if (child == null) {
+                    child = new Node(segment);
+                    Node[] grown = new Node[node.children.length + 1];
+                    System.arraycopy(node.children, 0, grown, 0, node.children.length);
+                    grown[node.children.length] = child;
+                    node.children = grown;
+                }
+                node = child;
+            }
+            pos = end + 1;
+        }
+        if (paramCount > PathParams.MAX_PARAMS) {
+            throw new IllegalArgumentException("Too many path parameters in " + template);
+        }
+        if (node.routes == null) {
+            node.routes = new EnumMap<>(Method.class);
+        }
+        if (node.routes.put(method, new Route(method, template, requiresAuth, handler)) != null) {
+            throw new IllegalArgumentException("Duplicate route: " + method + " " + template);
+        }
+        routeCount++;
+        return this;
+    }
+
+    /** 메서드와 URI 에 맞는 라우트를 찾는다. 없으면 null. */
+    public Match match(Method method, String uri) {
+        if (uri == null || uri.isEmpty() || uri.charAt(0) != '/') {
+            return null;
+        }
+        PathParams params = new PathParams(uri);
+        Node node = find(root, uri, 1, params);
+        if (node == null || node.routes == null) {
+            return null;
+        }
+        Route route = node.routes.get(method);
+        return route != null ? new Match(route, params) : null;
+    }
+
+    public int getRouteCount() {
+        return routeCount;
+    }
+
+    /** 정적 세그먼트를 우선 시도하고, 실패하면 파라미터 노드로 되돌아간다. */
+    private Node find(Node node, String uri, int pos, PathParams params) {
+        int length = uri.length();
+        if (pos >= length) {
+            return node.routes != null ? node : null;
+        }
+        int end = uri.indexOf('/', pos);
+        if (end < 0) {
+            end = length;
+        }
+        int next = end + 1;
+        if (end == length) {
+            next = length;
+        } else if (next == length) {
+            // 끝의 '/' 는 빈 세그먼트로 취급하지 않고 매칭 실패로 처리
+            return null;
+        }
+
+        Node child = node.staticChild(uri, pos, end);
+        if (child != null) {
+            Node found = find(child, uri, next, params);
+            if (found != null) {
+                return found;
+            }
+        }
+        if (node.paramChild != null && end > pos) {
+            params.push(node.paramName, pos, end);
+            Node found = find(node.paramChild, uri, next, params);
+            if (found != null) {
+                return found;
+            }
+            params.pop();
+        }
+        return null;
+    }
+}
@@ -4,6 +4,8 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
 import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 import fi.iki.elonen.NanoHTTPD;
 
 import java.io.IOException;
@@ -17,15 +19,18 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 // 네트워크 관련 imports
 import java.net.*;
 import java.io.*;
-import javax.net.ssl.*;
-import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.nio.charset.StandardCharsets;
 
 // 파일 I/O imports
 import java.io.FileInputStream;
@@ -34,6 +39,12 @@ import java.io.ByteArrayOutputStream;
 public class ApiServer extends NanoHTTPD {
 
     private static final String TAG = "ApiServer";
+    /** 백업/복구 스트림 버퍼 크기 */
+    private static final int BACKUP_BUFFER_SIZE = 64 * 1024;
+    /** 서버 시작 때 메모리에 올리는 대시보드 자산 루트 (APK assets/web) */
+    private static final String STATIC_ASSET_ROOT = "web";
+    private static final String DASHBOARD_ASSET = "web/external_dashboard.html";
+
     private Gson gson;
     private List<Map<String, Object>> coupons;
     private Map<String, String> activeTokens;
@@ -44,7 +55,22 @@ public class ApiServer extends NanoHTTPD {
     private CouponDAO couponDAO;
     private CouponDeliveryDAO couponDeliveryDAO;
     private TransactionDAO transactionDAO;
+    private StatisticsDAO statisticsDAO;
+    private DatabaseBackup databaseBackup;
+    private final AtomicBoolean backupInProgress = new AtomicBoolean(false);
+    private final AtomicBoolean restoreInProgress = new AtomicBoolean(false);
+    private volatile DatabaseBackup.CountingInputStream restoreBody;
+    private volatile String restorePhase;
+    private volatile String restoreTable;
+    private volatile int restoreRows;
     private DatabaseHelper databaseHelper;
+    private BoundedAsyncRunner workerPool;
+    private DeliveryQueue deliveryQueue;
+    private final SmtpTransport smtpTransport = new SmtpTransport();
+    private final NusomeGateway nusomeGateway = new NusomeGateway();
+    private final StaticAssets staticAssets;
+    private final ResponseCompressor responseCompressor = new ResponseCompressor();
+    private final ApiRouter router;
 
     public ApiServer(String hostname, int port, Context context) {
         super(hostname, port);
@@ -52,7 +78,8 @@ public class ApiServer extends NanoHTTPD {
         gson = new Gson();
         activeTokens = new HashMap<>();
         sharedPreferences = context.getSharedPreferences("AdminSettings", Context.MODE_PRIVATE);
-        databaseHelper = new DatabaseHelper(context);
+        AppLog.configure(context);
+        databaseHelper = DatabaseHelper.getInstance(context);
         corporateDAO = new CorporateDAO(context);
         corporateDAO.open();
         employeeDAO = new EmployeeDAO(context);
@@ -63,12 +90,166 @@ public class ApiServer extends NanoHTTPD {
         couponDeliveryDAO.open();
         transactionDAO = new TransactionDAO(context);
         transactionDAO.open();
+        statisticsDAO = new StatisticsDAO(context);
+        statisticsDAO.open();
+        databaseBackup = new DatabaseBackup(context);
+        applySmsGatewaySettings();
+        deliveryQueue = new DeliveryQueue(couponDeliveryDAO, this::deliverQueued);
+        deliveryQueue.recoverPending();
+        staticAssets = StaticAssets.load(context.getAssets(), STATIC_ASSET_ROOT);
+        router = buildRouter(this, staticAssets.getPaths());
         initializeSampleData();
     }
 
+    /**
+     * URI 템플릿 → 핸들러 라우팅 테이블 구성.
+     * 핸들러는 호출될 때만 server 를 사용하므로, 단위 테스트는 server 없이 운영 라우트 표의 매칭만 검증할 수 있다.
+     */
+    static ApiRouter buildRouter(ApiServer server, Iterable<String> staticAssetPaths) {
+        ApiRouter r = new ApiRouter();
+
+        // 대시보드와 API 안내는 기존 분기와 같이 HTTP 메서드와 관계없이 응답한다 (OPTIONS 는 serve() 에서 먼저 처리)
+        for (Method any : Method.values()) {
+            if (Method.OPTIONS.equals(any)) {
+                continue;
+            }
+            r.addPublic(any, "/dashboard", (s, p) -> server.handleStaticAsset(s, DASHBOARD_ASSET));
+            r.addPublic(any, "/", (s, p) -> server.handleApiInfo());
+            r.addPublic(any, "/api", (s, p) -> server.handleApiInfo());
+        }
+        // web/ 아래 자산은 같은 경로로 노출 (예: /web/index.html, /web/assets/js/core/app.js)
+        for (String assetPath : staticAssetPaths) {
+            r.addPublic(Method.GET, "/" + assetPath, (s, p) -> server.handleStaticAsset(s, assetPath));
+        }
+        r.addPublic(Method.POST, "/api/login", (s, p) -> server.handleLogin(s));
+        r.addPublic(Method.GET, "/api/server/status", (s, p) -> server.handleServerStatus());
+
+        // 쿠폰
+        r.add(Method.GET, "/api/coupons", (s, p) -> server.handleGetCoupons(s));
+        r.add(Method.POST, "/api/coupons", (s, p) -> server.handleCreateCoupon(s));
+        r.add(Method.POST, "/api/coupons/validate", (s, p) -> server.handleValidateCoupon(s));
+        r.add(Method.GET, "/api/coupons/{id}", (s, p) -> server.handleGetCoupon(p.get("id")));
+        r.add(Method.GET, "/api/coupons/{id}/qr", (s, p) -> server.handleGetCouponQr(p.get("id")));
+        r.add(Method.PUT, "/api/coupons/{id}", (s, p) -> server.handleUpdateCoupon(p.get("id"), s));
+        r.add(Method.DELETE, "/api/coupons/{id}", (s, p) -> server.handleDeleteCoupon(p.get("id")));
+
+        // 거래처
+        r.add(Method.GET, "/api/corporates", (s, p) -> server.handleGetCorporates(s));
+        r.add(Method.POST, "/api/corporates", (s, p) -> server.handleCreateCorporate(s));
+        r.add(Method.GET, "/api/corporates/search", (s, p) -> server.handleSearchCorporates(s));
+        r.add(Method.GET, "/api/corporates/{id}", (s, p) -> server.handleGetCorporate(p.get("id")));
+        r.add(Method.PUT, "/api/corporates/{id}", (s, p) -> server.handleUpdateCorporate(p.get("id"), s));
+        r.add(Method.DELETE, "/api/corporates/{id}", (s, p) -> server.handleDeleteCorporate(p.get("id")));
+        r.add(Method.GET, "/api/corporates/{id}/employees", (s, p) -> server.handleGetEmployeesByCorporate(p.get("id")));
+        r.add(Method.GET, "/api/corporates/{id}/coupons", (s, p) -> server.handleGetCouponsByCorporate(p.get("id")));
+
+        // 직원
+        r.add(Method.GET, "/api/employees", (s, p) -> server.handleGetEmployees());
+        r.add(Method.POST, "/api/employees", (s, p) -> server.handleCreateEmployee(s));
+        r.add(Method.POST, "/api/employees/check-phone", (s, p) -> server.handleCheckEmployeePhone(s));
+        r.add(Method.GET, "/api/employees/{id}", (s, p) -> server.handleGetEmployee(p.get("id")));
+        r.add(Method.PUT, "/api/employees/{id}", (s, p) -> server.handleUpdateEmployee(p.get("id"), s));
+        r.add(Method.DELETE, "/api/employees/{id}", (s, p) -> server.handleDeleteEmployee(p.get("id")));
+
+        // 이메일 / SMS 설정
+        r.add(Method.GET, "/api/email-config", (s, p) -> server.handleGetEmailConfig());
+        r.add(Method.POST, "/api/email-config", (s, p) -> server.handleSaveEmailConfig(s));
+        r.add(Method.POST, "/api/email-config/test", (s, p) -> server.handleTestEmailConnection(s));
+        r.add(Method.GET, "/api/sms-config", (s, p) -> server.handleGetSmsConfig());
+        r.add(Method.POST, "/api/sms-config", (s, p) -> server.handleSaveSmsConfig(s));
+        r.add(Method.POST, "/api/sms-config/test", (s, p) -> server.handleTestSmsConnection(s));
+
+        // 쿠폰 발송
+        r.add(Method.POST, "/api/coupon-send/email", (s, p) -> server.handleSendCouponEmail(s));
+        r.add(Method.POST, "/api/coupon-send/sms", (s, p) -> server.handleSendCouponSMS(s));
+        r.add(Method.POST, "/api/coupon-send/kakao", (s, p) -> server.handleSendCouponKakao(s));
+        r.add(Method.POST, "/api/coupon-send/bulk", (s, p) -> server.handleBulkSendCoupons(s));
+        r.add(Method.GET, "/api/coupon-send/jobs/{jobId}", (s, p) -> server.handleGetDeliveryJob(p.get("jobId")));
+        r.add(Method.GET, "/api/coupon-send/history", (s, p) -> server.handleGetDeliveryHistory(s));
+        r.add(Method.GET, "/api/coupon-send/history/latest", (s, p) -> server.handleGetLatestDeliveryStatuses(s));
+
+        // 통계
+        r.add(Method.GET, "/api/statistics/corporate", (s, p) -> server.handleGetCorporateStatistics(s));
+        r.add(Method.GET, "/api/statistics/corporate/{id}", (s, p) -> server.handleGetCorporateDetailStatistics(p.get("id"), s));
+
+        // 설정
+        r.add(Method.GET, "/api/system/settings", (s, p) -> server.handleGetSystemSettings());
+        r.add(Method.POST, "/api/system/settings", (s, p) -> server.handleSaveSystemSettings(s));
+        r.add(Method.GET, "/api/price-settings", (s, p) -> server.handleGetPriceSettings());
+        r.add(Method.POST, "/api/price-settings", (s, p) -> server.handleSavePriceSettings(s));
+        r.add(Method.GET, "/api/business-settings", (s, p) -> server.handleGetBusinessSettings());
+        r.add(Method.POST, "/api/business-settings", (s, p) -> server.handleSaveBusinessSettings(s));
+
+        // 거래 내역
+        r.add(Method.GET, "/api/transactions", (s, p) -> server.handleGetUsageHistory(s));
+        r.add(Method.GET, "/api/transactions/monthly", (s, p) -> server.handleGetMonthlyTransactions(s));
+        r.add(Method.GET, "/api/transactions/employee/{id}/daily", (s, p) -> server.handleGetEmployeeDailyTransactions(p.get("id"), s));
+
+        // 백업 / 복구
+        r.add(Method.GET, "/api/backup", (s, p) -> server.handleBackupDatabase(s));
+        r.add(Method.POST, "/api/restore", (s, p) -> server.handleRestoreDatabase(s));
+        r.add(Method.GET, "/api/restore/progress", (s, p) -> server.handleGetRestoreProgress());
+
+        AppLog.i(TAG, "Registered " + r.getRouteCount() + " API routes");
+        return r;
+    }
+
+    /** 연결 처리용 워커 풀 지정 (start() 이전에 호출) */
+    public void setWorkerPool(BoundedAsyncRunner workerPool) {
+        this.workerPool = workerPool;
+        setAsyncRunner(workerPool);
+    }
+
+    @Override
+    protected ClientHandler createClientHandler(final Socket finalAccept, final InputStream inputStream) {
+        return new PooledClientHandler(inputStream, finalAccept);
+    }
+
+    /** 워커 풀이 포화되면 요청을 읽지 않고 503 응답 후 연결을 닫는 핸들러 */
+    private class PooledClientHandler extends ClientHandler implements BoundedAsyncRunner.Rejectable {
+        private final Socket socket;
+
+        PooledClientHandler(InputStream inputStream, Socket socket) {
+            super(inputStream, socket);
+            this.socket = socket;
+        }
+
+        @Override
+        public void rejectBusy(int retryAfterSeconds) {
+            if (socket.isClosed()) {
+                return;
+            }
+            try {
+                byte[] body = "{\"success\":false,\"message\":\"서버가 혼잡합니다. 잠시 후 다시 시도해주세요.\"}"
+                        .getBytes("UTF-8");
+                String header = "HTTP/1.1 503 Service Unavailable\r\n"
+                        + "Retry-After: " + retryAfterSeconds + "\r\n"
+                        + "Content-Type: application/json; charset=utf-8\r\n"
+                        + "Content-Length: " + body.length + "\r\n"
+                        + "Access-Control-Allow-Origin: *\r\n"
+                        + "Connection: close\r\n\r\n";
+                socket.setSoTimeout(1000);
+                OutputStream out = socket.getOutputStream();
+                out.write(header.getBytes("US-ASCII"));
+                out.write(body);
+                out.flush();
+            } catch (IOException e) {
+                AppLog.w(TAG, "[WORKER-POOL] 503 write failed: " + e.getMessage());
+            }
+        }
+    }
+
     @Override
     public void stop() {
         super.stop();
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+        if (deliveryQueue != null) {
+            deliveryQueue.shutdown();
+        }
+        smtpTransport.closeAll();
+        nusomeGateway.shutdown();
         if (corporateDAO != null) {
             corporateDAO.shutdown();
         }
@@ -84,7 +265,10 @@ public class ApiServer extends NanoHTTPD {
         if (transactionDAO != null) {
             transactionDAO.shutdown();
         }
-        Log.i(TAG, "API Server stopped and database connection closed");
+        if (statisticsDAO != null) {
+            statisticsDAO.shutdown();
+        }
+        AppLog.i(TAG, "API Server stopped and database connection closed");
     }
 
     private void initializeSampleData() {
@@ -121,9 +305,9 @@ public class ApiServer extends NanoHTTPD {
         Method method = session.getMethod();
         String clientIP = session.getHeaders().get("remote-addr");
         
-        // 요청 로그 출력
-        Log.i(TAG, String.format("API Request: %s %s from %s", method, uri, clientIP));
-        Log.i(TAG, "Headers: " + session.getHeaders().toString());
+        // 요청 로그 출력 (헤더는 상세 로그에서만)
+        AppLog.d(TAG, () -> "API Request: " + method + " " + uri + " from " + clientIP);
+        AppLog.d(TAG, () -> "Headers: " + session.getHeaders());
 
         Response response = newFixedLengthResponse(Response.Status.NOT_FOUND, 
                 MIME_PLAINTEXT, "404 Not Found");
@@ -135,7 +319,7 @@ public class ApiServer extends NanoHTTPD {
         response.addHeader("Access-Control-Max-Age", "3600");
 
         if (Method.OPTIONS.equals(method)) {
-            Log.i(TAG, "CORS Preflight request handled for: " + uri);
+            AppLog.d(TAG, () -> "CORS Preflight request handled for: " + uri);
             Response optionsResponse = newFixedLengthResponse(Response.Status.OK, MIME_PLAINTEXT, "");
             optionsResponse.addHeader("Access-Control-Allow-Origin", "*");
             optionsResponse.addHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
@@ -144,262 +328,17 @@ public class ApiServer extends NanoHTTPD {
         }
 
         try {
-            switch (uri) {
-                case "/dashboard":
-                    response = handleDashboardRequest();
-                    break;
-                case "/":
-                case "/api":
-                    response = handleApiInfo();
-                    break;
-                case "/api/login":
-                    if (Method.POST.equals(method)) {
-                        response = handleLogin(session);
-                    }
-                    break;
-                case "/api/coupons":
-                    if (!isAuthorized(session)) {
-                        response = createUnauthorizedResponse();
-                    } else if (Method.GET.equals(method)) {
-                        response = handleGetCoupons();
-                    } else if (Method.POST.equals(method)) {
-                        response = handleCreateCoupon(session);
-                    }
-                    break;
-                case "/api/coupons/validate":
-                    if (!isAuthorized(session)) {
-                        response = createUnauthorizedResponse();
-                    } else if (Method.POST.equals(method)) {
-                        response = handleValidateCoupon(session);
-                    }
-                    break;
-                case "/api/server/status":
-                    response = handleServerStatus();
-                    break;
-                case "/api/corporates":
-                    if (!isAuthorized(session)) {
-                        response = createUnauthorizedResponse();
-                    } else if (Method.GET.equals(method)) {
-                        response = handleGetCorporates(session);
-                    } else if (Method.POST.equals(method)) {
-                        response = handleCreateCorporate(session);
-                    }
-                    break;
-                default:
-                    if (uri.startsWith("/api/coupons/")) {
-                        Log.i(TAG, "[COUPON-API] URI matched: /api/coupons/*");
-                        Log.i(TAG, "[COUPON-API] Method: " + method);
-                        
-                        if (!isAuthorized(session)) {
-                            Log.w(TAG, "[COUPON-API] Unauthorized request for: " + uri);
-                            response = createUnauthorizedResponse();
-                        } else {
-                            String couponId = uri.substring("/api/coupons/".length());
-                            Log.i(TAG, "[COUPON-API] Extracted coupon ID: " + couponId);
-                            
-                            if (Method.GET.equals(method)) {
-                                Log.i(TAG, "[COUPON-API] Handling GET request for coupon: " + couponId);
-                                response = handleGetCoupon(couponId);
-                            } else if (Method.PUT.equals(method)) {
-                                Log.i(TAG, "[COUPON-API] Handling PUT request for coupon: " + couponId);
-                                response = handleUpdateCoupon(couponId, session);
-                            } else if (Method.DELETE.equals(method)) {
-                                Log.i(TAG, "[COUPON-API] Handling DELETE request for coupon: " + couponId);
-                                response = handleDeleteCoupon(couponId);
-                            } else {
-                                Log.w(TAG, "[COUPON-API] Unsupported method: " + method);
-                            }
-                        }
-                    } else if (uri.startsWith("/api/corporates/")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else {
-                            String path = uri.substring("/api/corporates/".length());
-                            if (path.equals("search")) {
-                                response = handleSearchCorporates(session);
-                            } else if (path.contains("/employees")) {
-                                // 거래처별 직원 관련 API
-                                String[] parts = path.split("/");
-                                if (parts.length >= 2) {
-                                    String corporateId = parts[0];
-                                    if (Method.GET.equals(method)) {
-                                        response = handleGetEmployeesByCorporate(corporateId);
-                                    }
-                                }
-                            } else if (path.contains("/coupons")) {
-                                // 거래처별 쿠폰 관련 API
-                                String[] parts = path.split("/");
-                                if (parts.length >= 2) {
-                                    String corporateId = parts[0];
-                                    if (Method.GET.equals(method)) {
-                                        response = handleGetCouponsByCorporate(corporateId);
-                                    }
-                                }
-                            } else {
-                                String corporateId = path;
-                                if (Method.GET.equals(method)) {
-                                    response = handleGetCorporate(corporateId);
-                                } else if (Method.PUT.equals(method)) {
-                                    response = handleUpdateCorporate(corporateId, session);
-                                } else if (Method.DELETE.equals(method)) {
-                                    response = handleDeleteCorporate(corporateId);
-                                }
-                            }
-                        }
-                    } else if (uri.startsWith("/api/employees")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/employees")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetEmployees();
-                            } else if (Method.POST.equals(method)) {
-                                response = handleCreateEmployee(session);
-                            }
-                        } else if (uri.equals("/api/employees/check-phone")) {
-                            if (Method.POST.equals(method)) {
-                                response = handleCheckEmployeePhone(session);
-                            }
-                        } else if (uri.startsWith("/api/employees/")) {
-                            String employeeId = uri.substring("/api/employees/".length());
-                            if (Method.GET.equals(method)) {
-                                response = handleGetEmployee(employeeId);
-                            } else if (Method.PUT.equals(method)) {
-                                response = handleUpdateEmployee(employeeId, session);
-                            } else if (Method.DELETE.equals(method)) {
-                                response = handleDeleteEmployee(employeeId);
-                            }
-                        }
-                    } else if (uri.startsWith("/api/email-config")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/email-config")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetEmailConfig();
-                            } else if (Method.POST.equals(method)) {
-                                response = handleSaveEmailConfig(session);
-                            }
-                        } else if (uri.equals("/api/email-config/test")) {
-                            if (Method.POST.equals(method)) {
-                                response = handleTestEmailConnection(session);
-                            }
-                        }
-                    } else if (uri.startsWith("/api/sms-config")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/sms-config")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetSmsConfig();
-                            } else if (Method.POST.equals(method)) {
-                                response = handleSaveSmsConfig(session);
-                            }
-                        } else if (uri.equals("/api/sms-config/test")) {
-                            if (Method.POST.equals(method)) {
-                                response = handleTestSmsConnection(session);
-                            }
-                        }
-                    } else if (uri.startsWith("/api/coupon-send")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/coupon-send/email")) {
-                            if (Method.POST.equals(method)) {
-                                response = handleSendCouponEmail(session);
-                            }
-                        } else if (uri.equals("/api/coupon-send/sms")) {
-                            if (Method.POST.equals(method)) {
-                                response = handleSendCouponSMS(session);
-                            }
-                        } else if (uri.equals("/api/coupon-send/kakao")) {
-                            if (Method.POST.equals(method)) {
-                                response = handleSendCouponKakao(session);
-                            }
-                        } else if (uri.startsWith("/api/coupon-send/")) {
-                            String path = uri.substring("/api/coupon-send/".length());
-                            if (path.equals("history")) {
-                                if (Method.GET.equals(method)) {
-                                    response = handleGetDeliveryHistory(session);
-                                }
-                            }
-                        }
-                    } else if (uri.startsWith("/api/statistics/")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/statistics/corporate")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetCorporateStatistics(session);
-                            }
-                        } else if (uri.startsWith("/api/statistics/corporate/")) {
-                            String corporateId = uri.substring("/api/statistics/corporate/".length());
-                            if (Method.GET.equals(method)) {
-                                response = handleGetCorporateDetailStatistics(corporateId, session);
-                            }
-                        }
-                    } else if (uri.startsWith("/api/system/settings")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/system/settings")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetSystemSettings();
-                            } else if (Method.POST.equals(method)) {
-                                response = handleSaveSystemSettings(session);
-                            }
-                        }
-                    } else if (uri.startsWith("/api/price-settings")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/price-settings")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetPriceSettings();
-                            } else if (Method.POST.equals(method)) {
-                                response = handleSavePriceSettings(session);
-                            }
-                        }
-                    } else if (uri.startsWith("/api/business-settings")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/business-settings")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetBusinessSettings();
-                            } else if (Method.POST.equals(method)) {
-                                response = handleSaveBusinessSettings(session);
-                            }
-                        }
-                    } else if (uri.startsWith("/api/transactions")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (uri.equals("/api/transactions/monthly")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetMonthlyTransactions(session);
-                            }
-                        } else if (uri.startsWith("/api/transactions/employee/")) {
-                            String path = uri.substring("/api/transactions/employee/".length());
-                            if (path.contains("/daily")) {
-                                String employeeId = path.substring(0, path.indexOf("/daily"));
-                                if (Method.GET.equals(method)) {
-                                    response = handleGetEmployeeDailyTransactions(employeeId, session);
-                                }
-                            }
-                        } else if (uri.equals("/api/transactions")) {
-                            if (Method.GET.equals(method)) {
-                                response = handleGetUsageHistory(session);
-                            }
-                        }
-                    } else if (uri.equals("/api/backup")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (Method.GET.equals(method)) {
-                            response = handleBackupDatabase();
-                        }
-                    } else if (uri.equals("/api/restore")) {
-                        if (!isAuthorized(session)) {
-                            response = createUnauthorizedResponse();
-                        } else if (Method.POST.equals(method)) {
-                            response = handleRestoreDatabase(session);
-                        }
-                    }
-                    break;
+            ApiRouter.Match match = router.match(method, uri);
+            if (match != null) {
+                if (match.getRoute().requiresAuth() && !isAuthorized(session)) {
+                    AppLog.w(TAG, "Unauthorized request for: " + uri);
+                    response = createUnauthorizedResponse();
+                } else {
+                    response = match.dispatch(session);
+                }
             }
         } catch (Exception e) {
-            Log.e(TAG, "Error processing request: " + uri, e);
+            AppLog.e(TAG, "Error processing request: " + uri, e);
             response = newFixedLengthResponse(Response.Status.INTERNAL_ERROR, 
                     MIME_PLAINTEXT, "Internal Server Error: " + e.getMessage());
         }
@@ -408,27 +347,30 @@ public class ApiServer extends NanoHTTPD {
         response.addHeader("Access-Control-Allow-Origin", "*");
         response.addHeader("Access-Control-Allow-Methods", "GET, POST, PUT, DELETE, OPTIONS");
         response.addHeader("Access-Control-Allow-Headers", "Content-Type, Authorization, X-Requested-With");
+
+        // 큰 JSON/텍스트 응답은 gzip 으로 (클라이언트가 지원할 때)
+        response = responseCompressor.encode(session, response);
         
         // 응답 로그
-        Log.i(TAG, String.format("API Response: %s %s -> %s", method, uri, response.getStatus()));
+        Response.IStatus status = response.getStatus();
+        AppLog.i(TAG, () -> "API " + method + " " + uri + " -> " + status.getRequestStatus() + " (" + clientIP + ")");
         
         return response;
     }
 
-    private Response handleDashboardRequest() {
-        try {
-            android.content.res.AssetManager assetManager = context.getAssets();
-            java.io.InputStream is = assetManager.open("web/external_dashboard.html");
-            int size = is.available();
-            byte[] buffer = new byte[size];
-            is.read(buffer);
-            is.close();
-            String html = new String(buffer, "UTF-8");
-            return newFixedLengthResponse(Response.Status.OK, "text/html; charset=utf-8", html);
-        } catch (IOException e) {
-            Log.e(TAG, "Error serving dashboard", e);
-            return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, MIME_PLAINTEXT, "Error serving dashboard: " + e.getMessage());
+    private Response handleStaticAsset(IHTTPSession session, String assetPath) {
+        Response response = staticAssets.serve(session, assetPath);
+        if (response == null) {
+            AppLog.e(TAG, "Static asset not loaded: " + assetPath);
+            return newFixedLengthResponse(Response.Status.NOT_FOUND, MIME_PLAINTEXT, "404 Not Found");
         }
+        return response;
+    }
+
+    @Override
+    protected boolean useGzipWhenAccepted(Response r) {
+        // 압축 여부는 serve() 의 ResponseCompressor 가 크기 기준으로 정한다
+        return false;
     }
 
     private Response handleApiInfo() {
@@ -439,8 +381,9 @@ public class ApiServer extends NanoHTTPD {
         info.put("authentication", "Bearer Token Required");
         info.put("endpoints", new String[]{
                 "POST /api/login - 로그인 (userId, password 필요)",
-                "GET /api/coupons - 모든 쿠폰 조회 (인증 필요)",
+                "GET /api/coupons?limit=&cursor=&status=&corporateId=&expireFrom=&expireTo=&sort= - 쿠폰 목록 페이지 조회 (인증 필요)",
                 "GET /api/coupons/{id} - 특정 쿠폰 조회 (인증 필요)",
+                "GET /api/coupons/{id}/qr - 쿠폰 QR 코드 PNG (인증 필요)",
                 "POST /api/coupons - 새 쿠폰 생성 (인증 필요)",
                 "PUT /api/coupons/{id} - 쿠폰 업데이트 (인증 필요)",
                 "POST /api/coupons/validate - 쿠폰 검증 (인증 필요)",
@@ -460,99 +403,129 @@ public class ApiServer extends NanoHTTPD {
                 "GET /api/email-config - 이메일 설정 조회 (인증 필요)",
                 "POST /api/email-config - 이메일 설정 저장 (인증 필요)",
                 "POST /api/email-config/test - 이메일 연결 테스트 (인증 필요)",
-                "POST /api/coupon-send/email - 쿠폰 이메일 발송 (인증 필요)",
-                "POST /api/coupon-send/sms - 쿠폰 SMS 발송 (인증 필요)",
-                "POST /api/coupon-send/kakao - 쿠폰 카카오톡 발송 (인증 필요)",
+                "POST /api/coupon-send/email - 쿠폰 이메일 발송 대기열 등록, jobId 즉시 반환 (인증 필요)",
+                "POST /api/coupon-send/sms - 쿠폰 SMS 발송 대기열 등록, jobId 즉시 반환 (인증 필요)",
+                "POST /api/coupon-send/kakao - 쿠폰 카카오톡 발송 대기열 등록, jobId 즉시 반환 (인증 필요)",
+                "POST /api/coupon-send/bulk - 일괄 발송 등록 (type, couponIds[] 또는 corporateId) (인증 필요)",
+                "GET /api/coupon-send/jobs/{jobId} - 발송 작업 진행 상황 조회 (인증 필요)",
                 "GET /api/coupon-send/history - 발송 기록 조회 (인증 필요)",
-                "GET /api/server/status - 서버 상태 조회"
+                "GET /api/coupon-send/history/latest - 쿠폰별 최근 발송 상태 일괄 조회 (corporateId 또는 couponIds=1,2,3) (인증 필요)",
+                "GET /api/server/status - 서버 상태 조회",
+                "GET /dashboard, /web/index.html, /web/assets/** - 대시보드 정적 자산 (ETag/gzip)"
         });
 
         return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(info));
     }
 
-    private Response handleGetCoupons() {
-        Log.i(TAG, "=== GET COUPONS START ===");
-        
+    /**
+     * 쿠폰 목록 (keyset 페이지네이션)
+     * 쿼리: limit, cursor, status, corporateId, expireFrom, expireTo (YYYY-MM-DD), sort (created_desc|created_asc|expire_asc|expire_desc),
+     *       q (쿠폰 코드/직원명/전화번호/사번), code (쿠폰 코드), employee (직원명/전화번호) - 모두 부분 일치
+     * 첫 페이지(cursor 없음)에는 필터 기준 전체 건수/상태별 건수/잔액 합계(summary)를 함께 반환한다.
+     */
+    private Response handleGetCoupons(IHTTPSession session) {
+        AppLog.i(TAG, "=== GET COUPONS START ===");
+
+        if (couponDAO == null) {
+            AppLog.e(TAG, "CouponDAO is null");
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", false);
+            result.put("error", "Database connection not available");
+            return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(result));
+        }
+
+        CouponDAO.CouponListQuery query = new CouponDAO.CouponListQuery();
+        try {
+            Map<String, String> params = session.getParms();
+            String status = params.get("status");
+            String corporateIdStr = params.get("corporateId");
+            String expireFrom = params.get("expireFrom");
+            String expireTo = params.get("expireTo");
+            String sort = params.get("sort");
+            String limit = params.get("limit");
+            String cursor = params.get("cursor");
+            String search = params.get("q");
+            String codeSearch = params.get("code");
+            String employeeSearch = params.get("employee");
+
+            if (status != null && !status.isEmpty()) query.setStatus(status);
+            if (corporateIdStr != null && !corporateIdStr.isEmpty()) query.setCorporateId(Integer.parseInt(corporateIdStr));
+            if (expireFrom != null && !expireFrom.isEmpty()) query.setExpireFrom(expireFrom);
+            if (expireTo != null && !expireTo.isEmpty()) query.setExpireTo(expireTo);
+            if (sort != null && !sort.isEmpty()) query.setSort(sort);
+            if (limit != null && !limit.isEmpty()) query.setLimit(Integer.parseInt(limit));
+            if (cursor != null && !cursor.isEmpty()) query.setCursor(cursor);
+            if (search != null && !search.trim().isEmpty()) query.setSearch(search);
+            if (codeSearch != null && !codeSearch.trim().isEmpty()) query.setCodeSearch(codeSearch);
+            if (employeeSearch != null && !employeeSearch.trim().isEmpty()) query.setEmployeeSearch(employeeSearch);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", "잘못된 조회 조건입니다: " + e.getMessage());
+            return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+        }
+
         try {
-            if (couponDAO == null) {
-                Log.e(TAG, "CouponDAO is null");
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", false);
-                result.put("error", "Database connection not available");
-                return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(result));
-            }
-            
-            Log.d(TAG, "Opening database connection...");
             couponDAO.open();
-            
-            try {
-                Log.d(TAG, "Fetching coupons from database...");
-                List<Coupon> couponList = couponDAO.getAllCoupons();
-                Log.d(TAG, "Retrieved " + couponList.size() + " coupons from database");
-                
-                List<Map<String, Object>> couponData = new ArrayList<>();
-                
-                for (Coupon coupon : couponList) {
-                    if (coupon == null) {
-                        Log.w(TAG, "Skipping null coupon");
-                        continue;
-                    }
-                    
-                    Map<String, Object> couponMap = new HashMap<>();
-                    couponMap.put("id", coupon.getCouponId());
-                    couponMap.put("couponId", coupon.getCouponId());
-                    couponMap.put("code", coupon.getFullCouponCode() != null ? coupon.getFullCouponCode() : "");
-                    couponMap.put("fullCouponCode", coupon.getFullCouponCode() != null ? coupon.getFullCouponCode() : "");
-                    couponMap.put("employeeId", coupon.getEmployeeId());
-                    couponMap.put("cashBalance", coupon.getCashBalance());
-                    couponMap.put("pointBalance", coupon.getPointBalance());
-                    couponMap.put("expireDate", coupon.getExpireDate() != null ? coupon.getExpireDate() : "");
-                    couponMap.put("status", coupon.getStatus() != null ? coupon.getStatus() : "");
-                    couponMap.put("paymentType", coupon.getPaymentType() != null ? coupon.getPaymentType() : "");
-                    couponMap.put("availableDays", coupon.getAvailableDays() != null ? coupon.getAvailableDays() : "");
-                    couponMap.put("createdAt", coupon.getCreatedAt() != null ? coupon.getCreatedAt() : "");
-                    
-                    // 거래처/직원명/전화번호 정보 (데이터베이스 JOIN으로 가져온 실제 데이터)
-                    couponMap.put("corporateId", coupon.getCorporateId());
-                    couponMap.put("corporateName", coupon.getCorporateName() != null ? coupon.getCorporateName() : "거래처 정보 없음");
-                    couponMap.put("recipientName", coupon.getRecipientName() != null ? coupon.getRecipientName() : "직원 정보 없음");
-                    couponMap.put("recipientPhone", coupon.getRecipientPhone() != null ? coupon.getRecipientPhone() : "연락처 정보 없음");
-                    
-                    couponData.add(couponMap);
-                }
-                
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", true);
-                result.put("data", couponData);
-                result.put("count", couponData.size());
+            CouponDAO.CouponPage page = couponDAO.getCouponPage(query);
+
+            List<Map<String, Object>> couponData = new ArrayList<>(page.getCoupons().size());
+            for (Coupon coupon : page.getCoupons()) {
+                Map<String, Object> couponMap = new HashMap<>();
+                couponMap.put("couponId", coupon.getCouponId());
+                couponMap.put("fullCouponCode", coupon.getFullCouponCode() != null ? coupon.getFullCouponCode() : "");
+                couponMap.put("employeeId", coupon.getEmployeeId());
+                couponMap.put("cashBalance", coupon.getCashBalance());
+                couponMap.put("pointBalance", coupon.getPointBalance());
+                couponMap.put("expireDate", coupon.getExpireDate() != null ? coupon.getExpireDate() : "");
+                couponMap.put("status", coupon.getStatus() != null ? coupon.getStatus() : "");
+                couponMap.put("paymentType", coupon.getPaymentType() != null ? coupon.getPaymentType() : "");
+                couponMap.put("availableDays", coupon.getAvailableDays() != null ? coupon.getAvailableDays() : "");
+                couponMap.put("createdAt", coupon.getCreatedAt() != null ? coupon.getCreatedAt() : "");
+
+                // 거래처/직원명/전화번호 정보 (데이터베이스 JOIN으로 가져온 실제 데이터)
+                couponMap.put("corporateId", coupon.getCorporateId());
+                couponMap.put("corporateName", coupon.getCorporateName() != null ? coupon.getCorporateName() : "거래처 정보 없음");
+                couponMap.put("recipientName", coupon.getRecipientName() != null ? coupon.getRecipientName() : "직원 정보 없음");
+                couponMap.put("recipientPhone", coupon.getRecipientPhone() != null ? coupon.getRecipientPhone() : "연락처 정보 없음");
+
+                couponData.add(couponMap);
+            }
 
-                String jsonResponse = gson.toJson(result);
-                Log.d(TAG, "JSON response length: " + jsonResponse.length());
-                Log.i(TAG, "✅ GET COUPONS SUCCESS - Returning " + couponData.size() + " coupons");
-                Log.i(TAG, "=== GET COUPONS END ===");
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("data", couponData);
+            result.put("count", couponData.size());
+            result.put("hasMore", page.hasMore());
+            result.put("nextCursor", page.getNextCursor());
+            result.put("sort", query.getSort());
+            result.put("limit", query.getLimit());
+
+            if (query.getCursor() == null) {
+                CouponDAO.CouponSummary summary = couponDAO.getCouponSummary(query);
+                Map<String, Object> summaryData = new HashMap<>();
+                summaryData.put("totalCount", summary.getTotalCount());
+                summaryData.put("totalCashBalance", summary.getTotalCashBalance());
+                summaryData.put("totalPointBalance", summary.getTotalPointBalance());
+                summaryData.put("statusCounts", summary.getStatusCounts());
+                result.put("summary", summaryData);
+            }
+
+            AppLog.i(TAG, "✅ GET COUPONS SUCCESS - Returning " + couponData.size() + " coupons (hasMore=" + page.hasMore() + ")");
+            return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
 
-                return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", jsonResponse);
-                
-            } finally {
-                try {
-                    couponDAO.close();
-                } catch (Exception e) {
-                    Log.w(TAG, "Error closing couponDAO", e);
-                }
-            }
-            
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("error", e.getMessage());
+            return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Failed to get coupons", e);
-            
+            AppLog.e(TAG, "❌ ERROR: Failed to get coupons", e);
+
             Map<String, Object> result = new HashMap<>();
             result.put("success", false);
             result.put("error", "Failed to retrieve coupons: " + e.getMessage());
-            
-            String errorJson = gson.toJson(result);
-            Log.e(TAG, "Error response: " + errorJson);
-            Log.i(TAG, "=== GET COUPONS END (ERROR) ===");
-            
-            return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", errorJson);
+            return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(result));
         }
     }
 
@@ -572,6 +545,41 @@ public class ApiServer extends NanoHTTPD {
         return newFixedLengthResponse(Response.Status.NOT_FOUND, "application/json; charset=utf-8", gson.toJson(error));
     }
 
+    /**
+     * 쿠폰 QR 코드 PNG 조회 (이메일 발송과 같은 QR 캐시 사용)
+     */
+    private Response handleGetCouponQr(String couponIdParam) {
+        try {
+            int couponId = Integer.parseInt(couponIdParam);
+            Coupon coupon = couponDAO.getCouponById(couponId);
+            String code = coupon != null ? coupon.getFullCouponCode() : null;
+            if (code == null || code.trim().isEmpty()) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", "쿠폰 코드가 없는 쿠폰입니다: " + couponIdParam);
+                return newFixedLengthResponse(Response.Status.NOT_FOUND, "application/json; charset=utf-8", gson.toJson(error));
+            }
+
+            byte[] png = QRCodeGenerator.getQRCodePng(code);
+            if (png == null) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", "QR 코드 생성에 실패했습니다");
+                return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
+            }
+            Response response = newFixedLengthResponse(Response.Status.OK, QRCodeGenerator.CONTENT_TYPE,
+                    new ByteArrayInputStream(png), png.length);
+            response.addHeader("Cache-Control", "private, max-age=86400");
+            return response;
+
+        } catch (NumberFormatException e) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "잘못된 쿠폰 ID입니다: " + couponIdParam);
+            return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+        }
+    }
+
     private Response handleValidateCoupon(IHTTPSession session) {
         try {
             Map<String, String> body = new HashMap<>();
@@ -581,6 +589,32 @@ public class ApiServer extends NanoHTTPD {
             Map<String, Object> request = gson.fromJson(postData, Map.class);
             String couponId = (String) request.get("couponId");
 
+            // 실제 발행 쿠폰 코드는 조회 캐시로 확인
+            CouponLookupCache.CouponView view = couponId != null
+                    ? CouponLookupCache.getInstance().lookup(couponId.trim(), couponDAO) : null;
+            if (view != null) {
+                Coupon coupon = view.getCoupon();
+                Map<String, Object> couponData = new HashMap<>();
+                couponData.put("couponId", coupon.getCouponId());
+                couponData.put("code", coupon.getFullCouponCode());
+                couponData.put("status", coupon.getStatus());
+                couponData.put("expireDate", coupon.getExpireDate());
+                couponData.put("cashBalance", coupon.getCashBalance());
+                couponData.put("pointBalance", coupon.getPointBalance());
+                if (view.getEmployee() != null) {
+                    couponData.put("employeeName", view.getEmployee().getName());
+                }
+                if (view.getCorporate() != null) {
+                    couponData.put("corporateName", view.getCorporate().getName());
+                }
+
+                Map<String, Object> result = new HashMap<>();
+                result.put("success", true);
+                result.put("valid", coupon.isUsable() && coupon.getTotalBalance() > 0);
+                result.put("coupon", couponData);
+                return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
+            }
+
             for (Map<String, Object> coupon : coupons) {
                 if (couponId.equals(coupon.get("id"))) {
                     Map<String, Object> result = new HashMap<>();
@@ -606,19 +640,19 @@ public class ApiServer extends NanoHTTPD {
     }
 
     private Response handleCreateCoupon(IHTTPSession session) {
-        Log.i(TAG, "=== COUPON CREATE START ===");
+        AppLog.i(TAG, "=== COUPON CREATE START ===");
 
         try {
             String postData = extractRequestBody(session);
 
-            Log.d(TAG, "[COUPON-CREATE] Request data: " + postData);
+            AppLog.d(TAG, () -> "[COUPON-CREATE] Request data: " + postData);
 
             Map<String, Object> couponData = gson.fromJson(postData, Map.class);
-            Log.d(TAG, "[COUPON-CREATE] Parsed coupon data: " + couponData);
+            AppLog.d(TAG, () -> "[COUPON-CREATE] Parsed coupon data: " + couponData);
             
             // 필수 필드 검증
             if (!couponData.containsKey("employeeId")) {
-                Log.w(TAG, "[COUPON-CREATE] Missing employeeId");
+                AppLog.w(TAG, "[COUPON-CREATE] Missing employeeId");
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "직원 ID가 필요합니다");
@@ -637,7 +671,7 @@ public class ApiServer extends NanoHTTPD {
             coupon.setPaymentType((String) couponData.getOrDefault("paymentType", Coupon.PAYMENT_TYPE_PREPAID));
             coupon.setAvailableDays((String) couponData.getOrDefault("availableDays", "1111111"));
             
-            Log.i(TAG, "[COUPON-CREATE] Created coupon object: " + coupon.toString());
+            AppLog.i(TAG, "[COUPON-CREATE] Created coupon object: " + coupon.toString());
             
             // 데이터베이스에 저장
             couponDAO.open();
@@ -645,7 +679,7 @@ public class ApiServer extends NanoHTTPD {
                 long couponId = couponDAO.insertCoupon(coupon);
                 
                 if (couponId > 0) {
-                    Log.i(TAG, "[COUPON-CREATE] ✅ 쿠폰이 데이터베이스에 저장됨 - ID: " + couponId);
+                    AppLog.i(TAG, "[COUPON-CREATE] ✅ 쿠폰이 데이터베이스에 저장됨 - ID: " + couponId);
                     
                     // 저장된 쿠폰 조회 (완전한 정보 포함)
                     Coupon savedCoupon = couponDAO.getCouponById((int) couponId);
@@ -672,13 +706,13 @@ public class ApiServer extends NanoHTTPD {
                         result.put("message", "쿠폰이 성공적으로 생성되었습니다");
                         result.put("timestamp", new java.util.Date().toString());
                         
-                        Log.i(TAG, "[COUPON-CREATE] ✅ 쿠폰 생성 완료 - 코드: " + savedCoupon.getFullCouponCode());
-                        Log.i(TAG, "=== COUPON CREATE END ===");
+                        AppLog.i(TAG, "[COUPON-CREATE] ✅ 쿠폰 생성 완료 - 코드: " + savedCoupon.getFullCouponCode());
+                        AppLog.i(TAG, "=== COUPON CREATE END ===");
                         
                         return newFixedLengthResponse(Response.Status.CREATED, "application/json; charset=utf-8", gson.toJson(result));
                         
                     } else {
-                        Log.e(TAG, "[COUPON-CREATE] ❌ 저장된 쿠폰 조회 실패");
+                        AppLog.e(TAG, "[COUPON-CREATE] ❌ 저장된 쿠폰 조회 실패");
                         
                         Map<String, Object> error = new HashMap<>();
                         error.put("success", false);
@@ -687,7 +721,7 @@ public class ApiServer extends NanoHTTPD {
                     }
                     
                 } else {
-                    Log.e(TAG, "[COUPON-CREATE] ❌ 데이터베이스 저장 실패");
+                    AppLog.e(TAG, "[COUPON-CREATE] ❌ 데이터베이스 저장 실패");
                     
                     Map<String, Object> error = new HashMap<>();
                     error.put("success", false);
@@ -700,14 +734,14 @@ public class ApiServer extends NanoHTTPD {
             }
 
         } catch (Exception e) {
-            Log.e(TAG, "[COUPON-CREATE] ❌ 쿠폰 생성 중 오류", e);
+            AppLog.e(TAG, "[COUPON-CREATE] ❌ 쿠폰 생성 중 오류", e);
             
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "쿠폰 생성 중 오류가 발생했습니다: " + e.getMessage());
             error.put("timestamp", new java.util.Date().toString());
             
-            Log.i(TAG, "=== COUPON CREATE END (ERROR) ===");
+            AppLog.i(TAG, "=== COUPON CREATE END (ERROR) ===");
             return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
         }
     }
@@ -751,21 +785,33 @@ public class ApiServer extends NanoHTTPD {
         status.put("uptime", System.currentTimeMillis());
         status.put("couponsCount", coupons.size());
         status.put("memory", Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory());
+        if (workerPool != null) {
+            status.put("workerPool", workerPool.getMetrics());
+        }
+        status.put("couponCache", CouponLookupCache.getInstance().getMetrics());
+        status.put("qrCache", QRCodeGenerator.getCacheMetrics());
+        status.put("staticAssets", staticAssets.getMetrics());
+        status.put("compression", responseCompressor.getMetrics());
+        if (deliveryQueue != null) {
+            status.put("deliveryQueue", deliveryQueue.getMetrics());
+        }
+        status.put("smtp", smtpTransport.getMetrics());
+        status.put("nusome", nusomeGateway.getMetrics());
 
         return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(status));
     }
 
     private Response handleLogin(IHTTPSession session) {
-        Log.i(TAG, "Login request received");
+        AppLog.i(TAG, "Login request received");
         try {
             Map<String, String> body = new HashMap<>();
             session.parseBody(body);
             String postData = body.get("postData");
             
-            Log.i(TAG, "Login request body: " + (postData != null ? postData : "null"));
+            AppLog.d(TAG, () -> "Login request body: " + (postData != null ? postData.length() + " chars" : "null"));
             
             if (postData == null || postData.trim().isEmpty()) {
-                Log.w(TAG, "Empty login request body");
+                AppLog.w(TAG, "Empty login request body");
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "요청 본문이 비어있습니다");
@@ -776,12 +822,12 @@ public class ApiServer extends NanoHTTPD {
             String userId = (String) request.get("userId");
             String password = (String) request.get("password");
 
-            Log.i(TAG, "Login attempt for user: " + userId);
+            AppLog.i(TAG, "Login attempt for user: " + userId);
 
             String savedUserId = sharedPreferences.getString("admin_user_id", "");
             String savedPassword = sharedPreferences.getString("admin_password", "");
 
-            Log.i(TAG, "Saved credentials - ID: " + savedUserId);
+            AppLog.i(TAG, "Saved credentials - ID: " + savedUserId);
 
             if (savedUserId.isEmpty() || savedPassword.isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
@@ -794,7 +840,7 @@ public class ApiServer extends NanoHTTPD {
                 String token = generateAccessToken();
                 activeTokens.put(token, userId);
                 
-                Log.i(TAG, "Login successful for user: " + userId + ", token: " + token.substring(0, 10) + "...");
+                AppLog.i(TAG, "Login successful for user: " + userId + ", token: " + AppLog.mask(token));
                 
                 Map<String, Object> result = new HashMap<>();
                 result.put("success", true);
@@ -804,14 +850,14 @@ public class ApiServer extends NanoHTTPD {
                 
                 return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             } else {
-                Log.w(TAG, "Login failed for user: " + userId + " (invalid credentials)");
+                AppLog.w(TAG, "Login failed for user: " + userId + " (invalid credentials)");
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "아이디 또는 패스워드가 올바르지 않습니다");
                 return newFixedLengthResponse(Response.Status.UNAUTHORIZED, "application/json; charset=utf-8", gson.toJson(error));
             }
         } catch (Exception e) {
-            Log.e(TAG, "Login processing error", e);
+            AppLog.e(TAG, "Login processing error", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "로그인 처리 중 오류가 발생했습니다: " + e.getMessage());
@@ -825,32 +871,24 @@ public class ApiServer extends NanoHTTPD {
         String uri = session.getUri();
         Method method = session.getMethod();
         
-        Log.i(TAG, "[AUTH] Checking authorization for: " + method + " " + uri);
-        Log.i(TAG, "[AUTH] Authorization header: " + authHeader);
+        AppLog.d(TAG, () -> "[AUTH] Checking authorization for: " + method + " " + uri);
         
         if (authHeader == null) {
-            Log.w(TAG, "[AUTH] Authorization failed: No authorization header present");
+            AppLog.w(TAG, "[AUTH] Authorization failed: No authorization header present");
             return false;
         }
         
         if (!authHeader.startsWith("Bearer ")) {
-            Log.w(TAG, "[AUTH] Authorization failed: Invalid authorization header format. Expected 'Bearer <token>', got: " + authHeader);
+            AppLog.w(TAG, "[AUTH] Authorization failed: Invalid authorization header format. Expected 'Bearer <token>', got: " + AppLog.mask(authHeader));
             return false;
         }
         
         String token = authHeader.substring(7);
-        Log.i(TAG, "[AUTH] Extracted token: " + token);
         
         boolean isValid = activeTokens.containsKey(token);
-        if (isValid) {
-            Log.i(TAG, "[AUTH] Authorization successful: Token is valid");
-        } else {
-            Log.w(TAG, "[AUTH] Authorization failed: Token not found in active tokens");
-            Log.w(TAG, "[AUTH] Active tokens count: " + activeTokens.size());
-            // Log first few characters of active tokens for debugging (avoid logging full tokens)
-            for (String activeToken : activeTokens.keySet()) {
-                Log.d(TAG, "[AUTH] Active token prefix: " + activeToken.substring(0, Math.min(10, activeToken.length())) + "...");
-            }
+        if (!isValid) {
+            AppLog.w(TAG, "[AUTH] Authorization failed: Token " + AppLog.mask(token) + " not found in "
+                    + activeTokens.size() + " active tokens");
         }
         
         return isValid;
@@ -892,7 +930,7 @@ public class ApiServer extends NanoHTTPD {
                         totalRead += read;
                     }
                     String bodyStr = new String(buffer, 0, totalRead, java.nio.charset.StandardCharsets.UTF_8);
-                    Log.i(TAG, "extractRequestBody (UTF-8 stream): " + bodyStr);
+                    AppLog.d(TAG, () -> "extractRequestBody (UTF-8 stream): " + bodyStr.length() + " chars");
                     return bodyStr;
                 }
             }
@@ -902,14 +940,13 @@ public class ApiServer extends NanoHTTPD {
             session.parseBody(body);
             
             // 모든 body 내용 로깅
-            Log.i(TAG, "Body contents: " + body.toString());
+            AppLog.d(TAG, () -> "Body contents: " + body.toString());
             
             // postData 키 확인
             if (body.containsKey("postData")) {
                 String postData = body.get("postData");
-                Log.i(TAG, "Found postData: " + (postData != null ? postData.length() + " chars" : "null"));
+                AppLog.d(TAG, () -> "Found postData: " + (postData != null ? postData.length() + " chars" : "null"));
                 if (postData != null) {
-                    Log.i(TAG, "postData content: [" + postData + "]");
                     return postData;
                 }
             }
@@ -918,17 +955,17 @@ public class ApiServer extends NanoHTTPD {
             for (Map.Entry<String, String> entry : body.entrySet()) {
                 String key = entry.getKey();
                 String value = entry.getValue();
-                Log.i(TAG, "Body entry - Key: [" + key + "], Value: [" + (value != null ? value : "null") + "]");
+                AppLog.d(TAG, () -> "Body entry - Key: [" + key + "], Value: [" + (value != null ? value : "null") + "]");
                 
                 // JSON 형태의 데이터인지 확인
                 if (value != null && value.trim().startsWith("{") && value.trim().endsWith("}")) {
-                    Log.i(TAG, "Found JSON-like data in key: " + key);
+                    AppLog.d(TAG, () -> "Found JSON-like data in key: " + key);
                     return value;
                 }
                 
                 // 키 자체가 JSON일 수 있음 (form-encoded의 경우)
                 if (key != null && key.trim().startsWith("{") && key.trim().endsWith("}")) {
-                    Log.i(TAG, "Found JSON data in key itself: " + key);
+                    AppLog.d(TAG, () -> "Found JSON data in key itself: " + key);
                     return key;
                 }
             }
@@ -938,16 +975,16 @@ public class ApiServer extends NanoHTTPD {
                 String key = entry.getKey();
                 String value = entry.getValue();
                 
-                Log.i(TAG, "Checking entry - Key: [" + key + "], Value: [" + (value != null ? value : "null") + "]");
+                AppLog.d(TAG, () -> "Checking entry - Key: [" + key + "], Value: [" + (value != null ? value : "null") + "]");
                 
                 // 값이 파일 경로인지 확인
                 if (value != null && (value.startsWith("/") || value.contains("NanoHTTPD") || value.contains("cache"))) {
-                    Log.i(TAG, "Value appears to be a file path, attempting to read: " + value);
+                    AppLog.d(TAG, () -> "Value appears to be a file path, attempting to read: " + value);
                     
                     try {
                         File tempFile = new File(value);
                         if (tempFile.exists() && tempFile.canRead()) {
-                            Log.i(TAG, "File exists and is readable: " + value);
+                            AppLog.d(TAG, () -> "File exists and is readable: " + value);
                             
                             StringBuilder fileContent = new StringBuilder();
                             try (BufferedReader reader = new BufferedReader(new InputStreamReader(new java.io.FileInputStream(tempFile), "UTF-8"))) {
@@ -958,45 +995,45 @@ public class ApiServer extends NanoHTTPD {
                             }
                             
                             String fileData = fileContent.toString().trim();
-                            Log.i(TAG, "File content read successfully: [" + fileData + "]");
+                            AppLog.d(TAG, () -> "File content read successfully: [" + fileData + "]");
                             
                             // JSON 형태인지 확인
                             if (fileData.startsWith("{") && fileData.endsWith("}")) {
-                                Log.i(TAG, "File contains valid JSON data");
+                                AppLog.d(TAG, "File contains valid JSON data");
                                 return fileData;
                             }
                             
                             // URL 디코딩 시도
                             try {
                                 String decoded = java.net.URLDecoder.decode(fileData, "UTF-8");
-                                Log.i(TAG, "URL decoded file content: [" + decoded + "]");
+                                AppLog.d(TAG, () -> "URL decoded file content: [" + decoded + "]");
                                 
                                 if (decoded.trim().startsWith("{") && decoded.trim().endsWith("}")) {
                                     return decoded.trim();
                                 }
                             } catch (Exception e) {
-                                Log.w(TAG, "URL decode failed for file content: " + e.getMessage());
+                                AppLog.w(TAG, "URL decode failed for file content: " + e.getMessage());
                             }
                             
                             return fileData;
                         } else {
-                            Log.w(TAG, "File does not exist or cannot be read: " + value + 
+                            AppLog.w(TAG, "File does not exist or cannot be read: " + value + 
                                       " (exists: " + tempFile.exists() + ", canRead: " + tempFile.canRead() + ")");
                         }
                     } catch (Exception e) {
-                        Log.e(TAG, "Error reading file: " + value, e);
+                        AppLog.e(TAG, "Error reading file: " + value, e);
                     }
                 }
                 
                 // 키 자체가 JSON인지 확인
                 if (key != null && key.trim().startsWith("{") && key.trim().endsWith("}")) {
-                    Log.i(TAG, "Found JSON data in key: " + key);
+                    AppLog.d(TAG, () -> "Found JSON data in key: " + key);
                     return key.trim();
                 }
                 
                 // 값이 직접적인 JSON인지 확인
                 if (value != null && value.trim().startsWith("{") && value.trim().endsWith("}")) {
-                    Log.i(TAG, "Found JSON data in value: " + value);
+                    AppLog.d(TAG, () -> "Found JSON data in value: " + value);
                     return value.trim();
                 }
                 
@@ -1004,13 +1041,13 @@ public class ApiServer extends NanoHTTPD {
                 if (value != null && !value.isEmpty()) {
                     try {
                         String decoded = java.net.URLDecoder.decode(value, "UTF-8");
-                        Log.i(TAG, "URL decoded value: [" + decoded + "]");
+                        AppLog.d(TAG, () -> "URL decoded value: [" + decoded + "]");
                         
                         if (decoded.trim().startsWith("{") && decoded.trim().endsWith("}")) {
                             return decoded.trim();
                         }
                     } catch (Exception e) {
-                        Log.w(TAG, "URL decode failed for value: " + e.getMessage());
+                        AppLog.w(TAG, "URL decode failed for value: " + e.getMessage());
                     }
                 }
             }
@@ -1020,7 +1057,7 @@ public class ApiServer extends NanoHTTPD {
                 String firstKey = body.keySet().iterator().next();
                 String firstValue = body.get(firstKey);
                 
-                Log.i(TAG, "Using first body entry - Key: [" + firstKey + "], Value: [" + firstValue + "]");
+                AppLog.d(TAG, () -> "Using first body entry - Key: [" + firstKey + "], Value: [" + firstValue + "]");
                 
                 // 값 우선 확인
                 if (firstValue != null && !firstValue.trim().isEmpty()) {
@@ -1033,11 +1070,11 @@ public class ApiServer extends NanoHTTPD {
                 }
             }
             
-            Log.w(TAG, "No body data found");
+            AppLog.w(TAG, "No body data found");
             return null;
             
         } catch (Exception e) {
-            Log.e(TAG, "Error extracting request body", e);
+            AppLog.e(TAG, "Error extracting request body", e);
             return null;
         }
     }
@@ -1060,7 +1097,7 @@ public class ApiServer extends NanoHTTPD {
 
     private Response handleGetCorporates(IHTTPSession session) {
         try {
-            Log.i(TAG, "Getting all corporates");
+            AppLog.i(TAG, "Getting all corporates");
             corporateDAO.open();
             List<Corporate> corporates = corporateDAO.getAllCorporates();
 
@@ -1069,10 +1106,10 @@ public class ApiServer extends NanoHTTPD {
             result.put("data", corporates);
             result.put("count", corporates.size());
 
-            Log.i(TAG, "Retrieved " + corporates.size() + " corporates");
+            AppLog.i(TAG, "Retrieved " + corporates.size() + " corporates");
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
         } catch (Exception e) {
-            Log.e(TAG, "Error getting corporates", e);
+            AppLog.e(TAG, "Error getting corporates", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "거래처 조회 중 오류가 발생했습니다: " + e.getMessage());
@@ -1093,7 +1130,7 @@ public class ApiServer extends NanoHTTPD {
                 result.put("success", true);
                 result.put("data", corporate);
 
-                Log.i(TAG, "Retrieved corporate: " + corporate.getName());
+                AppLog.i(TAG, "Retrieved corporate: " + corporate.getName());
                 return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             } else {
                 Map<String, Object> error = new HashMap<>();
@@ -1107,7 +1144,7 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 거래처 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error getting corporate", e);
+            AppLog.e(TAG, "Error getting corporate", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "거래처 조회 중 오류가 발생했습니다: " + e.getMessage());
@@ -1119,15 +1156,15 @@ public class ApiServer extends NanoHTTPD {
 
     private Response handleCreateCorporate(IHTTPSession session) {
         try {
-            Log.i(TAG, "=== CREATE CORPORATE REQUEST ===");
+            AppLog.i(TAG, "=== CREATE CORPORATE REQUEST ===");
             String postData = extractRequestBody(session);
-            Log.i(TAG, "Raw postData content: [" + postData + "]");
+            AppLog.d(TAG, () -> "Raw postData content: [" + postData + "]");
             
             if (postData == null || postData.trim().isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "요청 본문이 비어있습니다");
-                Log.w(TAG, "Create corporate failed: empty body");
+                AppLog.w(TAG, "Create corporate failed: empty body");
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
             
@@ -1136,7 +1173,7 @@ public class ApiServer extends NanoHTTPD {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "잘못된 JSON 형식입니다: " + postData.substring(0, Math.min(50, postData.length())) + "...");
-                Log.w(TAG, "Invalid JSON format in create request: " + postData);
+                AppLog.w(TAG, "Invalid JSON format in create request: " + postData);
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
             
@@ -1176,7 +1213,7 @@ public class ApiServer extends NanoHTTPD {
                 result.put("data", corporate);
                 result.put("message", "거래처가 성공적으로 생성되었습니다");
                 
-                Log.i(TAG, "Corporate created: " + corporate.getName() + " (ID: " + id + ")");
+                AppLog.i(TAG, "Corporate created: " + corporate.getName() + " (ID: " + id + ")");
                 return newFixedLengthResponse(Response.Status.CREATED, "application/json; charset=utf-8", gson.toJson(result));
             } else {
                 Map<String, Object> error = new HashMap<>();
@@ -1185,7 +1222,7 @@ public class ApiServer extends NanoHTTPD {
                 return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
             }
         } catch (Exception e) {
-            Log.e(TAG, "Error creating corporate", e);
+            AppLog.e(TAG, "Error creating corporate", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "거래처 생성 중 오류가 발생했습니다: " + e.getMessage());
@@ -1195,17 +1232,17 @@ public class ApiServer extends NanoHTTPD {
 
     private Response handleUpdateCorporate(String corporateId, IHTTPSession session) {
         try {
-            Log.i(TAG, "=== UPDATE CORPORATE REQUEST === ID: " + corporateId);
+            AppLog.i(TAG, "=== UPDATE CORPORATE REQUEST === ID: " + corporateId);
             int id = Integer.parseInt(corporateId);
             
             String postData = extractRequestBody(session);
-            Log.i(TAG, "Raw postData content: [" + postData + "]");
+            AppLog.d(TAG, () -> "Raw postData content: [" + postData + "]");
             
             if (postData == null || postData.trim().isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "요청 본문이 비어있습니다");
-                Log.w(TAG, "Update corporate failed: empty body");
+                AppLog.w(TAG, "Update corporate failed: empty body");
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
             
@@ -1214,7 +1251,7 @@ public class ApiServer extends NanoHTTPD {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "잘못된 JSON 형식입니다: " + postData.substring(0, Math.min(50, postData.length())) + "...");
-                Log.w(TAG, "Invalid JSON format in update request: " + postData);
+                AppLog.w(TAG, "Invalid JSON format in update request: " + postData);
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
             
@@ -1250,7 +1287,7 @@ public class ApiServer extends NanoHTTPD {
                 result.put("data", existing);
                 result.put("message", "거래처가 성공적으로 업데이트되었습니다");
                 
-                Log.i(TAG, "Corporate updated: " + existing.getName() + " (ID: " + id + ")");
+                AppLog.i(TAG, "Corporate updated: " + existing.getName() + " (ID: " + id + ")");
                 return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             } else {
                 Map<String, Object> error = new HashMap<>();
@@ -1264,7 +1301,7 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 거래처 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error updating corporate", e);
+            AppLog.e(TAG, "Error updating corporate", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "거래처 업데이트 중 오류가 발생했습니다: " + e.getMessage());
@@ -1292,7 +1329,7 @@ public class ApiServer extends NanoHTTPD {
                 result.put("message", "거래처가 성공적으로 삭제되었습니다");
                 result.put("deletedCorporate", existing);
                 
-                Log.i(TAG, "Corporate deleted: " + existing.getName() + " (ID: " + id + ")");
+                AppLog.i(TAG, "Corporate deleted: " + existing.getName() + " (ID: " + id + ")");
                 return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             } else {
                 Map<String, Object> error = new HashMap<>();
@@ -1306,7 +1343,7 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 거래처 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error deleting corporate", e);
+            AppLog.e(TAG, "Error deleting corporate", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "거래처 삭제 중 오류가 발생했습니다: " + e.getMessage());
@@ -1334,10 +1371,10 @@ public class ApiServer extends NanoHTTPD {
             result.put("count", corporates.size());
             result.put("searchTerm", name);
             
-            Log.i(TAG, "Corporate search for '" + name + "' returned " + corporates.size() + " results");
+            AppLog.i(TAG, "Corporate search for '" + name + "' returned " + corporates.size() + " results");
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
         } catch (Exception e) {
-            Log.e(TAG, "Error searching corporates", e);
+            AppLog.e(TAG, "Error searching corporates", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "거래처 검색 중 오류가 발생했습니다: " + e.getMessage());
@@ -1356,11 +1393,11 @@ public class ApiServer extends NanoHTTPD {
             result.put("data", employees);
             result.put("count", employees.size());
 
-            Log.i(TAG, "Retrieved all employees: " + employees.size());
+            AppLog.i(TAG, "Retrieved all employees: " + employees.size());
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
 
         } catch (Exception e) {
-            Log.e(TAG, "Error getting employees", e);
+            AppLog.e(TAG, "Error getting employees", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "직원 목록 조회 중 오류가 발생했습니다");
@@ -1382,7 +1419,7 @@ public class ApiServer extends NanoHTTPD {
             result.put("count", employees.size());
             result.put("corporateId", id);
 
-            Log.i(TAG, "Retrieved employees for corporate " + id + ": " + employees.size());
+            AppLog.i(TAG, "Retrieved employees for corporate " + id + ": " + employees.size());
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
 
         } catch (NumberFormatException e) {
@@ -1391,7 +1428,7 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 거래처 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error getting employees by corporate", e);
+            AppLog.e(TAG, "Error getting employees by corporate", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "직원 목록 조회 중 오류가 발생했습니다");
@@ -1423,14 +1460,14 @@ public class ApiServer extends NanoHTTPD {
                     
                     // 쿠폰 코드가 없는 경우 생성
                     if (coupon.getFullCouponCode() == null || coupon.getFullCouponCode().trim().isEmpty()) {
-                        Log.d(TAG, "[CORPORATE-COUPONS] 쿠폰 코드가 없음 - 생성 시작, ID: " + coupon.getCouponId());
+                        AppLog.d(TAG, () -> "[CORPORATE-COUPONS] 쿠폰 코드가 없음 - 생성 시작, ID: " + coupon.getCouponId());
                         String generatedCode = coupon.generateFullCouponCode(context);
                         coupon.setFullCouponCode(generatedCode);
                         couponDAO.updateCouponCode(coupon.getCouponId(), generatedCode);
-                        Log.d(TAG, "[CORPORATE-COUPONS] 쿠폰 코드 생성 완료 - ID: " + coupon.getCouponId() + ", 코드: " + generatedCode);
+                        AppLog.d(TAG, () -> "[CORPORATE-COUPONS] 쿠폰 코드 생성 완료 - ID: " + coupon.getCouponId() + ", 코드: " + generatedCode);
                     }
                 } catch (Exception e) {
-                    Log.w(TAG, "Failed to load employee info for coupon " + coupon.getCouponId(), e);
+                    AppLog.w(TAG, "Failed to load employee info for coupon " + coupon.getCouponId(), e);
                 }
             }
             
@@ -1440,7 +1477,7 @@ public class ApiServer extends NanoHTTPD {
             result.put("count", coupons.size());
             result.put("corporateId", id);
             
-            Log.i(TAG, "Retrieved coupons for corporate " + id + ": " + coupons.size());
+            AppLog.i(TAG, "Retrieved coupons for corporate " + id + ": " + coupons.size());
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (NumberFormatException e) {
@@ -1449,7 +1486,7 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 거래처 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error getting coupons by corporate", e);
+            AppLog.e(TAG, "Error getting coupons by corporate", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "쿠폰 목록 조회 중 오류가 발생했습니다");
@@ -1477,7 +1514,7 @@ public class ApiServer extends NanoHTTPD {
             result.put("success", true);
             result.put("data", employee);
             
-            Log.i(TAG, "Retrieved employee: " + employee.getName());
+            AppLog.i(TAG, "Retrieved employee: " + employee.getName());
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (NumberFormatException e) {
@@ -1486,7 +1523,7 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 직원 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error getting employee", e);
+            AppLog.e(TAG, "Error getting employee", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "직원 조회 중 오류가 발생했습니다");
@@ -1495,16 +1532,16 @@ public class ApiServer extends NanoHTTPD {
     }
 
     private Response handleCreateEmployee(IHTTPSession session) {
-        Log.i(TAG, "=== CREATE EMPLOYEE REQUEST ===");
+        AppLog.i(TAG, "=== CREATE EMPLOYEE REQUEST ===");
         
         String postData = extractRequestBody(session);
-        Log.i(TAG, "Raw postData content: [" + postData + "]");
+        AppLog.d(TAG, () -> "Raw postData content: [" + postData + "]");
         
         if (postData == null || postData.trim().isEmpty()) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "요청 본문이 비어있습니다");
-            Log.w(TAG, "Create employee failed: empty body");
+            AppLog.w(TAG, "Create employee failed: empty body");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         }
 
@@ -1536,7 +1573,7 @@ public class ApiServer extends NanoHTTPD {
                 result.put("message", "직원이 성공적으로 생성되었습니다");
                 result.put("data", newEmployee);
                 
-                Log.i(TAG, "Employee created: " + newEmployee.getName() + " (ID: " + id + ")");
+                AppLog.i(TAG, "Employee created: " + newEmployee.getName() + " (ID: " + id + ")");
                 return newFixedLengthResponse(Response.Status.CREATED, "application/json; charset=utf-8", gson.toJson(result));
             } else {
                 Map<String, Object> error = new HashMap<>();
@@ -1546,7 +1583,7 @@ public class ApiServer extends NanoHTTPD {
             }
             
         } catch (Exception e) {
-            Log.e(TAG, "Error creating employee", e);
+            AppLog.e(TAG, "Error creating employee", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "직원 생성 중 오류가 발생했습니다: " + e.getMessage());
@@ -1555,19 +1592,19 @@ public class ApiServer extends NanoHTTPD {
     }
 
     private Response handleUpdateEmployee(String employeeId, IHTTPSession session) {
-        Log.i(TAG, "=== UPDATE EMPLOYEE REQUEST === ID: " + employeeId);
+        AppLog.i(TAG, "=== UPDATE EMPLOYEE REQUEST === ID: " + employeeId);
         
         try {
             int id = Integer.parseInt(employeeId);
             
             String postData = extractRequestBody(session);
-            Log.i(TAG, "Raw postData content: [" + postData + "]");
+            AppLog.d(TAG, () -> "Raw postData content: [" + postData + "]");
             
             if (postData == null || postData.trim().isEmpty()) {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "요청 본문이 비어있습니다");
-                Log.w(TAG, "Update employee failed: empty body");
+                AppLog.w(TAG, "Update employee failed: empty body");
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
 
@@ -1594,7 +1631,7 @@ public class ApiServer extends NanoHTTPD {
             if (!existing.getPhone().equals(updatedEmployee.getPhone())) {
                 if (employeeDAO.isPhoneExists(updatedEmployee.getPhone())) {
                     hasDuplicatePhone = true;
-                    Log.w(TAG, "Duplicate phone number detected but allowing update: " + updatedEmployee.getPhone());
+                    AppLog.w(TAG, "Duplicate phone number detected but allowing update: " + updatedEmployee.getPhone());
                 }
             }
             
@@ -1611,7 +1648,7 @@ public class ApiServer extends NanoHTTPD {
                 }
                 result.put("data", updatedEmployee);
                 
-                Log.i(TAG, "Employee updated: " + updatedEmployee.getName() + " (ID: " + id + ")");
+                AppLog.i(TAG, "Employee updated: " + updatedEmployee.getName() + " (ID: " + id + ")");
                 return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             } else {
                 Map<String, Object> error = new HashMap<>();
@@ -1626,7 +1663,7 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 직원 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error updating employee", e);
+            AppLog.e(TAG, "Error updating employee", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "직원 정보 업데이트 중 오류가 발생했습니다: " + e.getMessage());
@@ -1635,16 +1672,16 @@ public class ApiServer extends NanoHTTPD {
     }
 
     private Response handleCheckEmployeePhone(IHTTPSession session) {
-        Log.i(TAG, "=== CHECK EMPLOYEE PHONE REQUEST ===");
+        AppLog.i(TAG, "=== CHECK EMPLOYEE PHONE REQUEST ===");
         
         String postData = extractRequestBody(session);
-        Log.i(TAG, "Raw postData content: [" + postData + "]");
+        AppLog.d(TAG, () -> "Raw postData content: [" + postData + "]");
         
         if (postData == null || postData.trim().isEmpty()) {
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "요청 본문이 비어있습니다");
-            Log.w(TAG, "Check phone failed: empty body");
+            AppLog.w(TAG, "Check phone failed: empty body");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         }
 
@@ -1661,7 +1698,7 @@ public class ApiServer extends NanoHTTPD {
             }
 
             phone = phone.trim();
-            Log.i(TAG, "Checking phone number: " + phone);
+            AppLog.i(TAG, "Checking phone number: " + phone);
             
             // 전화번호 중복 확인
             Employee existingEmployee = employeeDAO.getEmployeeByPhone(phone);
@@ -1674,7 +1711,7 @@ public class ApiServer extends NanoHTTPD {
                         existingEmployee = null; // 자신의 전화번호는 중복이 아님
                     }
                 } catch (NumberFormatException e) {
-                    Log.w(TAG, "Invalid excludeEmployeeId format: " + excludeEmployeeIdStr);
+                    AppLog.w(TAG, "Invalid excludeEmployeeId format: " + excludeEmployeeIdStr);
                 }
             }
             
@@ -1690,17 +1727,17 @@ public class ApiServer extends NanoHTTPD {
                 Corporate corporate = corporateDAO.getCorporateById(existingEmployee.getCorporateId());
                 result.put("corporateName", corporate != null ? corporate.getName() : "알 수 없는 거래처");
                 
-                Log.i(TAG, "Phone number already exists for employee: " + existingEmployee.getName());
+                AppLog.i(TAG, "Phone number already exists for employee: " + existingEmployee.getName());
             } else {
                 // 중복되지 않은 경우
                 result.put("phoneExists", false);
-                Log.i(TAG, "Phone number is available: " + phone);
+                AppLog.i(TAG, "Phone number is available: " + phone);
             }
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "Error checking employee phone", e);
+            AppLog.e(TAG, "Error checking employee phone", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "전화번호 확인 중 오류가 발생했습니다: " + e.getMessage());
@@ -1728,7 +1765,7 @@ public class ApiServer extends NanoHTTPD {
                 result.put("message", "직원이 성공적으로 삭제되었습니다");
                 result.put("deletedEmployee", existing);
                 
-                Log.i(TAG, "Employee deleted: " + existing.getName() + " (ID: " + id + ")");
+                AppLog.i(TAG, "Employee deleted: " + existing.getName() + " (ID: " + id + ")");
                 return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             } else {
                 Map<String, Object> error = new HashMap<>();
@@ -1743,7 +1780,7 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 직원 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error deleting employee", e);
+            AppLog.e(TAG, "Error deleting employee", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "직원 삭제 중 오류가 발생했습니다: " + e.getMessage());
@@ -1782,7 +1819,7 @@ public class ApiServer extends NanoHTTPD {
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "Error getting email config", e);
+            AppLog.e(TAG, "Error getting email config", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "이메일 설정 조회 중 오류가 발생했습니다: " + e.getMessage());
@@ -1828,12 +1865,12 @@ public class ApiServer extends NanoHTTPD {
             result.put("success", true);
             result.put("message", "이메일 설정이 저장되었습니다");
             
-            Log.i(TAG, "Email configuration saved successfully");
+            AppLog.i(TAG, "Email configuration saved successfully");
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "Error saving email config", e);
+            AppLog.e(TAG, "Error saving email config", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "이메일 설정 저장 중 오류가 발생했습니다: " + e.getMessage());
@@ -1896,12 +1933,12 @@ public class ApiServer extends NanoHTTPD {
             result.put("success", true);
             result.put("message", "이메일 설정이 유효합니다 (실제 연결 테스트는 추후 구현됩니다)");
             
-            Log.i(TAG, "Email connection test completed for host: " + smtpHost);
+            AppLog.i(TAG, "Email connection test completed for host: " + smtpHost);
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "Error testing email connection", e);
+            AppLog.e(TAG, "Error testing email connection", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "이메일 연결 테스트 중 오류가 발생했습니다: " + e.getMessage());
@@ -1915,7 +1952,7 @@ public class ApiServer extends NanoHTTPD {
      * 쿠폰 이메일 발송
      */
     private Response handleSendCouponEmail(IHTTPSession session) {
-        Log.i(TAG, "[EMAIL-SEND] 이메일 발송 요청 시작");
+        AppLog.i(TAG, "[EMAIL-SEND] 이메일 발송 요청 시작");
 
         try {
             // DAO 열기
@@ -1926,11 +1963,11 @@ public class ApiServer extends NanoHTTPD {
             session.parseBody(body);
             String postData = body.get("postData");
             
-            Log.i(TAG, "[EMAIL-SEND] POST 데이터 크기: " + (postData != null ? postData.length() : 0));
-            Log.i(TAG, "[EMAIL-SEND] POST 데이터 내용: " + postData);
+            AppLog.i(TAG, "[EMAIL-SEND] POST 데이터 크기: " + (postData != null ? postData.length() : 0));
+            AppLog.d(TAG, () -> "[EMAIL-SEND] POST 데이터 내용: " + postData);
             
             if (postData == null || postData.trim().isEmpty()) {
-                Log.e(TAG, "[EMAIL-SEND] 요청 본문이 비어있음");
+                AppLog.e(TAG, "[EMAIL-SEND] 요청 본문이 비어있음");
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "요청 본문이 비어있습니다");
@@ -1940,9 +1977,9 @@ public class ApiServer extends NanoHTTPD {
             Map<String, Object> requestData;
             try {
                 requestData = gson.fromJson(postData, Map.class);
-                Log.i(TAG, "[EMAIL-SEND] 파싱된 요청 데이터: " + requestData);
+                AppLog.i(TAG, "[EMAIL-SEND] 파싱된 요청 데이터: " + requestData);
             } catch (Exception e) {
-                Log.e(TAG, "[EMAIL-SEND] JSON 파싱 오류", e);
+                AppLog.e(TAG, "[EMAIL-SEND] JSON 파싱 오류", e);
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "JSON 파싱 오류: " + e.getMessage());
@@ -1956,10 +1993,10 @@ public class ApiServer extends NanoHTTPD {
             String subject = (String) requestData.get("subject");
             String message = (String) requestData.get("message");
             
-            Log.i(TAG, "[EMAIL-SEND] 파라미터 검증 - 쿠폰ID: " + couponIdObj + ", 수신자: " + recipientEmail + ", 이름: " + recipientName);
+            AppLog.i(TAG, "[EMAIL-SEND] 파라미터 검증 - 쿠폰ID: " + couponIdObj + ", 수신자: " + recipientEmail + ", 이름: " + recipientName);
             
             if (couponIdObj == null || recipientEmail == null || recipientEmail.trim().isEmpty()) {
-                Log.e(TAG, "[EMAIL-SEND] 필수 파라미터 누락 - 쿠폰ID: " + couponIdObj + ", 이메일: " + recipientEmail);
+                AppLog.e(TAG, "[EMAIL-SEND] 필수 파라미터 누락 - 쿠폰ID: " + couponIdObj + ", 이메일: " + recipientEmail);
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "쿠폰 ID와 수신자 이메일은 필수 입력 항목입니다");
@@ -1973,9 +2010,9 @@ public class ApiServer extends NanoHTTPD {
                 } else {
                     couponId = Integer.parseInt(couponIdObj.toString());
                 }
-                Log.i(TAG, "[EMAIL-SEND] 쿠폰 ID 변환 성공: " + couponId);
+                AppLog.i(TAG, "[EMAIL-SEND] 쿠폰 ID 변환 성공: " + couponId);
             } catch (NumberFormatException e) {
-                Log.e(TAG, "[EMAIL-SEND] 쿠폰 ID 변환 실패: " + couponIdObj, e);
+                AppLog.e(TAG, "[EMAIL-SEND] 쿠폰 ID 변환 실패: " + couponIdObj, e);
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "유효하지 않은 쿠폰 ID입니다: " + couponIdObj);
@@ -1990,7 +2027,7 @@ public class ApiServer extends NanoHTTPD {
                 message = "안녕하세요" + (recipientName != null ? " " + recipientName + "님" : "") + ",\n\n쿠폰이 발급되었습니다.\n\n감사합니다.";
             }
             
-            Log.i(TAG, "[EMAIL-SEND] 최종 이메일 정보 - 제목: " + subject + ", 메시지 길이: " + message.length());
+            AppLog.i(TAG, "[EMAIL-SEND] 최종 이메일 정보 - 제목: " + subject + ", 메시지 길이: " + message.length());
             
             // 쿠폰 코드 변수를 미리 선언 (스코프 해결)
             String fullCouponCode = null;
@@ -1999,7 +2036,7 @@ public class ApiServer extends NanoHTTPD {
             try {
                 Coupon coupon = couponDAO.getCouponById(couponId);
                 if (coupon == null) {
-                    Log.e(TAG, "[EMAIL-SEND] 쿠폰을 찾을 수 없음 - ID: " + couponId);
+                    AppLog.e(TAG, "[EMAIL-SEND] 쿠폰을 찾을 수 없음 - ID: " + couponId);
                     Map<String, Object> error = new HashMap<>();
                     error.put("success", false);
                     error.put("message", "존재하지 않는 쿠폰입니다: " + couponId);
@@ -2008,169 +2045,59 @@ public class ApiServer extends NanoHTTPD {
                 
                 // 쿠폰 코드가 없는 경우 생성
                 if (coupon.getFullCouponCode() == null || coupon.getFullCouponCode().trim().isEmpty()) {
-                    Log.i(TAG, "[EMAIL-SEND] 쿠폰 코드가 없음 - 생성 시작");
+                    AppLog.i(TAG, "[EMAIL-SEND] 쿠폰 코드가 없음 - 생성 시작");
                     String generatedCode = coupon.generateFullCouponCode(context);
                     coupon.setFullCouponCode(generatedCode);
                     
                     // 데이터베이스에 업데이트
                     couponDAO.updateCouponCode(couponId, generatedCode);
-                    Log.i(TAG, "[EMAIL-SEND] 쿠폰 코드 생성 완료 - " + generatedCode);
+                    AppLog.i(TAG, "[EMAIL-SEND] 쿠폰 코드 생성 완료 - " + generatedCode);
                 }
                 
                 // 쿠폰 코드를 변수에 저장
                 fullCouponCode = coupon.getFullCouponCode();
-                Log.i(TAG, "[EMAIL-SEND] 쿠폰 확인됨 - ID: " + couponId + ", 코드: " + fullCouponCode);
+                AppLog.i(TAG, "[EMAIL-SEND] 쿠폰 확인됨 - ID: " + couponId + ", 코드: " + fullCouponCode);
                 
             } catch (Exception e) {
-                Log.e(TAG, "[EMAIL-SEND] 쿠폰 조회 중 오류", e);
+                AppLog.e(TAG, "[EMAIL-SEND] 쿠폰 조회 중 오류", e);
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "쿠폰 조회 중 오류가 발생했습니다: " + e.getMessage());
                 return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
             }
             
-            // 발송 기록 저장
+            // SMTP 설정이 없으면 대기열에 넣어도 실패하므로 바로 거절
+            String configError = checkEmailSettings();
+            if (configError != null) {
+                AppLog.w(TAG, "[EMAIL-SEND] 이메일 설정이 불완전함 - 발송 거절");
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("couponId", couponId);
+                error.put("message", configError);
+                return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+            }
+
+            // 발송 기록(PENDING) 저장 후 이메일 워커 풀에 등록
+            String jobId = DeliveryQueue.newJobId();
+            requestData.put("jobId", jobId);
             String metadata = gson.toJson(requestData);
-            Log.i(TAG, "[EMAIL-SEND] 발송 기록 저장 시작");
-            
             long deliveryId = couponDeliveryDAO.insertDelivery(
                 couponId, 
                 CouponDelivery.TYPE_EMAIL, 
                 recipientEmail, 
                 subject, 
                 message, 
-                metadata
+                metadata,
+                jobId
             );
             
-            Log.i(TAG, "[EMAIL-SEND] 발송 기록 저장 완료 - 배송 ID: " + deliveryId);
-            
             if (deliveryId > 0) {
-                // 실제 이메일 발송
-                Log.i(TAG, "[EMAIL-SEND] 실제 이메일 발송 시작");
-                
-                // 이메일 설정 확인
-                SharedPreferences emailSettings = context.getSharedPreferences("EmailSettings", Context.MODE_PRIVATE);
-                String smtpHost = emailSettings.getString("smtp_host", "");
-                String smtpPort = emailSettings.getString("smtp_port", "");
-                String security = emailSettings.getString("security", "tls");
-                String username = emailSettings.getString("username", "");
-                String password = emailSettings.getString("password", "");
-                boolean useAuth = emailSettings.getBoolean("use_auth", true);
-                String senderName = emailSettings.getString("sender_name", "");
-                String senderEmail = emailSettings.getString("sender_email", "");
-                
-                Log.i(TAG, "[EMAIL-SEND] 이메일 설정 확인 - SMTP 호스트: " + smtpHost + ", 포트: " + smtpPort + ", 사용자: " + username + ", 보안: " + security);
-                
-                boolean emailSentSuccessfully = false;
-                String errorMessage = null;
-                
-                if (smtpHost.isEmpty() || smtpPort.isEmpty() || username.isEmpty()) {
-                    Log.w(TAG, "[EMAIL-SEND] 이메일 설정이 불완전함 - 시뮬레이션으로 처리");
-                    errorMessage = "이메일 설정이 완료되지 않았습니다. '이메일 설정' 탭에서 SMTP 설정을 완료해주세요.";
-                    emailSentSuccessfully = false;
-                } else {
-                    // 실제 이메일 발송 시도 (별도 스레드에서 실행)
-                    try {
-                        // final 변수로 복사
-                        final String finalSmtpHost = smtpHost;
-                        final String finalSmtpPort = smtpPort;
-                        final String finalSecurity = security;
-                        final String finalUsername = username;
-                        final String finalPassword = password;
-                        final boolean finalUseAuth = useAuth;
-                        final String finalSenderName = senderName;
-                        final String finalSenderEmail = senderEmail;
-                        final String finalRecipientEmail = recipientEmail;
-                        final String finalSubject = subject;
-                        final String finalMessage = message;
-                        final String finalFullCouponCode = fullCouponCode;
-                        
-                        // 동기식 실행을 위한 변수들
-                        final boolean[] result = {false};
-                        final String[] error = {null};
-                        final Object lock = new Object();
-                        final boolean[] completed = {false};
-                        
-                        // 별도 스레드에서 이메일 발송
-                        Thread emailThread = new Thread(new Runnable() {
-                            @Override
-                            public void run() {
-                                try {
-                                    boolean success = sendEmailActual(finalSmtpHost, finalSmtpPort, finalSecurity, finalUsername, finalPassword, finalUseAuth, 
-                                                                    finalSenderName, finalSenderEmail, finalRecipientEmail, finalSubject, finalMessage, finalFullCouponCode);
-                                    synchronized (lock) {
-                                        result[0] = success;
-                                        completed[0] = true;
-                                        lock.notify();
-                                    }
-                                } catch (Exception e) {
-                                    synchronized (lock) {
-                                        result[0] = false;
-                                        error[0] = e.getMessage();
-                                        completed[0] = true;
-                                        lock.notify();
-                                    }
-                                }
-                            }
-                        });
-                        
-                        emailThread.start();
-                        
-                        // 결과 대기 (최대 30초)
-                        synchronized (lock) {
-                            if (!completed[0]) {
-                                lock.wait(30000); // 30초 타임아웃
-                            }
-                        }
-                        
-                        if (!completed[0]) {
-                            // 타임아웃 발생
-                            emailThread.interrupt();
-                            emailSentSuccessfully = false;
-                            errorMessage = "이메일 발송이 타임아웃되었습니다 (30초 초과)";
-                            Log.w(TAG, "[EMAIL-SEND] 이메일 발송 타임아웃");
-                        } else if (result[0]) {
-                            emailSentSuccessfully = true;
-                            Log.i(TAG, "[EMAIL-SEND] 실제 이메일 발송 성공");
-                        } else {
-                            emailSentSuccessfully = false;
-                            errorMessage = error[0] != null ? "이메일 발송 실패: " + error[0] : "이메일 발송에 실패했습니다. SMTP 설정을 확인해주세요.";
-                            Log.w(TAG, "[EMAIL-SEND] 실제 이메일 발송 실패: " + errorMessage);
-                        }
-                        
-                    } catch (InterruptedException e) {
-                        Log.e(TAG, "[EMAIL-SEND] 이메일 발송 대기 중 인터럽트", e);
-                        emailSentSuccessfully = false;
-                        errorMessage = "이메일 발송 중 인터럽트가 발생했습니다.";
-                    } catch (Exception e) {
-                        Log.e(TAG, "[EMAIL-SEND] 실제 이메일 발송 중 예외", e);
-                        emailSentSuccessfully = false;
-                        errorMessage = "이메일 발송 중 오류가 발생했습니다: " + e.getMessage();
-                    }
-                }
-                
-                // 발송 상태 업데이트
-                String deliveryStatus = emailSentSuccessfully ? CouponDelivery.STATUS_SENT : CouponDelivery.STATUS_FAILED;
-                boolean updateSuccess = couponDeliveryDAO.updateDeliveryStatus(deliveryId, deliveryStatus, errorMessage);
-                Log.i(TAG, "[EMAIL-SEND] 발송 상태 업데이트 결과: " + updateSuccess + ", 상태: " + deliveryStatus);
-                
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", emailSentSuccessfully);
-                result.put("deliveryId", deliveryId);
-                result.put("couponId", couponId);
-                result.put("recipientEmail", recipientEmail);
-                result.put("actualEmailSent", emailSentSuccessfully);
-                
-                if (emailSentSuccessfully) {
-                    result.put("message", "이메일 발송이 완료되었습니다.");
-                } else {
-                    result.put("message", errorMessage != null ? errorMessage : "이메일 발송에 실패했습니다.");
-                }
-                
-                Log.i(TAG, "[EMAIL-SEND] 이메일 발송 완료 - 배송 ID: " + deliveryId + ", 쿠폰 ID: " + couponId + ", 성공: " + emailSentSuccessfully);
-                return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
+                deliveryQueue.submit(deliveryId, CouponDelivery.TYPE_EMAIL);
+                AppLog.i(TAG, "[EMAIL-SEND] 발송 대기열 등록 - 배송 ID: " + deliveryId + ", 작업 ID: " + jobId + ", 쿠폰 ID: " + couponId);
+                return newFixedLengthResponse(Response.Status.ACCEPTED, "application/json; charset=utf-8",
+                        gson.toJson(buildQueuedResult(jobId, deliveryId, couponId, recipientEmail, "이메일")));
             } else {
-                Log.e(TAG, "[EMAIL-SEND] 발송 기록 저장 실패");
+                AppLog.e(TAG, "[EMAIL-SEND] 발송 기록 저장 실패");
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "발송 기록 저장에 실패했습니다");
@@ -2178,7 +2105,7 @@ public class ApiServer extends NanoHTTPD {
             }
             
         } catch (Exception e) {
-            Log.e(TAG, "[EMAIL-SEND] 예외 발생", e);
+            AppLog.e(TAG, "[EMAIL-SEND] 예외 발생", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "이메일 발송 중 오류가 발생했습니다: " + e.getMessage());
@@ -2197,7 +2124,7 @@ public class ApiServer extends NanoHTTPD {
      * 발송 기록 조회
      */
     private Response handleGetDeliveryHistory(IHTTPSession session) {
-        Log.i(TAG, "[DELIVERY-HISTORY] 발송 기록 조회 요청 시작");
+        AppLog.i(TAG, "[DELIVERY-HISTORY] 발송 기록 조회 요청 시작");
 
         try {
             // DAO 열기
@@ -2209,64 +2136,63 @@ public class ApiServer extends NanoHTTPD {
             String deliveryType = params.get("type");
             String status = params.get("status");
             
-            Log.i(TAG, "[DELIVERY-HISTORY] 조회 파라미터 - 쿠폰ID: " + couponId + ", 유형: " + deliveryType + ", 상태: " + status);
+            AppLog.i(TAG, "[DELIVERY-HISTORY] 조회 파라미터 - 쿠폰ID: " + couponId + ", 유형: " + deliveryType + ", 상태: " + status);
             
             List<CouponDelivery> deliveries;
             
             if (couponId != null && !couponId.trim().isEmpty()) {
                 try {
                     int id = Integer.parseInt(couponId);
-                    Log.i(TAG, "[DELIVERY-HISTORY] 쿠폰 ID별 조회: " + id);
+                    AppLog.i(TAG, "[DELIVERY-HISTORY] 쿠폰 ID별 조회: " + id);
                     deliveries = couponDeliveryDAO.getDeliveriesByCouponId(id);
                 } catch (NumberFormatException e) {
-                    Log.e(TAG, "[DELIVERY-HISTORY] 잘못된 쿠폰 ID 형식: " + couponId);
+                    AppLog.e(TAG, "[DELIVERY-HISTORY] 잘못된 쿠폰 ID 형식: " + couponId);
                     Map<String, Object> error = new HashMap<>();
                     error.put("success", false);
                     error.put("message", "유효하지 않은 쿠폰 ID입니다");
                     return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
                 }
             } else if (deliveryType != null && !deliveryType.trim().isEmpty()) {
-                Log.i(TAG, "[DELIVERY-HISTORY] 발송 유형별 조회: " + deliveryType);
+                AppLog.i(TAG, "[DELIVERY-HISTORY] 발송 유형별 조회: " + deliveryType);
                 deliveries = couponDeliveryDAO.getDeliveriesByType(deliveryType);
             } else if (status != null && !status.trim().isEmpty()) {
-                Log.i(TAG, "[DELIVERY-HISTORY] 상태별 조회: " + status);
+                AppLog.i(TAG, "[DELIVERY-HISTORY] 상태별 조회: " + status);
                 deliveries = couponDeliveryDAO.getDeliveriesByStatus(status);
             } else {
-                Log.i(TAG, "[DELIVERY-HISTORY] 모든 발송 기록 조회");
+                AppLog.i(TAG, "[DELIVERY-HISTORY] 모든 발송 기록 조회");
                 deliveries = couponDeliveryDAO.getAllDeliveries();
             }
             
-            Log.i(TAG, "[DELIVERY-HISTORY] 조회 결과: " + deliveries.size() + "건");
+            AppLog.i(TAG, "[DELIVERY-HISTORY] 조회 결과: " + deliveries.size() + "건");
             
             // 각 발송 기록에 쿠폰 코드 정보 추가
             for (CouponDelivery delivery : deliveries) {
                 try {
-                    Log.d(TAG, "[DELIVERY-HISTORY] 발송 기록 상세 정보 - deliveryId: " + delivery.getDeliveryId() + 
+                    AppLog.d(TAG, () -> "[DELIVERY-HISTORY] 발송 기록 상세 정보 - deliveryId: " + delivery.getDeliveryId() + 
                         ", couponId: " + delivery.getCouponId() + 
                         ", deliveryType: " + delivery.getDeliveryType() + 
                         ", deliveryStatus: " + delivery.getDeliveryStatus() + 
                         ", recipient: " + delivery.getRecipientAddress() +
                         ", createdAt: " + delivery.getCreatedAt());
                     
-                    Log.d(TAG, "[DELIVERY-HISTORY] 쿠폰 정보 조회 시작 - delivery.getCouponId(): " + delivery.getCouponId());
+                    AppLog.d(TAG, () -> "[DELIVERY-HISTORY] 쿠폰 정보 조회 시작 - delivery.getCouponId(): " + delivery.getCouponId());
                     Coupon coupon = couponDAO.getCouponById(delivery.getCouponId());
                     if (coupon != null) {
                         String fullCouponCode = coupon.getFullCouponCode();
                         
                         // 쿠폰 코드가 없는 경우 생성
                         if (fullCouponCode == null || fullCouponCode.trim().isEmpty()) {
-                            Log.d(TAG, "[DELIVERY-HISTORY] 쿠폰 코드가 없음 - 생성 시작");
+                            AppLog.d(TAG, "[DELIVERY-HISTORY] 쿠폰 코드가 없음 - 생성 시작");
                             fullCouponCode = coupon.generateFullCouponCode(context);
                             coupon.setFullCouponCode(fullCouponCode);
                             couponDAO.updateCouponCode(delivery.getCouponId(), fullCouponCode);
-                            Log.d(TAG, "[DELIVERY-HISTORY] 쿠폰 코드 생성 완료 - " + fullCouponCode);
+                            AppLog.d(TAG, () -> "[DELIVERY-HISTORY] 쿠폰 코드 생성 완료 - " + coupon.getFullCouponCode());
                         }
                         
-                        Log.d(TAG, "[DELIVERY-HISTORY] 쿠폰 조회 성공 - ID: " + delivery.getCouponId() + ", 코드: " + fullCouponCode);
                         delivery.setCouponCode(fullCouponCode);
-                        Log.d(TAG, "[DELIVERY-HISTORY] setCouponCode 완료 - getCouponCode(): " + delivery.getCouponCode());
+                        AppLog.d(TAG, () -> "[DELIVERY-HISTORY] 쿠폰 조회 성공 - ID: " + delivery.getCouponId() + ", 코드: " + delivery.getCouponCode());
                     } else {
-                        Log.w(TAG, "[DELIVERY-HISTORY] 쿠폰을 찾을 수 없음 - ID: " + delivery.getCouponId());
+                        AppLog.w(TAG, "[DELIVERY-HISTORY] 쿠폰을 찾을 수 없음 - ID: " + delivery.getCouponId());
                     }
                     
                     // JavaScript용 필드 설정
@@ -2279,14 +2205,14 @@ public class ApiServer extends NanoHTTPD {
                     delivery.setType(typeValue);
                     
                     // status 관련 상세 로그 추가
-                    Log.d(TAG, "[DELIVERY-HISTORY] 필드 설정 완료 - " +
+                    AppLog.d(TAG, () -> "[DELIVERY-HISTORY] 필드 설정 완료 - " +
                         "원본 deliveryStatus: '" + delivery.getDeliveryStatus() + "', " +
                         "설정한 status: '" + statusValue + "', " +
                         "설정한 recipient: '" + recipientValue + "', " +
                         "설정한 type: '" + typeValue + "'");
                         
                 } catch (Exception e) {
-                    Log.w(TAG, "[DELIVERY-HISTORY] 쿠폰 정보 조회 실패 - ID: " + delivery.getCouponId(), e);
+                    AppLog.w(TAG, "[DELIVERY-HISTORY] 쿠폰 정보 조회 실패 - ID: " + delivery.getCouponId(), e);
                 }
             }
             
@@ -2297,21 +2223,21 @@ public class ApiServer extends NanoHTTPD {
             
             // JSON 직렬화 결과 로그
             String jsonResult = gson.toJson(result);
-            Log.i(TAG, "[DELIVERY-HISTORY] 발송 기록 조회 완료 - " + deliveries.size() + "건 반환");
-            Log.d(TAG, "[DELIVERY-HISTORY] JSON 응답 샘플 (첫 500자): " + 
+            AppLog.i(TAG, "[DELIVERY-HISTORY] 발송 기록 조회 완료 - " + deliveries.size() + "건 반환");
+            AppLog.d(TAG, () -> "[DELIVERY-HISTORY] JSON 응답 샘플 (첫 500자): " + 
                 (jsonResult.length() > 500 ? jsonResult.substring(0, 500) + "..." : jsonResult));
             
             // 첫 번째 delivery 객체의 JSON 구조 상세 로그
             if (!deliveries.isEmpty()) {
                 CouponDelivery firstDelivery = deliveries.get(0);
                 String singleDeliveryJson = gson.toJson(firstDelivery);
-                Log.d(TAG, "[DELIVERY-HISTORY] 첫 번째 delivery 객체 JSON: " + singleDeliveryJson);
+                AppLog.d(TAG, () -> "[DELIVERY-HISTORY] 첫 번째 delivery 객체 JSON: " + singleDeliveryJson);
             }
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", jsonResult);
             
         } catch (Exception e) {
-            Log.e(TAG, "[DELIVERY-HISTORY] 발송 기록 조회 중 예외 발생", e);
+            AppLog.e(TAG, "[DELIVERY-HISTORY] 발송 기록 조회 중 예외 발생", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "발송 기록 조회 중 오류가 발생했습니다: " + e.getMessage());
@@ -2324,35 +2250,131 @@ public class ApiServer extends NanoHTTPD {
         }
     }
 
+    /**
+     * GET /api/coupon-send/history/latest?corporateId=... 또는 ?couponIds=1,2,3
+     * 발송 화면이 쿠폰마다 history 를 부르지 않도록, 쿠폰별 유형(email/sms/kakao)마다 최근 상태를 한 번에 돌려준다.
+     */
+    private Response handleGetLatestDeliveryStatuses(IHTTPSession session) {
+        try {
+            couponDeliveryDAO.open();
+
+            Map<String, String> params = session.getParms();
+            String corporateIdParam = params.get("corporateId");
+            String couponIdsParam = params.get("couponIds");
+
+            List<CouponDeliveryDAO.LatestDeliveryStatus> statuses;
+            if (couponIdsParam != null && !couponIdsParam.trim().isEmpty()) {
+                List<Integer> couponIds = new ArrayList<>();
+                for (String id : couponIdsParam.split(",")) {
+                    if (id.trim().isEmpty()) {
+                        continue;
+                    }
+                    try {
+                        couponIds.add(Integer.parseInt(id.trim()));
+                    } catch (NumberFormatException e) {
+                        Map<String, Object> error = new HashMap<>();
+                        error.put("success", false);
+                        error.put("message", "유효하지 않은 쿠폰 ID입니다: " + id);
+                        return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+                    }
+                }
+                statuses = couponDeliveryDAO.getLatestStatusesByCouponIds(couponIds);
+            } else if (corporateIdParam != null && !corporateIdParam.trim().isEmpty()) {
+                int corporateId;
+                try {
+                    corporateId = Integer.parseInt(corporateIdParam.trim());
+                } catch (NumberFormatException e) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("success", false);
+                    error.put("message", "유효하지 않은 거래처 ID입니다: " + corporateIdParam);
+                    return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+                }
+                statuses = couponDeliveryDAO.getLatestStatusesByCorporateId(corporateId);
+            } else {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", "couponIds 또는 corporateId 가 필요합니다");
+                return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+            }
+
+            // couponId -> { email: {...}, sms: {...}, kakao: {...} } (JavaScript 쪽과 같이 소문자)
+            Map<String, Map<String, Object>> byCoupon = new LinkedHashMap<>();
+            for (CouponDeliveryDAO.LatestDeliveryStatus status : statuses) {
+                Map<String, Object> entry = byCoupon.get(String.valueOf(status.getCouponId()));
+                if (entry == null) {
+                    entry = new HashMap<>();
+                    entry.put("couponId", status.getCouponId());
+                    byCoupon.put(String.valueOf(status.getCouponId()), entry);
+                }
+                Map<String, Object> latest = new HashMap<>();
+                latest.put("status", status.getDeliveryStatus() != null ? status.getDeliveryStatus().toLowerCase() : null);
+                latest.put("createdAt", status.getCreatedAt());
+                latest.put("sent", status.isEverSent());
+                latest.put("attempts", status.getAttempts());
+                entry.put(status.getDeliveryType() != null ? status.getDeliveryType().toLowerCase() : "unknown", latest);
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("data", byCoupon);
+            result.put("count", byCoupon.size());
+            AppLog.i(TAG, "[DELIVERY-HISTORY] 쿠폰별 최근 발송 상태 조회 - " + byCoupon.size() + "개 쿠폰");
+            return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
+
+        } catch (Exception e) {
+            AppLog.e(TAG, "[DELIVERY-HISTORY] 최근 발송 상태 조회 중 예외 발생", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "발송 상태 조회 중 오류가 발생했습니다: " + e.getMessage());
+            return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
+        } finally {
+            couponDeliveryDAO.close();
+        }
+    }
+
+    /**
+     * 이메일 발송 결과. 재시도해도 중복 발송이 없는 것은 DATA 이전의 연결/핸드셰이크 실패뿐이다.
+     */
+    private enum EmailOutcome {
+        /** 서버가 메시지를 수락 */
+        SENT,
+        /** 설정/수신자 오류 또는 서버 거절 (5xx 등) - 재시도해도 같은 결과 */
+        REJECTED,
+        /** DATA 본문 전송 이후 실패 - 이미 전달됐을 수 있어 재시도하지 않음 */
+        FAILED_AFTER_DATA,
+        /** 연결/TLS/인증 단계 실패 - 메시지를 보내기 전이므로 재시도 가능 */
+        FAILED_BEFORE_DATA
+    }
+
     /**
      * 실제 이메일 발송 메서드
      */
-    private boolean sendEmailActual(String smtpHost, String smtpPort, String security, 
+    private EmailOutcome sendEmailActual(String smtpHost, String smtpPort, String security, 
                                    String username, String password, boolean useAuth,
                                    String senderName, String senderEmail, 
                                    String recipientEmail, String subject, String messageText, String couponCode) {
         
-        Log.i(TAG, "[EMAIL-ACTUAL] 실제 이메일 발송 시작");
-        Log.i(TAG, "[EMAIL-ACTUAL] 설정 - 호스트: " + smtpHost + ", 포트: " + smtpPort + ", 보안: " + security);
-        Log.i(TAG, "[EMAIL-ACTUAL] 발신자: " + senderEmail + " (" + senderName + ")");
-        Log.i(TAG, "[EMAIL-ACTUAL] 수신자: " + recipientEmail);
-        Log.i(TAG, "[EMAIL-ACTUAL] 제목: " + subject);
+        AppLog.i(TAG, "[EMAIL-ACTUAL] 실제 이메일 발송 시작");
+        AppLog.i(TAG, "[EMAIL-ACTUAL] 설정 - 호스트: " + smtpHost + ", 포트: " + smtpPort + ", 보안: " + security);
+        AppLog.i(TAG, "[EMAIL-ACTUAL] 발신자: " + senderEmail + " (" + senderName + ")");
+        AppLog.i(TAG, "[EMAIL-ACTUAL] 수신자: " + recipientEmail);
+        AppLog.i(TAG, "[EMAIL-ACTUAL] 제목: " + subject);
         
         try {
             // 기본 검증
             if (smtpHost == null || smtpHost.trim().isEmpty()) {
-                Log.e(TAG, "[EMAIL-ACTUAL] SMTP 호스트가 설정되지 않음");
-                return false;
+                AppLog.e(TAG, "[EMAIL-ACTUAL] SMTP 호스트가 설정되지 않음");
+                return EmailOutcome.REJECTED;
             }
             
             if (recipientEmail == null || !recipientEmail.contains("@")) {
-                Log.e(TAG, "[EMAIL-ACTUAL] 잘못된 수신자 이메일: " + recipientEmail);
-                return false;
+                AppLog.e(TAG, "[EMAIL-ACTUAL] 잘못된 수신자 이메일: " + recipientEmail);
+                return EmailOutcome.REJECTED;
             }
             
             if (username == null || username.trim().isEmpty()) {
-                Log.e(TAG, "[EMAIL-ACTUAL] SMTP 사용자명이 설정되지 않음");
-                return false;
+                AppLog.e(TAG, "[EMAIL-ACTUAL] SMTP 사용자명이 설정되지 않음");
+                return EmailOutcome.REJECTED;
             }
             
             // 포트 번호 검증
@@ -2360,325 +2382,68 @@ public class ApiServer extends NanoHTTPD {
             try {
                 port = Integer.parseInt(smtpPort);
                 if (port <= 0 || port > 65535) {
-                    Log.e(TAG, "[EMAIL-ACTUAL] 잘못된 포트 번호: " + smtpPort);
-                    return false;
+                    AppLog.e(TAG, "[EMAIL-ACTUAL] 잘못된 포트 번호: " + smtpPort);
+                    return EmailOutcome.REJECTED;
                 }
             } catch (NumberFormatException e) {
-                Log.e(TAG, "[EMAIL-ACTUAL] 포트 번호 파싱 오류: " + smtpPort);
-                return false;
+                AppLog.e(TAG, "[EMAIL-ACTUAL] 포트 번호 파싱 오류: " + smtpPort);
+                return EmailOutcome.REJECTED;
             }
             
-            Log.i(TAG, "[EMAIL-ACTUAL] 순수 Java Socket SMTP 연결 시도 시작");
+            AppLog.i(TAG, "[EMAIL-ACTUAL] 순수 Java Socket SMTP 연결 시도 시작");
             
             // Socket을 이용한 직접 SMTP 구현
             return performSmtpEmail(smtpHost, port, security, username, password, useAuth, senderName, senderEmail, recipientEmail, subject, messageText, couponCode);
             
         } catch (Exception e) {
-            Log.e(TAG, "[EMAIL-ACTUAL] 이메일 발송 중 예외 발생", e);
-            return false;
+            AppLog.e(TAG, "[EMAIL-ACTUAL] 이메일 발송 중 예외 발생", e);
+            return EmailOutcome.FAILED_AFTER_DATA;
         }
     }
     
     /**
-     * SMTP 이메일 발송 실행
+     * SMTP 이메일 발송 실행 (SmtpTransport 풀의 인증된 세션 재사용)
      */
-    private boolean performSmtpEmail(String smtpHost, int port, String security, String username, 
+    private EmailOutcome performSmtpEmail(String smtpHost, int port, String security, String username, 
                                    String password, boolean useAuth, String senderName, String senderEmail, 
                                    String recipientEmail, String subject, String messageText, String couponCode) {
-        Socket socket = null;
-        BufferedReader reader = null;
-        PrintWriter writer = null;
-        File qrImageFile = null;
-        
         try {
-            // 발신자 이메일 결정
-            String fromEmail = senderEmail != null && !senderEmail.isEmpty() ? senderEmail : username;
-            
-            // QR 코드 생성 (쿠폰 코드가 있는 경우)
+            // QR 코드 PNG (쿠폰 코드가 있는 경우, 메모리 캐시에서 재사용)
+            byte[] qrPng = null;
             if (couponCode != null && !couponCode.trim().isEmpty()) {
-                Log.i(TAG, "[EMAIL-ACTUAL] QR 코드 생성 시작 - 쿠폰코드: " + couponCode);
-                String qrFileName = "coupon_qr_" + System.currentTimeMillis();
-                qrImageFile = QRCodeGenerator.generateQRCodeImage(context, couponCode, qrFileName);
-                
-                if (qrImageFile != null) {
-                    Log.i(TAG, "[EMAIL-ACTUAL] QR 코드 생성 성공 - 파일: " + qrImageFile.getName() + ", 크기: " + qrImageFile.length() + " bytes");
+                qrPng = QRCodeGenerator.getQRCodePng(couponCode);
+                if (qrPng != null) {
+                    AppLog.i(TAG, "[EMAIL-ACTUAL] QR 코드 준비 완료 - 쿠폰코드: " + couponCode + ", 크기: " + qrPng.length + " bytes");
                 } else {
-                    Log.w(TAG, "[EMAIL-ACTUAL] QR 코드 생성 실패 - 첨부 없이 이메일 발송");
-                }
-            } else {
-                Log.w(TAG, "[EMAIL-ACTUAL] 쿠폰 코드가 없어 QR 코드 생성 생략");
-            }
-            
-            Log.i(TAG, "[EMAIL-ACTUAL] 연결 설정 - 호스트: " + smtpHost + ", 포트: " + port + ", 보안: " + security);
-            
-            // SMTP 서버 연결
-            if ("ssl".equals(security)) {
-                // SSL 연결
-                SSLSocketFactory sslFactory = (SSLSocketFactory) SSLSocketFactory.getDefault();
-                socket = sslFactory.createSocket(smtpHost, port);
-            } else {
-                // 일반 또는 TLS 연결
-                socket = new Socket(smtpHost, port);
-            }
-            
-            socket.setSoTimeout(30000); // 30초 타임아웃
-            
-            reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            writer = new PrintWriter(socket.getOutputStream(), true);
-            
-            Log.i(TAG, "[EMAIL-ACTUAL] SMTP 서버 연결 성공");
-            
-            // SMTP 명령어 처리
-            String response = reader.readLine();
-            Log.i(TAG, "[EMAIL-ACTUAL] 서버 응답: " + response);
-            
-            if (!response.startsWith("220")) {
-                Log.e(TAG, "[EMAIL-ACTUAL] SMTP 서버 연결 실패: " + response);
-                return false;
-            }
-            
-            // EHLO 명령
-            writer.println("EHLO " + smtpHost);
-            response = readMultiLineResponse(reader);
-            Log.i(TAG, "[EMAIL-ACTUAL] EHLO 응답: " + response);
-            
-            // TLS 시작 (필요한 경우)
-            if ("tls".equals(security)) {
-                writer.println("STARTTLS");
-                response = reader.readLine();
-                Log.i(TAG, "[EMAIL-ACTUAL] STARTTLS 응답: " + response);
-                
-                if (response.startsWith("220")) {
-                    // TLS 핸드셰이크
-                    SSLSocketFactory sslFactory = (SSLSocketFactory) SSLSocketFactory.getDefault();
-                    SSLSocket sslSocket = (SSLSocket) sslFactory.createSocket(socket, smtpHost, port, true);
-                    sslSocket.startHandshake();
-                    
-                    socket = sslSocket;
-                    reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                    writer = new PrintWriter(socket.getOutputStream(), true);
-                    
-                    // TLS 후 다시 EHLO
-                    writer.println("EHLO " + smtpHost);
-                    response = readMultiLineResponse(reader);
-                    Log.i(TAG, "[EMAIL-ACTUAL] TLS EHLO 응답: " + response);
-                }
-            }
-            
-            // 인증 (필요한 경우)
-            if (useAuth && password != null && !password.isEmpty()) {
-                writer.println("AUTH LOGIN");
-                response = reader.readLine();
-                Log.i(TAG, "[EMAIL-ACTUAL] AUTH LOGIN 응답: " + response);
-                
-                if (response.startsWith("334")) {
-                    // 사용자명 전송
-                    String encodedUsername = Base64.getEncoder().encodeToString(username.getBytes("UTF-8"));
-                    writer.println(encodedUsername);
-                    response = reader.readLine();
-                    Log.i(TAG, "[EMAIL-ACTUAL] 사용자명 응답: " + response);
-                    
-                    if (response.startsWith("334")) {
-                        // 비밀번호 전송
-                        String encodedPassword = Base64.getEncoder().encodeToString(password.getBytes("UTF-8"));
-                        writer.println(encodedPassword);
-                        response = reader.readLine();
-                        Log.i(TAG, "[EMAIL-ACTUAL] 비밀번호 응답: " + response);
-                        
-                        if (!response.startsWith("235")) {
-                            Log.e(TAG, "[EMAIL-ACTUAL] 인증 실패: " + response);
-                            return false;
-                        }
-                    }
-                }
-            }
-            
-            // 발신자 설정
-            writer.println("MAIL FROM:<" + fromEmail + ">");
-            response = reader.readLine();
-            Log.i(TAG, "[EMAIL-ACTUAL] MAIL FROM 응답: " + response);
-            if (!response.startsWith("250")) {
-                Log.e(TAG, "[EMAIL-ACTUAL] MAIL FROM 실패: " + response);
-                return false;
-            }
-            
-            // 수신자 설정
-            writer.println("RCPT TO:<" + recipientEmail + ">");
-            response = reader.readLine();
-            Log.i(TAG, "[EMAIL-ACTUAL] RCPT TO 응답: " + response);
-            if (!response.startsWith("250")) {
-                Log.e(TAG, "[EMAIL-ACTUAL] RCPT TO 실패: " + response);
-                return false;
-            }
-            
-            // 데이터 전송 시작
-            writer.println("DATA");
-            response = reader.readLine();
-            Log.i(TAG, "[EMAIL-ACTUAL] DATA 응답: " + response);
-            if (!response.startsWith("354")) {
-                Log.e(TAG, "[EMAIL-ACTUAL] DATA 명령 실패: " + response);
-                return false;
-            }
-            
-            // 이메일 헤더와 본문 작성
-            String displayName = senderName != null && !senderName.isEmpty() ? senderName : fromEmail;
-            writer.println("From: " + displayName + " <" + fromEmail + ">");
-            writer.println("To: <" + recipientEmail + ">");
-            writer.println("Subject: " + subject);
-            writer.println("MIME-Version: 1.0");
-            
-            // MIME 멀티파트 구성 (첨부파일이 있는 경우)
-            if (qrImageFile != null && qrImageFile.exists()) {
-                String boundary = "----=_Part_" + System.currentTimeMillis();
-                writer.println("Content-Type: multipart/mixed; boundary=\"" + boundary + "\"");
-                writer.println("");
-                
-                // HTML 본문 파트
-                writer.println("--" + boundary);
-                writer.println("Content-Type: text/html; charset=UTF-8");
-                writer.println("Content-Transfer-Encoding: 8bit");
-                writer.println("");
-                String htmlContent = messageText.replace("\n", "<br>");
-                writer.println(htmlContent);
-                writer.println("");
-                
-                // QR 코드 첨부파일 파트
-                writer.println("--" + boundary);
-                writer.println("Content-Type: image/jpeg; name=\"" + qrImageFile.getName() + "\"");
-                writer.println("Content-Transfer-Encoding: base64");
-                writer.println("Content-Disposition: attachment; filename=\"" + qrImageFile.getName() + "\"");
-                writer.println("");
-                
-                // 파일을 Base64로 인코딩해서 전송
-                try {
-                    byte[] fileBytes = readFileToBytes(qrImageFile);
-                    if (fileBytes != null) {
-                        String base64Content = Base64.getEncoder().encodeToString(fileBytes);
-                        // Base64는 76자마다 줄바꿈
-                        for (int i = 0; i < base64Content.length(); i += 76) {
-                            int endIndex = Math.min(i + 76, base64Content.length());
-                            writer.println(base64Content.substring(i, endIndex));
-                        }
-                        Log.i(TAG, "[EMAIL-ACTUAL] QR 코드 첨부파일 Base64 인코딩 완료");
-                    } else {
-                        Log.e(TAG, "[EMAIL-ACTUAL] QR 코드 파일 읽기 실패");
-                    }
-                } catch (Exception e) {
-                    Log.e(TAG, "[EMAIL-ACTUAL] QR 코드 첨부 중 오류", e);
+                    AppLog.w(TAG, "[EMAIL-ACTUAL] QR 코드 생성 실패 - 첨부 없이 이메일 발송");
                 }
-                
-                writer.println("");
-                writer.println("--" + boundary + "--");
-                
             } else {
-                // 첨부파일이 없는 경우 단순 HTML
-                writer.println("Content-Type: text/html; charset=UTF-8");
-                writer.println("");
-                String htmlContent = messageText.replace("\n", "<br>");
-                writer.println(htmlContent);
+                AppLog.w(TAG, "[EMAIL-ACTUAL] 쿠폰 코드가 없어 QR 코드 생성 생략");
             }
             
-            writer.println(".");
+            SmtpTransport.Config config = new SmtpTransport.Config(smtpHost, port, security, username, password,
+                    useAuth, senderName, senderEmail);
+            SmtpTransport.Message message = qrPng != null
+                    ? new SmtpTransport.Message(recipientEmail, subject, messageText, "coupon_qr.png", qrPng)
+                    : new SmtpTransport.Message(recipientEmail, subject, messageText, null);
+            boolean accepted = smtpTransport.send(config, message);
             
-            response = reader.readLine();
-            Log.i(TAG, "[EMAIL-ACTUAL] 메시지 전송 응답: " + response);
-            if (!response.startsWith("250")) {
-                Log.e(TAG, "[EMAIL-ACTUAL] 메시지 전송 실패: " + response);
-                return false;
+            if (accepted) {
+                AppLog.i(TAG, "[EMAIL-ACTUAL] 이메일 발송 성공!");
+                return EmailOutcome.SENT;
             }
+            AppLog.e(TAG, "[EMAIL-ACTUAL] SMTP 서버가 메시지를 거절함 - 수신자: " + recipientEmail);
+            return EmailOutcome.REJECTED;
             
-            // 연결 종료
-            writer.println("QUIT");
-            response = reader.readLine();
-            Log.i(TAG, "[EMAIL-ACTUAL] QUIT 응답: " + response);
-            
-            Log.i(TAG, "[EMAIL-ACTUAL] 이메일 발송 성공!");
-            return true;
-            
-        } catch (Exception e) {
-            Log.e(TAG, "[EMAIL-ACTUAL] SMTP 통신 중 오류", e);
-            return false;
-        } finally {
-            // 리소스 정리
-            try {
-                if (writer != null) writer.close();
-                if (reader != null) reader.close();
-                if (socket != null && !socket.isClosed()) socket.close();
-            } catch (IOException e) {
-                Log.w(TAG, "[EMAIL-ACTUAL] 리소스 정리 중 오류", e);
-            }
-            
-            // QR 코드 이미지 파일 삭제
-            if (qrImageFile != null) {
-                boolean deleted = QRCodeGenerator.deleteQRCodeImage(qrImageFile);
-                if (deleted) {
-                    Log.i(TAG, "[EMAIL-ACTUAL] QR 코드 임시 파일 삭제 완료");
-                } else {
-                    Log.w(TAG, "[EMAIL-ACTUAL] QR 코드 임시 파일 삭제 실패");
-                }
-            }
-        }
-    }
-    
-    /**
-     * SMTP 서버에서 멀티라인 응답 읽기
-     */
-    private String readMultiLineResponse(BufferedReader reader) throws IOException {
-        StringBuilder response = new StringBuilder();
-        String line;
-        
-        while ((line = reader.readLine()) != null) {
-            response.append(line).append("\n");
-            // SMTP 응답의 마지막 라인은 세 자리 숫자 + 공백으로 시작
-            if (line.length() >= 4 && line.charAt(3) == ' ') {
-                break;
-            }
-        }
-        
-        return response.toString().trim();
-    }
-    
-    /**
-     * 파일을 바이트 배열로 읽기
-     */
-    private byte[] readFileToBytes(File file) {
-        if (file == null || !file.exists()) {
-            Log.e(TAG, "[FILE-READ] 파일이 존재하지 않음");
-            return null;
-        }
-        
-        FileInputStream inputStream = null;
-        ByteArrayOutputStream outputStream = null;
-        
-        try {
-            inputStream = new FileInputStream(file);
-            outputStream = new ByteArrayOutputStream();
-            
-            byte[] buffer = new byte[8192];
-            int bytesRead;
-            
-            while ((bytesRead = inputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, bytesRead);
-            }
-            
-            byte[] fileBytes = outputStream.toByteArray();
-            Log.d(TAG, "[FILE-READ] 파일 읽기 완료 - " + fileBytes.length + " bytes");
-            
-            return fileBytes;
-            
+        } catch (SmtpTransport.DataStartedException e) {
+            AppLog.e(TAG, "[EMAIL-ACTUAL] 본문 전송 중 SMTP 오류 (중복 발송 방지를 위해 재시도하지 않음)", e);
+            return EmailOutcome.FAILED_AFTER_DATA;
         } catch (IOException e) {
-            Log.e(TAG, "[FILE-READ] 파일 읽기 중 IOException", e);
-            return null;
+            AppLog.e(TAG, "[EMAIL-ACTUAL] SMTP 연결 오류", e);
+            return EmailOutcome.FAILED_BEFORE_DATA;
         } catch (Exception e) {
-            Log.e(TAG, "[FILE-READ] 파일 읽기 중 예외", e);
-            return null;
-        } finally {
-            try {
-                if (inputStream != null) inputStream.close();
-                if (outputStream != null) outputStream.close();
-            } catch (IOException e) {
-                Log.w(TAG, "[FILE-READ] 스트림 닫기 실패", e);
-            }
+            AppLog.e(TAG, "[EMAIL-ACTUAL] SMTP 통신 중 오류", e);
+            return EmailOutcome.FAILED_AFTER_DATA;
         }
     }
 
@@ -2688,7 +2453,7 @@ public class ApiServer extends NanoHTTPD {
      * SMS 설정 조회
      */
     private Response handleGetSmsConfig() {
-        Log.i(TAG, "[SMS-CONFIG] SMS 설정 조회 요청");
+        AppLog.i(TAG, "[SMS-CONFIG] SMS 설정 조회 요청");
         
         try {
             SharedPreferences smsSettings = context.getSharedPreferences("SmsSettings", Context.MODE_PRIVATE);
@@ -2703,22 +2468,25 @@ public class ApiServer extends NanoHTTPD {
             config.put("senderNumber", smsSettings.getString("sender_number", ""));
             config.put("senderName", smsSettings.getString("sender_name", ""));
             config.put("testMode", smsSettings.getBoolean("test_mode", false));
+            config.put("batchApiUrl", smsSettings.getString("batch_api_url", ""));
+            config.put("batchWindowMs", smsSettings.getLong("batch_window_ms", NusomeGateway.DEFAULT_BATCH_WINDOW_MS));
+            config.put("batchMaxSize", smsSettings.getInt("batch_max_size", NusomeGateway.DEFAULT_MAX_BATCH_SIZE));
             config.put("smsTemplate", smsSettings.getString("sms_template", 
                 "{company_name}에서 구매하고 결제하신 식권 큐알(QR)코드가 발송되었습니다.\n\n아래 링크를 클릭하시면 식권 큐알(QR)코드를 다운로드 하실 수 있습니다.\n\n큐알(QR)코드 이미지를 다운로드 하셨다가 {company_name}을 이용시에 제시해 주십시오.\n\n{qr_code_url}"));
             config.put("kakaoTemplate", smsSettings.getString("kakao_template", 
                 "{company_name}에서 구매하고 결제하신 식권 큐알(QR)코드가 발송되었습니다.\n\n아래 링크를 클릭하시면 식권 큐알(QR)코드를 다운로드 하실 수 있습니다.\n\n큐알(QR)코드 이미지를 다운로드 하셨다가 {company_name}을 이용시에 제시해 주십시오.\n\n{qr_code_url}"));
             
-            Log.i(TAG, "[SMS-CONFIG] 사업자등록번호 (BusinessSettings): " + (businessNumber.isEmpty() ? "미설정" : "설정됨"));
+            AppLog.i(TAG, "[SMS-CONFIG] 사업자등록번호 (BusinessSettings): " + (businessNumber.isEmpty() ? "미설정" : "설정됨"));
             
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
             result.put("config", config);
             
-            Log.i(TAG, "[SMS-CONFIG] SMS 설정 조회 완료");
+            AppLog.i(TAG, "[SMS-CONFIG] SMS 설정 조회 완료");
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "[SMS-CONFIG] SMS 설정 조회 중 오류", e);
+            AppLog.e(TAG, "[SMS-CONFIG] SMS 설정 조회 중 오류", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "SMS 설정 조회 중 오류가 발생했습니다: " + e.getMessage());
@@ -2730,7 +2498,7 @@ public class ApiServer extends NanoHTTPD {
      * SMS 설정 저장
      */
     private Response handleSaveSmsConfig(IHTTPSession session) {
-        Log.i(TAG, "[SMS-CONFIG] SMS 설정 저장 요청");
+        AppLog.i(TAG, "[SMS-CONFIG] SMS 설정 저장 요청");
         
         try {
             Map<String, String> body = new HashMap<>();
@@ -2756,18 +2524,28 @@ public class ApiServer extends NanoHTTPD {
             editor.putBoolean("test_mode", (Boolean) configData.get("testMode"));
             editor.putString("sms_template", (String) configData.get("smsTemplate"));
             editor.putString("kakao_template", (String) configData.get("kakaoTemplate"));
+            if (configData.containsKey("batchApiUrl")) {
+                editor.putString("batch_api_url", (String) configData.get("batchApiUrl"));
+            }
+            if (configData.get("batchWindowMs") instanceof Number) {
+                editor.putLong("batch_window_ms", ((Number) configData.get("batchWindowMs")).longValue());
+            }
+            if (configData.get("batchMaxSize") instanceof Number) {
+                editor.putInt("batch_max_size", ((Number) configData.get("batchMaxSize")).intValue());
+            }
             
             boolean saved = editor.commit();
+            applySmsGatewaySettings();
             
             Map<String, Object> result = new HashMap<>();
             result.put("success", saved);
             result.put("message", saved ? "SMS 설정이 저장되었습니다" : "SMS 설정 저장에 실패했습니다");
             
-            Log.i(TAG, "[SMS-CONFIG] SMS 설정 저장 " + (saved ? "성공" : "실패"));
+            AppLog.i(TAG, "[SMS-CONFIG] SMS 설정 저장 " + (saved ? "성공" : "실패"));
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "[SMS-CONFIG] SMS 설정 저장 중 오류", e);
+            AppLog.e(TAG, "[SMS-CONFIG] SMS 설정 저장 중 오류", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "SMS 설정 저장 중 오류가 발생했습니다: " + e.getMessage());
@@ -2779,7 +2557,7 @@ public class ApiServer extends NanoHTTPD {
      * SMS 연결 테스트
      */
     private Response handleTestSmsConnection(IHTTPSession session) {
-        Log.i(TAG, "[SMS-TEST] SMS 연결 테스트 요청");
+        AppLog.i(TAG, "[SMS-TEST] SMS 연결 테스트 요청");
         
         try {
             Map<String, String> body = new HashMap<>();
@@ -2810,7 +2588,7 @@ public class ApiServer extends NanoHTTPD {
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "[SMS-TEST] SMS 연결 테스트 중 오류", e);
+            AppLog.e(TAG, "[SMS-TEST] SMS 연결 테스트 중 오류", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "SMS 연결 테스트 중 오류가 발생했습니다: " + e.getMessage());
@@ -2824,14 +2602,13 @@ public class ApiServer extends NanoHTTPD {
      * 실제 SMS/카카오톡 발송을 담당하는 핸들러 (기존 메서드 수정)
      */
     private Response handleSendCouponSMS(IHTTPSession session) {
-        Log.i(TAG, "[SMS-SEND] SMS 발송 요청 시작");
+        AppLog.i(TAG, "[SMS-SEND] SMS 발송 요청 시작");
 
         try {
             // DAO 열기
             couponDAO.open();
             employeeDAO.open();
             couponDeliveryDAO.open();
-            corporateDAO.open();  // sendActualSms에서 사용
 
             Map<String, String> body = new HashMap<>();
             session.parseBody(body);
@@ -2874,7 +2651,9 @@ public class ApiServer extends NanoHTTPD {
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
             
-            // 발송 기록 저장
+            // 발송 기록(PENDING) 저장 후 SMS 워커 풀에 등록
+            String jobId = DeliveryQueue.newJobId();
+            requestData.put("jobId", jobId);
             String metadata = gson.toJson(requestData);
             long deliveryId = couponDeliveryDAO.insertDelivery(
                 couponId, 
@@ -2882,24 +2661,14 @@ public class ApiServer extends NanoHTTPD {
                 employee.getPhone(), 
                 "SMS 쿠폰 발송", 
                 "SMS로 쿠폰이 발송되었습니다", 
-                metadata
+                metadata,
+                jobId
             );
             
             if (deliveryId > 0) {
-                // 실제 SMS 발송
-                boolean smsResult = sendActualSms(coupon, employee, "sms");
-                
-                // 발송 상태 업데이트
-                String deliveryStatus = smsResult ? CouponDelivery.STATUS_SENT : CouponDelivery.STATUS_FAILED;
-                couponDeliveryDAO.updateDeliveryStatus(deliveryId, deliveryStatus, smsResult ? null : "SMS 발송 실패");
-                
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", smsResult);
-                result.put("deliveryId", deliveryId);
-                result.put("couponId", couponId);
-                result.put("message", smsResult ? "SMS 발송이 완료되었습니다" : "SMS 발송에 실패했습니다");
-                
-                return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
+                deliveryQueue.submit(deliveryId, CouponDelivery.TYPE_SMS);
+                return newFixedLengthResponse(Response.Status.ACCEPTED, "application/json; charset=utf-8",
+                        gson.toJson(buildQueuedResult(jobId, deliveryId, couponId, employee.getPhone(), "SMS")));
             } else {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
@@ -2908,7 +2677,7 @@ public class ApiServer extends NanoHTTPD {
             }
             
         } catch (Exception e) {
-            Log.e(TAG, "[SMS-SEND] SMS 발송 중 예외 발생", e);
+            AppLog.e(TAG, "[SMS-SEND] SMS 발송 중 예외 발생", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "SMS 발송 중 오류가 발생했습니다: " + e.getMessage());
@@ -2918,7 +2687,6 @@ public class ApiServer extends NanoHTTPD {
             couponDAO.close();
             employeeDAO.close();
             couponDeliveryDAO.close();
-            corporateDAO.close();
         }
     }
 
@@ -2926,14 +2694,13 @@ public class ApiServer extends NanoHTTPD {
      * 카카오톡 발송 핸들러 (기존 메서드 수정)
      */
     private Response handleSendCouponKakao(IHTTPSession session) {
-        Log.i(TAG, "[KAKAO-SEND] 카카오톡 발송 요청 시작");
+        AppLog.i(TAG, "[KAKAO-SEND] 카카오톡 발송 요청 시작");
 
         try {
             // DAO 열기
             couponDAO.open();
             employeeDAO.open();
             couponDeliveryDAO.open();
-            corporateDAO.open();  // sendActualSms에서 사용
 
             Map<String, String> body = new HashMap<>();
             session.parseBody(body);
@@ -2976,7 +2743,9 @@ public class ApiServer extends NanoHTTPD {
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
             
-            // 발송 기록 저장
+            // 발송 기록(PENDING) 저장 후 카카오톡 워커 풀에 등록
+            String jobId = DeliveryQueue.newJobId();
+            requestData.put("jobId", jobId);
             String metadata = gson.toJson(requestData);
             long deliveryId = couponDeliveryDAO.insertDelivery(
                 couponId, 
@@ -2984,24 +2753,14 @@ public class ApiServer extends NanoHTTPD {
                 employee.getPhone(), 
                 "카카오톡 쿠폰 발송", 
                 "카카오톡으로 쿠폰이 발송되었습니다", 
-                metadata
+                metadata,
+                jobId
             );
             
             if (deliveryId > 0) {
-                // 실제 카카오톡 발송
-                boolean kakaoResult = sendActualSms(coupon, employee, "kakao");
-                
-                // 발송 상태 업데이트
-                String deliveryStatus = kakaoResult ? CouponDelivery.STATUS_SENT : CouponDelivery.STATUS_FAILED;
-                couponDeliveryDAO.updateDeliveryStatus(deliveryId, deliveryStatus, kakaoResult ? null : "카카오톡 발송 실패");
-                
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", kakaoResult);
-                result.put("deliveryId", deliveryId);
-                result.put("couponId", couponId);
-                result.put("message", kakaoResult ? "카카오톡 발송이 완료되었습니다" : "카카오톡 발송에 실패했습니다");
-                
-                return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
+                deliveryQueue.submit(deliveryId, CouponDelivery.TYPE_KAKAO);
+                return newFixedLengthResponse(Response.Status.ACCEPTED, "application/json; charset=utf-8",
+                        gson.toJson(buildQueuedResult(jobId, deliveryId, couponId, employee.getPhone(), "카카오톡")));
             } else {
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
@@ -3010,7 +2769,7 @@ public class ApiServer extends NanoHTTPD {
             }
             
         } catch (Exception e) {
-            Log.e(TAG, "[KAKAO-SEND] 카카오톡 발송 중 예외 발생", e);
+            AppLog.e(TAG, "[KAKAO-SEND] 카카오톡 발송 중 예외 발생", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "카카오톡 발송 중 오류가 발생했습니다: " + e.getMessage());
@@ -3020,7 +2779,300 @@ public class ApiServer extends NanoHTTPD {
             couponDAO.close();
             employeeDAO.close();
             couponDeliveryDAO.close();
-            corporateDAO.close();
+        }
+    }
+
+    /** 대기열 등록 응답 (202) */
+    private Map<String, Object> buildQueuedResult(String jobId, long deliveryId, int couponId, String recipient, String channelName) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("jobId", jobId);
+        result.put("deliveryId", deliveryId);
+        result.put("couponId", couponId);
+        result.put("recipient", recipient);
+        result.put("status", CouponDelivery.STATUS_PENDING);
+        result.put("message", channelName + " 발송이 대기열에 등록되었습니다");
+        return result;
+    }
+
+    /**
+     * 일괄 발송 등록
+     * 본문: { "type": "email|sms|kakao", "couponIds": [..] 또는 "corporateId": n, "subject"?, "message"? }
+     * 대상 조회 1회 + 단일 트랜잭션 INSERT 후 채널 워커 풀에 넣고 jobId 를 바로 반환한다.
+     */
+    private Response handleBulkSendCoupons(IHTTPSession session) {
+        AppLog.i(TAG, "[BULK-SEND] 일괄 발송 요청 시작");
+
+        try {
+            couponDeliveryDAO.open();
+
+            Map<String, String> body = new HashMap<>();
+            session.parseBody(body);
+            String postData = body.get("postData");
+            if (postData == null || postData.trim().isEmpty()) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", "요청 본문이 비어있습니다");
+                return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+            }
+
+            Map<String, Object> requestData = gson.fromJson(postData, Map.class);
+            String type = requestData.get("type") != null ? requestData.get("type").toString().trim().toUpperCase() : "";
+            if (!CouponDelivery.TYPE_EMAIL.equals(type) && !CouponDelivery.TYPE_SMS.equals(type)
+                    && !CouponDelivery.TYPE_KAKAO.equals(type)) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", "type 은 email, sms, kakao 중 하나여야 합니다");
+                return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+            }
+
+            List<CouponDeliveryDAO.DeliveryTarget> targets;
+            Object couponIdsObj = requestData.get("couponIds");
+            Object corporateIdObj = requestData.get("corporateId");
+            if (couponIdsObj instanceof List && !((List<?>) couponIdsObj).isEmpty()) {
+                List<Integer> couponIds = new ArrayList<>();
+                for (Object id : (List<?>) couponIdsObj) {
+                    try {
+                        couponIds.add(id instanceof Number ? ((Number) id).intValue() : Integer.parseInt(id.toString()));
+                    } catch (NumberFormatException e) {
+                        Map<String, Object> error = new HashMap<>();
+                        error.put("success", false);
+                        error.put("message", "유효하지 않은 쿠폰 ID입니다: " + id);
+                        return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+                    }
+                }
+                targets = couponDeliveryDAO.getDeliveryTargetsByCouponIds(couponIds);
+            } else if (corporateIdObj != null) {
+                int corporateId;
+                try {
+                    corporateId = corporateIdObj instanceof Number ? ((Number) corporateIdObj).intValue()
+                            : Integer.parseInt(corporateIdObj.toString());
+                } catch (NumberFormatException e) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("success", false);
+                    error.put("message", "유효하지 않은 거래처 ID입니다: " + corporateIdObj);
+                    return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+                }
+                targets = couponDeliveryDAO.getDeliveryTargetsByCorporateId(corporateId);
+            } else {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", "couponIds 또는 corporateId 가 필요합니다");
+                return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+            }
+
+            if (CouponDelivery.TYPE_EMAIL.equals(type)) {
+                String configError = checkEmailSettings();
+                if (configError != null) {
+                    Map<String, Object> error = new HashMap<>();
+                    error.put("success", false);
+                    error.put("message", configError);
+                    return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+                }
+            }
+
+            String subjectTemplate = (String) requestData.get("subject");
+            String messageTemplate = (String) requestData.get("message");
+            String jobId = DeliveryQueue.newJobId();
+            Map<String, Object> jobMetadata = new HashMap<>();
+            jobMetadata.put("jobId", jobId);
+            jobMetadata.put("bulk", true);
+            String metadata = gson.toJson(jobMetadata);
+
+            // 수신 주소가 없는 쿠폰은 건너뛰고 나머지만 등록
+            List<CouponDelivery> deliveries = new ArrayList<>();
+            List<Integer> skipped = new ArrayList<>();
+            for (CouponDeliveryDAO.DeliveryTarget target : targets) {
+                String recipient = CouponDelivery.TYPE_EMAIL.equals(type) ? target.getEmail() : target.getPhone();
+                if (recipient == null || recipient.trim().isEmpty()) {
+                    skipped.add(target.getCouponId());
+                    continue;
+                }
+                String name = target.getEmployeeName();
+                String subject;
+                String message;
+                if (CouponDelivery.TYPE_EMAIL.equals(type)) {
+                    subject = subjectTemplate != null && !subjectTemplate.trim().isEmpty() ? subjectTemplate
+                            : "[쿠폰 발송] " + (name != null ? name + "님의 " : "") + "쿠폰이 발급되었습니다";
+                    message = messageTemplate != null && !messageTemplate.trim().isEmpty() ? messageTemplate
+                            : "안녕하세요" + (name != null ? " " + name + "님" : "") + ",\n\n쿠폰이 발급되었습니다.\n\n감사합니다.";
+                } else if (CouponDelivery.TYPE_SMS.equals(type)) {
+                    subject = "SMS 쿠폰 발송";
+                    message = "SMS로 쿠폰이 발송되었습니다";
+                } else {
+                    subject = "카카오톡 쿠폰 발송";
+                    message = "카카오톡으로 쿠폰이 발송되었습니다";
+                }
+                CouponDelivery delivery = new CouponDelivery(target.getCouponId(), type, recipient.trim(), subject, message);
+                delivery.setMetadata(metadata);
+                delivery.setJobId(jobId);
+                deliveries.add(delivery);
+            }
+
+            long[] deliveryIds = couponDeliveryDAO.insertDeliveries(deliveries);
+            int queued = 0;
+            for (long deliveryId : deliveryIds) {
+                if (deliveryId > 0 && deliveryQueue.submit(deliveryId, type)) {
+                    queued++;
+                }
+            }
+
+            AppLog.i(TAG, "[BULK-SEND] 일괄 발송 등록 - 작업 ID: " + jobId + ", 유형: " + type + ", 대상: " + targets.size()
+                    + ", 등록: " + queued + ", 건너뜀: " + skipped.size());
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", queued > 0 || deliveries.isEmpty());
+            result.put("jobId", jobId);
+            result.put("type", type.toLowerCase());
+            result.put("requested", targets.size());
+            result.put("queued", queued);
+            result.put("skipped", skipped.size());
+            result.put("skippedCouponIds", skipped);
+            result.put("message", queued + "건의 발송이 대기열에 등록되었습니다");
+            return newFixedLengthResponse(Response.Status.ACCEPTED, "application/json; charset=utf-8", gson.toJson(result));
+
+        } catch (Exception e) {
+            AppLog.e(TAG, "[BULK-SEND] 일괄 발송 등록 중 예외 발생", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "일괄 발송 등록 중 오류가 발생했습니다: " + e.getMessage());
+            return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
+        } finally {
+            couponDeliveryDAO.close();
+        }
+    }
+
+    /**
+     * 발송 작업 진행 상황 (상태별 건수 + 실패 목록 최대 100건)
+     */
+    private Response handleGetDeliveryJob(String jobId) {
+        if (jobId == null || !jobId.matches("[A-Za-z0-9]+")) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "유효하지 않은 작업 ID입니다");
+            return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+        }
+
+        try {
+            couponDeliveryDAO.open();
+            Map<String, Integer> counts = couponDeliveryDAO.getJobStatusCounts(jobId);
+            int total = 0;
+            for (int count : counts.values()) {
+                total += count;
+            }
+            if (total == 0) {
+                Map<String, Object> error = new HashMap<>();
+                error.put("success", false);
+                error.put("message", "발송 작업을 찾을 수 없습니다: " + jobId);
+                return newFixedLengthResponse(Response.Status.NOT_FOUND, "application/json; charset=utf-8", gson.toJson(error));
+            }
+
+            int pending = counts.containsKey(CouponDelivery.STATUS_PENDING) ? counts.get(CouponDelivery.STATUS_PENDING) : 0;
+            int failed = counts.containsKey(CouponDelivery.STATUS_FAILED) ? counts.get(CouponDelivery.STATUS_FAILED) : 0;
+
+            List<Map<String, Object>> failures = new ArrayList<>();
+            if (failed > 0) {
+                for (CouponDelivery delivery : couponDeliveryDAO.getJobDeliveriesByStatus(jobId, CouponDelivery.STATUS_FAILED, 100)) {
+                    Map<String, Object> item = new HashMap<>();
+                    item.put("deliveryId", delivery.getDeliveryId());
+                    item.put("couponId", delivery.getCouponId());
+                    item.put("recipient", delivery.getRecipientAddress());
+                    item.put("retryCount", delivery.getRetryCount());
+                    item.put("errorMessage", delivery.getErrorMessage());
+                    failures.add(item);
+                }
+            }
+
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("jobId", jobId);
+            result.put("total", total);
+            result.put("pending", pending);
+            result.put("completed", total - pending);
+            result.put("done", pending == 0);
+            result.put("statusCounts", counts);
+            result.put("failures", failures);
+            return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
+
+        } catch (Exception e) {
+            AppLog.e(TAG, "[DELIVERY-JOB] 작업 조회 중 예외 발생", e);
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "발송 작업 조회 중 오류가 발생했습니다: " + e.getMessage());
+            return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
+        } finally {
+            couponDeliveryDAO.close();
+        }
+    }
+
+    /**
+     * 이메일 발송 설정 확인. 불완전하면 안내 메시지, 정상이면 null
+     */
+    private String checkEmailSettings() {
+        SharedPreferences emailSettings = context.getSharedPreferences("EmailSettings", Context.MODE_PRIVATE);
+        if (emailSettings.getString("smtp_host", "").isEmpty()
+                || emailSettings.getString("smtp_port", "").isEmpty()
+                || emailSettings.getString("username", "").isEmpty()) {
+            return "이메일 설정이 완료되지 않았습니다. '이메일 설정' 탭에서 SMTP 설정을 완료해주세요.";
+        }
+        return null;
+    }
+
+    /**
+     * DeliveryQueue 워커에서 호출되는 실제 발송 (채널별 워커 스레드에서 실행)
+     */
+    private void deliverQueued(CouponDelivery delivery) throws DeliveryQueue.DeliveryException {
+        Coupon coupon = couponDAO.getCouponById(delivery.getCouponId());
+        if (coupon == null) {
+            throw new DeliveryQueue.DeliveryException("존재하지 않는 쿠폰입니다: " + delivery.getCouponId(), false);
+        }
+
+        if (CouponDelivery.TYPE_EMAIL.equals(delivery.getDeliveryType())) {
+            if (coupon.getFullCouponCode() == null || coupon.getFullCouponCode().trim().isEmpty()) {
+                String generatedCode = coupon.generateFullCouponCode(context);
+                coupon.setFullCouponCode(generatedCode);
+                couponDAO.updateCouponCode(coupon.getCouponId(), generatedCode);
+                AppLog.i(TAG, "[EMAIL-SEND] 쿠폰 코드 생성 완료 - " + generatedCode);
+            }
+
+            String configError = checkEmailSettings();
+            if (configError != null) {
+                throw new DeliveryQueue.DeliveryException(configError, false);
+            }
+            SharedPreferences emailSettings = context.getSharedPreferences("EmailSettings", Context.MODE_PRIVATE);
+            EmailOutcome outcome = sendEmailActual(
+                    emailSettings.getString("smtp_host", ""),
+                    emailSettings.getString("smtp_port", ""),
+                    emailSettings.getString("security", "tls"),
+                    emailSettings.getString("username", ""),
+                    emailSettings.getString("password", ""),
+                    emailSettings.getBoolean("use_auth", true),
+                    emailSettings.getString("sender_name", ""),
+                    emailSettings.getString("sender_email", ""),
+                    delivery.getRecipientAddress(),
+                    delivery.getSubject(),
+                    delivery.getMessage(),
+                    coupon.getFullCouponCode());
+            switch (outcome) {
+                case SENT:
+                    return;
+                case FAILED_BEFORE_DATA:
+                    throw new DeliveryQueue.DeliveryException("SMTP 서버에 연결하지 못했습니다. 잠시 후 다시 시도합니다.", true);
+                case FAILED_AFTER_DATA:
+                    throw new DeliveryQueue.DeliveryException(
+                            "본문 전송 중 SMTP 연결이 끊겼습니다. 중복 발송을 막기 위해 재시도하지 않습니다.", false);
+                default:
+                    throw new DeliveryQueue.DeliveryException("이메일 발송에 실패했습니다. SMTP 설정을 확인해주세요.", false);
+            }
+        }
+
+        Employee employee = employeeDAO.getEmployeeById(coupon.getEmployeeId());
+        if (employee == null || employee.getPhone() == null || employee.getPhone().trim().isEmpty()) {
+            throw new DeliveryQueue.DeliveryException("수신자 전화번호가 없습니다", false);
+        }
+        boolean kakao = CouponDelivery.TYPE_KAKAO.equals(delivery.getDeliveryType());
+        if (!sendActualSms(coupon, employee, kakao ? "kakao" : "sms")) {
+            throw new DeliveryQueue.DeliveryException(kakao ? "카카오톡 발송 실패" : "SMS 발송 실패", true);
         }
     }
 
@@ -3037,7 +3089,7 @@ public class ApiServer extends NanoHTTPD {
      * 누썸 API를 통한 실제 SMS/카카오톡 발송
      */
     private boolean sendActualSms(Coupon coupon, Employee employee, String type) {
-        Log.i(TAG, "[NUSOME-SMS] 누썸 API 발송 시작 - 타입: " + type);
+        AppLog.i(TAG, "[NUSOME-SMS] 누썸 API 발송 시작 - 타입: " + type);
         
         try {
             // SMS 설정 조회
@@ -3051,16 +3103,14 @@ public class ApiServer extends NanoHTTPD {
             String kakaoTemplate = smsSettings.getString("kakao_template", "");
             
             if (businessId.isEmpty()) {
-                Log.e(TAG, "[NUSOME-SMS] 관리자 기본설정에서 사업자등록번호가 설정되지 않았습니다");
+                AppLog.e(TAG, "[NUSOME-SMS] 관리자 기본설정에서 사업자등록번호가 설정되지 않았습니다");
                 return false;
             }
             
-            // QR 코드 생성
+            // QR 이미지는 누썸 서버가 qr_data 로 생성하므로 여기서는 코드만 전달
             String qrData = coupon.getFullCouponCode();
-            File qrImageFile = QRCodeGenerator.generateQRCodeImage(context, qrData, "qr_" + coupon.getCouponId());
-            
-            if (qrImageFile == null) {
-                Log.e(TAG, "[NUSOME-SMS] QR 코드 생성 실패");
+            if (qrData == null || qrData.trim().isEmpty()) {
+                AppLog.e(TAG, "[NUSOME-SMS] 쿠폰 코드가 없습니다");
                 return false;
             }
             
@@ -3109,25 +3159,21 @@ public class ApiServer extends NanoHTTPD {
             }
             
             // subject 로그 출력 (특수문자 제거 확인용)
-            Log.d(TAG, "[NUSOME-SMS] 처리된 subject: " + subject);
+            AppLog.d(TAG, () -> "[NUSOME-SMS] 처리된 subject: " + subject);
             requestData.put("subject", subject);
             
             requestData.put("message_template", processedMessage);
             
-            // HTTP 요청 실행
-            String jsonRequest = gson.toJson(requestData);
-            Log.d(TAG, "[NUSOME-SMS] 요청 데이터: " + jsonRequest);
-            
-            boolean result = executeNusomeApiRequest(jsonRequest);
+            // HTTP 요청 실행 (배치 윈도우 동안 다른 발송과 묶여 공유 연결로 전송)
+            AppLog.d(TAG, () -> "[NUSOME-SMS] 요청 데이터: " + gson.toJson(requestData));
             
-            // QR 이미지 파일 정리
-            QRCodeGenerator.deleteQRCodeImage(qrImageFile);
+            boolean result = nusomeGateway.send(requestData).isSuccess();
             
-            Log.i(TAG, "[NUSOME-SMS] 누썸 API 발송 " + (result ? "성공" : "실패"));
+            AppLog.i(TAG, "[NUSOME-SMS] 누썸 API 발송 " + (result ? "성공" : "실패"));
             return result;
             
         } catch (Exception e) {
-            Log.e(TAG, "[NUSOME-SMS] 누썸 API 발송 중 예외", e);
+            AppLog.e(TAG, "[NUSOME-SMS] 누썸 API 발송 중 예외", e);
             return false;
         }
     }
@@ -3136,7 +3182,7 @@ public class ApiServer extends NanoHTTPD {
      * 테스트 SMS 발송
      */
     private boolean sendTestSms(String businessId, String testPhone) {
-        Log.i(TAG, "[NUSOME-TEST] 테스트 SMS 발송 시작");
+        AppLog.i(TAG, "[NUSOME-TEST] 테스트 SMS 발송 시작");
         
         try {
             // 테스트 요청 데이터 구성
@@ -3149,72 +3195,26 @@ public class ApiServer extends NanoHTTPD {
             requestData.put("subject", cleanSubject("[테스트] SMS 연결 확인"));
             requestData.put("message_template", "SMS 연결 테스트 메시지입니다.");
             
-            String jsonRequest = gson.toJson(requestData);
-            Log.d(TAG, "[NUSOME-TEST] 테스트 요청 데이터: " + jsonRequest);
+            AppLog.d(TAG, () -> "[NUSOME-TEST] 테스트 요청 데이터: " + gson.toJson(requestData));
             
-            return executeNusomeApiRequest(jsonRequest);
+            return nusomeGateway.sendNow(requestData).isSuccess();
             
         } catch (Exception e) {
-            Log.e(TAG, "[NUSOME-TEST] 테스트 SMS 발송 중 예외", e);
+            AppLog.e(TAG, "[NUSOME-TEST] 테스트 SMS 발송 중 예외", e);
             return false;
         }
     }
     
     /**
-     * 누썸 API HTTP 요청 실행
+     * SmsSettings 의 API 주소/배치 설정을 누썸 게이트웨이에 반영
      */
-    private boolean executeNusomeApiRequest(String jsonRequest) {
-        Log.i(TAG, "[NUSOME-HTTP] HTTP 요청 시작");
-        
-        try {
-            // OkHttp 클라이언트 생성
-            okhttp3.OkHttpClient client = new okhttp3.OkHttpClient.Builder()
-                .connectTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .readTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .writeTimeout(30, java.util.concurrent.TimeUnit.SECONDS)
-                .build();
-            
-            // 요청 생성
-            okhttp3.RequestBody body = okhttp3.RequestBody.create(
-                jsonRequest, 
-                okhttp3.MediaType.parse("application/json; charset=utf-8")
-            );
-            
-            okhttp3.Request request = new okhttp3.Request.Builder()
-                .url("https://www.nusome.co.kr/api/request_qr_sms")
-                .post(body)
-                .addHeader("Content-Type", "application/json; charset=utf-8")
-                .addHeader("User-Agent", "CouponMan/1.0")
-                .build();
-            
-            Log.d(TAG, "[NUSOME-HTTP] 요청 URL: https://www.nusome.co.kr/api/request_qr_sms");
-            
-            // 요청 실행
-            okhttp3.Response response = client.newCall(request).execute();
-            String responseBody = response.body().string();
-            
-            Log.d(TAG, "[NUSOME-HTTP] 응답 코드: " + response.code());
-            Log.d(TAG, "[NUSOME-HTTP] 응답 내용: " + responseBody);
-            
-            if (response.isSuccessful()) {
-                // 응답 파싱
-                Map<String, Object> responseData = gson.fromJson(responseBody, Map.class);
-                Boolean success = (Boolean) responseData.get("success");
-                String message = (String) responseData.get("message");
-                String requestId = (String) responseData.get("request_id");
-                
-                Log.i(TAG, "[NUSOME-HTTP] 누썸 API 응답 - 성공: " + success + ", 메시지: " + message + ", 요청ID: " + requestId);
-                
-                return success != null && success;
-            } else {
-                Log.e(TAG, "[NUSOME-HTTP] HTTP 요청 실패 - 코드: " + response.code() + ", 응답: " + responseBody);
-                return false;
-            }
-            
-        } catch (Exception e) {
-            Log.e(TAG, "[NUSOME-HTTP] HTTP 요청 중 예외", e);
-            return false;
-        }
+    private void applySmsGatewaySettings() {
+        SharedPreferences smsSettings = context.getSharedPreferences("SmsSettings", Context.MODE_PRIVATE);
+        nusomeGateway.configure(
+                smsSettings.getString("api_url", NusomeGateway.DEFAULT_API_URL),
+                smsSettings.getString("batch_api_url", ""),
+                smsSettings.getLong("batch_window_ms", NusomeGateway.DEFAULT_BATCH_WINDOW_MS),
+                smsSettings.getInt("batch_max_size", NusomeGateway.DEFAULT_MAX_BATCH_SIZE));
     }
 
     // ========== 통계 관련 핸들러 ==========
@@ -3223,7 +3223,7 @@ public class ApiServer extends NanoHTTPD {
      * 거래처별 통계 조회
      */
     private Response handleGetCorporateStatistics(IHTTPSession session) {
-        Log.i(TAG, "=== GET CORPORATE STATISTICS REQUEST ===");
+        AppLog.i(TAG, "=== GET CORPORATE STATISTICS REQUEST ===");
 
         try {
             // 쿼리 매개변수 가져오기 (날짜 미입력 시 전체 기간)
@@ -3231,87 +3231,38 @@ public class ApiServer extends NanoHTTPD {
             String startDate = params.getOrDefault("startDate", "");
             String endDate   = params.getOrDefault("endDate",   "");
 
-            // DAO 열기
-            corporateDAO.open();
-            employeeDAO.open();
-            couponDAO.open();
-            transactionDAO.open();
+            statisticsDAO.open();
 
-            // 기간 내 거래 내역 조회 → 쿠폰별 사용 횟수 및 사용금액(현금) 집계
+            // 거래처별 발행/사용/잔액을 JOIN + GROUP BY 한 번으로 집계
             // (사용 여부 판단은 쿠폰 생성일이 아닌 실제 거래 발생일 기준)
-            Map<Integer, Integer> couponUsageCount = new HashMap<>();
-            Map<Integer, Double>  couponUsageCash  = new HashMap<>(); // couponId → 현금 사용금액
-            List<Transaction> rangeTransactions;
-            if (!startDate.isEmpty() && !endDate.isEmpty()) {
-                rangeTransactions = transactionDAO.getTransactionsByDateRange(startDate, endDate);
-            } else {
-                rangeTransactions = transactionDAO.getAllTransactions();
-            }
-            for (Transaction t : rangeTransactions) {
-                String tType = t.getTransactionType();
-                if (Transaction.TYPE_USE.equals(tType) || "DEDUCTION".equals(tType)) {
-                    int cid = t.getCouponId();
-                    couponUsageCount.put(cid, couponUsageCount.getOrDefault(cid, 0) + 1);
-                    if (Transaction.BALANCE_TYPE_CASH.equals(t.getBalanceType())) {
-                        couponUsageCash.put(cid, couponUsageCash.getOrDefault(cid, 0.0) + Math.abs(t.getAmount()));
-                    }
-                }
-            }
-            Log.i(TAG, "[CORP-STAT] Range transactions found: " + rangeTransactions.size()
-                    + ", usage couponIds: " + couponUsageCount.size());
-
-            // 모든 거래처 조회
-            List<Corporate> corporates = corporateDAO.getAllCorporates();
+            List<StatisticsDAO.CorporateStat> stats = statisticsDAO.getCorporateStatistics(startDate, endDate);
 
             // 전체 요약 통계
-            int totalCorporates = corporates.size();
+            int totalCorporates = stats.size();
             int totalIssuedCoupons = 0;
             int totalUsedCoupons = 0;
 
             // 거래처별 상세 통계 리스트
             List<Map<String, Object>> corporateStats = new ArrayList<>();
 
-            for (Corporate corporate : corporates) {
-                // 거래처별 직원 수 조회
-                List<Employee> employees = employeeDAO.getEmployeesByCorporateId(corporate.getCustomerId());
-                int employeeCount = employees.size();
-
-                // 거래처별 쿠폰 통계 계산
-                int issuedCoupons = 0;
-                int usedCoupons = 0;
-                double totalCashValue  = 0;
-                double totalPointValue = 0;
-                double usedCashAmount  = 0; // 기간 내 현금 사용금액(매출액) 합계
-
-                for (Employee employee : employees) {
-                    List<Coupon> empCoupons = couponDAO.getCouponsByEmployeeId(employee.getEmployeeId());
-                    for (Coupon coupon : empCoupons) {
-                        issuedCoupons++;
-                        totalCashValue  += coupon.getCashBalance();
-                        totalPointValue += coupon.getPointBalance();
-                        // 사용 여부: 기간 내 거래 내역 기준
-                        if (couponUsageCount.containsKey(coupon.getCouponId())) {
-                            usedCoupons++;
-                        }
-                        // 사용금액 합산
-                        usedCashAmount += couponUsageCash.getOrDefault(coupon.getCouponId(), 0.0);
-                    }
-                }
+            for (StatisticsDAO.CorporateStat stat : stats) {
+                int issuedCoupons = stat.getIssuedCoupons();
+                int usedCoupons = stat.getUsedCoupons();
 
                 // 거래처별 통계 데이터 생성
                 Map<String, Object> corporateStat = new HashMap<>();
                 String usageRate = issuedCoupons > 0
                         ? String.format("%.1f%%", (usedCoupons * 100.0 / issuedCoupons))
                         : "0%";
-                corporateStat.put("corporateId",    corporate.getCustomerId());
-                corporateStat.put("corporateName",  corporate.getName());
-                corporateStat.put("employeeCount",  employeeCount);
+                corporateStat.put("corporateId",    stat.getCorporateId());
+                corporateStat.put("corporateName",  stat.getCorporateName());
+                corporateStat.put("employeeCount",  stat.getEmployeeCount());
                 corporateStat.put("issuedCoupons",  issuedCoupons);
                 corporateStat.put("usedCoupons",    usedCoupons);
                 corporateStat.put("usageRate",      usageRate);
-                corporateStat.put("usedCashAmount", usedCashAmount);
-                corporateStat.put("totalCashValue", totalCashValue);
-                corporateStat.put("totalPointValue",totalPointValue);
+                corporateStat.put("usedCashAmount", stat.getUsedCashAmount());
+                corporateStat.put("totalCashValue", stat.getTotalCashValue());
+                corporateStat.put("totalPointValue",stat.getTotalPointValue());
 
                 corporateStats.add(corporateStat);
 
@@ -3335,22 +3286,18 @@ public class ApiServer extends NanoHTTPD {
             result.put("success", true);
             result.put("data", data);
 
-            Log.i(TAG, "Corporate statistics retrieved: " + totalCorporates + " corporates, "
+            AppLog.i(TAG, "Corporate statistics retrieved: " + totalCorporates + " corporates, "
                     + totalIssuedCoupons + " issued, " + totalUsedCoupons + " used");
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
 
         } catch (Exception e) {
-            Log.e(TAG, "Error getting corporate statistics", e);
+            AppLog.e(TAG, "Error getting corporate statistics", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "통계 조회 중 오류가 발생했습니다: " + e.getMessage());
             return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
         } finally {
-            // DAO 닫기
-            corporateDAO.close();
-            employeeDAO.close();
-            couponDAO.close();
-            transactionDAO.close();
+            statisticsDAO.close();
         }
     }
 
@@ -3358,7 +3305,7 @@ public class ApiServer extends NanoHTTPD {
      * 거래처별 상세 통계 조회
      */
     private Response handleGetCorporateDetailStatistics(String corporateId, IHTTPSession session) {
-        Log.i(TAG, "=== GET CORPORATE DETAIL STATISTICS REQUEST ===");
+        AppLog.i(TAG, "=== GET CORPORATE DETAIL STATISTICS REQUEST ===");
 
         try {
             int id = Integer.parseInt(corporateId);
@@ -3372,11 +3319,8 @@ public class ApiServer extends NanoHTTPD {
             if (startDate == null) startDate = "";
             if (endDate == null)   endDate   = "";
 
-            // DAO 열기
             corporateDAO.open();
-            employeeDAO.open();
-            couponDAO.open();
-            transactionDAO.open();
+            statisticsDAO.open();
 
             // 거래처 정보 조회
             Corporate corporate = corporateDAO.getCorporateById(id);
@@ -3387,56 +3331,17 @@ public class ApiServer extends NanoHTTPD {
                 return newFixedLengthResponse(Response.Status.NOT_FOUND, "application/json; charset=utf-8", gson.toJson(error));
             }
 
-            // 기간 내 거래 내역으로 쿠폰별 사용 횟수 및 현금 사용금액 집계 (거래 발생일 기준)
-            Map<Integer, Integer> couponUsageMap = new HashMap<>();
-            Map<Integer, Double> couponCashUsedMap = new HashMap<>();
-            List<Transaction> rangeTrans;
-            if (!startDate.isEmpty() && !endDate.isEmpty()) {
-                rangeTrans = transactionDAO.getTransactionsByDateRange(startDate, endDate);
-            } else {
-                rangeTrans = transactionDAO.getAllTransactions();
-            }
-            for (Transaction t : rangeTrans) {
-                String tType = t.getTransactionType();
-                if (Transaction.TYPE_USE.equals(tType) || "DEDUCTION".equals(tType)) {
-                    int cid = t.getCouponId();
-                    couponUsageMap.put(cid, couponUsageMap.getOrDefault(cid, 0) + 1);
-                    if (Transaction.BALANCE_TYPE_CASH.equals(t.getBalanceType())) {
-                        couponCashUsedMap.put(cid, couponCashUsedMap.getOrDefault(cid, 0.0) + Math.abs(t.getAmount()));
-                    }
-                }
-            }
-
-            // 거래처의 직원 목록 조회
-            List<Employee> employees = employeeDAO.getEmployeesByCorporateId(id);
+            // 직원별 발행/사용/잔액 집계 (거래 발생일 기준, 한 번의 GROUP BY 쿼리)
             List<Map<String, Object>> employeeStats = new ArrayList<>();
-
-            for (Employee employee : employees) {
-                int issuedCoupons = 0;
-                int usedCoupons = 0;
-                double totalCashBalance = 0;
-                double totalPointBalance = 0;
-                double usedCashAmount = 0;
-
-                List<Coupon> empCoupons = couponDAO.getCouponsByEmployeeId(employee.getEmployeeId());
-                for (Coupon coupon : empCoupons) {
-                    issuedCoupons++;
-                    totalCashBalance += coupon.getCashBalance();
-                    totalPointBalance += coupon.getPointBalance();
-                    if (couponUsageMap.containsKey(coupon.getCouponId())) {
-                        usedCoupons++;
-                        usedCashAmount += couponCashUsedMap.getOrDefault(coupon.getCouponId(), 0.0);
-                    }
-                }
-
+            for (StatisticsDAO.EmployeeStat stat : statisticsDAO.getEmployeeStatistics(id, startDate, endDate)) {
                 Map<String, Object> employeeStat = new HashMap<>();
-                employeeStat.put("employeeId", employee.getEmployeeId());
-                employeeStat.put("employeeName", employee.getName());
-                employeeStat.put("issuedCoupons", issuedCoupons);
-                employeeStat.put("usedCoupons", usedCoupons);
-                employeeStat.put("usedCashAmount", usedCashAmount);
-                employeeStat.put("totalCashBalance", totalCashBalance);
-                employeeStat.put("totalPointBalance", totalPointBalance);
+                employeeStat.put("employeeId", stat.getEmployeeId());
+                employeeStat.put("employeeName", stat.getEmployeeName());
+                employeeStat.put("issuedCoupons", stat.getIssuedCoupons());
+                employeeStat.put("usedCoupons", stat.getUsedCoupons());
+                employeeStat.put("usedCashAmount", stat.getUsedCashAmount());
+                employeeStat.put("totalCashBalance", stat.getTotalCashBalance());
+                employeeStat.put("totalPointBalance", stat.getTotalPointBalance());
 
                 employeeStats.add(employeeStat);
             }
@@ -3450,7 +3355,7 @@ public class ApiServer extends NanoHTTPD {
             result.put("success", true);
             result.put("data", data);
             
-            Log.i(TAG, "Corporate detail statistics retrieved for: " + corporate.getName());
+            AppLog.i(TAG, "Corporate detail statistics retrieved for: " + corporate.getName());
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
 
         } catch (NumberFormatException e) {
@@ -3459,17 +3364,14 @@ public class ApiServer extends NanoHTTPD {
             error.put("message", "잘못된 거래처 ID 형식입니다");
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
         } catch (Exception e) {
-            Log.e(TAG, "Error getting corporate detail statistics", e);
+            AppLog.e(TAG, "Error getting corporate detail statistics", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "상세 통계 조회 중 오류가 발생했습니다: " + e.getMessage());
             return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
         } finally {
-            // DAO 닫기
             corporateDAO.close();
-            employeeDAO.close();
-            couponDAO.close();
-            transactionDAO.close();
+            statisticsDAO.close();
         }
     }
 
@@ -3478,7 +3380,7 @@ public class ApiServer extends NanoHTTPD {
      */
     private Response handleGetSystemSettings() {
         try {
-            Log.i(TAG, "Getting system settings");
+            AppLog.i(TAG, "Getting system settings");
             
             // SharedPreferences에서 시스템 설정 읽기
             SharedPreferences systemSettings = context.getSharedPreferences("SystemSettings", Context.MODE_PRIVATE);
@@ -3513,11 +3415,11 @@ public class ApiServer extends NanoHTTPD {
             // 기타 설정
             settings.put("allow_negative_balance", systemSettings.getString("allow_negative_balance", "false"));
             
-            Log.i(TAG, "System settings retrieved successfully");
+            AppLog.i(TAG, "System settings retrieved successfully");
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(settings));
             
         } catch (Exception e) {
-            Log.e(TAG, "Error getting system settings", e);
+            AppLog.e(TAG, "Error getting system settings", e);
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "시스템 설정 조회 중 오류가 발생했습니다: " + e.getMessage());
@@ -3530,21 +3432,21 @@ public class ApiServer extends NanoHTTPD {
      */
     private Response handleSaveSystemSettings(IHTTPSession session) {
         try {
-            Log.i(TAG, "=== SYSTEM SETTINGS SAVE START ===");
-            Log.i(TAG, "Client IP: " + session.getRemoteIpAddress());
-            Log.i(TAG, "Request URI: " + session.getUri());
-            Log.i(TAG, "Request Method: " + session.getMethod());
+            AppLog.i(TAG, "=== SYSTEM SETTINGS SAVE START ===");
+            AppLog.i(TAG, "Client IP: " + session.getRemoteIpAddress());
+            AppLog.i(TAG, "Request URI: " + session.getUri());
+            AppLog.i(TAG, "Request Method: " + session.getMethod());
             
             // 요청 본문 파싱
             Map<String, String> files = new HashMap<>();
             session.parseBody(files);
             String body = files.get("postData");
             
-            Log.i(TAG, "Request body length: " + (body != null ? body.length() : 0));
-            Log.d(TAG, "Raw request body: " + body);
+            AppLog.i(TAG, "Request body length: " + (body != null ? body.length() : 0));
+            AppLog.d(TAG, () -> "Raw request body: " + body);
             
             if (body == null || body.trim().isEmpty()) {
-                Log.w(TAG, "❌ Empty request body for system settings");
+                AppLog.w(TAG, "❌ Empty request body for system settings");
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "요청 데이터가 없습니다");
@@ -3552,20 +3454,20 @@ public class ApiServer extends NanoHTTPD {
             }
             
             // JSON 파싱
-            Log.i(TAG, "Parsing JSON settings data...");
+            AppLog.i(TAG, "Parsing JSON settings data...");
             @SuppressWarnings("unchecked")
             Map<String, String> settingsData = gson.fromJson(body, Map.class);
             
-            Log.i(TAG, "Parsed settings count: " + settingsData.size());
+            AppLog.i(TAG, "Parsed settings count: " + settingsData.size());
             
             // 설정 데이터 상세 로그
-            Log.i(TAG, "--- Settings Details ---");
+            AppLog.i(TAG, "--- Settings Details ---");
             for (Map.Entry<String, String> entry : settingsData.entrySet()) {
-                Log.i(TAG, "  " + entry.getKey() + " = " + entry.getValue());
+                AppLog.i(TAG, "  " + entry.getKey() + " = " + entry.getValue());
             }
             
             // SharedPreferences에 저장
-            Log.i(TAG, "Saving to SharedPreferences...");
+            AppLog.i(TAG, "Saving to SharedPreferences...");
             SharedPreferences systemSettings = context.getSharedPreferences("SystemSettings", Context.MODE_PRIVATE);
             SharedPreferences.Editor editor = systemSettings.edit();
             
@@ -3581,34 +3483,34 @@ public class ApiServer extends NanoHTTPD {
                 savedCount++;
                 
                 if (oldValue != null && !oldValue.equals(value)) {
-                    Log.i(TAG, "✏️ Updated: " + key + " [" + oldValue + " → " + value + "]");
+                    AppLog.i(TAG, "✏️ Updated: " + key + " [" + oldValue + " → " + value + "]");
                 } else if (oldValue == null) {
-                    Log.i(TAG, "➕ Added: " + key + " = " + value);
+                    AppLog.i(TAG, "➕ Added: " + key + " = " + value);
                 } else {
-                    Log.d(TAG, "🔄 Unchanged: " + key + " = " + value);
+                    AppLog.d(TAG, () -> "🔄 Unchanged: " + key + " = " + value);
                 }
             }
             
-            Log.i(TAG, "Applying SharedPreferences changes...");
+            AppLog.i(TAG, "Applying SharedPreferences changes...");
             boolean applied = editor.commit(); // commit()을 사용하여 동기적으로 저장
             
             if (applied) {
-                Log.i(TAG, "✅ SharedPreferences commit successful");
+                AppLog.i(TAG, "✅ SharedPreferences commit successful");
             } else {
-                Log.w(TAG, "⚠️ SharedPreferences commit returned false");
+                AppLog.w(TAG, "⚠️ SharedPreferences commit returned false");
             }
             
             // 저장 후 검증
-            Log.i(TAG, "Verifying saved settings...");
+            AppLog.i(TAG, "Verifying saved settings...");
             SharedPreferences verifySettings = context.getSharedPreferences("SystemSettings", Context.MODE_PRIVATE);
             int verifiedCount = 0;
             for (Map.Entry<String, String> entry : settingsData.entrySet()) {
                 String savedValue = verifySettings.getString(entry.getKey(), null);
                 if (entry.getValue().equals(savedValue)) {
                     verifiedCount++;
-                    Log.d(TAG, "✓ Verified: " + entry.getKey());
+                    AppLog.d(TAG, () -> "✓ Verified: " + entry.getKey());
                 } else {
-                    Log.e(TAG, "❌ Verification failed: " + entry.getKey() + 
+                    AppLog.e(TAG, "❌ Verification failed: " + entry.getKey() + 
                           " [expected: " + entry.getValue() + ", actual: " + savedValue + "]");
                 }
             }
@@ -3623,21 +3525,21 @@ public class ApiServer extends NanoHTTPD {
             result.put("timestamp", new java.util.Date().toString());
             
             String responseJson = gson.toJson(result);
-            Log.i(TAG, "✅ SUCCESS: System settings saved successfully");
-            Log.i(TAG, "   - Total settings: " + settingsData.size());
-            Log.i(TAG, "   - Saved: " + savedCount);
-            Log.i(TAG, "   - Verified: " + verifiedCount);
-            Log.i(TAG, "Response: " + responseJson);
-            Log.i(TAG, "=== SYSTEM SETTINGS SAVE END ===");
+            AppLog.i(TAG, "✅ SUCCESS: System settings saved successfully");
+            AppLog.i(TAG, "   - Total settings: " + settingsData.size());
+            AppLog.i(TAG, "   - Saved: " + savedCount);
+            AppLog.i(TAG, "   - Verified: " + verifiedCount);
+            AppLog.i(TAG, "Response: " + responseJson);
+            AppLog.i(TAG, "=== SYSTEM SETTINGS SAVE END ===");
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", responseJson);
             
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: System settings save failed", e);
-            Log.e(TAG, "Exception type: " + e.getClass().getSimpleName());
-            Log.e(TAG, "Exception message: " + e.getMessage());
+            AppLog.e(TAG, "❌ ERROR: System settings save failed", e);
+            AppLog.e(TAG, "Exception type: " + e.getClass().getSimpleName());
+            AppLog.e(TAG, "Exception message: " + e.getMessage());
             if (e.getCause() != null) {
-                Log.e(TAG, "Cause: " + e.getCause().getMessage());
+                AppLog.e(TAG, "Cause: " + e.getCause().getMessage());
             }
             
             Map<String, Object> error = new HashMap<>();
@@ -3647,8 +3549,8 @@ public class ApiServer extends NanoHTTPD {
             error.put("timestamp", new java.util.Date().toString());
             
             String errorJson = gson.toJson(error);
-            Log.e(TAG, "Error response: " + errorJson);
-            Log.i(TAG, "=== SYSTEM SETTINGS SAVE END (ERROR) ===");
+            AppLog.e(TAG, "Error response: " + errorJson);
+            AppLog.i(TAG, "=== SYSTEM SETTINGS SAVE END (ERROR) ===");
             
             return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", errorJson);
         }
@@ -3657,9 +3559,9 @@ public class ApiServer extends NanoHTTPD {
     // 가격 설정 불러오기
     private Response handleGetPriceSettings() {
         try {
-            Log.i(TAG, "=== PRICE SETTINGS GET START ===");
+            AppLog.i(TAG, "=== PRICE SETTINGS GET START ===");
             
-            SharedPreferences prefs = context.getSharedPreferences("PriceSettings", Context.MODE_PRIVATE);
+            SharedPreferences prefs = context.getSharedPreferences(DeductionPolicy.PREFS_NAME, Context.MODE_PRIVATE);
             
             // 설정된 값들을 불러오기
             Map<String, Object> settings = new HashMap<>();
@@ -3698,13 +3600,13 @@ public class ApiServer extends NanoHTTPD {
             result.put("settings", settings);
             result.put("timestamp", new java.util.Date().toString());
             
-            Log.i(TAG, "✅ Price settings loaded successfully");
-            Log.i(TAG, "=== PRICE SETTINGS GET END ===");
+            AppLog.i(TAG, "✅ Price settings loaded successfully");
+            AppLog.i(TAG, "=== PRICE SETTINGS GET END ===");
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Price settings get failed", e);
+            AppLog.e(TAG, "❌ ERROR: Price settings get failed", e);
             
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -3718,7 +3620,7 @@ public class ApiServer extends NanoHTTPD {
     // 가격 설정 저장하기
     private Response handleSavePriceSettings(IHTTPSession session) {
         try {
-            Log.i(TAG, "=== PRICE SETTINGS SAVE START ===");
+            AppLog.i(TAG, "=== PRICE SETTINGS SAVE START ===");
             
             // POST 데이터 파싱
             Map<String, String> files = new HashMap<>();
@@ -3726,41 +3628,41 @@ public class ApiServer extends NanoHTTPD {
             String postData = files.get("postData");
             
             if (postData == null || postData.trim().isEmpty()) {
-                Log.w(TAG, "Empty or null price settings data received");
+                AppLog.w(TAG, "Empty or null price settings data received");
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "가격 설정 데이터가 없습니다");
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
             
-            Log.i(TAG, "Raw price settings data: " + postData);
+            AppLog.d(TAG, () -> "Raw price settings data: " + postData);
             
             // JSON 파싱
             @SuppressWarnings("unchecked")
             Map<String, Object> requestData = gson.fromJson(postData, Map.class);
             
-            Log.i(TAG, "Parsed price settings: " + requestData);
+            AppLog.i(TAG, "Parsed price settings: " + requestData);
             
             // SharedPreferences에 저장
-            SharedPreferences.Editor editor = context.getSharedPreferences("PriceSettings", Context.MODE_PRIVATE).edit();
+            SharedPreferences.Editor editor = context.getSharedPreferences(DeductionPolicy.PREFS_NAME, Context.MODE_PRIVATE).edit();
             
             // 기본 설정
             if (requestData.containsKey("enableTimeBasedDeduction")) {
                 Boolean value = (Boolean) requestData.get("enableTimeBasedDeduction");
                 editor.putBoolean("enableTimeBasedDeduction", value != null ? value : false);
-                Log.d(TAG, "Set enableTimeBasedDeduction: " + value);
+                AppLog.d(TAG, () -> "Set enableTimeBasedDeduction: " + value);
             }
             
             if (requestData.containsKey("allowNegativeBalance")) {
                 Boolean value = (Boolean) requestData.get("allowNegativeBalance");
                 editor.putBoolean("allowNegativeBalance", value != null ? value : false);
-                Log.d(TAG, "Set allowNegativeBalance: " + value);
+                AppLog.d(TAG, () -> "Set allowNegativeBalance: " + value);
             }
             
             if (requestData.containsKey("pointDeductionMethod")) {
                 String value = (String) requestData.get("pointDeductionMethod");
                 editor.putString("pointDeductionMethod", value != null ? value : "후순위");
-                Log.d(TAG, "Set pointDeductionMethod: " + value);
+                AppLog.d(TAG, () -> "Set pointDeductionMethod: " + value);
             }
             
             // 시간대별 설정 저장
@@ -3776,13 +3678,13 @@ public class ApiServer extends NanoHTTPD {
                             if (periodData.containsKey("startTime")) {
                                 String value = (String) periodData.get("startTime");
                                 editor.putString(period + "_startTime", value);
-                                Log.d(TAG, "Set " + period + "_startTime: " + value);
+                                AppLog.d(TAG, () -> "Set " + period + "_startTime: " + value);
                             }
                             
                             if (periodData.containsKey("endTime")) {
                                 String value = (String) periodData.get("endTime");
                                 editor.putString(period + "_endTime", value);
-                                Log.d(TAG, "Set " + period + "_endTime: " + value);
+                                AppLog.d(TAG, () -> "Set " + period + "_endTime: " + value);
                             }
                         }
                         
@@ -3796,11 +3698,12 @@ public class ApiServer extends NanoHTTPD {
                                 try {
                                     cashValue = Integer.parseInt((String) cashObj);
                                 } catch (NumberFormatException e) {
-                                    Log.w(TAG, "Invalid cash deduction format for " + period + ": " + cashObj);
+                                    AppLog.w(TAG, "Invalid cash deduction format for " + period + ": " + cashObj);
                                 }
                             }
                             editor.putInt(period + "_cashDeduction", cashValue);
-                            Log.d(TAG, "Set " + period + "_cashDeduction: " + cashValue);
+                            int savedCash = cashValue;
+                            AppLog.d(TAG, () -> "Set " + period + "_cashDeduction: " + savedCash);
                         }
                     }
                 }
@@ -3808,20 +3711,23 @@ public class ApiServer extends NanoHTTPD {
             
             // 저장 실행
             boolean success = editor.commit();
-            Log.i(TAG, "SharedPreferences commit result: " + success);
+            AppLog.i(TAG, "SharedPreferences commit result: " + success);
+
+            // 스캔 차감에 쓰는 규칙을 저장된 값으로 다시 만든다
+            DeductionPolicy.reload(context);
             
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
             result.put("message", "가격 설정이 성공적으로 저장되었습니다");
             result.put("timestamp", new java.util.Date().toString());
             
-            Log.i(TAG, "✅ Price settings saved successfully");
-            Log.i(TAG, "=== PRICE SETTINGS SAVE END ===");
+            AppLog.i(TAG, "✅ Price settings saved successfully");
+            AppLog.i(TAG, "=== PRICE SETTINGS SAVE END ===");
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Price settings save failed", e);
+            AppLog.e(TAG, "❌ ERROR: Price settings save failed", e);
             
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -3835,7 +3741,7 @@ public class ApiServer extends NanoHTTPD {
     // 사업자등록번호 설정 불러오기
     private Response handleGetBusinessSettings() {
         try {
-            Log.i(TAG, "=== BUSINESS SETTINGS GET START ===");
+            AppLog.i(TAG, "=== BUSINESS SETTINGS GET START ===");
             
             SharedPreferences prefs = context.getSharedPreferences("BusinessSettings", Context.MODE_PRIVATE);
             
@@ -3852,13 +3758,13 @@ public class ApiServer extends NanoHTTPD {
             result.put("settings", settings);
             result.put("timestamp", new java.util.Date().toString());
             
-            Log.i(TAG, "✅ Business settings loaded successfully");
-            Log.i(TAG, "=== BUSINESS SETTINGS GET END ===");
+            AppLog.i(TAG, "✅ Business settings loaded successfully");
+            AppLog.i(TAG, "=== BUSINESS SETTINGS GET END ===");
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Business settings get failed", e);
+            AppLog.e(TAG, "❌ ERROR: Business settings get failed", e);
             
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -3872,7 +3778,7 @@ public class ApiServer extends NanoHTTPD {
     // 사업자등록번호 설정 저장하기
     private Response handleSaveBusinessSettings(IHTTPSession session) {
         try {
-            Log.i(TAG, "=== BUSINESS SETTINGS SAVE START ===");
+            AppLog.i(TAG, "=== BUSINESS SETTINGS SAVE START ===");
             
             // POST 데이터 파싱
             Map<String, String> files = new HashMap<>();
@@ -3880,20 +3786,20 @@ public class ApiServer extends NanoHTTPD {
             String postData = files.get("postData");
             
             if (postData == null || postData.trim().isEmpty()) {
-                Log.w(TAG, "Empty or null business settings data received");
+                AppLog.w(TAG, "Empty or null business settings data received");
                 Map<String, Object> error = new HashMap<>();
                 error.put("success", false);
                 error.put("message", "사업자 설정 데이터가 없습니다");
                 return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
             }
             
-            Log.i(TAG, "Raw business settings data: " + postData);
+            AppLog.d(TAG, () -> "Raw business settings data: " + postData);
             
             // JSON 파싱
             @SuppressWarnings("unchecked")
             Map<String, Object> requestData = gson.fromJson(postData, Map.class);
             
-            Log.i(TAG, "Parsed business settings: " + requestData);
+            AppLog.i(TAG, "Parsed business settings: " + requestData);
             
             // 사업자등록번호 유효성 검증
             String businessNumber = (String) requestData.get("business_number");
@@ -3911,37 +3817,38 @@ public class ApiServer extends NanoHTTPD {
             SharedPreferences.Editor editor = context.getSharedPreferences("BusinessSettings", Context.MODE_PRIVATE).edit();
             
             if (businessNumber != null) {
-                editor.putString("business_number", businessNumber);
-                Log.d(TAG, "Set business_number: " + businessNumber);
+                String savedNumber = businessNumber;
+                editor.putString("business_number", savedNumber);
+                AppLog.d(TAG, () -> "Set business_number: " + savedNumber);
             }
             
             if (requestData.containsKey("company_name")) {
                 String companyName = (String) requestData.get("company_name");
                 editor.putString("company_name", companyName);
-                Log.d(TAG, "Set company_name: " + companyName);
+                AppLog.d(TAG, () -> "Set company_name: " + companyName);
             }
             
             if (requestData.containsKey("representative_name")) {
                 String representativeName = (String) requestData.get("representative_name");
                 editor.putString("representative_name", representativeName);
-                Log.d(TAG, "Set representative_name: " + representativeName);
+                AppLog.d(TAG, () -> "Set representative_name: " + representativeName);
             }
             
             if (requestData.containsKey("phone_number")) {
                 String phoneNumber = (String) requestData.get("phone_number");
                 editor.putString("phone_number", phoneNumber);
-                Log.d(TAG, "Set phone_number: " + phoneNumber);
+                AppLog.d(TAG, () -> "Set phone_number: " + phoneNumber);
             }
             
             if (requestData.containsKey("address")) {
                 String address = (String) requestData.get("address");
                 editor.putString("address", address);
-                Log.d(TAG, "Set address: " + address);
+                AppLog.d(TAG, () -> "Set address: " + address);
             }
             
             // 저장 실행
             boolean success = editor.commit();
-            Log.i(TAG, "SharedPreferences commit result: " + success);
+            AppLog.i(TAG, "SharedPreferences commit result: " + success);
             
             Map<String, Object> result = new HashMap<>();
             result.put("success", true);
@@ -3949,13 +3856,13 @@ public class ApiServer extends NanoHTTPD {
             result.put("business_number", businessNumber); // 저장된 사업자등록번호 반환
             result.put("timestamp", new java.util.Date().toString());
             
-            Log.i(TAG, "✅ Business settings saved successfully - Business Number: " + businessNumber);
-            Log.i(TAG, "=== BUSINESS SETTINGS SAVE END ===");
+            AppLog.i(TAG, "✅ Business settings saved successfully - Business Number: " + businessNumber);
+            AppLog.i(TAG, "=== BUSINESS SETTINGS SAVE END ===");
             
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Business settings save failed", e);
+            AppLog.e(TAG, "❌ ERROR: Business settings save failed", e);
             
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -3967,20 +3874,20 @@ public class ApiServer extends NanoHTTPD {
     }
 
     private Response handleDeleteCoupon(String couponId) {
-        Log.i(TAG, "=== COUPON DELETE START ===");
-        Log.i(TAG, "Deleting coupon with ID: " + couponId);
+        AppLog.i(TAG, "=== COUPON DELETE START ===");
+        AppLog.i(TAG, "Deleting coupon with ID: " + couponId);
         
         try {
             int couponIdInt = Integer.parseInt(couponId);
             
-            Log.d(TAG, "Opening database connection for deletion...");
+            AppLog.d(TAG, "Opening database connection for deletion...");
             couponDAO.open();
             
             try {
                 // 쿠폰이 존재하는지 먼저 확인
                 Coupon existingCoupon = couponDAO.getCouponById(couponIdInt);
                 if (existingCoupon == null) {
-                    Log.w(TAG, "Coupon not found with ID: " + couponId);
+                    AppLog.w(TAG, "Coupon not found with ID: " + couponId);
                     Map<String, Object> result = new HashMap<>();
                     result.put("success", false);
                     result.put("message", "삭제할 쿠폰을 찾을 수 없습니다.");
@@ -3991,7 +3898,7 @@ public class ApiServer extends NanoHTTPD {
                 int deletedRows = couponDAO.deleteCoupon(couponIdInt);
             
                 if (deletedRows > 0) {
-                    Log.i(TAG, "✅ Coupon deleted successfully - ID: " + couponId + ", Code: " + existingCoupon.getFullCouponCode());
+                    AppLog.i(TAG, "✅ Coupon deleted successfully - ID: " + couponId + ", Code: " + existingCoupon.getFullCouponCode());
                     
                     Map<String, Object> result = new HashMap<>();
                     result.put("success", true);
@@ -4000,11 +3907,11 @@ public class ApiServer extends NanoHTTPD {
                     result.put("deletedCouponCode", existingCoupon.getFullCouponCode());
                     result.put("timestamp", new java.util.Date().toString());
                     
-                    Log.i(TAG, "=== COUPON DELETE END ===");
+                    AppLog.i(TAG, "=== COUPON DELETE END ===");
                     return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
                     
                 } else {
-                    Log.w(TAG, "❌ Coupon deletion failed - no rows affected for ID: " + couponId);
+                    AppLog.w(TAG, "❌ Coupon deletion failed - no rows affected for ID: " + couponId);
                     
                     Map<String, Object> result = new HashMap<>();
                     result.put("success", false);
@@ -4015,14 +3922,14 @@ public class ApiServer extends NanoHTTPD {
             } finally {
                 try {
                     couponDAO.close();
-                    Log.d(TAG, "Database connection closed for coupon deletion");
+                    AppLog.d(TAG, "Database connection closed for coupon deletion");
                 } catch (Exception e) {
-                    Log.w(TAG, "Error closing couponDAO after deletion", e);
+                    AppLog.w(TAG, "Error closing couponDAO after deletion", e);
                 }
             }
             
         } catch (NumberFormatException e) {
-            Log.e(TAG, "❌ Invalid coupon ID format: " + couponId, e);
+            AppLog.e(TAG, "❌ Invalid coupon ID format: " + couponId, e);
             
             Map<String, Object> result = new HashMap<>();
             result.put("success", false);
@@ -4030,7 +3937,7 @@ public class ApiServer extends NanoHTTPD {
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(result));
             
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Coupon deletion failed", e);
+            AppLog.e(TAG, "❌ ERROR: Coupon deletion failed", e);
 
             Map<String, Object> result = new HashMap<>();
             result.put("success", false);
@@ -4046,76 +3953,79 @@ public class ApiServer extends NanoHTTPD {
      * GET /api/transactions?startDate=&endDate=&corporateId=&type=&limit=&offset=
      */
     private Response handleGetUsageHistory(IHTTPSession session) {
+        TransactionDAO.UsageHistoryQuery query = new TransactionDAO.UsageHistoryQuery();
         try {
             Map<String, String> params = session.getParms();
             String startDate   = params.getOrDefault("startDate", "");
             String endDate     = params.getOrDefault("endDate", "");
             String corporateId = params.getOrDefault("corporateId", "");
             String typeFilter  = params.getOrDefault("type", "");
-            int limit          = 200;
-            int offset         = 0;
-            try { limit  = Integer.parseInt(params.getOrDefault("limit",  "200")); } catch (Exception ignored) {}
-            try { offset = Integer.parseInt(params.getOrDefault("offset", "0"));   } catch (Exception ignored) {}
-
-            // 전체 거래 내역 조회
-            List<Transaction> allTrans = transactionDAO.getAllTransactions();
-
-            // 쿠폰·직원·거래처 조인 정보를 위해 쿠폰 목록 캐시
-            List<Coupon> allCoupons = couponDAO.getAllCoupons();
-            java.util.Map<Integer, Coupon> couponMap = new java.util.HashMap<>();
-            for (Coupon c : allCoupons) couponMap.put(c.getCouponId(), c);
-
-            List<Map<String, Object>> result = new java.util.ArrayList<>();
-            for (Transaction t : allTrans) {
-                // 타입 필터
-                if (!typeFilter.isEmpty() && !typeFilter.equals(t.getTransactionType())) continue;
-
-                // 쿠폰 조인
-                Coupon coupon = couponMap.get(t.getCouponId());
-                String corpName = coupon != null && coupon.getCorporateName() != null ? coupon.getCorporateName() : "";
-                int    corpId   = coupon != null ? coupon.getCorporateId() : 0;
-                String empName  = coupon != null && coupon.getRecipientName() != null ? coupon.getRecipientName() : "";
-                String couponCode = coupon != null && coupon.getFullCouponCode() != null ? coupon.getFullCouponCode() : "";
-
-                // 거래처 필터
-                if (!corporateId.isEmpty() && !String.valueOf(corpId).equals(corporateId)) continue;
-
-                // 날짜 필터
-                String tDate = t.getTransactionDate() != null ? t.getTransactionDate() : "";
-                if (!startDate.isEmpty() && tDate.compareTo(startDate) < 0) continue;
-                if (!endDate.isEmpty()   && tDate.compareTo(endDate + " 23:59:59") > 0) continue;
-
-                Map<String, Object> row = new java.util.LinkedHashMap<>();
+            String cursor      = params.getOrDefault("cursor", "");
+            if (!startDate.isEmpty())   query.setStartDate(startDate);
+            if (!endDate.isEmpty())     query.setEndDate(endDate);
+            if (!corporateId.isEmpty()) query.setCorporateId(Integer.parseInt(corporateId));
+            if (!typeFilter.isEmpty())  query.setType(typeFilter);
+            if (!cursor.isEmpty())      query.setCursor(cursor);
+            try { query.setLimit(Integer.parseInt(params.getOrDefault("limit", String.valueOf(TransactionDAO.UsageHistoryQuery.DEFAULT_LIMIT)))); } catch (Exception ignored) {}
+            try { query.setOffset(Integer.parseInt(params.getOrDefault("offset", "0"))); } catch (Exception ignored) {}
+        } catch (NumberFormatException e) {
+            Map<String, Object> err = new LinkedHashMap<>();
+            err.put("success", false);
+            err.put("message", "잘못된 거래처 ID입니다");
+            return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(err));
+        }
+
+        try {
+            transactionDAO.open();
+            // 필터/정렬/LIMIT 은 SQL 에서 처리, 다음 페이지는 nextCursor 로 이어서 조회
+            TransactionDAO.UsageHistoryPage page = transactionDAO.getUsageHistoryPage(query);
+
+            List<Map<String, Object>> result = new java.util.ArrayList<>(page.getRows().size());
+            for (TransactionDAO.UsageHistoryRow r : page.getRows()) {
+                Transaction t = r.getTransaction();
+                Map<String, Object> row = new LinkedHashMap<>();
                 row.put("transactionId",   t.getTransactionId());
                 row.put("couponId",        t.getCouponId());
-                row.put("couponCode",      couponCode);
-                row.put("corporateId",     corpId);
-                row.put("corporateName",   corpName);
-                row.put("employeeName",    empName);
+                row.put("couponCode",      r.getCouponCode() != null ? r.getCouponCode() : "");
+                row.put("corporateId",     r.getCorporateId());
+                row.put("corporateName",   r.getCorporateName() != null ? r.getCorporateName() : "");
+                row.put("employeeName",    r.getEmployeeName() != null ? r.getEmployeeName() : "");
                 row.put("transactionType", t.getTransactionType());
                 row.put("amount",          t.getAmount());
                 row.put("balanceType",     t.getBalanceType() != null ? t.getBalanceType() : "");
                 row.put("balanceBefore",   t.getBalanceBefore());
                 row.put("balanceAfter",    t.getBalanceAfter());
                 row.put("description",     t.getDescription() != null ? t.getDescription() : "");
-                row.put("transactionDate", tDate);
+                row.put("transactionDate", t.getTransactionDate());
                 result.add(row);
             }
 
-            // 페이징
-            int total = result.size();
-            int end   = Math.min(offset + limit, total);
-            List<Map<String, Object>> paged = offset < total ? result.subList(offset, end) : new java.util.ArrayList<>();
-
-            Map<String, Object> response = new java.util.LinkedHashMap<>();
+            Map<String, Object> response = new LinkedHashMap<>();
             response.put("success", true);
-            response.put("total",   total);
-            response.put("count",   paged.size());
-            response.put("data",    paged);
+            if (query.getCursor() == null) {
+                // 첫 페이지에만 필터 기준 전체 건수/사용 합계 포함
+                TransactionDAO.UsageHistorySummary summary = transactionDAO.getUsageHistorySummary(query);
+                response.put("total", summary.getTotalCount());
+                Map<String, Object> summaryData = new LinkedHashMap<>();
+                summaryData.put("totalCount", summary.getTotalCount());
+                summaryData.put("useCount",   summary.getUseCount());
+                summaryData.put("cashUsed",   summary.getCashUsed());
+                summaryData.put("pointsUsed", summary.getPointsUsed());
+                response.put("summary", summaryData);
+            }
+            response.put("count",      result.size());
+            response.put("hasMore",    page.hasMore());
+            response.put("nextCursor", page.getNextCursor());
+            response.put("data",       result);
             return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(response));
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> err = new LinkedHashMap<>();
+            err.put("success", false);
+            err.put("message", e.getMessage());
+            return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(err));
         } catch (Exception e) {
-            Log.e(TAG, "Error getting usage history", e);
-            Map<String, Object> err = new java.util.LinkedHashMap<>();
+            AppLog.e(TAG, "Error getting usage history", e);
+            Map<String, Object> err = new LinkedHashMap<>();
             err.put("success", false);
             err.put("message", "사용 내역 조회 실패: " + e.getMessage());
             return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(err));
@@ -4127,7 +4037,7 @@ public class ApiServer extends NanoHTTPD {
      * GET /api/transactions/monthly?year={year}&month={month}&corporateId={corporateId}
      */
     private Response handleGetMonthlyTransactions(IHTTPSession session) {
-        Log.i(TAG, "=== MONTHLY TRANSACTIONS START ===");
+        AppLog.i(TAG, "=== MONTHLY TRANSACTIONS START ===");
 
         try {
             // 쿼리 파라미터 파싱
@@ -4136,7 +4046,7 @@ public class ApiServer extends NanoHTTPD {
             String month = params.get("month");
             String corporateIdStr = params.get("corporateId");
 
-            Log.i(TAG, "[MONTHLY-TRANS] Parameters - Year: " + year + ", Month: " + month + ", CorporateId: " + corporateIdStr);
+            AppLog.i(TAG, "[MONTHLY-TRANS] Parameters - Year: " + year + ", Month: " + month + ", CorporateId: " + corporateIdStr);
 
             if (year == null || month == null) {
                 Map<String, Object> error = new HashMap<>();
@@ -4157,116 +4067,55 @@ public class ApiServer extends NanoHTTPD {
             int lastDay = cal.getActualMaximum(java.util.Calendar.DAY_OF_MONTH);
             String endDate = year + "-" + paddedMonth + "-" + String.format("%02d", lastDay);
 
-            Log.i(TAG, "[MONTHLY-TRANS] Date range: " + startDate + " ~ " + endDate);
+            AppLog.i(TAG, "[MONTHLY-TRANS] Date range: " + startDate + " ~ " + endDate);
+
+            int corporateIdFilter = (corporateIdStr != null && !corporateIdStr.isEmpty())
+                    ? Integer.parseInt(corporateIdStr) : 0;
 
             transactionDAO.open();
-            couponDAO.open();
-            employeeDAO.open();
-            corporateDAO.open();
 
             try {
-                // 거래 내역 조회
-                List<Transaction> transactions = transactionDAO.getTransactionsByDateRange(startDate, endDate);
-                Log.i(TAG, "[MONTHLY-TRANS] Found " + transactions.size() + " transactions");
-
-                // 직원별 통계 계산
-                Map<Integer, Map<String, Object>> employeeStats = new HashMap<>();
-                double totalCashDeducted = 0;
-                double totalPointsDeducted = 0;
-                int totalUsageCount = 0;
-
-                for (Transaction trans : transactions) {
-                    // 사용(TYPE_USE) 또는 구버전 DEDUCTION 타입만 카운트
-                    String tType = trans.getTransactionType();
-                    if (!Transaction.TYPE_USE.equals(tType) && !"DEDUCTION".equals(tType)) {
-                        continue;
-                    }
-
-                    Coupon coupon = couponDAO.getCouponById(trans.getCouponId());
-                    if (coupon == null) continue;
-
-                    // 거래처 필터링
-                    Employee employee = employeeDAO.getEmployeeById(coupon.getEmployeeId());
-                    if (employee == null) continue;
-
-                    if (corporateIdStr != null && !corporateIdStr.isEmpty()) {
-                        int corporateIdFilter = Integer.parseInt(corporateIdStr);
-                        if (employee.getCorporateId() != corporateIdFilter) {
-                            continue;
-                        }
-                    }
-
-                    int employeeId = employee.getEmployeeId();
-
-                    if (!employeeStats.containsKey(employeeId)) {
-                        Corporate corporate = corporateDAO.getCorporateById(employee.getCorporateId());
-
-                        Map<String, Object> stat = new HashMap<>();
-                        stat.put("employeeId", employeeId);
-                        stat.put("employeeName", employee.getName());
-                        stat.put("corporateName", corporate != null ? corporate.getName() : "N/A");
-                        stat.put("usageCount", 0);
-                        stat.put("cashDeducted", 0.0);
-                        stat.put("pointsDeducted", 0.0);
-                        stat.put("cashBalance", coupon.getCashBalance());
-                        stat.put("pointBalance", coupon.getPointBalance());
-                        employeeStats.put(employeeId, stat);
-                    }
-
-                    Map<String, Object> stat = employeeStats.get(employeeId);
-                    stat.put("usageCount", (int)stat.get("usageCount") + 1);
-
-                    if (Transaction.BALANCE_TYPE_CASH.equals(trans.getBalanceType())) {
-                        double amt = Math.abs(trans.getAmount());
-                        double currentCash = (double)stat.get("cashDeducted");
-                        stat.put("cashDeducted", currentCash + amt);
-                        totalCashDeducted += amt;
-                    } else if (Transaction.BALANCE_TYPE_POINT.equals(trans.getBalanceType())) {
-                        double amt = Math.abs(trans.getAmount());
-                        double currentPoints = (double)stat.get("pointsDeducted");
-                        stat.put("pointsDeducted", currentPoints + amt);
-                        totalPointsDeducted += amt;
-                    }
-
-                    totalUsageCount++;
-                }
-
-                // 현재 잔액 합계 계산
-                double totalCashBalance = 0;
-                double totalPointBalance = 0;
-                List<Coupon> allCoupons = couponDAO.getAllCoupons();
-
-                for (Coupon coupon : allCoupons) {
-                    if (corporateIdStr != null && !corporateIdStr.isEmpty()) {
-                        Employee employee = employeeDAO.getEmployeeById(coupon.getEmployeeId());
-                        if (employee != null) {
-                            int corporateIdFilter = Integer.parseInt(corporateIdStr);
-                            if (employee.getCorporateId() == corporateIdFilter) {
-                                totalCashBalance += coupon.getCashBalance();
-                                totalPointBalance += coupon.getPointBalance();
-                            }
-                        }
-                    } else {
-                        totalCashBalance += coupon.getCashBalance();
-                        totalPointBalance += coupon.getPointBalance();
-                    }
-                }
+                // 직원별/거래처별 사용 집계 + 합계를 JOIN/GROUP BY 쿼리로 조회 (거래처 필터는 SQL 에서 적용)
+                List<TransactionDAO.EmployeeUsageSummary> summaries =
+                        transactionDAO.getUsageSummaryByEmployee(startDate, endDate, corporateIdFilter);
+                List<TransactionDAO.CorporateUsageSummary> corporateSummaries =
+                        transactionDAO.getUsageSummaryByCorporate(startDate, endDate, corporateIdFilter);
+                TransactionDAO.UsageTotals totals = transactionDAO.getUsageTotals(startDate, endDate, corporateIdFilter);
+
+                int totalUsageCount = totals.getUsageCount();
+                double totalCashDeducted = totals.getCashUsed();
+                double totalPointsDeducted = totals.getPointsUsed();
+                double totalCashBalance = totals.getCashBalance();
+                double totalPointBalance = totals.getPointBalance();
 
                 // 직원별 상세: JS 필드명(cashUsed, pointsUsed, cashBalance, pointBalance)에 맞게 변환
                 List<Map<String, Object>> detailsList = new ArrayList<>();
-                for (Map<String, Object> stat : employeeStats.values()) {
+                for (TransactionDAO.EmployeeUsageSummary summary : summaries) {
                     Map<String, Object> d = new HashMap<>();
-                    d.put("employeeId",   stat.get("employeeId"));
-                    d.put("employeeName", stat.get("employeeName"));
-                    d.put("corporateName",stat.get("corporateName"));
-                    d.put("usageCount",   stat.get("usageCount"));
-                    d.put("cashUsed",     stat.get("cashDeducted"));
-                    d.put("pointsUsed",   stat.get("pointsDeducted"));
-                    d.put("cashBalance",  stat.get("cashBalance"));
-                    d.put("pointBalance", stat.get("pointBalance"));
+                    d.put("employeeId",   summary.getEmployeeId());
+                    d.put("employeeName", summary.getEmployeeName());
+                    d.put("corporateName",summary.getCorporateName());
+                    d.put("usageCount",   summary.getUsageCount());
+                    d.put("cashUsed",     summary.getCashUsed());
+                    d.put("pointsUsed",   summary.getPointsUsed());
+                    d.put("cashBalance",  summary.getCashBalance());
+                    d.put("pointBalance", summary.getPointBalance());
                     detailsList.add(d);
                 }
 
+                // 거래처별 합계: 직원별 상세와 같은 필드명 사용
+                List<Map<String, Object>> corporatesList = new ArrayList<>();
+                for (TransactionDAO.CorporateUsageSummary summary : corporateSummaries) {
+                    Map<String, Object> c = new HashMap<>();
+                    c.put("corporateId",   summary.getCorporateId());
+                    c.put("corporateName", summary.getCorporateName());
+                    c.put("employeeCount", summary.getEmployeeCount());
+                    c.put("usageCount",    summary.getUsageCount());
+                    c.put("cashUsed",      summary.getCashUsed());
+                    c.put("pointsUsed",    summary.getPointsUsed());
+                    corporatesList.add(c);
+                }
+
                 // 응답 최상위 키를 JS가 기대하는 이름으로 맞춤
                 Map<String, Object> result = new HashMap<>();
                 result.put("success",      true);
@@ -4276,21 +4125,19 @@ public class ApiServer extends NanoHTTPD {
                 result.put("cashBalance",  totalCashBalance);
                 result.put("pointBalance", totalPointBalance);
                 result.put("details",      detailsList);
+                result.put("corporates",   corporatesList);
 
-                Log.i(TAG, "[MONTHLY-TRANS] Response - Total usage: " + totalUsageCount + ", Employees: " + employeeStats.size());
-                Log.i(TAG, "=== MONTHLY TRANSACTIONS END ===");
+                AppLog.i(TAG, "[MONTHLY-TRANS] Response - Total usage: " + totalUsageCount + ", Employees: " + summaries.size());
+                AppLog.i(TAG, "=== MONTHLY TRANSACTIONS END ===");
 
                 return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
 
             } finally {
                 transactionDAO.close();
-                couponDAO.close();
-                employeeDAO.close();
-                corporateDAO.close();
             }
 
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Monthly transactions query failed", e);
+            AppLog.e(TAG, "❌ ERROR: Monthly transactions query failed", e);
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -4304,8 +4151,8 @@ public class ApiServer extends NanoHTTPD {
      * GET /api/transactions/employee/{employeeId}/daily?year={year}&month={month}
      */
     private Response handleGetEmployeeDailyTransactions(String employeeId, IHTTPSession session) {
-        Log.i(TAG, "=== EMPLOYEE DAILY TRANSACTIONS START ===");
-        Log.i(TAG, "[DAILY-TRANS] Employee ID: " + employeeId);
+        AppLog.i(TAG, "=== EMPLOYEE DAILY TRANSACTIONS START ===");
+        AppLog.i(TAG, "[DAILY-TRANS] Employee ID: " + employeeId);
 
         try {
             int employeeIdInt = Integer.parseInt(employeeId);
@@ -4315,7 +4162,7 @@ public class ApiServer extends NanoHTTPD {
             String year = params.get("year");
             String month = params.get("month");
 
-            Log.i(TAG, "[DAILY-TRANS] Parameters - Year: " + year + ", Month: " + month);
+            AppLog.i(TAG, "[DAILY-TRANS] Parameters - Year: " + year + ", Month: " + month);
 
             if (year == null || month == null) {
                 Map<String, Object> error = new HashMap<>();
@@ -4373,7 +4220,7 @@ public class ApiServer extends NanoHTTPD {
                     }
                 }
 
-                Log.i(TAG, "[DAILY-TRANS] Found " + transactions.size() + " transactions for employee");
+                AppLog.i(TAG, "[DAILY-TRANS] Found " + transactions.size() + " transactions for employee");
 
                 // 일자별로 그룹화
                 Map<String, Map<String, Object>> dailyMap = new HashMap<>();
@@ -4426,8 +4273,8 @@ public class ApiServer extends NanoHTTPD {
                 result.put("success", true);
                 result.put("data", data);
 
-                Log.i(TAG, "[DAILY-TRANS] Response - Days with usage: " + dailyUsageList.size());
-                Log.i(TAG, "=== EMPLOYEE DAILY TRANSACTIONS END ===");
+                AppLog.i(TAG, "[DAILY-TRANS] Response - Days with usage: " + dailyUsageList.size());
+                AppLog.i(TAG, "=== EMPLOYEE DAILY TRANSACTIONS END ===");
 
                 return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
 
@@ -4437,7 +4284,7 @@ public class ApiServer extends NanoHTTPD {
             }
 
         } catch (NumberFormatException e) {
-            Log.e(TAG, "❌ Invalid employee ID format: " + employeeId, e);
+            AppLog.e(TAG, "❌ Invalid employee ID format: " + employeeId, e);
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -4445,7 +4292,7 @@ public class ApiServer extends NanoHTTPD {
             return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
 
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Employee daily transactions query failed", e);
+            AppLog.e(TAG, "❌ ERROR: Employee daily transactions query failed", e);
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
@@ -4456,335 +4303,217 @@ public class ApiServer extends NanoHTTPD {
 
     /**
      * 데이터베이스 전체 백업
-     * GET /api/backup
+     * GET /api/backup[?gzip=true]
+     * 테이블을 Cursor 에서 바로 JSON 으로 캐시 디렉터리의 임시 파일에 쓴 뒤(읽기 트랜잭션 1개) 그 파일을 내려준다.
+     * 네트워크 전송은 트랜잭션이 끝난 뒤에 하므로 느린 클라이언트가 쓰기를 막지 않고, 백업 중 오류는 200 으로
+     * 잘린 본문 대신 500 응답이 된다. gzip=true 이면 .json.gz 파일로 압축해 내려준다.
      */
-    private Response handleBackupDatabase() {
-        Log.i(TAG, "=== DATABASE BACKUP START ===");
+    private Response handleBackupDatabase(IHTTPSession session) {
+        AppLog.i(TAG, "=== DATABASE BACKUP START ===");
 
-        try {
-            corporateDAO.open();
-            employeeDAO.open();
-            couponDAO.open();
-            transactionDAO.open();
-
-            try {
-                // 백업 데이터 구조
-                Map<String, Object> backupData = new HashMap<>();
-                backupData.put("timestamp", new java.util.Date().toString());
-                backupData.put("version", "1.0");
-
-                // 1. 거래처 데이터
-                List<Corporate> corporates = corporateDAO.getAllCorporates();
-                List<Map<String, Object>> corporateList = new ArrayList<>();
-                for (Corporate corp : corporates) {
-                    Map<String, Object> corpData = new HashMap<>();
-                    corpData.put("customer_id", corp.getCustomerId());
-                    corpData.put("name", corp.getName());
-                    corpData.put("business_number", corp.getBusinessNumber());
-                    corpData.put("representative", corp.getRepresentative());
-                    corpData.put("phone", corp.getPhone());
-                    corpData.put("email", corp.getEmail());
-                    corpData.put("address", corp.getAddress());
-                    corpData.put("created_at", corp.getCreatedAt());
-                    corporateList.add(corpData);
-                }
-                backupData.put("corporates", corporateList);
-                Log.i(TAG, "[BACKUP] Corporates: " + corporateList.size() + " records");
-
-                // 2. 직원 데이터
-                List<Employee> employees = employeeDAO.getAllEmployees();
-                List<Map<String, Object>> employeeList = new ArrayList<>();
-                for (Employee emp : employees) {
-                    Map<String, Object> empData = new HashMap<>();
-                    empData.put("employee_id", emp.getEmployeeId());
-                    empData.put("corporate_id", emp.getCorporateId());
-                    empData.put("name", emp.getName());
-                    empData.put("phone", emp.getPhone());
-                    empData.put("email", emp.getEmail());
-                    empData.put("department", emp.getDepartment());
-                    empData.put("created_at", emp.getCreatedAt());
-                    employeeList.add(empData);
-                }
-                backupData.put("employees", employeeList);
-                Log.i(TAG, "[BACKUP] Employees: " + employeeList.size() + " records");
-
-                // 3. 쿠폰 데이터
-                List<Coupon> coupons = couponDAO.getAllCoupons();
-                List<Map<String, Object>> couponList = new ArrayList<>();
-                for (Coupon coupon : coupons) {
-                    Map<String, Object> couponData = new HashMap<>();
-                    couponData.put("coupon_id", coupon.getCouponId());
-                    couponData.put("full_coupon_code", coupon.getFullCouponCode());
-                    couponData.put("employee_id", coupon.getEmployeeId());
-                    couponData.put("cash_balance", coupon.getCashBalance());
-                    couponData.put("point_balance", coupon.getPointBalance());
-                    couponData.put("expire_date", coupon.getExpireDate());
-                    couponData.put("status", coupon.getStatus());
-                    couponData.put("payment_type", coupon.getPaymentType());
-                    couponData.put("available_days", coupon.getAvailableDays());
-                    couponData.put("created_at", coupon.getCreatedAt());
-                    couponList.add(couponData);
-                }
-                backupData.put("coupons", couponList);
-                Log.i(TAG, "[BACKUP] Coupons: " + couponList.size() + " records");
-
-                // 4. 거래내역 데이터
-                List<Map<String, Object>> transactionList = new ArrayList<>();
-                for (Coupon coupon : coupons) {
-                    List<Transaction> transactions = transactionDAO.getTransactionsByCouponId(coupon.getCouponId());
-                    for (Transaction trans : transactions) {
-                        Map<String, Object> transData = new HashMap<>();
-                        transData.put("transaction_id", trans.getTransactionId());
-                        transData.put("coupon_id", trans.getCouponId());
-                        transData.put("amount", trans.getAmount());
-                        transData.put("transaction_type", trans.getTransactionType());
-                        transData.put("transaction_date", trans.getTransactionDate());
-                        transData.put("balance_type", trans.getBalanceType());
-                        transData.put("balance_before", trans.getBalanceBefore());
-                        transData.put("balance_after", trans.getBalanceAfter());
-                        transData.put("description", trans.getDescription());
-                        transactionList.add(transData);
-                    }
-                }
-                backupData.put("transactions", transactionList);
-                Log.i(TAG, "[BACKUP] Transactions: " + transactionList.size() + " records");
-
-                // 응답 생성
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", true);
-                result.put("data", backupData);
-                result.put("message", "데이터베이스 백업이 완료되었습니다.");
-
-                Log.i(TAG, "=== DATABASE BACKUP END ===");
-
-                String jsonResponse = gson.toJson(result);
-                Response response = newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", jsonResponse);
+        if (!backupInProgress.compareAndSet(false, true)) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "이미 백업이 진행 중입니다.");
+            return newFixedLengthResponse(Response.Status.CONFLICT, "application/json; charset=utf-8", gson.toJson(error));
+        }
 
-                // 다운로드 헤더 추가
-                String filename = "couponman_backup_" + System.currentTimeMillis() + ".json";
-                response.addHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
+        File spool = null;
+        try {
+            String gzipParam = session.getParms().get("gzip");
+            boolean gzip = "true".equalsIgnoreCase(gzipParam) || "1".equals(gzipParam);
+
+            long startTime = System.currentTimeMillis();
+            spool = File.createTempFile("backup_", gzip ? ".json.gz" : ".json", context.getCacheDir());
+            try (OutputStream file = new FileOutputStream(spool);
+                 OutputStream target = gzip ? new GZIPOutputStream(file, BACKUP_BUFFER_SIZE) : file;
+                 JsonWriter writer = new JsonWriter(new BufferedWriter(
+                         new OutputStreamWriter(target, StandardCharsets.UTF_8), BACKUP_BUFFER_SIZE))) {
+                databaseBackup.export(writer);
+            }
+            AppLog.i(TAG, "=== DATABASE BACKUP END === (" + spool.length() + " bytes, "
+                    + (System.currentTimeMillis() - startTime) + "ms)");
+
+            // 임시 파일은 응답 전송이 끝나 스트림이 닫힐 때 지워진다
+            DatabaseBackup.TempFileInputStream in = new DatabaseBackup.TempFileInputStream(spool);
+            spool = null;
+
+            Response response;
+            String filename = "couponman_backup_" + System.currentTimeMillis() + ".json";
+            if (gzip) {
+                filename += ".gz";
+                response = newFixedLengthResponse(Response.Status.OK, "application/gzip", in, in.length());
+            } else {
+                response = newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", in, in.length());
+            }
 
-                return response;
+            // 다운로드 헤더 추가
+            response.addHeader("Content-Disposition", "attachment; filename=\"" + filename + "\"");
 
-            } finally {
-                corporateDAO.close();
-                employeeDAO.close();
-                couponDAO.close();
-                transactionDAO.close();
-            }
+            return response;
 
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Database backup failed", e);
+            AppLog.e(TAG, "❌ ERROR: Database backup failed", e);
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "데이터베이스 백업 중 오류가 발생했습니다: " + e.getMessage());
             return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
+        } finally {
+            if (spool != null && !spool.delete()) {
+                AppLog.w(TAG, "Failed to delete backup spool file: " + spool);
+            }
+            backupInProgress.set(false);
         }
     }
 
     /**
      * 데이터베이스 복구
      * POST /api/restore
+     * 요청 본문(백업 JSON, gzip 압축 파일도 허용)을 먼저 캐시 디렉터리의 임시 파일로 받은 뒤,
+     * 그 파일을 JsonReader 로 스트리밍 파싱하며 적재한다. 쓰기 트랜잭션은 로컬 파일을 읽는 동안만 열리므로
+     * 느린 업로드가 다른 쓰기를 막지 않는다.
+     * 진행 상황(phase: upload → restore)은 GET /api/restore/progress 로 조회할 수 있다.
      */
     private Response handleRestoreDatabase(IHTTPSession session) {
-        Log.i(TAG, "=== DATABASE RESTORE START ===");
+        AppLog.i(TAG, "=== DATABASE RESTORE START ===");
 
+        String contentLengthStr = session.getHeaders().get("content-length");
+        long contentLength = 0;
         try {
-            // POST 데이터 파싱
-            Map<String, String> files = new HashMap<>();
-            session.parseBody(files);
-
-            String postData = files.get("postData");
-            if (postData == null || postData.isEmpty()) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("message", "백업 데이터가 없습니다.");
-                return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
-            }
-
-            Log.i(TAG, "[RESTORE] Parsing backup data...");
-
-            // JSON 파싱
-            com.google.gson.JsonObject jsonData = gson.fromJson(postData, com.google.gson.JsonObject.class);
-            com.google.gson.JsonObject data = jsonData.getAsJsonObject("data");
-
-            if (data == null) {
-                Map<String, Object> error = new HashMap<>();
-                error.put("success", false);
-                error.put("message", "잘못된 백업 데이터 형식입니다.");
-                return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+            if (contentLengthStr != null) {
+                contentLength = Long.parseLong(contentLengthStr.trim());
             }
+        } catch (NumberFormatException e) {
+            contentLength = 0;
+        }
+        if (contentLength <= 0) {
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "백업 데이터가 없습니다.");
+            return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
+        }
 
-            // 직접 DB 접근 (원본 ID 보존을 위해 raw SQL 사용)
-            android.database.sqlite.SQLiteDatabase db = databaseHelper.getWritableDatabase();
+        DatabaseBackup.CountingInputStream body = new DatabaseBackup.CountingInputStream(session.getInputStream(), contentLength);
+        if (!restoreInProgress.compareAndSet(false, true)) {
+            body.drain();
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "이미 복구가 진행 중입니다.");
+            return newFixedLengthResponse(Response.Status.CONFLICT, "application/json; charset=utf-8", gson.toJson(error));
+        }
 
-            db.beginTransaction();
-            try {
-                // 기존 데이터 전체 삭제 (FK CASCADE 순서 고려)
-                db.execSQL("DELETE FROM coupon_transaction");
-                db.execSQL("DELETE FROM coupon_deliveries");
-                db.execSQL("DELETE FROM coupon");
-                db.execSQL("DELETE FROM employee");
-                db.execSQL("DELETE FROM corporate");
-                Log.i(TAG, "[RESTORE] Existing data cleared");
-
-                int corporateCount = 0, employeeCount = 0, couponCount = 0, transactionCount = 0;
-
-                // 헬퍼: null-safe 문자열 추출
-                // (JsonNull이거나 없으면 null 반환)
-
-                // 1. 거래처 복구 — 원본 customer_id 보존
-                if (data.has("corporates")) {
-                    com.google.gson.JsonArray corporates = data.getAsJsonArray("corporates");
-                    for (com.google.gson.JsonElement elem : corporates) {
-                        com.google.gson.JsonObject o = elem.getAsJsonObject();
-                        db.execSQL(
-                            "INSERT OR REPLACE INTO corporate"
-                            + " (customer_id, name, business_number, representative, phone, email, address, created_at)"
-                            + " VALUES (?,?,?,?,?,?,?,?)",
-                            new Object[]{
-                                safeInt(o, "customer_id"),
-                                safeStr(o, "name"),
-                                safeStr(o, "business_number"),
-                                safeStr(o, "representative"),
-                                safeStr(o, "phone"),
-                                safeStr(o, "email"),
-                                safeStr(o, "address"),
-                                safeStr(o, "created_at")
-                            }
-                        );
-                        corporateCount++;
-                    }
-                    Log.i(TAG, "[RESTORE] Corporates restored: " + corporateCount);
+        long startTime = System.currentTimeMillis();
+        restoreBody = body;
+        restorePhase = "upload";
+        restoreTable = null;
+        restoreRows = 0;
+        File spool = null;
+        DatabaseBackup.TempFileInputStream spooled = null;
+        try {
+            spool = File.createTempFile("restore_", ".json", context.getCacheDir());
+            try (OutputStream file = new FileOutputStream(spool)) {
+                byte[] buffer = new byte[BACKUP_BUFFER_SIZE];
+                int read;
+                while ((read = body.read(buffer, 0, buffer.length)) > 0) {
+                    file.write(buffer, 0, read);
                 }
+            }
+            if (body.getCount() < contentLength) {
+                throw new IOException("백업 데이터 업로드가 중간에 끊겼습니다 (" + body.getCount() + "/" + contentLength + " bytes)");
+            }
+            AppLog.i(TAG, "[RESTORE] Received " + contentLength + " bytes in " + (System.currentTimeMillis() - startTime) + "ms");
 
-                // 2. 직원 복구 — 원본 employee_id 보존
-                if (data.has("employees")) {
-                    com.google.gson.JsonArray employees = data.getAsJsonArray("employees");
-                    for (com.google.gson.JsonElement elem : employees) {
-                        com.google.gson.JsonObject o = elem.getAsJsonObject();
-                        db.execSQL(
-                            "INSERT OR REPLACE INTO employee"
-                            + " (employee_id, corporate_id, name, phone, email, department, created_at)"
-                            + " VALUES (?,?,?,?,?,?,?)",
-                            new Object[]{
-                                safeInt(o, "employee_id"),
-                                safeInt(o, "corporate_id"),
-                                safeStr(o, "name"),
-                                safeStr(o, "phone"),
-                                safeStr(o, "email"),
-                                safeStr(o, "department"),
-                                safeStr(o, "created_at")
-                            }
-                        );
-                        employeeCount++;
-                    }
-                    Log.i(TAG, "[RESTORE] Employees restored: " + employeeCount);
-                }
+            spooled = new DatabaseBackup.TempFileInputStream(spool);
+            spool = null;
+            DatabaseBackup.CountingInputStream source = new DatabaseBackup.CountingInputStream(spooled, spooled.length());
+            restoreBody = source;
+            restorePhase = "restore";
 
-                // 3. 쿠폰 복구 — 원본 coupon_id, 쿠폰코드, 날짜 보존
-                if (data.has("coupons")) {
-                    com.google.gson.JsonArray coupons = data.getAsJsonArray("coupons");
-                    for (com.google.gson.JsonElement elem : coupons) {
-                        com.google.gson.JsonObject o = elem.getAsJsonObject();
-                        db.execSQL(
-                            "INSERT OR REPLACE INTO coupon"
-                            + " (coupon_id, full_coupon_code, employee_id, cash_balance, point_balance,"
-                            + "  expire_date, status, payment_type, available_days, created_at)"
-                            + " VALUES (?,?,?,?,?,?,?,?,?,?)",
-                            new Object[]{
-                                safeInt(o, "coupon_id"),
-                                safeStr(o, "full_coupon_code"),
-                                safeInt(o, "employee_id"),
-                                safeDbl(o, "cash_balance"),
-                                safeDbl(o, "point_balance"),
-                                safeStr(o, "expire_date"),
-                                safeStr(o, "status"),
-                                safeStr(o, "payment_type"),
-                                safeStr(o, "available_days"),
-                                safeStr(o, "created_at")
-                            }
-                        );
-                        couponCount++;
-                    }
-                    Log.i(TAG, "[RESTORE] Coupons restored: " + couponCount);
-                }
+            // gzip 매직 넘버(1f 8b)면 압축 해제하며 읽음
+            BufferedInputStream buffered = new BufferedInputStream(source, BACKUP_BUFFER_SIZE);
+            buffered.mark(2);
+            boolean gzip = buffered.read() == 0x1f && buffered.read() == 0x8b;
+            buffered.reset();
+            InputStream data = gzip ? new GZIPInputStream(buffered, BACKUP_BUFFER_SIZE) : buffered;
 
-                // 4. 거래내역 복구 — 원본 transaction_id, 날짜, 금액 그대로 보존
-                if (data.has("transactions")) {
-                    com.google.gson.JsonArray transactions = data.getAsJsonArray("transactions");
-                    for (com.google.gson.JsonElement elem : transactions) {
-                        com.google.gson.JsonObject o = elem.getAsJsonObject();
-                        db.execSQL(
-                            "INSERT OR REPLACE INTO coupon_transaction"
-                            + " (transaction_id, coupon_id, amount, transaction_type, transaction_date,"
-                            + "  balance_type, balance_before, balance_after, description)"
-                            + " VALUES (?,?,?,?,?,?,?,?,?)",
-                            new Object[]{
-                                safeInt(o, "transaction_id"),
-                                safeInt(o, "coupon_id"),
-                                safeDbl(o, "amount"),
-                                safeStr(o, "transaction_type"),
-                                safeStr(o, "transaction_date"),
-                                safeStr(o, "balance_type"),
-                                safeDbl(o, "balance_before"),
-                                safeDbl(o, "balance_after"),
-                                safeStr(o, "description")
-                            }
-                        );
-                        transactionCount++;
-                    }
-                    Log.i(TAG, "[RESTORE] Transactions restored: " + transactionCount);
-                }
+            AppLog.i(TAG, "[RESTORE] Streaming backup data (" + contentLength + " bytes" + (gzip ? ", gzip" : "") + ")");
 
-                db.setTransactionSuccessful();
+            JsonReader reader = new JsonReader(new InputStreamReader(data, StandardCharsets.UTF_8));
+            DatabaseBackup.RestoreResult restored = databaseBackup.restore(reader, (table, rows) -> {
+                restoreTable = table;
+                restoreRows = rows;
+            });
 
-                // 응답 생성
-                Map<String, Object> result = new HashMap<>();
-                result.put("success", true);
+            // 응답 생성
+            Map<String, Object> result = new HashMap<>();
+            result.put("success", true);
+            result.put("restored", restored.toMap());
+            result.put("elapsedMs", System.currentTimeMillis() - startTime);
+            result.put("message", "데이터베이스 복구가 완료되었습니다.");
 
-                Map<String, Object> stats = new HashMap<>();
-                stats.put("corporates", corporateCount);
-                stats.put("employees", employeeCount);
-                stats.put("coupons", couponCount);
-                stats.put("transactions", transactionCount);
-                result.put("restored", stats);
-                result.put("message", "데이터베이스 복구가 완료되었습니다.");
+            AppLog.i(TAG, "=== DATABASE RESTORE END === (" + (System.currentTimeMillis() - startTime) + "ms)");
 
-                Log.i(TAG, "=== DATABASE RESTORE END ===");
+            return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
 
-                return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
+        } catch (DatabaseBackup.InvalidBackupException | com.google.gson.stream.MalformedJsonException
+                | java.util.zip.ZipException | com.google.gson.JsonParseException
+                | IllegalStateException | NumberFormatException e) {
+            AppLog.e(TAG, "❌ ERROR: Invalid backup data", e);
 
-            } finally {
-                db.endTransaction();
-            }
+            Map<String, Object> error = new HashMap<>();
+            error.put("success", false);
+            error.put("message", "잘못된 백업 데이터 형식입니다: " + e.getMessage());
+            return newFixedLengthResponse(Response.Status.BAD_REQUEST, "application/json; charset=utf-8", gson.toJson(error));
 
         } catch (Exception e) {
-            Log.e(TAG, "❌ ERROR: Database restore failed", e);
+            AppLog.e(TAG, "❌ ERROR: Database restore failed", e);
 
             Map<String, Object> error = new HashMap<>();
             error.put("success", false);
             error.put("message", "데이터베이스 복구 중 오류가 발생했습니다: " + e.getMessage());
             return newFixedLengthResponse(Response.Status.INTERNAL_ERROR, "application/json; charset=utf-8", gson.toJson(error));
-        }
-    }
 
-    /** null-safe JSON 문자열 추출 */
-    private String safeStr(com.google.gson.JsonObject o, String key) {
-        if (!o.has(key) || o.get(key).isJsonNull()) return null;
-        return o.get(key).getAsString();
+        } finally {
+            body.drain();
+            restoreBody = null;
+            restorePhase = null;
+            if (spooled != null) {
+                try {
+                    spooled.close();
+                } catch (IOException ignored) {
+                }
+            }
+            if (spool != null && !spool.delete()) {
+                AppLog.w(TAG, "Failed to delete restore spool file: " + spool);
+            }
+            restoreInProgress.set(false);
+        }
     }
 
-    /** null-safe JSON int 추출 */
-    private int safeInt(com.google.gson.JsonObject o, String key) {
-        if (!o.has(key) || o.get(key).isJsonNull()) return 0;
-        return o.get(key).getAsInt();
-    }
+    /**
+     * 복구 진행 상황 조회
+     * GET /api/restore/progress
+     */
+    private Response handleGetRestoreProgress() {
+        Map<String, Object> data = new HashMap<>();
+        DatabaseBackup.CountingInputStream body = restoreBody;
+        boolean running = restoreInProgress.get() && body != null;
+        data.put("running", running);
+        if (running) {
+            long total = body.getLimit();
+            long read = body.getCount();
+            data.put("phase", restorePhase);
+            data.put("table", restoreTable);
+            data.put("rows", restoreRows);
+            data.put("bytesRead", read);
+            data.put("totalBytes", total);
+            data.put("percent", total > 0 ? (int) (read * 100 / total) : 0);
+        }
 
-    /** null-safe JSON double 추출 */
-    private double safeDbl(com.google.gson.JsonObject o, String key) {
-        if (!o.has(key) || o.get(key).isJsonNull()) return 0.0;
-        return o.get(key).getAsDouble();
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", true);
+        result.put("data", data);
+        return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", gson.toJson(result));
     }
 }
\ No newline at end of file
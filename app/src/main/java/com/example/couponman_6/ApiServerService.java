@@ -112,6 +112,7 @@ public class ApiServerService extends Service {
             String dashboardUrl = ServerAddressHelper.getDashboardUrl(this, SERVER_PORT);
 
             apiServer = new ApiServer(SERVER_HOST, SERVER_PORT, this);
+            apiServer.setWorkerPool(new BoundedAsyncRunner());
             apiServer.start();
             isServerRunning = true;
 
@@ -156,6 +157,11 @@ public class ApiServerService extends Service {
         return isServerRunning;
     }
 
+    /** 실행 중인 서버 (WebSocket 중계 요청을 같은 프로세스에서 처리할 때 사용), 꺼져 있으면 null */
+    public ApiServer getApiServer() {
+        return isServerRunning ? apiServer : null;
+    }
+
     @Override
     public void onDestroy() {
         super.onDestroy();
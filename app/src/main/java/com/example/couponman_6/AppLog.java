@@ -0,0 +1,113 @@
+package com.example.couponman_6;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.util.Log;
+
+import java.util.function.Supplier;
+
+/**
+ * 로그 파사드. DAO, ApiServer, QRScanActivity 처럼 행/요청마다 로그를 남기는 경로에서 사용한다.
+ * 레벨을 먼저 확인하고 메시지는 Supplier 로 받아서, 꺼진 레벨의 로그는 문자열을 만들지 않는다.
+ * d/v 는 디버그 빌드에서만 남기며 (BuildConfig.DEBUG), 최소 레벨은 관리자 설정에서 바꾼다.
+ */
+public final class AppLog {
+    public static final String PREFS_NAME = "AdminSettings";
+    public static final String KEY_LOG_LEVEL = "log_level";
+
+    /** 관리자 설정 화면의 선택 순서와 같다 */
+    public static final int[] LEVELS = {Log.DEBUG, Log.INFO, Log.WARN, Log.ERROR};
+    public static final String[] LEVEL_LABELS = {"상세 (DEBUG)", "기본 (INFO)", "경고 이상 (WARN)", "오류만 (ERROR)"};
+
+    /** 릴리스 빌드에서는 false 이고, proguard-rules.pro 의 규칙으로 d/v 호출 자체가 제거된다 */
+    private static final boolean DEBUG_BUILD = BuildConfig.DEBUG;
+
+    private static volatile int minLevel = Log.INFO;
+
+    private AppLog() {
+    }
+
+    /** 관리자 설정에 저장된 최소 레벨 적용 */
+    public static void configure(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        setMinLevel(prefs.getInt(KEY_LOG_LEVEL, Log.INFO));
+    }
+
+    public static void setMinLevel(int level) {
+        minLevel = Math.max(Log.VERBOSE, Math.min(Log.ERROR, level));
+    }
+
+    public static int getMinLevel() {
+        return minLevel;
+    }
+
+    public static boolean isLoggable(int level) {
+        if (level < Log.INFO && !DEBUG_BUILD) {
+            return false;
+        }
+        return level >= minLevel;
+    }
+
+    public static boolean isDebugEnabled() {
+        return isLoggable(Log.DEBUG);
+    }
+
+    public static void v(String tag, Supplier<String> message) {
+        if (isLoggable(Log.VERBOSE)) {
+            Log.v(tag, message.get());
+        }
+    }
+
+    public static void d(String tag, String message) {
+        if (isLoggable(Log.DEBUG)) {
+            Log.d(tag, message);
+        }
+    }
+
+    public static void d(String tag, Supplier<String> message) {
+        if (isLoggable(Log.DEBUG)) {
+            Log.d(tag, message.get());
+        }
+    }
+
+    public static void i(String tag, String message) {
+        if (isLoggable(Log.INFO)) {
+            Log.i(tag, message);
+        }
+    }
+
+    public static void i(String tag, Supplier<String> message) {
+        if (isLoggable(Log.INFO)) {
+            Log.i(tag, message.get());
+        }
+    }
+
+    public static void w(String tag, String message) {
+        if (isLoggable(Log.WARN)) {
+            Log.w(tag, message);
+        }
+    }
+
+    public static void w(String tag, String message, Throwable error) {
+        if (isLoggable(Log.WARN)) {
+            Log.w(tag, message, error);
+        }
+    }
+
+    public static void e(String tag, String message) {
+        Log.e(tag, message);
+    }
+
+    public static void e(String tag, String message, Throwable error) {
+        Log.e(tag, message, error);
+    }
+
+    /** 토큰/비밀번호 등은 앞 몇 글자만 남긴다 */
+    public static String mask(String secret) {
+        if (secret == null) {
+            return "null";
+        }
+        int visible = Math.min(6, secret.length() / 4);
+        return secret.substring(0, visible) + "…(" + secret.length() + ")";
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.couponman_6;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import fi.iki.elonen.NanoHTTPD;
+
+/**
+ * 고정 크기 워커 풀 + 대기 큐 기반 NanoHTTPD AsyncRunner.
+ * 기본 러너는 연결마다 스레드를 새로 만들기 때문에, 풀과 큐가 모두 찬 경우에는
+ * 연결을 받지 않고 503 + Retry-After 로 즉시 돌려보낸다.
+ * ThreadPoolExecutor 는 큐가 가득 차야 core 이상으로 스레드를 늘리므로, keep-alive 연결이 core 스레드를 잡고 있으면
+ * 새 연결이 남은 스레드를 두고 큐에서 기다리게 된다. 그래서 core == max 로 두고 유휴 스레드는 시간 초과로 정리한다.
+ */
+public class BoundedAsyncRunner implements NanoHTTPD.AsyncRunner {
+    private static final String TAG = "BoundedAsyncRunner";
+
+    public static final int DEFAULT_THREADS = 16;
+    public static final int DEFAULT_QUEUE_CAPACITY = 64;
+    public static final int DEFAULT_RETRY_AFTER_SECONDS = 2;
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    /** 풀 포화 시 클라이언트에 거절 응답을 써줄 수 있는 핸들러 */
+    public interface Rejectable {
+        void rejectBusy(int retryAfterSeconds);
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int retryAfterSeconds;
+    private final Set<NanoHTTPD.ClientHandler> running =
+            Collections.synchronizedSet(new LinkedHashSet<NanoHTTPD.ClientHandler>());
+
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicInteger peakActive = new AtomicInteger();
+
+    public BoundedAsyncRunner() {
+        this(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY, DEFAULT_RETRY_AFTER_SECONDS);
+    }
+
+    public BoundedAsyncRunner(int threads, int queueCapacity, int retryAfterSeconds) {
+        this.queueCapacity = queueCapacity;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                KEEP_ALIVE_SECONDS,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity),
+                new WorkerThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void exec(final NanoHTTPD.ClientHandler clientHandler) {
+        submittedCount.incrementAndGet();
+        running.add(clientHandler);
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    updatePeakActive();
+                    clientHandler.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            running.remove(clientHandler);
+            rejectedCount.incrementAndGet();
+            AppLog.w(TAG, "[WORKER-POOL] Saturated - rejecting connection (active=" + executor.getActiveCount()
+                    + ", queued=" + executor.getQueue().size() + ")");
+            reject(clientHandler);
+        }
+    }
+
+    @Override
+    public void closed(NanoHTTPD.ClientHandler clientHandler) {
+        running.remove(clientHandler);
+    }
+
+    @Override
+    public void closeAll() {
+        for (NanoHTTPD.ClientHandler clientHandler : new ArrayList<>(running)) {
+            clientHandler.close();
+        }
+        running.clear();
+    }
+
+    /** 서버 종료 시 워커 스레드까지 정리 */
+    public void shutdown() {
+        closeAll();
+        executor.shutdownNow();
+    }
+
+    /** 풀 점유율, 대기 큐 길이, 거절 건수 */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        int active = executor.getActiveCount();
+        int maxThreads = executor.getMaximumPoolSize();
+        metrics.put("activeThreads", active);
+        metrics.put("poolSize", executor.getPoolSize());
+        metrics.put("maxThreads", maxThreads);
+        metrics.put("peakActiveThreads", peakActive.get());
+        metrics.put("occupancy", maxThreads > 0 ? (double) active / maxThreads : 0.0);
+        metrics.put("queueDepth", executor.getQueue().size());
+        metrics.put("queueCapacity", queueCapacity);
+        metrics.put("openConnections", running.size());
+        metrics.put("submitted", submittedCount.get());
+        metrics.put("completed", executor.getCompletedTaskCount());
+        metrics.put("rejected", rejectedCount.get());
+        return metrics;
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    private void reject(NanoHTTPD.ClientHandler clientHandler) {
+        try {
+            if (clientHandler instanceof Rejectable) {
+                ((Rejectable) clientHandler).rejectBusy(retryAfterSeconds);
+            }
+        } catch (Exception e) {
+            AppLog.w(TAG, "[WORKER-POOL] Failed to write 503 response", e);
+        } finally {
+            clientHandler.close();
+        }
+    }
+
+    private void updatePeakActive() {
+        int active = executor.getActiveCount();
+        int peak;
+        do {
+            peak = peakActive.get();
+            if (active <= peak) {
+                return;
+            }
+        } while (!peakActive.compareAndSet(peak, active));
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ApiServer-worker-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -5,7 +5,6 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
-import android.util.Log;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,9 +14,10 @@ public class CorporateDAO {
     
     private DatabaseHelper dbHelper;
     private SQLiteDatabase database;
+    private final CouponLookupCache lookupCache = CouponLookupCache.getInstance();
 
     public CorporateDAO(Context context) {
-        dbHelper = new DatabaseHelper(context);
+        dbHelper = DatabaseHelper.getInstance(context);
     }
 
     /**
@@ -27,9 +27,9 @@ public class CorporateDAO {
         if (database != null && database.isOpen()) return;
         try {
             database = dbHelper.getWritableDatabase();
-            Log.d(TAG, "Database connection opened");
+            AppLog.d(TAG, "Database connection opened");
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error opening database", e);
+            AppLog.e(TAG, "Error opening database", e);
             throw e;
         }
     }
@@ -38,17 +38,16 @@ public class CorporateDAO {
      * 데이터베이스 연결 닫기 (no-op: 서버 핸들러에서 호출해도 연결 유지)
      */
     public void close() {
-        // no-op: SQLiteOpenHelper 연결 유지. shutdown()으로만 실제 닫기.
+        // no-op: 공유 DatabaseHelper 연결 유지. shutdown()으로 참조만 해제.
     }
 
     /**
-     * 실제 데이터베이스 연결 닫기 (서비스 종료 시에만 호출)
+     * 공유 데이터베이스 연결 참조 해제 (서비스 종료 시에만 호출)
      */
     public void shutdown() {
-        if (database != null && database.isOpen()) {
-            database.close();
-            Log.d(TAG, "Database connection closed");
-        }
+        // 공유 연결은 다른 DAO/화면이 계속 사용하므로 닫지 않고 참조만 해제
+        database = null;
+        AppLog.d(TAG, "Database connection released");
     }
 
     /**
@@ -56,7 +55,7 @@ public class CorporateDAO {
      */
     public long insertCorporate(Corporate corporate) {
         if (!corporate.isValidForSave()) {
-            Log.w(TAG, "Invalid corporate data for insert");
+            AppLog.w(TAG, "Invalid corporate data for insert");
             return -1;
         }
 
@@ -70,10 +69,10 @@ public class CorporateDAO {
 
         try {
             long id = database.insert(DatabaseHelper.TABLE_CORPORATE, null, values);
-            Log.i(TAG, "Corporate inserted with ID: " + id + ", Name: " + corporate.getName());
+            AppLog.i(TAG, "Corporate inserted with ID: " + id + ", Name: " + corporate.getName());
             return id;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error inserting corporate", e);
+            AppLog.e(TAG, "Error inserting corporate", e);
             return -1;
         }
     }
@@ -83,7 +82,7 @@ public class CorporateDAO {
      */
     public int updateCorporate(Corporate corporate) {
         if (!corporate.isValidForSave()) {
-            Log.w(TAG, "Invalid corporate data for update");
+            AppLog.w(TAG, "Invalid corporate data for update");
             return 0;
         }
 
@@ -102,10 +101,11 @@ public class CorporateDAO {
                 DatabaseHelper.COLUMN_CUSTOMER_ID + " = ?",
                 new String[]{String.valueOf(corporate.getCustomerId())}
             );
-            Log.i(TAG, "Corporate updated, ID: " + corporate.getCustomerId() + ", rows affected: " + rowsAffected);
+            lookupCache.invalidateCorporate(corporate.getCustomerId());
+            AppLog.i(TAG, "Corporate updated, ID: " + corporate.getCustomerId() + ", rows affected: " + rowsAffected);
             return rowsAffected;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error updating corporate", e);
+            AppLog.e(TAG, "Error updating corporate", e);
             return 0;
         }
     }
@@ -120,10 +120,11 @@ public class CorporateDAO {
                 DatabaseHelper.COLUMN_CUSTOMER_ID + " = ?",
                 new String[]{String.valueOf(customerId)}
             );
-            Log.i(TAG, "Corporate deleted, ID: " + customerId + ", rows affected: " + rowsAffected);
+            lookupCache.invalidateCorporate(customerId);
+            AppLog.i(TAG, "Corporate deleted, ID: " + customerId + ", rows affected: " + rowsAffected);
             return rowsAffected;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error deleting corporate", e);
+            AppLog.e(TAG, "Error deleting corporate", e);
             return 0;
         }
     }
@@ -144,14 +145,14 @@ public class CorporateDAO {
 
             if (cursor != null && cursor.moveToFirst()) {
                 Corporate corporate = cursorToCorporate(cursor);
-                Log.d(TAG, "Corporate found by ID: " + customerId);
+                AppLog.d(TAG, () -> "Corporate found by ID: " + customerId);
                 return corporate;
             }
             
-            Log.d(TAG, "No corporate found with ID: " + customerId);
+            AppLog.d(TAG, () -> "No corporate found with ID: " + customerId);
             return null;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting corporate by ID", e);
+            AppLog.e(TAG, "Error getting corporate by ID", e);
             return null;
         } finally {
             if (cursor != null) {
@@ -176,14 +177,14 @@ public class CorporateDAO {
 
             if (cursor != null && cursor.moveToFirst()) {
                 Corporate corporate = cursorToCorporate(cursor);
-                Log.d(TAG, "Corporate found by business number: " + businessNumber);
+                AppLog.d(TAG, () -> "Corporate found by business number: " + businessNumber);
                 return corporate;
             }
             
-            Log.d(TAG, "No corporate found with business number: " + businessNumber);
+            AppLog.d(TAG, () -> "No corporate found with business number: " + businessNumber);
             return null;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting corporate by business number", e);
+            AppLog.e(TAG, "Error getting corporate by business number", e);
             return null;
         } finally {
             if (cursor != null) {
@@ -213,10 +214,10 @@ public class CorporateDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + corporates.size() + " corporates");
+            AppLog.i(TAG, "Retrieved " + corporates.size() + " corporates");
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting all corporates", e);
+            AppLog.e(TAG, "Error getting all corporates", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -250,10 +251,10 @@ public class CorporateDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Found " + corporates.size() + " corporates matching name: " + name);
+            AppLog.i(TAG, "Found " + corporates.size() + " corporates matching name: " + name);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error searching corporates by name", e);
+            AppLog.e(TAG, "Error searching corporates by name", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -285,10 +286,10 @@ public class CorporateDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + corporates.size() + " corporates (limit: " + limit + ", offset: " + offset + ")");
+            AppLog.i(TAG, "Retrieved " + corporates.size() + " corporates (limit: " + limit + ", offset: " + offset + ")");
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting paginated corporates", e);
+            AppLog.e(TAG, "Error getting paginated corporates", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -307,11 +308,11 @@ public class CorporateDAO {
             cursor = database.rawQuery("SELECT COUNT(*) FROM " + DatabaseHelper.TABLE_CORPORATE, null);
             if (cursor != null && cursor.moveToFirst()) {
                 int count = cursor.getInt(0);
-                Log.d(TAG, "Total corporate count: " + count);
+                AppLog.d(TAG, () -> "Total corporate count: " + count);
                 return count;
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting corporate count", e);
+            AppLog.e(TAG, "Error getting corporate count", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -183,6 +183,16 @@ public class Coupon {
             Log.w(TAG, "[COUPON-CODE] 경고: 사업자등록번호가 기본값(0000000000)입니다. 사업자 설정을 확인하세요.");
         }
         
+        String fullCode = generateFullCouponCode(issuerBusinessNumber);
+        Log.i(TAG, "[COUPON-CODE] 생성된 전체 쿠폰 코드: " + fullCode);
+        
+        return fullCode;
+    }
+
+    /**
+     * 미리 조회한 사업자등록번호로 쿠폰 코드 생성 (대량 발행 시 설정 조회를 한 번만 수행)
+     */
+    public String generateFullCouponCode(String issuerBusinessNumber) {
         // 1. 발급자 사업자등록번호 (하이픈 제거)
         String issuerCode = issuerBusinessNumber.replace("-", "");
         
@@ -208,17 +218,14 @@ public class Coupon {
         Random random = new Random();
         String parity = String.format("%03d", random.nextInt(1000));
         
-        String fullCode = issuerCode + "-" + availableDaysCode + "-" + couponIdPadded + "-" + paymentTypeCode + "-" + parity;
-        Log.i(TAG, "[COUPON-CODE] 생성된 전체 쿠폰 코드: " + fullCode);
-        
-        return fullCode;
+        return issuerCode + "-" + availableDaysCode + "-" + couponIdPadded + "-" + paymentTypeCode + "-" + parity;
     }
 
 
     /**
      * SharedPreferences에서 사업자등록번호 가져오기
      */
-    private String getBusinessNumberFromSharedPreferences(Context context) {
+    public static String getBusinessNumberFromSharedPreferences(Context context) {
         SharedPreferences settings = context.getSharedPreferences("BusinessSettings", Context.MODE_PRIVATE);
         String businessNumber = settings.getString("business_number", "0000000000");
         Log.d(TAG, "[COUPON-CODE] SharedPreferences에서 사업자등록번호 조회: " + businessNumber);
@@ -2,11 +2,47 @@ package com.example.couponman_6;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import android.database.Cursor;
+import android.database.SQLException;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.net.Uri;
+import android.util.Log;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * 거래처 단위 쿠폰 일괄 발행/충전.
+ * 대상 직원과 충전 대상 쿠폰을 거래처 단위 쿼리 한 번으로 미리 읽어 두고,
+ * 직원/쿠폰/거래내역 쓰기는 컴파일된 문장으로 BATCH_SIZE 행씩 하나의 트랜잭션에서 처리한다.
+ * 명단 파일은 importAndProcess() 로 읽기/조회/쓰기 단계를 겹쳐 한 번에 처리할 수 있다.
+ */
 public class CouponBatchService {
+    private static final String TAG = "CouponBatchService";
+
+    /** 트랜잭션 하나에 처리할 대상 수 (QR 차감 등 다른 쓰기가 오래 기다리지 않도록 분할) */
+    private static final int BATCH_SIZE = 500;
+    /** 파이프라인 단계 사이 대기 청크 수 (읽기가 쓰기보다 빨라도 메모리는 이만큼만 사용) */
+    private static final int PIPELINE_QUEUE_CAPACITY = 2;
+    /** 대상 1건 단위 세이브포인트 (청크 트랜잭션 안에서 실패한 대상만 되돌림) */
+    private static final String ROW_SAVEPOINT = "batch_row";
+    private static final List<CouponTargetDraft> END_OF_INPUT = Collections.emptyList();
+
     public static class CouponMatchResult {
         private final CouponTargetDraft draft;
         private final Coupon coupon;
@@ -25,176 +61,813 @@ public class CouponBatchService {
         }
     }
 
-    private final EmployeeDAO employeeDAO;
-    private final CouponDAO couponDAO;
-    private final TransactionDAO transactionDAO;
+    /** 대상 한 건의 처리 결과 */
+    public static class RowResult {
+        public static final String STATUS_ISSUED = "ISSUED";
+        public static final String STATUS_CHARGED = "CHARGED";
+        public static final String STATUS_SKIPPED = "SKIPPED";
+        public static final String STATUS_FAILED = "FAILED";
+
+        private final CouponTargetDraft draft;
+        private final String status;
+        private final int employeeId;
+        private final int couponId;
+        private final String fullCouponCode;
+        private final String message;
+
+        RowResult(CouponTargetDraft draft, String status, int employeeId, int couponId,
+                  String fullCouponCode, String message) {
+            this.draft = draft;
+            this.status = status;
+            this.employeeId = employeeId;
+            this.couponId = couponId;
+            this.fullCouponCode = fullCouponCode;
+            this.message = message;
+        }
+
+        public CouponTargetDraft getDraft() {
+            return draft;
+        }
+
+        public String getStatus() {
+            return status;
+        }
+
+        public int getEmployeeId() {
+            return employeeId;
+        }
+
+        public int getCouponId() {
+            return couponId;
+        }
+
+        public String getFullCouponCode() {
+            return fullCouponCode;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public boolean isSuccess() {
+            return STATUS_ISSUED.equals(status) || STATUS_CHARGED.equals(status);
+        }
+    }
+
+    /** 일괄 처리 결과 */
+    public static class BatchResult {
+        private final List<RowResult> rows = new ArrayList<>();
+        private int successCount;
+        private int skippedCount;
+        private int failedCount;
+
+        void add(RowResult row) {
+            rows.add(row);
+            if (row.isSuccess()) {
+                successCount++;
+            } else if (RowResult.STATUS_SKIPPED.equals(row.getStatus())) {
+                skippedCount++;
+            } else {
+                failedCount++;
+            }
+        }
+
+        public List<RowResult> getRows() {
+            return rows;
+        }
+
+        public int getSuccessCount() {
+            return successCount;
+        }
+
+        public int getSkippedCount() {
+            return skippedCount;
+        }
+
+        public int getFailedCount() {
+            return failedCount;
+        }
+    }
+
+    /** 진행 상황 콜백 (작업 스레드에서 호출됨) */
+    public interface ProgressListener {
+        void onProgress(int processed, int total);
+    }
+
+    /** 미리 읽어 둔 직원 행 */
+    private static class EmployeeRow {
+        int employeeId;
+        String name;
+    }
+
+    /** 한 번의 발행/충전 요청 설정 */
+    private class BatchOptions {
+        final int corporateId;
+        final double usageLimit;
+        final String expireDate;
+        final String availableDays;
+        final boolean recharge;
+        final boolean additive;
+        final boolean extendExpired;
+        final String issuerBusinessNumber;
+        final String adminId;
+
+        BatchOptions(int corporateId, double usageLimit, String expireDate, String availableDays,
+                     boolean recharge, boolean additive, boolean extendExpired) {
+            this.corporateId = corporateId;
+            this.usageLimit = usageLimit;
+            this.expireDate = expireDate;
+            this.availableDays = availableDays;
+            this.recharge = recharge;
+            this.additive = additive;
+            this.extendExpired = extendExpired;
+            this.issuerBusinessNumber = Coupon.getBusinessNumberFromSharedPreferences(context);
+            this.adminId = adminSettings.getString("admin_user_id", "admin");
+        }
+    }
+
+    /** 조회 단계를 마친 대상 청크 (청크에 나온 직원과 그 직원의 최신 충전 대상 쿠폰) */
+    private static class ResolvedChunk {
+        static final ResolvedChunk END = new ResolvedChunk(Collections.<CouponTargetDraft>emptyList(),
+                Collections.<String, EmployeeRow>emptyMap(), Collections.<Integer, Coupon>emptyMap());
+
+        final List<CouponTargetDraft> drafts;
+        final Map<String, EmployeeRow> employees;
+        final Map<Integer, Coupon> coupons;
+
+        ResolvedChunk(List<CouponTargetDraft> drafts, Map<String, EmployeeRow> employees, Map<Integer, Coupon> coupons) {
+            this.drafts = drafts;
+            this.employees = employees;
+            this.coupons = coupons;
+        }
+    }
+
+    /**
+     * 청크에서 변경한 쿠폰/직원 ID. 조회 캐시 무효화는 트랜잭션이 끝난 뒤에 해야
+     * 다른 연결의 스캔 조회가 커밋 전 값을 다시 캐시에 올리지 않는다.
+     */
+    private static class TouchedIds {
+        final Set<Integer> couponIds = new HashSet<>();
+        final Set<Integer> employeeIds = new HashSet<>();
+
+        void invalidateCache() {
+            CouponLookupCache cache = CouponLookupCache.getInstance();
+            for (int couponId : couponIds) {
+                cache.invalidateCoupon(couponId);
+            }
+            for (int employeeId : employeeIds) {
+                cache.invalidateEmployee(employeeId);
+            }
+        }
+    }
+
+    /** 직원/쿠폰/거래내역 쓰기용 컴파일된 문장 */
+    private static class BatchWriter {
+        final SQLiteStatement insertEmployee;
+        final SQLiteStatement updateEmployee;
+        final SQLiteStatement insertCoupon;
+        final SQLiteStatement updateCouponCode;
+        final SQLiteStatement updateRecharge;
+        final SQLiteStatement insertTransaction;
+
+        BatchWriter(SQLiteDatabase db) {
+            insertEmployee = db.compileStatement(
+                    "INSERT INTO " + DatabaseHelper.TABLE_EMPLOYEE + " (" +
+                            DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + ", " + DatabaseHelper.COLUMN_EMPLOYEE_NAME + ", " +
+                            DatabaseHelper.COLUMN_EMPLOYEE_CODE + ", " + DatabaseHelper.COLUMN_EMPLOYEE_PHONE +
+                            ") VALUES (?, ?, ?, '')");
+            updateEmployee = db.compileStatement(
+                    "UPDATE " + DatabaseHelper.TABLE_EMPLOYEE + " SET " + DatabaseHelper.COLUMN_EMPLOYEE_NAME + " = ?" +
+                            " WHERE " + DatabaseHelper.COLUMN_EMPLOYEE_ID + " = ?");
+            insertCoupon = db.compileStatement(
+                    "INSERT INTO " + DatabaseHelper.TABLE_COUPON + " (" +
+                            DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + ", " + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + ", " +
+                            DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + ", " + DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE + ", " +
+                            DatabaseHelper.COLUMN_COUPON_STATUS + ", " + DatabaseHelper.COLUMN_COUPON_PAYMENT_TYPE + ", " +
+                            DatabaseHelper.COLUMN_COUPON_AVAILABLE_DAYS + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+            updateCouponCode = db.compileStatement(
+                    "UPDATE " + DatabaseHelper.TABLE_COUPON + " SET " + DatabaseHelper.COLUMN_COUPON_FULL_CODE + " = ?" +
+                            " WHERE " + DatabaseHelper.COLUMN_COUPON_ID + " = ?");
+            updateRecharge = db.compileStatement(
+                    "UPDATE " + DatabaseHelper.TABLE_COUPON + " SET " +
+                            DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + " = ?, " +
+                            DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + " = 0.0, " +
+                            DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE + " = ?, " +
+                            DatabaseHelper.COLUMN_COUPON_AVAILABLE_DAYS + " = ?, " +
+                            DatabaseHelper.COLUMN_COUPON_STATUS + " = ?" +
+                            " WHERE " + DatabaseHelper.COLUMN_COUPON_ID + " = ?");
+            insertTransaction = db.compileStatement(
+                    "INSERT INTO " + DatabaseHelper.TABLE_TRANSACTION + " (" +
+                            DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID + ", " + DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ", " +
+                            DatabaseHelper.COLUMN_TRANSACTION_TYPE + ", " + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE + ", " +
+                            DatabaseHelper.COLUMN_TRANSACTION_BALANCE_BEFORE + ", " + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_AFTER + ", " +
+                            DatabaseHelper.COLUMN_TRANSACTION_DESCRIPTION + ") VALUES (?, ?, ?, ?, ?, ?, ?)");
+        }
+
+        void close() {
+            insertEmployee.close();
+            updateEmployee.close();
+            insertCoupon.close();
+            updateCouponCode.close();
+            updateRecharge.close();
+            insertTransaction.close();
+        }
+    }
+
+    private final Context context;
+    private final DatabaseHelper dbHelper;
     private final SharedPreferences adminSettings;
 
     public CouponBatchService(Context context) {
-        employeeDAO = new EmployeeDAO(context);
-        couponDAO = new CouponDAO(context);
-        transactionDAO = new TransactionDAO(context);
+        this.context = context;
+        dbHelper = DatabaseHelper.getInstance(context);
         adminSettings = context.getSharedPreferences("AdminSettings", Context.MODE_PRIVATE);
     }
 
     public List<CouponMatchResult> previewRechargeTargets(int corporateId, List<CouponTargetDraft> drafts) {
         List<CouponMatchResult> results = new ArrayList<>();
-        employeeDAO.open();
-        couponDAO.open();
-        try {
-            for (CouponTargetDraft draft : drafts) {
-                if (!draft.isValid()) {
-                    continue;
-                }
-                Employee employee = findEmployee(corporateId, draft);
-                Coupon coupon = employee != null ? couponDAO.getLatestRechargeableCouponByEmployeeId(employee.getEmployeeId()) : null;
-                results.add(new CouponMatchResult(draft, coupon));
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        Map<String, EmployeeRow> employees = loadEmployees(db, corporateId);
+        Map<Integer, Coupon> latestCoupons = loadLatestRechargeableCoupons(db, corporateId);
+        for (CouponTargetDraft draft : drafts) {
+            if (!draft.isValid()) {
+                continue;
             }
-        } finally {
-            couponDAO.close();
-            employeeDAO.close();
+            EmployeeRow employee = employees.get(draft.resolveEmployeeCode());
+            Coupon coupon = employee != null ? latestCoupons.get(employee.employeeId) : null;
+            results.add(new CouponMatchResult(draft, coupon));
         }
         return results;
     }
 
     public int issueCoupons(int corporateId, List<CouponTargetDraft> drafts, double usageLimit,
                             String expireDate, String availableDays) {
-        int createdCount = 0;
-        employeeDAO.open();
-        couponDAO.open();
-        transactionDAO.open();
-        try {
-            for (CouponTargetDraft draft : drafts) {
-                if (!draft.isValid()) {
-                    continue;
-                }
-                Employee employee = findOrCreateEmployee(corporateId, draft);
-                Coupon coupon = new Coupon(employee.getEmployeeId(), usageLimit, 0.0, expireDate,
-                        Coupon.PAYMENT_TYPE_PREPAID, availableDays);
-                long couponId = couponDAO.insertCoupon(coupon);
-                if (couponId > 0) {
-                    Coupon savedCoupon = couponDAO.getCouponById((int) couponId);
-                    if (savedCoupon != null) {
-                        Transaction issueTransaction = new Transaction(
-                                savedCoupon.getCouponId(),
-                                usageLimit,
-                                Transaction.TYPE_ISSUE,
-                                Transaction.BALANCE_TYPE_CASH,
-                                0.0,
-                                usageLimit,
-                                buildAuditText("신규 쿠폰 발행", draft.getName())
-                        );
-                        transactionDAO.insertTransaction(issueTransaction);
-                        createdCount++;
-                    }
-                }
-            }
-        } finally {
-            transactionDAO.close();
-            couponDAO.close();
-            employeeDAO.close();
-        }
-        return createdCount;
+        return issueCoupons(corporateId, drafts, usageLimit, expireDate, availableDays, null).getSuccessCount();
+    }
+
+    /**
+     * 신규 쿠폰 일괄 발행 (대상별 결과 포함)
+     */
+    public BatchResult issueCoupons(int corporateId, List<CouponTargetDraft> drafts, double usageLimit,
+                                    String expireDate, String availableDays, ProgressListener listener) {
+        return runBatch(corporateId, drafts, usageLimit, expireDate, availableDays, false, false, false, listener);
     }
 
     public int rechargeCoupons(int corporateId, List<CouponTargetDraft> drafts, double usageLimit,
                                String expireDate, String availableDays, boolean additive,
                                boolean extendExpired) {
-        int processedCount = 0;
-        employeeDAO.open();
-        couponDAO.open();
-        transactionDAO.open();
+        return rechargeCoupons(corporateId, drafts, usageLimit, expireDate, availableDays, additive,
+                extendExpired, null).getSuccessCount();
+    }
+
+    /**
+     * 최신 유효 쿠폰 일괄 충전 (쿠폰이 없으면 신규 발행, 대상별 결과 포함)
+     */
+    public BatchResult rechargeCoupons(int corporateId, List<CouponTargetDraft> drafts, double usageLimit,
+                                       String expireDate, String availableDays, boolean additive,
+                                       boolean extendExpired, ProgressListener listener) {
+        return runBatch(corporateId, drafts, usageLimit, expireDate, availableDays, true, additive, extendExpired, listener);
+    }
+
+    private BatchResult runBatch(int corporateId, List<CouponTargetDraft> drafts, double usageLimit,
+                                 String expireDate, String availableDays, boolean recharge,
+                                 boolean additive, boolean extendExpired, ProgressListener listener) {
+        long startTime = System.currentTimeMillis();
+        BatchResult result = new BatchResult();
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        BatchOptions options = new BatchOptions(corporateId, usageLimit, expireDate, availableDays,
+                recharge, additive, extendExpired);
+
+        // 거래처 단위 선조회: 직원 코드 → 직원, 직원 ID → 최신 충전 대상 쿠폰
+        Map<String, EmployeeRow> employees = loadEmployees(db, corporateId);
+        Map<Integer, Coupon> latestCoupons = recharge ? loadLatestRechargeableCoupons(db, corporateId)
+                : new HashMap<Integer, Coupon>();
+
+        List<CouponTargetDraft> targets = new ArrayList<>();
+        for (CouponTargetDraft draft : drafts) {
+            if (draft.isValid()) {
+                targets.add(draft);
+            }
+        }
+        int total = targets.size();
+
+        BatchWriter writer = new BatchWriter(db);
         try {
-            for (CouponTargetDraft draft : drafts) {
-                if (!draft.isValid()) {
-                    continue;
+            for (int batchStart = 0; batchStart < total; batchStart += BATCH_SIZE) {
+                int batchEnd = Math.min(batchStart + BATCH_SIZE, total);
+                writeChunk(db, targets.subList(batchStart, batchEnd), employees, latestCoupons, options, writer, result);
+                if (listener != null) {
+                    listener.onProgress(batchEnd, total);
                 }
-                Employee employee = findOrCreateEmployee(corporateId, draft);
-                Coupon targetCoupon = couponDAO.getLatestRechargeableCouponByEmployeeId(employee.getEmployeeId());
-                if (targetCoupon == null) {
-                    Coupon newCoupon = new Coupon(employee.getEmployeeId(), usageLimit, 0.0, expireDate,
-                            Coupon.PAYMENT_TYPE_PREPAID, availableDays);
-                    long newId = couponDAO.insertCoupon(newCoupon);
-                    if (newId > 0) {
-                        Coupon savedCoupon = couponDAO.getCouponById((int) newId);
-                        if (savedCoupon != null) {
-                            transactionDAO.insertTransaction(new Transaction(
-                                    savedCoupon.getCouponId(),
-                                    usageLimit,
-                                    Transaction.TYPE_ISSUE,
-                                    Transaction.BALANCE_TYPE_CASH,
-                                    0.0,
-                                    usageLimit,
-                                    buildAuditText("충전 대상 신규 발행", draft.getName())
-                            ));
-                            processedCount++;
+            }
+        } finally {
+            writer.close();
+        }
+
+        Log.i(TAG, (recharge ? "Recharge" : "Issue") + " batch completed: " + total + " targets, " +
+                result.getSuccessCount() + " succeeded, " + result.getSkippedCount() + " skipped, " +
+                result.getFailedCount() + " failed in " + (System.currentTimeMillis() - startTime) + "ms");
+        return result;
+    }
+
+    /**
+     * 직원 명단 파일을 읽으면서 바로 발행/충전하는 파이프라인.
+     * 파일 읽기 → 직원/쿠폰 조회(청크당 IN 쿼리) → 쓰기(청크당 트랜잭션) 단계가 크기 제한 큐로 이어져
+     * 동시에 진행되므로, 대량 명단도 전체를 메모리에 올리지 않고 한 번에 처리한다.
+     * 쓰기는 호출 스레드에서 실행되므로 UI 스레드가 아닌 곳에서 호출해야 한다.
+     * 파일 읽기가 끝나기 전의 진행 콜백 total 은 지금까지 읽은 대상 수이다.
+     *
+     * @param recharge true 면 최신 유효 쿠폰 충전(없으면 신규 발행), false 면 신규 발행
+     */
+    public BatchResult importAndProcess(Uri uri, int corporateId, double usageLimit, String expireDate,
+                                        String availableDays, boolean recharge, boolean additive,
+                                        boolean extendExpired, ProgressListener listener) throws Exception {
+        long startTime = System.currentTimeMillis();
+        final SQLiteDatabase db = dbHelper.getWritableDatabase();
+        final BatchOptions options = new BatchOptions(corporateId, usageLimit, expireDate, availableDays,
+                recharge, additive, extendExpired);
+        // 이번 실행에서 발행한 쿠폰은 충전 대상 조회에서 제외 (runBatch 의 선조회와 같은 기준)
+        final long maxExistingCouponId = queryMaxCouponId(db);
+
+        final BlockingQueue<List<CouponTargetDraft>> parsedQueue = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+        final BlockingQueue<ResolvedChunk> resolvedQueue = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+        final AtomicInteger parsedCount = new AtomicInteger();
+        ExecutorService stages = Executors.newFixedThreadPool(2);
+
+        Future<?> parseStage = stages.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final List<List<CouponTargetDraft>> current = new ArrayList<>();
+                current.add(new ArrayList<CouponTargetDraft>(BATCH_SIZE));
+                try {
+                    ExcelEmployeeImporter.importFile(context, uri, draft -> {
+                        List<CouponTargetDraft> chunk = current.get(0);
+                        chunk.add(draft);
+                        parsedCount.incrementAndGet();
+                        if (chunk.size() >= BATCH_SIZE) {
+                            parsedQueue.put(chunk);
+                            current.set(0, new ArrayList<CouponTargetDraft>(BATCH_SIZE));
                         }
+                    });
+                    if (!current.get(0).isEmpty()) {
+                        parsedQueue.put(current.get(0));
                     }
-                    continue;
+                } catch (Exception e) {
+                    // 실패/중단 시 남은 청크는 버리고 종료 표시만 넘겨 다음 단계가 막히지 않게 한다
+                    parsedQueue.clear();
+                    parsedQueue.offer(END_OF_INPUT);
+                    throw e;
                 }
+                parsedQueue.put(END_OF_INPUT);
+                return null;
+            }
+        });
 
-                if (targetCoupon.isExpired() && !extendExpired) {
-                    continue;
+        Future<?> resolveStage = stages.submit(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                try {
+                    List<CouponTargetDraft> chunk;
+                    while ((chunk = parsedQueue.take()) != END_OF_INPUT) {
+                        resolvedQueue.put(resolveChunk(db, chunk, options, maxExistingCouponId));
+                    }
+                } catch (Exception e) {
+                    resolvedQueue.clear();
+                    resolvedQueue.offer(ResolvedChunk.END);
+                    throw e;
                 }
+                resolvedQueue.put(ResolvedChunk.END);
+                return null;
+            }
+        });
 
-                double beforeBalance = targetCoupon.getCashBalance();
-                double afterBalance = additive ? beforeBalance + usageLimit : usageLimit;
-
-                boolean updated = couponDAO.updateCouponRechargeState(
-                        targetCoupon.getCouponId(),
-                        afterBalance,
-                        expireDate,
-                        availableDays,
-                        Coupon.STATUS_ACTIVE
-                );
-
-                if (updated) {
-                    transactionDAO.insertTransaction(new Transaction(
-                            targetCoupon.getCouponId(),
-                            additive ? usageLimit : afterBalance,
-                            Transaction.TYPE_CHARGE,
-                            Transaction.BALANCE_TYPE_CASH,
-                            beforeBalance,
-                            afterBalance,
-                            buildAuditText(additive ? "기존 잔액 추가 충전" : "기존 잔액 초기화 후 재충전", draft.getName())
-                    ));
-                    processedCount++;
+        BatchResult result = new BatchResult();
+        Map<String, EmployeeRow> employees = new HashMap<>();
+        Map<Integer, Coupon> latestCoupons = new HashMap<>();
+        BatchWriter writer = new BatchWriter(db);
+        int written = 0;
+        try {
+            ResolvedChunk chunk;
+            while ((chunk = resolvedQueue.take()) != ResolvedChunk.END) {
+                // 앞 청크에서 등록/충전한 직원·쿠폰 상태가 조회 시점 값보다 우선
+                for (Map.Entry<String, EmployeeRow> entry : chunk.employees.entrySet()) {
+                    if (!employees.containsKey(entry.getKey())) {
+                        employees.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                for (Map.Entry<Integer, Coupon> entry : chunk.coupons.entrySet()) {
+                    if (!latestCoupons.containsKey(entry.getKey())) {
+                        latestCoupons.put(entry.getKey(), entry.getValue());
+                    }
+                }
+                writeChunk(db, chunk.drafts, employees, latestCoupons, options, writer, result);
+                written += chunk.drafts.size();
+                if (listener != null) {
+                    listener.onProgress(written, parsedCount.get());
                 }
             }
+            // 조회 단계가 실패했으면 여기서 예외가 나고 finally 의 shutdownNow 가 읽기 단계를 멈춘다
+            awaitStage(resolveStage, written);
+            awaitStage(parseStage, written);
         } finally {
-            transactionDAO.close();
-            couponDAO.close();
-            employeeDAO.close();
+            writer.close();
+            stages.shutdownNow();
         }
-        return processedCount;
+
+        Log.i(TAG, "Import " + (recharge ? "recharge" : "issue") + " pipeline completed: " + written + " targets, " +
+                result.getSuccessCount() + " succeeded, " + result.getSkippedCount() + " skipped, " +
+                result.getFailedCount() + " failed in " + (System.currentTimeMillis() - startTime) + "ms");
+        return result;
     }
 
-    private Employee findEmployee(int corporateId, CouponTargetDraft draft) {
-        return employeeDAO.getEmployeeByCorporateAndCode(corporateId, draft.resolveEmployeeCode());
+    private void awaitStage(Future<?> stage, int written) throws Exception {
+        try {
+            stage.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            Log.e(TAG, "Import pipeline stage failed after " + written + " targets", cause);
+            if (cause instanceof Exception) {
+                throw new Exception("파일 처리 중단 (" + written + "건 처리 후): " + cause.getMessage(), cause);
+            }
+            throw e;
+        }
     }
 
-    private Employee findOrCreateEmployee(int corporateId, CouponTargetDraft draft) {
-        Employee existing = findEmployee(corporateId, draft);
+    /**
+     * 대상 청크 하나를 트랜잭션 하나로 처리
+     */
+    private void writeChunk(SQLiteDatabase db, List<CouponTargetDraft> chunk, Map<String, EmployeeRow> employees,
+                            Map<Integer, Coupon> latestCoupons, BatchOptions options, BatchWriter writer,
+                            BatchResult result) {
+        TouchedIds touched = new TouchedIds();
+        db.beginTransaction();
+        try {
+            for (CouponTargetDraft draft : chunk) {
+                result.add(processTargetAtomically(db, draft, employees, latestCoupons, options, writer, touched));
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+        touched.invalidateCache();
+    }
+
+    /**
+     * 대상 1건을 세이브포인트 안에서 처리. 실패하면 그 대상이 쓴 직원/쿠폰/거래내역만 되돌리고
+     * 미리 읽어 둔 직원 상태도 원래대로 돌려놓는다 (고아 쿠폰이 남지 않음).
+     */
+    private RowResult processTargetAtomically(SQLiteDatabase db, CouponTargetDraft draft,
+                                              Map<String, EmployeeRow> employees, Map<Integer, Coupon> latestCoupons,
+                                              BatchOptions options, BatchWriter writer, TouchedIds touched) {
+        String employeeCode = draft.resolveEmployeeCode();
+        EmployeeRow knownEmployee = employees.get(employeeCode);
+        String knownName = knownEmployee != null ? knownEmployee.name : null;
+
+        db.execSQL("SAVEPOINT " + ROW_SAVEPOINT);
+        RowResult row = processTarget(draft, employees, latestCoupons, options, writer, touched);
+        if (RowResult.STATUS_FAILED.equals(row.getStatus())) {
+            // API 26~27 은 ROLLBACK 으로 시작하는 문장을 트랜잭션 종료로 해석하므로 ';' 를 앞에 붙인다
+            db.execSQL(";ROLLBACK TO " + ROW_SAVEPOINT);
+            if (knownEmployee == null) {
+                employees.remove(employeeCode);
+            } else {
+                knownEmployee.name = knownName;
+            }
+        }
+        db.execSQL("RELEASE " + ROW_SAVEPOINT);
+        return row;
+    }
+
+    private RowResult processTarget(CouponTargetDraft draft, Map<String, EmployeeRow> employees,
+                                    Map<Integer, Coupon> latestCoupons, BatchOptions options, BatchWriter writer,
+                                    TouchedIds touched) {
+        try {
+            EmployeeRow employee = resolveEmployee(options.corporateId, draft, employees,
+                    writer.insertEmployee, writer.updateEmployee, touched);
+            if (employee == null) {
+                return new RowResult(draft, RowResult.STATUS_FAILED, 0, 0, null, "직원 등록 실패");
+            }
+
+            // 발행 모드의 맵에는 이번 배치에서 발행한 쿠폰만 있다: 같은 직원이 다시 나오면 새로 발행하지 않고 그 쿠폰을 충전
+            Coupon targetCoupon = latestCoupons.get(employee.employeeId);
+            if (targetCoupon == null) {
+                String action = options.recharge ? "충전 대상 신규 발행" : "신규 쿠폰 발행";
+                return issueCoupon(draft, employee, options.usageLimit, options.expireDate, options.availableDays,
+                        options.issuerBusinessNumber, buildAuditText(options.adminId, action, draft.getName()),
+                        writer.insertCoupon, writer.updateCouponCode, writer.insertTransaction, latestCoupons);
+            }
+
+            if (targetCoupon.isExpired() && !options.extendExpired) {
+                return new RowResult(draft, RowResult.STATUS_SKIPPED, employee.employeeId,
+                        targetCoupon.getCouponId(), targetCoupon.getFullCouponCode(), "만료된 쿠폰");
+            }
+
+            return rechargeCoupon(draft, employee, targetCoupon, options.usageLimit, options.expireDate,
+                    options.availableDays, options.additive, buildAuditText(options.adminId,
+                            options.additive ? "기존 잔액 추가 충전" : "기존 잔액 초기화 후 재충전", draft.getName()),
+                    writer.updateRecharge, writer.insertTransaction, touched);
+        } catch (SQLException e) {
+            Log.e(TAG, "Error processing batch target " + draft.resolveEmployeeCode(), e);
+            return new RowResult(draft, RowResult.STATUS_FAILED, 0, 0, null, e.getMessage());
+        }
+    }
+
+    private RowResult issueCoupon(CouponTargetDraft draft, EmployeeRow employee, double usageLimit,
+                                  String expireDate, String availableDays, String issuerBusinessNumber,
+                                  String description, SQLiteStatement insertCoupon,
+                                  SQLiteStatement updateCouponCode, SQLiteStatement insertTransaction,
+                                  Map<Integer, Coupon> latestCoupons) {
+        Coupon coupon = new Coupon(employee.employeeId, usageLimit, 0.0, expireDate,
+                Coupon.PAYMENT_TYPE_PREPAID, availableDays);
+        if (!coupon.isValidForSave()) {
+            return new RowResult(draft, RowResult.STATUS_FAILED, employee.employeeId, 0, null, "쿠폰 정보가 올바르지 않습니다");
+        }
+
+        insertCoupon.clearBindings();
+        insertCoupon.bindLong(1, coupon.getEmployeeId());
+        insertCoupon.bindDouble(2, coupon.getCashBalance());
+        insertCoupon.bindDouble(3, coupon.getPointBalance());
+        insertCoupon.bindString(4, coupon.getExpireDate());
+        insertCoupon.bindString(5, coupon.getStatus());
+        insertCoupon.bindString(6, coupon.getPaymentType());
+        insertCoupon.bindString(7, coupon.getAvailableDays());
+        long couponId = insertCoupon.executeInsert();
+        if (couponId <= 0) {
+            return new RowResult(draft, RowResult.STATUS_FAILED, employee.employeeId, 0, null, "쿠폰 저장 실패");
+        }
+
+        // 쿠폰 코드는 coupon_id 를 포함하므로 INSERT 후 생성
+        coupon.setCouponId((int) couponId);
+        String fullCouponCode = coupon.generateFullCouponCode(issuerBusinessNumber);
+        updateCouponCode.bindString(1, fullCouponCode);
+        updateCouponCode.bindLong(2, couponId);
+        updateCouponCode.executeUpdateDelete();
+
+        insertTransaction(insertTransaction, new Transaction((int) couponId, usageLimit, Transaction.TYPE_ISSUE,
+                Transaction.BALANCE_TYPE_CASH, 0.0, usageLimit, description));
+        coupon.setFullCouponCode(fullCouponCode);
+        latestCoupons.put(employee.employeeId, coupon);
+        return new RowResult(draft, RowResult.STATUS_ISSUED, employee.employeeId, (int) couponId, fullCouponCode, null);
+    }
+
+    private RowResult rechargeCoupon(CouponTargetDraft draft, EmployeeRow employee, Coupon targetCoupon,
+                                     double usageLimit, String expireDate, String availableDays, boolean additive,
+                                     String description, SQLiteStatement updateRecharge,
+                                     SQLiteStatement insertTransaction, TouchedIds touched) {
+        double beforeBalance = targetCoupon.getCashBalance();
+        double afterBalance = additive ? beforeBalance + usageLimit : usageLimit;
+
+        updateRecharge.clearBindings();
+        updateRecharge.bindDouble(1, afterBalance);
+        bindNullableString(updateRecharge, 2, expireDate);
+        bindNullableString(updateRecharge, 3, availableDays);
+        updateRecharge.bindString(4, Coupon.STATUS_ACTIVE);
+        updateRecharge.bindLong(5, targetCoupon.getCouponId());
+        int rowsAffected = updateRecharge.executeUpdateDelete();
+        touched.couponIds.add(targetCoupon.getCouponId());
+        if (rowsAffected <= 0) {
+            return new RowResult(draft, RowResult.STATUS_FAILED, employee.employeeId, targetCoupon.getCouponId(),
+                    targetCoupon.getFullCouponCode(), "쿠폰 충전 실패");
+        }
+
+        insertTransaction(insertTransaction, new Transaction(targetCoupon.getCouponId(),
+                additive ? usageLimit : afterBalance, Transaction.TYPE_CHARGE, Transaction.BALANCE_TYPE_CASH,
+                beforeBalance, afterBalance, description));
+
+        // 같은 명단에 같은 직원이 다시 나오면 갱신된 잔액 기준으로 처리 (쓰기가 모두 끝난 뒤 반영)
+        targetCoupon.setCashBalance(afterBalance);
+        targetCoupon.setPointBalance(0.0);
+        targetCoupon.setExpireDate(expireDate);
+        targetCoupon.setAvailableDays(availableDays);
+        targetCoupon.setStatus(Coupon.STATUS_ACTIVE);
+        return new RowResult(draft, RowResult.STATUS_CHARGED, employee.employeeId, targetCoupon.getCouponId(),
+                targetCoupon.getFullCouponCode(), null);
+    }
+
+    /**
+     * 선조회한 직원을 찾아 이름을 갱신하거나, 없으면 새로 등록
+     */
+    private EmployeeRow resolveEmployee(int corporateId, CouponTargetDraft draft, Map<String, EmployeeRow> employees,
+                                        SQLiteStatement insertEmployee, SQLiteStatement updateEmployee,
+                                        TouchedIds touched) {
+        String employeeCode = draft.resolveEmployeeCode();
+        EmployeeRow existing = employees.get(employeeCode);
         if (existing != null) {
-            existing.setName(draft.getName());
-            existing.setEmployeeCode(draft.resolveEmployeeCode());
-            employeeDAO.updateEmployee(existing);
+            if (draft.getName() != null && !draft.getName().equals(existing.name)) {
+                updateEmployee.bindString(1, draft.getName());
+                updateEmployee.bindLong(2, existing.employeeId);
+                updateEmployee.executeUpdateDelete();
+                touched.employeeIds.add(existing.employeeId);
+                existing.name = draft.getName();
+            }
             return existing;
         }
 
-        Employee employee = new Employee(
-                corporateId,
-                draft.getName(),
-                draft.resolveEmployeeCode(),
-                ""
-        );
-        long employeeId = employeeDAO.insertEmployee(employee);
-        employee.setEmployeeId((int) employeeId);
-        return employee;
+        if (corporateId <= 0) {
+            return null;
+        }
+        insertEmployee.clearBindings();
+        insertEmployee.bindLong(1, corporateId);
+        bindNullableString(insertEmployee, 2, draft.getName());
+        insertEmployee.bindString(3, employeeCode);
+        long employeeId = insertEmployee.executeInsert();
+        if (employeeId <= 0) {
+            return null;
+        }
+        EmployeeRow created = new EmployeeRow();
+        created.employeeId = (int) employeeId;
+        created.name = draft.getName();
+        employees.put(employeeCode, created);
+        return created;
+    }
+
+    private void insertTransaction(SQLiteStatement statement, Transaction transaction) {
+        // 거래 타입에 따른 금액 부호 정규화 (TransactionDAO.insertTransaction 과 동일)
+        transaction.normalizeAmount();
+        statement.clearBindings();
+        statement.bindLong(1, transaction.getCouponId());
+        statement.bindDouble(2, transaction.getAmount());
+        statement.bindString(3, transaction.getTransactionType());
+        statement.bindString(4, transaction.getBalanceType());
+        statement.bindDouble(5, transaction.getBalanceBefore());
+        statement.bindDouble(6, transaction.getBalanceAfter());
+        bindNullableString(statement, 7, transaction.getDescription());
+        statement.executeInsert();
+    }
+
+    /**
+     * 파이프라인 조회 단계: 청크에 나온 사번의 직원과 그 직원들의 최신 충전 대상 쿠폰을 IN 쿼리로 조회
+     */
+    private ResolvedChunk resolveChunk(SQLiteDatabase db, List<CouponTargetDraft> chunk, BatchOptions options,
+                                       long maxExistingCouponId) {
+        Set<String> codes = new LinkedHashSet<>();
+        for (CouponTargetDraft draft : chunk) {
+            codes.add(draft.resolveEmployeeCode());
+        }
+        Map<String, EmployeeRow> employees = loadEmployeesByCodes(db, options.corporateId, codes);
+        Map<Integer, Coupon> coupons = new HashMap<>();
+        if (options.recharge && !employees.isEmpty()) {
+            List<Integer> employeeIds = new ArrayList<>();
+            for (EmployeeRow row : employees.values()) {
+                employeeIds.add(row.employeeId);
+            }
+            coupons = loadLatestRechargeableCouponsByEmployeeIds(db, employeeIds, maxExistingCouponId);
+        }
+        return new ResolvedChunk(chunk, employees, coupons);
+    }
+
+    /**
+     * 거래처 직원 전체를 employee_code 기준으로 조회 (중복 코드는 이름순 첫 번째 직원 사용)
+     */
+    private Map<String, EmployeeRow> loadEmployees(SQLiteDatabase db, int corporateId) {
+        Cursor cursor = db.rawQuery(EMPLOYEE_SELECT +
+                        " WHERE " + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?" +
+                        " ORDER BY " + DatabaseHelper.COLUMN_EMPLOYEE_NAME + " ASC",
+                new String[]{String.valueOf(corporateId)});
+        return readEmployees(cursor);
+    }
+
+    /**
+     * 거래처 직원 중 주어진 사번만 조회 (BATCH_SIZE 개 이하이므로 IN 자리표시자 한 번)
+     */
+    private Map<String, EmployeeRow> loadEmployeesByCodes(SQLiteDatabase db, int corporateId, Set<String> codes) {
+        if (codes.isEmpty()) {
+            return new HashMap<>();
+        }
+        String[] args = new String[codes.size() + 1];
+        args[0] = String.valueOf(corporateId);
+        int i = 1;
+        for (String code : codes) {
+            args[i++] = code;
+        }
+        Cursor cursor = db.rawQuery(EMPLOYEE_SELECT +
+                        " WHERE " + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?" +
+                        " AND " + DatabaseHelper.COLUMN_EMPLOYEE_CODE + " IN (" + placeholders(codes.size()) + ")" +
+                        " ORDER BY " + DatabaseHelper.COLUMN_EMPLOYEE_NAME + " ASC",
+                args);
+        return readEmployees(cursor);
+    }
+
+    private static final String EMPLOYEE_SELECT = "SELECT " + DatabaseHelper.COLUMN_EMPLOYEE_ID + ", " +
+            DatabaseHelper.COLUMN_EMPLOYEE_CODE + ", " + DatabaseHelper.COLUMN_EMPLOYEE_NAME +
+            " FROM " + DatabaseHelper.TABLE_EMPLOYEE;
+
+    private Map<String, EmployeeRow> readEmployees(Cursor cursor) {
+        Map<String, EmployeeRow> employees = new HashMap<>();
+        try {
+            while (cursor.moveToNext()) {
+                String code = cursor.getString(1);
+                if (code == null || employees.containsKey(code)) {
+                    continue;
+                }
+                EmployeeRow row = new EmployeeRow();
+                row.employeeId = cursor.getInt(0);
+                row.name = cursor.getString(2);
+                employees.put(code, row);
+            }
+        } finally {
+            cursor.close();
+        }
+        return employees;
+    }
+
+    private static final String COUPON_SELECT = "SELECT c." + DatabaseHelper.COLUMN_COUPON_ID + ", c." + DatabaseHelper.COLUMN_COUPON_FULL_CODE +
+            ", c." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + ", c." + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE +
+            ", c." + DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + ", c." + DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE +
+            ", c." + DatabaseHelper.COLUMN_COUPON_STATUS + ", c." + DatabaseHelper.COLUMN_COUPON_PAYMENT_TYPE +
+            ", c." + DatabaseHelper.COLUMN_COUPON_AVAILABLE_DAYS + ", c." + DatabaseHelper.COLUMN_COUPON_CREATED_AT +
+            " FROM " + DatabaseHelper.TABLE_COUPON + " c";
+
+    private static final String LATEST_COUPON_ORDER = " ORDER BY c." + DatabaseHelper.COLUMN_COUPON_CREATED_AT +
+            " DESC, c." + DatabaseHelper.COLUMN_COUPON_ID + " DESC";
+
+    /**
+     * 거래처 직원별 최신 충전 대상 쿠폰(만료일이 오늘 이후인 가장 최근 쿠폰)을 한 번에 조회
+     */
+    private Map<Integer, Coupon> loadLatestRechargeableCoupons(SQLiteDatabase db, int corporateId) {
+        Cursor cursor = db.rawQuery(COUPON_SELECT +
+                        " JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_ID +
+                        " = c." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID +
+                        " WHERE e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?" +
+                        " AND date(c." + DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE + ") >= date('now')" +
+                        LATEST_COUPON_ORDER,
+                new String[]{String.valueOf(corporateId)});
+        return readLatestCoupons(cursor);
+    }
+
+    /**
+     * 주어진 직원들의 최신 충전 대상 쿠폰 조회 (maxCouponId 이후에 발행된 쿠폰은 제외)
+     */
+    private Map<Integer, Coupon> loadLatestRechargeableCouponsByEmployeeIds(SQLiteDatabase db, List<Integer> employeeIds,
+                                                                         long maxCouponId) {
+        String[] args = new String[employeeIds.size() + 1];
+        for (int i = 0; i < employeeIds.size(); i++) {
+            args[i] = String.valueOf(employeeIds.get(i));
+        }
+        args[employeeIds.size()] = String.valueOf(maxCouponId);
+        Cursor cursor = db.rawQuery(COUPON_SELECT +
+                        " WHERE c." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " IN (" + placeholders(employeeIds.size()) + ")" +
+                        " AND c." + DatabaseHelper.COLUMN_COUPON_ID + " <= ?" +
+                        " AND date(c." + DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE + ") >= date('now')" +
+                        LATEST_COUPON_ORDER,
+                args);
+        return readLatestCoupons(cursor);
+    }
+
+    private Map<Integer, Coupon> readLatestCoupons(Cursor cursor) {
+        Map<Integer, Coupon> coupons = new HashMap<>();
+        try {
+            while (cursor.moveToNext()) {
+                int employeeId = cursor.getInt(2);
+                if (coupons.containsKey(employeeId)) {
+                    continue;
+                }
+                coupons.put(employeeId, new Coupon(
+                        cursor.getInt(0),
+                        cursor.getString(1),
+                        employeeId,
+                        cursor.getDouble(3),
+                        cursor.getDouble(4),
+                        cursor.getString(5),
+                        cursor.getString(6),
+                        cursor.getString(7),
+                        cursor.getString(8),
+                        cursor.getString(9)
+                ));
+            }
+        } finally {
+            cursor.close();
+        }
+        return coupons;
+    }
+
+    private long queryMaxCouponId(SQLiteDatabase db) {
+        Cursor cursor = db.rawQuery("SELECT IFNULL(MAX(" + DatabaseHelper.COLUMN_COUPON_ID + "), 0) FROM " +
+                DatabaseHelper.TABLE_COUPON, null);
+        try {
+            return cursor.moveToFirst() ? cursor.getLong(0) : 0L;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    private static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder(count * 2);
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ",?");
+        }
+        return sb.toString();
+    }
+
+    private void bindNullableString(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
     }
 
-    private String buildAuditText(String action, String targetName) {
-        String adminId = adminSettings.getString("admin_user_id", "admin");
+    private String buildAuditText(String adminId, String action, String targetName) {
         return action + " / 담당자 " + adminId + " / 대상 " + targetName;
     }
 }
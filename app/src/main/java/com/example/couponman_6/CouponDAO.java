@@ -5,10 +5,14 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
-import android.util.Log;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Base64;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class CouponDAO {
     private static final String TAG = "CouponDAO";
@@ -16,10 +20,32 @@ public class CouponDAO {
     private DatabaseHelper dbHelper;
     private SQLiteDatabase database;
     private Context context;
+    private final CouponLookupCache lookupCache = CouponLookupCache.getInstance();
+
+    /** 목록 조회용 쿠폰 + 직원/거래처 JOIN 컬럼 (cursorToCouponWithJoinedData 와 짝) */
+    private static final String JOINED_COUPON_COLUMNS =
+            "c." + DatabaseHelper.COLUMN_COUPON_ID + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_FULL_CODE + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_STATUS + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_PAYMENT_TYPE + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_AVAILABLE_DAYS + ", " +
+            "c." + DatabaseHelper.COLUMN_COUPON_CREATED_AT + ", " +
+            "e." + DatabaseHelper.COLUMN_EMPLOYEE_NAME + " AS employee_name, " +
+            "e." + DatabaseHelper.COLUMN_EMPLOYEE_CODE + " AS employee_code, " +
+            "e." + DatabaseHelper.COLUMN_EMPLOYEE_DEPARTMENT + " AS employee_department, " +
+            "corp." + DatabaseHelper.COLUMN_CUSTOMER_ID + " AS corporate_id, " +
+            "corp." + DatabaseHelper.COLUMN_NAME + " AS corporate_name, " +
+            "corp." + DatabaseHelper.COLUMN_BUSINESS_NUMBER + " AS corporate_business_number, " +
+            "corp." + DatabaseHelper.COLUMN_REPRESENTATIVE + " AS corporate_representative, " +
+            "corp." + DatabaseHelper.COLUMN_PHONE + " AS corporate_phone";
 
     public CouponDAO(Context context) {
         this.context = context;
-        dbHelper = new DatabaseHelper(context);
+        dbHelper = DatabaseHelper.getInstance(context);
     }
 
     /**
@@ -29,9 +55,9 @@ public class CouponDAO {
         if (database != null && database.isOpen()) return;
         try {
             database = dbHelper.getWritableDatabase();
-            Log.d(TAG, "Database connection opened");
+            AppLog.d(TAG, "Database connection opened");
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error opening database", e);
+            AppLog.e(TAG, "Error opening database", e);
             throw e;
         }
     }
@@ -40,17 +66,16 @@ public class CouponDAO {
      * 데이터베이스 연결 닫기 (no-op: 서버 핸들러에서 호출해도 연결 유지)
      */
     public void close() {
-        // no-op: SQLiteOpenHelper 연결 유지. shutdown()으로만 실제 닫기.
+        // no-op: 공유 DatabaseHelper 연결 유지. shutdown()으로 참조만 해제.
     }
 
     /**
-     * 실제 데이터베이스 연결 닫기 (서비스 종료 시에만 호출)
+     * 공유 데이터베이스 연결 참조 해제 (서비스 종료 시에만 호출)
      */
     public void shutdown() {
-        if (database != null && database.isOpen()) {
-            database.close();
-            Log.d(TAG, "Database connection closed");
-        }
+        // 공유 연결은 다른 DAO/화면이 계속 사용하므로 닫지 않고 참조만 해제
+        database = null;
+        AppLog.d(TAG, "Database connection released");
     }
 
     /**
@@ -58,7 +83,7 @@ public class CouponDAO {
      */
     public long insertCoupon(Coupon coupon) {
         if (!coupon.isValidForSave()) {
-            Log.w(TAG, "Invalid coupon data for insert");
+            AppLog.w(TAG, "Invalid coupon data for insert");
             return -1;
         }
 
@@ -88,11 +113,11 @@ public class CouponDAO {
                 
                 coupon.setFullCouponCode(fullCouponCode);
                 
-                Log.i(TAG, "Coupon inserted with ID: " + id + ", Code: " + fullCouponCode);
+                AppLog.i(TAG, "Coupon inserted with ID: " + id + ", Code: " + fullCouponCode);
             }
             return id;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error inserting coupon", e);
+            AppLog.e(TAG, "Error inserting coupon", e);
             return -1;
         }
     }
@@ -111,11 +136,12 @@ public class CouponDAO {
                 DatabaseHelper.COLUMN_COUPON_ID + " = ?",
                 new String[]{String.valueOf(couponId)}
             );
+            lookupCache.invalidateCoupon(couponId);
             
-            Log.i(TAG, "Coupon code updated for ID: " + couponId + ", Code: " + fullCouponCode);
+            AppLog.i(TAG, "Coupon code updated for ID: " + couponId + ", Code: " + fullCouponCode);
             return rowsAffected > 0;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error updating coupon code", e);
+            AppLog.e(TAG, "Error updating coupon code", e);
             return false;
         }
     }
@@ -125,7 +151,7 @@ public class CouponDAO {
      */
     public int updateCoupon(Coupon coupon) {
         if (!coupon.isValidForSave()) {
-            Log.w(TAG, "Invalid coupon data for update");
+            AppLog.w(TAG, "Invalid coupon data for update");
             return 0;
         }
 
@@ -145,10 +171,11 @@ public class CouponDAO {
                 DatabaseHelper.COLUMN_COUPON_ID + " = ?",
                 new String[]{String.valueOf(coupon.getCouponId())}
             );
-            Log.i(TAG, "Coupon updated, ID: " + coupon.getCouponId() + ", rows affected: " + rowsAffected);
+            lookupCache.invalidateCoupon(coupon.getCouponId());
+            AppLog.i(TAG, "Coupon updated, ID: " + coupon.getCouponId() + ", rows affected: " + rowsAffected);
             return rowsAffected;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error updating coupon", e);
+            AppLog.e(TAG, "Error updating coupon", e);
             return 0;
         }
     }
@@ -163,10 +190,11 @@ public class CouponDAO {
                 DatabaseHelper.COLUMN_COUPON_ID + " = ?",
                 new String[]{String.valueOf(couponId)}
             );
-            Log.i(TAG, "Coupon deleted, ID: " + couponId + ", rows affected: " + rowsAffected);
+            lookupCache.invalidateCoupon(couponId);
+            AppLog.i(TAG, "Coupon deleted, ID: " + couponId + ", rows affected: " + rowsAffected);
             return rowsAffected;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error deleting coupon", e);
+            AppLog.e(TAG, "Error deleting coupon", e);
             return 0;
         }
     }
@@ -187,14 +215,14 @@ public class CouponDAO {
 
             if (cursor != null && cursor.moveToFirst()) {
                 Coupon coupon = cursorToCoupon(cursor);
-                Log.d(TAG, "Coupon found by ID: " + couponId);
+                AppLog.d(TAG, () -> "Coupon found by ID: " + couponId);
                 return coupon;
             }
             
-            Log.d(TAG, "No coupon found with ID: " + couponId);
+            AppLog.d(TAG, () -> "No coupon found with ID: " + couponId);
             return null;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting coupon by ID", e);
+            AppLog.e(TAG, "Error getting coupon by ID", e);
             return null;
         } finally {
             if (cursor != null) {
@@ -207,9 +235,6 @@ public class CouponDAO {
      * 쿠폰 코드로 쿠폰 조회
      */
     public Coupon getCouponByCode(String couponCode) {
-        Log.i(TAG, "[GET-COUPON-BY-CODE] ========== 쿠폰 코드로 조회 시작 ==========");
-        Log.i(TAG, "[GET-COUPON-BY-CODE] 검색 쿠폰 코드: '" + couponCode + "'");
-
         Cursor cursor = null;
         try {
             cursor = database.query(
@@ -220,22 +245,93 @@ public class CouponDAO {
                 null, null, null
             );
 
-            Log.i(TAG, "[GET-COUPON-BY-CODE] 쿼리 실행 완료");
-
             if (cursor != null && cursor.moveToFirst()) {
-                Log.i(TAG, "[GET-COUPON-BY-CODE] ✅ 쿠폰 발견! - cursorToCoupon() 변환 시작");
                 Coupon coupon = cursorToCoupon(cursor);
-                Log.i(TAG, "[GET-COUPON-BY-CODE] 쿠폰 변환 완료");
-                Log.i(TAG, "[GET-COUPON-BY-CODE] 쿠폰 ID: " + coupon.getCouponId());
-                Log.i(TAG, "[GET-COUPON-BY-CODE] 쿠폰 코드: " + coupon.getFullCouponCode());
-                Log.i(TAG, "[GET-COUPON-BY-CODE] paymentType: '" + coupon.getPaymentType() + "'");
+                AppLog.d(TAG, () -> "[GET-COUPON-BY-CODE] 쿠폰 발견 - '" + couponCode + "', ID: " + coupon.getCouponId());
                 return coupon;
             }
 
-            Log.w(TAG, "[GET-COUPON-BY-CODE] ❌ 쿠폰을 찾을 수 없음: " + couponCode);
+            AppLog.w(TAG, "[GET-COUPON-BY-CODE] ❌ 쿠폰을 찾을 수 없음: " + couponCode);
             return null;
         } catch (SQLiteException e) {
-            Log.e(TAG, "[GET-COUPON-BY-CODE] ❌ 쿠폰 조회 중 오류", e);
+            AppLog.e(TAG, "[GET-COUPON-BY-CODE] ❌ 쿠폰 조회 중 오류", e);
+            return null;
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * 쿠폰 코드로 쿠폰 + 직원 + 거래처를 한 번의 JOIN 쿼리로 조회 (스캔 조회 캐시 로더)
+     */
+    public CouponLookupCache.CouponView getCouponViewByCode(String couponCode) {
+        String sql = "SELECT c.*, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + " AS e_id, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " AS e_corporate_id, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_NAME + " AS e_name, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_CODE + " AS e_code, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_PHONE + " AS e_phone, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_EMAIL + " AS e_email, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_DEPARTMENT + " AS e_department, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_CREATED_AT + " AS e_created_at, " +
+                "corp." + DatabaseHelper.COLUMN_CUSTOMER_ID + " AS corp_id, " +
+                "corp." + DatabaseHelper.COLUMN_NAME + " AS corp_name, " +
+                "corp." + DatabaseHelper.COLUMN_BUSINESS_NUMBER + " AS corp_business_number, " +
+                "corp." + DatabaseHelper.COLUMN_REPRESENTATIVE + " AS corp_representative, " +
+                "corp." + DatabaseHelper.COLUMN_PHONE + " AS corp_phone, " +
+                "corp." + DatabaseHelper.COLUMN_EMAIL + " AS corp_email, " +
+                "corp." + DatabaseHelper.COLUMN_ADDRESS + " AS corp_address, " +
+                "corp." + DatabaseHelper.COLUMN_CREATED_AT + " AS corp_created_at " +
+                "FROM " + DatabaseHelper.TABLE_COUPON + " c " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON c." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID +
+                " = e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + " " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_CORPORATE + " corp ON e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID +
+                " = corp." + DatabaseHelper.COLUMN_CUSTOMER_ID + " " +
+                "WHERE c." + DatabaseHelper.COLUMN_COUPON_FULL_CODE + " = ?";
+
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, new String[]{couponCode});
+            if (cursor == null || !cursor.moveToFirst()) {
+                AppLog.d(TAG, () -> "No coupon view found for code: " + couponCode);
+                return null;
+            }
+
+            Coupon coupon = cursorToCoupon(cursor);
+
+            Employee employee = null;
+            int employeeIdIndex = cursor.getColumnIndexOrThrow("e_id");
+            if (!cursor.isNull(employeeIdIndex)) {
+                employee = new Employee();
+                employee.setEmployeeId(cursor.getInt(employeeIdIndex));
+                employee.setCorporateId(cursor.getInt(cursor.getColumnIndexOrThrow("e_corporate_id")));
+                employee.setName(cursor.getString(cursor.getColumnIndexOrThrow("e_name")));
+                employee.setEmployeeCode(cursor.getString(cursor.getColumnIndexOrThrow("e_code")));
+                employee.setPhone(cursor.getString(cursor.getColumnIndexOrThrow("e_phone")));
+                employee.setEmail(cursor.getString(cursor.getColumnIndexOrThrow("e_email")));
+                employee.setDepartment(cursor.getString(cursor.getColumnIndexOrThrow("e_department")));
+                employee.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow("e_created_at")));
+            }
+
+            Corporate corporate = null;
+            int corporateIdIndex = cursor.getColumnIndexOrThrow("corp_id");
+            if (!cursor.isNull(corporateIdIndex)) {
+                corporate = new Corporate();
+                corporate.setCustomerId(cursor.getInt(corporateIdIndex));
+                corporate.setName(cursor.getString(cursor.getColumnIndexOrThrow("corp_name")));
+                corporate.setBusinessNumber(cursor.getString(cursor.getColumnIndexOrThrow("corp_business_number")));
+                corporate.setRepresentative(cursor.getString(cursor.getColumnIndexOrThrow("corp_representative")));
+                corporate.setPhone(cursor.getString(cursor.getColumnIndexOrThrow("corp_phone")));
+                corporate.setEmail(cursor.getString(cursor.getColumnIndexOrThrow("corp_email")));
+                corporate.setAddress(cursor.getString(cursor.getColumnIndexOrThrow("corp_address")));
+                corporate.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow("corp_created_at")));
+            }
+
+            return new CouponLookupCache.CouponView(coupon, employee, corporate);
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting coupon view by code", e);
             return null;
         } finally {
             if (cursor != null) {
@@ -268,10 +364,10 @@ public class CouponDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + coupons.size() + " coupons for employee ID: " + employeeId);
+            AppLog.i(TAG, "Retrieved " + coupons.size() + " coupons for employee ID: " + employeeId);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting coupons by employee ID", e);
+            AppLog.e(TAG, "Error getting coupons by employee ID", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -305,10 +401,10 @@ public class CouponDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + coupons.size() + " coupons with status: " + status);
+            AppLog.i(TAG, "Retrieved " + coupons.size() + " coupons with status: " + status);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting coupons by status", e);
+            AppLog.e(TAG, "Error getting coupons by status", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -327,25 +423,7 @@ public class CouponDAO {
         
         try {
             // 쿠폰, 직원, 거래처 테이블을 JOIN하여 포괄적인 정보 조회
-            String sql = "SELECT " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_ID + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_FULL_CODE + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_STATUS + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_PAYMENT_TYPE + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_AVAILABLE_DAYS + ", " +
-                        "c." + DatabaseHelper.COLUMN_COUPON_CREATED_AT + ", " +
-                        "e." + DatabaseHelper.COLUMN_EMPLOYEE_NAME + " AS employee_name, " +
-                        "e." + DatabaseHelper.COLUMN_EMPLOYEE_CODE + " AS employee_code, " +
-                        "e." + DatabaseHelper.COLUMN_EMPLOYEE_DEPARTMENT + " AS employee_department, " +
-                        "corp." + DatabaseHelper.COLUMN_CUSTOMER_ID + " AS corporate_id, " +
-                        "corp." + DatabaseHelper.COLUMN_NAME + " AS corporate_name, " +
-                        "corp." + DatabaseHelper.COLUMN_BUSINESS_NUMBER + " AS corporate_business_number, " +
-                        "corp." + DatabaseHelper.COLUMN_REPRESENTATIVE + " AS corporate_representative, " +
-                        "corp." + DatabaseHelper.COLUMN_PHONE + " AS corporate_phone " +
+            String sql = "SELECT " + JOINED_COUPON_COLUMNS + " " +
                         "FROM " + DatabaseHelper.TABLE_COUPON + " c " +
                         "LEFT JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON c." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " = e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + " " +
                         "LEFT JOIN " + DatabaseHelper.TABLE_CORPORATE + " corp ON e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = corp." + DatabaseHelper.COLUMN_CUSTOMER_ID + " " +
@@ -360,10 +438,10 @@ public class CouponDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + coupons.size() + " coupons with employee and corporate information");
+            AppLog.i(TAG, "Retrieved " + coupons.size() + " coupons with employee and corporate information");
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting all coupons with JOIN", e);
+            AppLog.e(TAG, "Error getting all coupons with JOIN", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -373,6 +451,319 @@ public class CouponDAO {
         return coupons;
     }
 
+    /**
+     * 쿠폰 목록 조회 조건 (상태/거래처/만료일/검색어 필터, 정렬, keyset 커서)
+     */
+    public static class CouponListQuery {
+        public static final String SORT_CREATED_DESC = "created_desc";
+        public static final String SORT_CREATED_ASC = "created_asc";
+        public static final String SORT_EXPIRE_ASC = "expire_asc";
+        public static final String SORT_EXPIRE_DESC = "expire_desc";
+
+        public static final int DEFAULT_LIMIT = 100;
+        public static final int MAX_LIMIT = 500;
+
+        private String status;
+        private int corporateId;
+        private String expireFrom;
+        private String expireTo;
+        private String search;
+        private String codeSearch;
+        private String employeeSearch;
+        private String sort = SORT_CREATED_DESC;
+        private int limit = DEFAULT_LIMIT;
+        private String cursor;
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+        public int getCorporateId() { return corporateId; }
+        public void setCorporateId(int corporateId) { this.corporateId = corporateId; }
+        public String getExpireFrom() { return expireFrom; }
+        public void setExpireFrom(String expireFrom) { this.expireFrom = expireFrom; }
+        public String getExpireTo() { return expireTo; }
+        public void setExpireTo(String expireTo) { this.expireTo = expireTo; }
+        /** 쿠폰 코드, 직원명, 전화번호, 사번 중 하나라도 포함하면 일치 */
+        public String getSearch() { return search; }
+        public void setSearch(String search) { this.search = search; }
+        /** 쿠폰 코드 부분 일치 */
+        public String getCodeSearch() { return codeSearch; }
+        public void setCodeSearch(String codeSearch) { this.codeSearch = codeSearch; }
+        /** 직원명 또는 전화번호 부분 일치 */
+        public String getEmployeeSearch() { return employeeSearch; }
+        public void setEmployeeSearch(String employeeSearch) { this.employeeSearch = employeeSearch; }
+        public String getSort() { return sort; }
+        public String getCursor() { return cursor; }
+        public void setCursor(String cursor) { this.cursor = cursor; }
+        public int getLimit() { return limit; }
+
+        /**
+         * 정렬 기준 설정 (알 수 없는 값이면 IllegalArgumentException)
+         */
+        public void setSort(String sort) {
+            if (!SORT_CREATED_DESC.equals(sort) && !SORT_CREATED_ASC.equals(sort)
+                    && !SORT_EXPIRE_ASC.equals(sort) && !SORT_EXPIRE_DESC.equals(sort)) {
+                throw new IllegalArgumentException("지원하지 않는 정렬 기준입니다: " + sort);
+            }
+            this.sort = sort;
+        }
+
+        /** 페이지 크기 (1 ~ MAX_LIMIT 로 보정) */
+        public void setLimit(int limit) {
+            this.limit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        }
+
+        boolean isDescending() {
+            return SORT_CREATED_DESC.equals(sort) || SORT_EXPIRE_DESC.equals(sort);
+        }
+
+        boolean isSortedByExpireDate() {
+            return SORT_EXPIRE_ASC.equals(sort) || SORT_EXPIRE_DESC.equals(sort);
+        }
+    }
+
+    /**
+     * 쿠폰 목록 한 페이지. nextCursor 는 다음 페이지 요청에 그대로 전달한다.
+     */
+    public static class CouponPage {
+        private final List<Coupon> coupons;
+        private final boolean hasMore;
+        private final String nextCursor;
+
+        CouponPage(List<Coupon> coupons, boolean hasMore, String nextCursor) {
+            this.coupons = coupons;
+            this.hasMore = hasMore;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Coupon> getCoupons() { return coupons; }
+        public boolean hasMore() { return hasMore; }
+        public String getNextCursor() { return nextCursor; }
+    }
+
+    /**
+     * 필터 조건에 해당하는 쿠폰의 상태별 건수와 잔액 합계
+     */
+    public static class CouponSummary {
+        private int totalCount;
+        private double totalCashBalance;
+        private double totalPointBalance;
+        private final Map<String, Integer> statusCounts = new LinkedHashMap<>();
+
+        public int getTotalCount() { return totalCount; }
+        public double getTotalCashBalance() { return totalCashBalance; }
+        public double getTotalPointBalance() { return totalPointBalance; }
+        public Map<String, Integer> getStatusCounts() { return statusCounts; }
+    }
+
+    /**
+     * 쿠폰 목록 페이지 조회 (직원 및 거래처 정보 포함).
+     * (정렬 컬럼, coupon_id) 를 키로 하는 keyset 페이지네이션이므로 OFFSET 없이 인덱스에서 바로 다음 페이지를 읽는다.
+     * 생성순 정렬은 AUTOINCREMENT 인 coupon_id 로, 만료일 정렬은 (expire_date, coupon_id) 인덱스로 처리한다.
+     * 커서 형식이 잘못되었거나 다른 정렬 기준의 커서이면 IllegalArgumentException.
+     */
+    public CouponPage getCouponPage(CouponListQuery query) {
+        List<String> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        appendCouponFilters(query, true, where, args);
+
+        boolean byExpire = query.isSortedByExpireDate();
+        String idColumn = "c." + DatabaseHelper.COLUMN_COUPON_ID;
+        String expireColumn = "c." + DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE;
+        String direction = query.isDescending() ? " DESC" : " ASC";
+
+        if (query.getCursor() != null) {
+            String[] key = decodeCursor(query.getCursor(), query.getSort(), byExpire);
+            String op = query.isDescending() ? " < ?" : " > ?";
+            appendCondition(where);
+            if (byExpire) {
+                // 앞쪽 범위 조건으로 인덱스 탐색 시작점을 잡고, 같은 만료일 안에서는 coupon_id 로 이어감
+                where.append(expireColumn).append(query.isDescending() ? " <= ?" : " >= ?")
+                        .append(" AND (").append(expireColumn).append(op)
+                        .append(" OR ").append(idColumn).append(op).append(")");
+                args.add(key[1]);
+                args.add(key[1]);
+            } else {
+                where.append(idColumn).append(op);
+            }
+            args.add(key[0]);
+        }
+
+        String orderBy = byExpire
+                ? expireColumn + direction + ", " + idColumn + direction
+                : idColumn + direction;
+
+        String sql = "SELECT " + JOINED_COUPON_COLUMNS +
+                " FROM " + DatabaseHelper.TABLE_COUPON + " c " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON c." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " = e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + " " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_CORPORATE + " corp ON e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = corp." + DatabaseHelper.COLUMN_CUSTOMER_ID +
+                where +
+                " ORDER BY " + orderBy +
+                " LIMIT " + (query.getLimit() + 1);
+
+        List<Coupon> coupons = new ArrayList<>();
+        boolean hasMore = false;
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args.toArray(new String[0]));
+            while (cursor != null && cursor.moveToNext()) {
+                if (coupons.size() == query.getLimit()) {
+                    hasMore = true;
+                    break;
+                }
+                coupons.add(cursorToCouponWithJoinedData(cursor));
+            }
+            boolean more = hasMore;
+            AppLog.d(TAG, () -> "Retrieved coupon page: " + coupons.size() + " coupons, sort=" + query.getSort() + ", hasMore=" + more);
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting coupon page", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Coupon last = coupons.get(coupons.size() - 1);
+            nextCursor = encodeCursor(query.getSort(), last.getCouponId(), byExpire ? last.getExpireDate() : null);
+        }
+        return new CouponPage(coupons, hasMore, nextCursor);
+    }
+
+    /**
+     * 목록 필터(상태 제외)에 해당하는 쿠폰의 상태별 건수/잔액 합계. 상태 필터가 있으면 합계는 그 상태만 포함한다.
+     */
+    public CouponSummary getCouponSummary(CouponListQuery query) {
+        List<String> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        appendCouponFilters(query, false, where, args);
+
+        String sql = "SELECT c." + DatabaseHelper.COLUMN_COUPON_STATUS + ", COUNT(*), " +
+                "COALESCE(SUM(c." + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + "), 0), " +
+                "COALESCE(SUM(c." + DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + "), 0) " +
+                "FROM " + DatabaseHelper.TABLE_COUPON + " c" + where +
+                " GROUP BY c." + DatabaseHelper.COLUMN_COUPON_STATUS;
+
+        CouponSummary summary = new CouponSummary();
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args.toArray(new String[0]));
+            while (cursor != null && cursor.moveToNext()) {
+                String status = cursor.getString(0);
+                int count = cursor.getInt(1);
+                summary.statusCounts.put(status, count);
+                if (query.getStatus() == null || query.getStatus().equals(status)) {
+                    summary.totalCount += count;
+                    summary.totalCashBalance += cursor.getDouble(2);
+                    summary.totalPointBalance += cursor.getDouble(3);
+                }
+            }
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting coupon summary", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return summary;
+    }
+
+    private void appendCouponFilters(CouponListQuery query, boolean includeStatus, StringBuilder where, List<String> args) {
+        if (includeStatus && query.getStatus() != null) {
+            appendCondition(where);
+            where.append("c.").append(DatabaseHelper.COLUMN_COUPON_STATUS).append(" = ?");
+            args.add(query.getStatus());
+        }
+        if (query.getCorporateId() > 0) {
+            appendCondition(where);
+            where.append("c.").append(DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID).append(" IN (SELECT ")
+                    .append(DatabaseHelper.COLUMN_EMPLOYEE_ID).append(" FROM ").append(DatabaseHelper.TABLE_EMPLOYEE)
+                    .append(" WHERE ").append(DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID).append(" = ?)");
+            args.add(String.valueOf(query.getCorporateId()));
+        }
+        if (query.getExpireFrom() != null) {
+            appendCondition(where);
+            where.append("c.").append(DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE).append(" >= ?");
+            args.add(query.getExpireFrom());
+        }
+        if (query.getExpireTo() != null) {
+            appendCondition(where);
+            where.append("c.").append(DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE).append(" <= ?");
+            args.add(query.getExpireTo());
+        }
+        // 검색어: 직원 조건은 employee_id IN (...) 로 걸어 목록(JOIN)/합계(쿠폰 테이블만) 쿼리 모두에 쓸 수 있게 한다
+        if (query.getSearch() != null) {
+            String pattern = likePattern(query.getSearch());
+            appendCondition(where);
+            where.append("(c.").append(DatabaseHelper.COLUMN_COUPON_FULL_CODE).append(" LIKE ? ESCAPE '\\' OR ");
+            appendEmployeeMatch(where, DatabaseHelper.COLUMN_EMPLOYEE_NAME, DatabaseHelper.COLUMN_EMPLOYEE_PHONE,
+                    DatabaseHelper.COLUMN_EMPLOYEE_CODE);
+            where.append(")");
+            for (int i = 0; i < 4; i++) {
+                args.add(pattern);
+            }
+        }
+        if (query.getCodeSearch() != null) {
+            appendCondition(where);
+            where.append("c.").append(DatabaseHelper.COLUMN_COUPON_FULL_CODE).append(" LIKE ? ESCAPE '\\'");
+            args.add(likePattern(query.getCodeSearch()));
+        }
+        if (query.getEmployeeSearch() != null) {
+            String pattern = likePattern(query.getEmployeeSearch());
+            appendCondition(where);
+            appendEmployeeMatch(where, DatabaseHelper.COLUMN_EMPLOYEE_NAME, DatabaseHelper.COLUMN_EMPLOYEE_PHONE);
+            args.add(pattern);
+            args.add(pattern);
+        }
+    }
+
+    /** c.employee_id IN (SELECT employee_id FROM employees WHERE col1 LIKE ? OR col2 LIKE ? ...) */
+    private static void appendEmployeeMatch(StringBuilder where, String... columns) {
+        where.append("c.").append(DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID).append(" IN (SELECT ")
+                .append(DatabaseHelper.COLUMN_EMPLOYEE_ID).append(" FROM ").append(DatabaseHelper.TABLE_EMPLOYEE)
+                .append(" WHERE ");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                where.append(" OR ");
+            }
+            where.append(columns[i]).append(" LIKE ? ESCAPE '\\'");
+        }
+        where.append(")");
+    }
+
+    /** 부분 일치 LIKE 패턴 (검색어의 %, _ 는 문자 그대로) */
+    private static String likePattern(String term) {
+        String escaped = term.trim().replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static void appendCondition(StringBuilder where) {
+        where.append(where.length() == 0 ? " WHERE " : " AND ");
+    }
+
+    /** 커서 = base64url("정렬기준|coupon_id[|만료일]") */
+    private static String encodeCursor(String sort, int couponId, String expireDate) {
+        String raw = sort + "|" + couponId + (expireDate != null ? "|" + expireDate : "");
+        return Base64.encodeToString(raw.getBytes(StandardCharsets.UTF_8),
+                Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+    }
+
+    /** [coupon_id, 만료일(만료일 정렬일 때만)] */
+    private static String[] decodeCursor(String cursor, String sort, boolean byExpire) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.decode(cursor, Base64.URL_SAFE), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", 3);
+            Integer.parseInt(parts.length > 1 ? parts[1] : "");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        if (!parts[0].equals(sort) || parts.length != (byExpire ? 3 : 2)) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        return new String[]{parts[1], byExpire ? parts[2] : null};
+    }
+
     /**
      * 거래처별 쿠폰 조회
      */
@@ -411,10 +802,10 @@ public class CouponDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + coupons.size() + " coupons for corporate ID: " + corporateId);
+            AppLog.i(TAG, "Retrieved " + coupons.size() + " coupons for corporate ID: " + corporateId);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting coupons by corporate ID", e);
+            AppLog.e(TAG, "Error getting coupons by corporate ID", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -447,10 +838,10 @@ public class CouponDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + coupons.size() + " coupons expiring within " + daysFromNow + " days");
+            AppLog.i(TAG, "Retrieved " + coupons.size() + " coupons expiring within " + daysFromNow + " days");
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting expiring coupons", e);
+            AppLog.e(TAG, "Error getting expiring coupons", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -475,13 +866,14 @@ public class CouponDAO {
                 DatabaseHelper.COLUMN_COUPON_ID + " = ?",
                 new String[]{String.valueOf(couponId)}
             );
+            lookupCache.invalidateCoupon(couponId);
             
-            Log.i(TAG, "Coupon balance updated, ID: " + couponId + 
+            AppLog.i(TAG, "Coupon balance updated, ID: " + couponId + 
                       ", Cash: " + cashBalance + ", Point: " + pointBalance);
             
             return rowsAffected > 0;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error updating coupon balance", e);
+            AppLog.e(TAG, "Error updating coupon balance", e);
             return false;
         }
     }
@@ -500,15 +892,183 @@ public class CouponDAO {
                 DatabaseHelper.COLUMN_COUPON_ID + " = ?",
                 new String[]{String.valueOf(couponId)}
             );
+            lookupCache.invalidateCoupon(couponId);
             
-            Log.i(TAG, "Coupon status updated, ID: " + couponId + ", Status: " + status);
+            AppLog.i(TAG, "Coupon status updated, ID: " + couponId + ", Status: " + status);
             return rowsAffected > 0;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error updating coupon status", e);
+            AppLog.e(TAG, "Error updating coupon status", e);
             return false;
         }
     }
 
+    /**
+     * 잔액 차감 결과 (차감 전/후 잔액과 생성된 거래 ID)
+     */
+    public static class RedeemResult {
+        public static final String REASON_NOT_FOUND = "NOT_FOUND";
+        public static final String REASON_INSUFFICIENT_BALANCE = "INSUFFICIENT_BALANCE";
+        public static final String REASON_ERROR = "ERROR";
+
+        private final boolean success;
+        private final double balanceBefore;
+        private final double balanceAfter;
+        private final long transactionId;
+        private final String failureReason;
+
+        private RedeemResult(boolean success, double balanceBefore, double balanceAfter,
+                             long transactionId, String failureReason) {
+            this.success = success;
+            this.balanceBefore = balanceBefore;
+            this.balanceAfter = balanceAfter;
+            this.transactionId = transactionId;
+            this.failureReason = failureReason;
+        }
+
+        static RedeemResult success(double balanceBefore, double balanceAfter, long transactionId) {
+            return new RedeemResult(true, balanceBefore, balanceAfter, transactionId, null);
+        }
+
+        static RedeemResult failure(String reason, double currentBalance) {
+            return new RedeemResult(false, currentBalance, currentBalance, -1, reason);
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public double getBalanceBefore() {
+            return balanceBefore;
+        }
+
+        public double getBalanceAfter() {
+            return balanceAfter;
+        }
+
+        public long getTransactionId() {
+            return transactionId;
+        }
+
+        public String getFailureReason() {
+            return failureReason;
+        }
+
+        public boolean isInsufficientBalance() {
+            return REASON_INSUFFICIENT_BALANCE.equals(failureReason);
+        }
+    }
+
+    /**
+     * 잔액 원자적 차감
+     */
+    public RedeemResult redeem(int couponId, double amount, String balanceType, boolean allowNegative) {
+        return redeem(couponId, amount, balanceType, allowNegative, null);
+    }
+
+    /**
+     * 잔액 원자적 차감 + 사용 거래 기록.
+     * 조건부 UPDATE(잔액 >= 차감액)와 거래 INSERT 를 하나의 트랜잭션으로 처리하므로
+     * 여러 단말/웹 API 가 같은 쿠폰을 동시에 차감해도 갱신이 유실되지 않는다.
+     */
+    public RedeemResult redeem(int couponId, double amount, String balanceType, boolean allowNegative,
+                               String description) {
+        String type = Transaction.BALANCE_TYPE_POINT.equals(balanceType)
+                ? Transaction.BALANCE_TYPE_POINT : Transaction.BALANCE_TYPE_CASH;
+        String column = Transaction.BALANCE_TYPE_POINT.equals(type)
+                ? DatabaseHelper.COLUMN_COUPON_POINT_BALANCE : DatabaseHelper.COLUMN_COUPON_CASH_BALANCE;
+        double deduction = Math.abs(amount);
+
+        String updateSql = "UPDATE " + DatabaseHelper.TABLE_COUPON +
+                " SET " + column + " = " + column + " - ?" +
+                " WHERE " + DatabaseHelper.COLUMN_COUPON_ID + " = ?" +
+                (allowNegative ? "" : " AND " + column + " >= ?");
+        String balanceSql = "SELECT " + column + " FROM " + DatabaseHelper.TABLE_COUPON +
+                " WHERE " + DatabaseHelper.COLUMN_COUPON_ID + " = ?";
+        String ledgerSql = "INSERT INTO " + DatabaseHelper.TABLE_TRANSACTION + " (" +
+                DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID + ", " +
+                DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ", " +
+                DatabaseHelper.COLUMN_TRANSACTION_TYPE + ", " +
+                DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE + ", " +
+                DatabaseHelper.COLUMN_TRANSACTION_BALANCE_BEFORE + ", " +
+                DatabaseHelper.COLUMN_TRANSACTION_BALANCE_AFTER + ", " +
+                DatabaseHelper.COLUMN_TRANSACTION_DESCRIPTION + ") VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+        SQLiteStatement update = null;
+        SQLiteStatement balance = null;
+        SQLiteStatement ledger = null;
+        database.beginTransaction();
+        try {
+            update = database.compileStatement(updateSql);
+            update.bindDouble(1, deduction);
+            update.bindLong(2, couponId);
+            if (!allowNegative) {
+                update.bindDouble(3, deduction);
+            }
+            int rowsAffected = update.executeUpdateDelete();
+
+            balance = database.compileStatement(balanceSql);
+            balance.bindLong(1, couponId);
+
+            if (rowsAffected == 0) {
+                Double current = readBalance(balance);
+                if (current == null) {
+                    AppLog.w(TAG, "[REDEEM] Coupon not found, ID: " + couponId);
+                    return RedeemResult.failure(RedeemResult.REASON_NOT_FOUND, 0.0);
+                }
+                AppLog.w(TAG, "[REDEEM] Insufficient " + type + " balance, ID: " + couponId +
+                        ", balance: " + current + ", requested: " + deduction);
+                return RedeemResult.failure(RedeemResult.REASON_INSUFFICIENT_BALANCE, current);
+            }
+
+            Double after = readBalance(balance);
+            double balanceAfter = after != null ? after : 0.0;
+            double balanceBefore = balanceAfter + deduction;
+
+            ledger = database.compileStatement(ledgerSql);
+            ledger.bindLong(1, couponId);
+            ledger.bindDouble(2, -deduction);
+            ledger.bindString(3, Transaction.TYPE_USE);
+            ledger.bindString(4, type);
+            ledger.bindDouble(5, balanceBefore);
+            ledger.bindDouble(6, balanceAfter);
+            if (description != null) {
+                ledger.bindString(7, description);
+            } else {
+                ledger.bindNull(7);
+            }
+            long transactionId = ledger.executeInsert();
+
+            database.setTransactionSuccessful();
+            AppLog.i(TAG, "[REDEEM] Coupon ID: " + couponId + ", " + type + ": " +
+                    balanceBefore + " -> " + balanceAfter + ", transaction ID: " + transactionId);
+            return RedeemResult.success(balanceBefore, balanceAfter, transactionId);
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "[REDEEM] Error redeeming coupon balance", e);
+            return RedeemResult.failure(RedeemResult.REASON_ERROR, 0.0);
+        } finally {
+            database.endTransaction();
+            lookupCache.invalidateCoupon(couponId);
+            if (update != null) {
+                update.close();
+            }
+            if (balance != null) {
+                balance.close();
+            }
+            if (ledger != null) {
+                ledger.close();
+            }
+        }
+    }
+
+    private Double readBalance(SQLiteStatement statement) {
+        try {
+            String value = statement.simpleQueryForString();
+            return value != null ? Double.parseDouble(value) : 0.0;
+        } catch (android.database.sqlite.SQLiteDoneException e) {
+            return null;
+        }
+    }
+
     /**
      * 쿠폰 총 개수 조회
      */
@@ -518,11 +1078,11 @@ public class CouponDAO {
             cursor = database.rawQuery("SELECT COUNT(*) FROM " + DatabaseHelper.TABLE_COUPON, null);
             if (cursor != null && cursor.moveToFirst()) {
                 int count = cursor.getInt(0);
-                Log.d(TAG, "Total coupon count: " + count);
+                AppLog.d(TAG, () -> "Total coupon count: " + count);
                 return count;
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting coupon count", e);
+            AppLog.e(TAG, "Error getting coupon count", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -544,11 +1104,11 @@ public class CouponDAO {
             );
             if (cursor != null && cursor.moveToFirst()) {
                 int count = cursor.getInt(0);
-                Log.d(TAG, "Coupon count for employee " + employeeId + ": " + count);
+                AppLog.d(TAG, () -> "Coupon count for employee " + employeeId + ": " + count);
                 return count;
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting coupon count by employee ID", e);
+            AppLog.e(TAG, "Error getting coupon count by employee ID", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -561,73 +1121,23 @@ public class CouponDAO {
      * Cursor를 Coupon 객체로 변환
      */
     private Coupon cursorToCoupon(Cursor cursor) {
-        Log.i(TAG, "[CURSOR-TO-COUPON] ===== Cursor에서 Coupon 객체 변환 시작 =====");
-
         Coupon coupon = new Coupon();
-
-        // 쿠폰 ID
-        int couponId = cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_ID));
-        coupon.setCouponId(couponId);
-        Log.i(TAG, "[CURSOR-TO-COUPON] 쿠폰 ID: " + couponId);
-
-        // 쿠폰 코드
-        String fullCouponCode = cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_FULL_CODE));
-        coupon.setFullCouponCode(fullCouponCode);
-        Log.i(TAG, "[CURSOR-TO-COUPON] 쿠폰 코드: " + fullCouponCode);
-
-        // 직원 ID
+        coupon.setCouponId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_ID)));
+        coupon.setFullCouponCode(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_FULL_CODE)));
         coupon.setEmployeeId(cursor.getInt(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID)));
-
-        // 잔액
         coupon.setCashBalance(cursor.getDouble(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_CASH_BALANCE)));
         coupon.setPointBalance(cursor.getDouble(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_POINT_BALANCE)));
-
-        // 만료일
         coupon.setExpireDate(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE)));
-
-        // 상태
         coupon.setStatus(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_STATUS)));
-
-        // 결제 타입 - 상세 로그
-        Log.i(TAG, "[CURSOR-TO-COUPON] *** 결제 타입 컬럼 읽기 시작 ***");
-        int paymentTypeColumnIndex = cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_PAYMENT_TYPE);
-        Log.i(TAG, "[CURSOR-TO-COUPON] COLUMN_COUPON_PAYMENT_TYPE 컬럼명: '" + DatabaseHelper.COLUMN_COUPON_PAYMENT_TYPE + "'");
-        Log.i(TAG, "[CURSOR-TO-COUPON] paymentType 컬럼 인덱스: " + paymentTypeColumnIndex);
-
-        String paymentTypeFromDB = cursor.getString(paymentTypeColumnIndex);
-        Log.i(TAG, "[CURSOR-TO-COUPON] DB에서 읽은 paymentType 원본: '" + paymentTypeFromDB + "'");
-        Log.i(TAG, "[CURSOR-TO-COUPON] paymentType == null? " + (paymentTypeFromDB == null));
-
-        if (paymentTypeFromDB != null) {
-            Log.i(TAG, "[CURSOR-TO-COUPON] paymentType.length(): " + paymentTypeFromDB.length());
-            Log.i(TAG, "[CURSOR-TO-COUPON] paymentType 바이트: " + bytesToHex(paymentTypeFromDB.getBytes()));
-        }
-
-        coupon.setPaymentType(paymentTypeFromDB);
-        Log.i(TAG, "[CURSOR-TO-COUPON] Coupon 객체에 paymentType 설정 완료");
-
-        // 사용가능요일
+        coupon.setPaymentType(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_PAYMENT_TYPE)));
         coupon.setAvailableDays(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_AVAILABLE_DAYS)));
-
-        // 생성일
         coupon.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_COUPON_CREATED_AT)));
 
-        Log.i(TAG, "[CURSOR-TO-COUPON] ===== Coupon 객체 변환 완료 =====");
-
+        AppLog.d(TAG, () -> "[CURSOR-TO-COUPON] ID: " + coupon.getCouponId() + ", 코드: " + coupon.getFullCouponCode()
+                + ", paymentType: '" + coupon.getPaymentType() + "'");
         return coupon;
     }
 
-    /**
-     * 바이트 배열을 16진수 문자열로 변환 (디버깅용)
-     */
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02X ", b));
-        }
-        return sb.toString().trim();
-    }
-
     public Coupon getLatestRechargeableCouponByEmployeeId(int employeeId) {
         Cursor cursor = null;
         try {
@@ -640,7 +1150,7 @@ public class CouponDAO {
                 return cursorToCoupon(cursor);
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting latest rechargeable coupon", e);
+            AppLog.e(TAG, "Error getting latest rechargeable coupon", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -658,14 +1168,16 @@ public class CouponDAO {
         values.put(DatabaseHelper.COLUMN_COUPON_AVAILABLE_DAYS, availableDays);
         values.put(DatabaseHelper.COLUMN_COUPON_STATUS, status);
         try {
-            return database.update(
+            int rowsAffected = database.update(
                     DatabaseHelper.TABLE_COUPON,
                     values,
                     DatabaseHelper.COLUMN_COUPON_ID + " = ?",
                     new String[]{String.valueOf(couponId)}
-            ) > 0;
+            );
+            lookupCache.invalidateCoupon(couponId);
+            return rowsAffected > 0;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error updating coupon recharge state", e);
+            AppLog.e(TAG, "Error updating coupon recharge state", e);
             return false;
         }
     }
@@ -700,11 +1212,11 @@ public class CouponDAO {
                 coupon.setRecipientPhone(employeeCode);
                 coupon.setRecipientEmail("");
                 coupon.setEmployeeDepartment(employeeDepartment);
-                Log.d(TAG, "Coupon ID " + coupon.getCouponId() + " - Employee: " + employeeName + 
+                AppLog.d(TAG, () -> "Coupon ID " + coupon.getCouponId() + " - Employee: " + employeeName +
                           " (" + employeeDepartment + "), Code: " + employeeCode);
             }
         } catch (Exception e) {
-            Log.w(TAG, "Employee data not available for coupon " + coupon.getCouponId());
+            AppLog.w(TAG, "Employee data not available for coupon " + coupon.getCouponId());
         }
         
         // 거래처 정보 설정 (JOIN된 데이터에서)
@@ -722,11 +1234,11 @@ public class CouponDAO {
                 coupon.setCorporateBusinessNumber(corporateBusinessNumber);
                 coupon.setCorporateRepresentative(corporateRepresentative);
                 coupon.setCorporatePhone(corporatePhone);
-                Log.d(TAG, "Coupon ID " + coupon.getCouponId() + " - Corporate: " + corporateName + 
+                AppLog.d(TAG, () -> "Coupon ID " + coupon.getCouponId() + " - Corporate: " + corporateName +
                           " (Business No: " + corporateBusinessNumber + "), Representative: " + corporateRepresentative);
             }
         } catch (Exception e) {
-            Log.w(TAG, "Corporate data not available for coupon " + coupon.getCouponId());
+            AppLog.w(TAG, "Corporate data not available for coupon " + coupon.getCouponId());
         }
         
         return coupon;
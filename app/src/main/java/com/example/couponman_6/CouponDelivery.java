@@ -19,6 +19,7 @@ public class CouponDelivery {
     private String subject;
     private String message;
     private String metadata;
+    private String jobId;         // 발송 작업 ID (진행 상황 조회용, 인덱스 컬럼)
     private String createdAt;
     private String updatedAt;
     
@@ -176,6 +177,14 @@ public class CouponDelivery {
         this.metadata = metadata;
     }
 
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
     public String getCreatedAt() {
         return createdAt;
     }
@@ -5,13 +5,16 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
-import android.util.Log;
+import android.database.sqlite.SQLiteStatement;
 
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class CouponDeliveryDAO {
     private static final String TAG = "CouponDeliveryDAO";
@@ -22,7 +25,7 @@ public class CouponDeliveryDAO {
 
     public CouponDeliveryDAO(Context context) {
         this.context = context;
-        dbHelper = new DatabaseHelper(context);
+        dbHelper = DatabaseHelper.getInstance(context);
     }
 
     /**
@@ -32,9 +35,9 @@ public class CouponDeliveryDAO {
         if (database != null && database.isOpen()) return;
         try {
             database = dbHelper.getWritableDatabase();
-            Log.d(TAG, "Database connection opened");
+            AppLog.d(TAG, "Database connection opened");
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error opening database", e);
+            AppLog.e(TAG, "Error opening database", e);
             throw e;
         }
     }
@@ -43,24 +46,25 @@ public class CouponDeliveryDAO {
      * 데이터베이스 연결 닫기 (no-op: 서버 핸들러에서 호출해도 연결 유지)
      */
     public void close() {
-        // no-op: SQLiteOpenHelper 연결 유지. shutdown()으로만 실제 닫기.
+        // no-op: 공유 DatabaseHelper 연결 유지. shutdown()으로 참조만 해제.
     }
 
     /**
-     * 실제 데이터베이스 연결 닫기 (서비스 종료 시에만 호출)
+     * 공유 데이터베이스 연결 참조 해제 (서비스 종료 시에만 호출)
      */
     public void shutdown() {
-        if (database != null && database.isOpen()) {
-            database.close();
-            Log.d(TAG, "Database connection closed");
-        }
+        // 공유 연결은 다른 DAO/화면이 계속 사용하므로 닫지 않고 참조만 해제
+        database = null;
+        AppLog.d(TAG, "Database connection released");
     }
 
     /**
      * 새로운 쿠폰 발송 기록 추가
+     *
+     * @param jobId 발송 작업 ID (진행 상황 조회용), 없으면 null
      */
     public long insertDelivery(int couponId, String deliveryType, String recipientAddress, 
-                              String subject, String message, String metadata) {
+                              String subject, String message, String metadata, String jobId) {
         ContentValues values = new ContentValues();
         values.put(DatabaseHelper.COLUMN_DELIVERY_COUPON_ID, couponId);
         values.put(DatabaseHelper.COLUMN_DELIVERY_TYPE, deliveryType);
@@ -69,20 +73,68 @@ public class CouponDeliveryDAO {
         values.put(DatabaseHelper.COLUMN_DELIVERY_SUBJECT, subject);
         values.put(DatabaseHelper.COLUMN_DELIVERY_MESSAGE, message);
         values.put(DatabaseHelper.COLUMN_DELIVERY_METADATA, metadata);
+        values.put(DatabaseHelper.COLUMN_DELIVERY_JOB_ID, jobId);
         values.put(DatabaseHelper.COLUMN_DELIVERY_RETRY_COUNT, 0);
 
         try {
             long id = database.insert(DatabaseHelper.TABLE_COUPON_DELIVERY, null, values);
             if (id > 0) {
-                Log.i(TAG, "Delivery record inserted with ID: " + id);
+                AppLog.i(TAG, "Delivery record inserted with ID: " + id);
             }
             return id;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error inserting delivery record", e);
+            AppLog.e(TAG, "Error inserting delivery record", e);
             return -1;
         }
     }
 
+    /**
+     * 발송 기록 일괄 추가 (단일 트랜잭션 + 컴파일된 INSERT). 실패한 행의 ID 는 -1
+     */
+    public long[] insertDeliveries(List<CouponDelivery> deliveries) {
+        long[] ids = new long[deliveries.size()];
+        String sql = "INSERT INTO " + DatabaseHelper.TABLE_COUPON_DELIVERY + " (" +
+                DatabaseHelper.COLUMN_DELIVERY_COUPON_ID + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_TYPE + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_STATUS + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_RECIPIENT_ADDRESS + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_SUBJECT + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_MESSAGE + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_METADATA + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_JOB_ID + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_RETRY_COUNT + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+        SQLiteStatement insert = null;
+        database.beginTransaction();
+        try {
+            insert = database.compileStatement(sql);
+            for (int i = 0; i < deliveries.size(); i++) {
+                CouponDelivery delivery = deliveries.get(i);
+                insert.clearBindings();
+                insert.bindLong(1, delivery.getCouponId());
+                insert.bindString(2, delivery.getDeliveryType());
+                insert.bindString(3, CouponDelivery.STATUS_PENDING);
+                insert.bindString(4, delivery.getRecipientAddress());
+                bindNullable(insert, 5, delivery.getSubject());
+                bindNullable(insert, 6, delivery.getMessage());
+                bindNullable(insert, 7, delivery.getMetadata());
+                bindNullable(insert, 8, delivery.getJobId());
+                ids[i] = insert.executeInsert();
+            }
+            database.setTransactionSuccessful();
+            AppLog.i(TAG, "Delivery records inserted in batch: " + deliveries.size());
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error inserting delivery records in batch", e);
+            Arrays.fill(ids, -1);
+        } finally {
+            if (insert != null) {
+                insert.close();
+            }
+            database.endTransaction();
+        }
+        return ids;
+    }
+
     /**
      * 발송 상태 업데이트
      */
@@ -110,10 +162,10 @@ public class CouponDeliveryDAO {
                 new String[]{String.valueOf(deliveryId)}
             );
             
-            Log.i(TAG, "Delivery status updated, ID: " + deliveryId + ", Status: " + status);
+            AppLog.i(TAG, "Delivery status updated, ID: " + deliveryId + ", Status: " + status);
             return rowsAffected > 0;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error updating delivery status", e);
+            AppLog.e(TAG, "Error updating delivery status", e);
             return false;
         }
     }
@@ -153,14 +205,282 @@ public class CouponDeliveryDAO {
                 new String[]{String.valueOf(deliveryId)}
             );
 
-            Log.i(TAG, "Retry count incremented for delivery ID: " + deliveryId);
+            AppLog.i(TAG, "Retry count incremented for delivery ID: " + deliveryId);
             return rowsAffected > 0;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error incrementing retry count", e);
+            AppLog.e(TAG, "Error incrementing retry count", e);
+            return false;
+        }
+    }
+
+    /**
+     * 재시도 예약 기록: retry_count 증가, last_retry_at / error_message 갱신 (상태는 PENDING 유지)
+     */
+    public boolean recordRetry(long deliveryId, String errorMessage) {
+        String now = getCurrentTimestamp();
+        try {
+            database.execSQL("UPDATE " + DatabaseHelper.TABLE_COUPON_DELIVERY + " SET " +
+                            DatabaseHelper.COLUMN_DELIVERY_RETRY_COUNT + " = COALESCE(" + DatabaseHelper.COLUMN_DELIVERY_RETRY_COUNT + ", 0) + 1, " +
+                            DatabaseHelper.COLUMN_DELIVERY_LAST_RETRY_AT + " = ?, " +
+                            DatabaseHelper.COLUMN_DELIVERY_ERROR_MESSAGE + " = ?, " +
+                            DatabaseHelper.COLUMN_DELIVERY_UPDATED_AT + " = ? " +
+                            "WHERE " + DatabaseHelper.COLUMN_DELIVERY_ID + " = ?",
+                    new Object[]{now, errorMessage, now, deliveryId});
+            return true;
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error recording retry for delivery ID: " + deliveryId, e);
             return false;
         }
     }
 
+    /**
+     * 발송 기록 단건 조회
+     */
+    public CouponDelivery getDeliveryById(long deliveryId) {
+        Cursor cursor = null;
+        try {
+            cursor = database.query(
+                DatabaseHelper.TABLE_COUPON_DELIVERY,
+                null,
+                DatabaseHelper.COLUMN_DELIVERY_ID + " = ?",
+                new String[]{String.valueOf(deliveryId)},
+                null, null, null
+            );
+            if (cursor != null && cursor.moveToFirst()) {
+                return cursorToDelivery(cursor);
+            }
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting delivery by ID: " + deliveryId, e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 발송 작업(jobId)의 상태별 건수
+     */
+    public Map<String, Integer> getJobStatusCounts(String jobId) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(
+                "SELECT " + DatabaseHelper.COLUMN_DELIVERY_STATUS + ", COUNT(*) FROM " + DatabaseHelper.TABLE_COUPON_DELIVERY +
+                " WHERE " + DatabaseHelper.COLUMN_DELIVERY_JOB_ID + " = ?" +
+                " GROUP BY " + DatabaseHelper.COLUMN_DELIVERY_STATUS,
+                new String[]{jobId}
+            );
+            while (cursor != null && cursor.moveToNext()) {
+                counts.put(cursor.getString(0), cursor.getInt(1));
+            }
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting job status counts: " + jobId, e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * 발송 작업(jobId)에 속한 특정 상태의 발송 기록
+     */
+    public List<CouponDelivery> getJobDeliveriesByStatus(String jobId, String status, int limit) {
+        List<CouponDelivery> deliveries = new ArrayList<>();
+        Cursor cursor = null;
+        try {
+            cursor = database.query(
+                DatabaseHelper.TABLE_COUPON_DELIVERY,
+                null,
+                DatabaseHelper.COLUMN_DELIVERY_JOB_ID + " = ? AND " + DatabaseHelper.COLUMN_DELIVERY_STATUS + " = ?",
+                new String[]{jobId, status},
+                null, null,
+                DatabaseHelper.COLUMN_DELIVERY_ID + " ASC",
+                String.valueOf(limit)
+            );
+            while (cursor != null && cursor.moveToNext()) {
+                deliveries.add(cursorToDelivery(cursor));
+            }
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting job deliveries: " + jobId, e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return deliveries;
+    }
+
+    /**
+     * 일괄 발송 대상 (쿠폰 + 직원 연락처)
+     */
+    public static class DeliveryTarget {
+        private int couponId;
+        private String couponCode;
+        private int employeeId;
+        private String employeeName;
+        private String email;
+        private String phone;
+
+        public int getCouponId() { return couponId; }
+        public String getCouponCode() { return couponCode; }
+        public int getEmployeeId() { return employeeId; }
+        public String getEmployeeName() { return employeeName; }
+        public String getEmail() { return email; }
+        public String getPhone() { return phone; }
+    }
+
+    /**
+     * 쿠폰 ID 목록의 발송 대상을 JOIN 한 번(최대 500개씩)으로 조회. 존재하지 않는 쿠폰은 결과에서 빠진다
+     */
+    public List<DeliveryTarget> getDeliveryTargetsByCouponIds(List<Integer> couponIds) {
+        List<DeliveryTarget> targets = new ArrayList<>();
+        final int chunkSize = 500;
+        for (int from = 0; from < couponIds.size(); from += chunkSize) {
+            List<Integer> chunk = couponIds.subList(from, Math.min(from + chunkSize, couponIds.size()));
+            StringBuilder placeholders = new StringBuilder();
+            String[] args = new String[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+                args[i] = String.valueOf(chunk.get(i));
+            }
+            queryDeliveryTargets("cp." + DatabaseHelper.COLUMN_COUPON_ID + " IN (" + placeholders + ")", args, targets);
+        }
+        return targets;
+    }
+
+    /**
+     * 거래처 소속 직원의 전체 쿠폰 발송 대상 조회
+     */
+    public List<DeliveryTarget> getDeliveryTargetsByCorporateId(int corporateId) {
+        List<DeliveryTarget> targets = new ArrayList<>();
+        queryDeliveryTargets("e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?",
+                new String[]{String.valueOf(corporateId)}, targets);
+        return targets;
+    }
+
+    private void queryDeliveryTargets(String where, String[] args, List<DeliveryTarget> out) {
+        String sql = "SELECT cp." + DatabaseHelper.COLUMN_COUPON_ID + ", cp." + DatabaseHelper.COLUMN_COUPON_FULL_CODE + ", " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + ", e." + DatabaseHelper.COLUMN_EMPLOYEE_NAME + ", " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_EMAIL + ", e." + DatabaseHelper.COLUMN_EMPLOYEE_PHONE + " " +
+                "FROM " + DatabaseHelper.TABLE_COUPON + " cp " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_ID +
+                " = cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " " +
+                "WHERE " + where + " " +
+                "ORDER BY cp." + DatabaseHelper.COLUMN_COUPON_ID + " ASC";
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args);
+            while (cursor != null && cursor.moveToNext()) {
+                DeliveryTarget target = new DeliveryTarget();
+                target.couponId = cursor.getInt(0);
+                target.couponCode = cursor.getString(1);
+                target.employeeId = cursor.isNull(2) ? 0 : cursor.getInt(2);
+                target.employeeName = cursor.getString(3);
+                target.email = cursor.getString(4);
+                target.phone = cursor.getString(5);
+                out.add(target);
+            }
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting delivery targets", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
+    /**
+     * 쿠폰 + 발송 유형별 최근 상태 (발송 화면의 쿠폰 목록 표시용)
+     */
+    public static class LatestDeliveryStatus {
+        private int couponId;
+        private String deliveryType;
+        private String deliveryStatus;
+        private String createdAt;
+        private boolean everSent;
+        private int attempts;
+
+        public int getCouponId() { return couponId; }
+        public String getDeliveryType() { return deliveryType; }
+        public String getDeliveryStatus() { return deliveryStatus; }
+        public String getCreatedAt() { return createdAt; }
+        /** 이 유형으로 SENT/DELIVERED 된 적이 있는지 (이후 재발송 실패와 무관) */
+        public boolean isEverSent() { return everSent; }
+        public int getAttempts() { return attempts; }
+    }
+
+    /**
+     * 쿠폰 ID 목록의 유형별 최근 발송 상태를 GROUP BY 한 번(최대 500개씩)으로 조회. 기록이 없는 쿠폰은 빠진다
+     */
+    public List<LatestDeliveryStatus> getLatestStatusesByCouponIds(List<Integer> couponIds) {
+        List<LatestDeliveryStatus> statuses = new ArrayList<>();
+        final int chunkSize = 500;
+        for (int from = 0; from < couponIds.size(); from += chunkSize) {
+            List<Integer> chunk = couponIds.subList(from, Math.min(from + chunkSize, couponIds.size()));
+            StringBuilder placeholders = new StringBuilder();
+            String[] args = new String[chunk.size()];
+            for (int i = 0; i < chunk.size(); i++) {
+                placeholders.append(i == 0 ? "?" : ", ?");
+                args[i] = String.valueOf(chunk.get(i));
+            }
+            queryLatestStatuses("IN (" + placeholders + ")", args, statuses);
+        }
+        return statuses;
+    }
+
+    /**
+     * 거래처 소속 직원 쿠폰 전체의 유형별 최근 발송 상태
+     */
+    public List<LatestDeliveryStatus> getLatestStatusesByCorporateId(int corporateId) {
+        List<LatestDeliveryStatus> statuses = new ArrayList<>();
+        queryLatestStatuses("IN (SELECT cp." + DatabaseHelper.COLUMN_COUPON_ID + " FROM " + DatabaseHelper.TABLE_COUPON + " cp " +
+                        "JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_ID +
+                        " = cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " " +
+                        "WHERE e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?)",
+                new String[]{String.valueOf(corporateId)}, statuses);
+        return statuses;
+    }
+
+    /**
+     * coupon_id 조건(idx_delivery_coupon_created 사용)으로 (쿠폰, 유형) 묶음마다 한 행.
+     * 최근 행은 MAX(delivery_id) 로 고른다: created_at 은 초 단위라 일괄 발송 건끼리 같고,
+     * SQLite 는 MAX() 집계가 하나뿐일 때 함께 선택한 일반 컬럼을 그 최대값 행에서 가져온다 (발송 여부는 SUM 으로 센다).
+     */
+    private void queryLatestStatuses(String couponIdCondition, String[] args, List<LatestDeliveryStatus> out) {
+        String sql = "SELECT " + DatabaseHelper.COLUMN_DELIVERY_COUPON_ID + ", " + DatabaseHelper.COLUMN_DELIVERY_TYPE + ", " +
+                DatabaseHelper.COLUMN_DELIVERY_STATUS + ", " + DatabaseHelper.COLUMN_DELIVERY_CREATED_AT + ", " +
+                "MAX(" + DatabaseHelper.COLUMN_DELIVERY_ID + "), " +
+                "SUM(" + DatabaseHelper.COLUMN_DELIVERY_STATUS + " IN ('" + CouponDelivery.STATUS_SENT + "', '" +
+                CouponDelivery.STATUS_DELIVERED + "')), COUNT(*) " +
+                "FROM " + DatabaseHelper.TABLE_COUPON_DELIVERY + " " +
+                "WHERE " + DatabaseHelper.COLUMN_DELIVERY_COUPON_ID + " " + couponIdCondition + " " +
+                "GROUP BY " + DatabaseHelper.COLUMN_DELIVERY_COUPON_ID + ", " + DatabaseHelper.COLUMN_DELIVERY_TYPE;
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args);
+            while (cursor != null && cursor.moveToNext()) {
+                LatestDeliveryStatus status = new LatestDeliveryStatus();
+                status.couponId = cursor.getInt(0);
+                status.deliveryType = cursor.getString(1);
+                status.deliveryStatus = cursor.getString(2);
+                status.createdAt = cursor.getString(3);
+                status.everSent = cursor.getInt(5) != 0;
+                status.attempts = cursor.getInt(6);
+                out.add(status);
+            }
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting latest delivery statuses", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
     /**
      * 쿠폰별 발송 기록 조회
      */
@@ -185,10 +505,10 @@ public class CouponDeliveryDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + deliveries.size() + " deliveries for coupon ID: " + couponId);
+            AppLog.i(TAG, "Retrieved " + deliveries.size() + " deliveries for coupon ID: " + couponId);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting deliveries by coupon ID", e);
+            AppLog.e(TAG, "Error getting deliveries by coupon ID", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -222,10 +542,10 @@ public class CouponDeliveryDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + deliveries.size() + " deliveries for type: " + deliveryType);
+            AppLog.i(TAG, "Retrieved " + deliveries.size() + " deliveries for type: " + deliveryType);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting deliveries by type", e);
+            AppLog.e(TAG, "Error getting deliveries by type", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -259,10 +579,10 @@ public class CouponDeliveryDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + deliveries.size() + " deliveries with status: " + status);
+            AppLog.i(TAG, "Retrieved " + deliveries.size() + " deliveries with status: " + status);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting deliveries by status", e);
+            AppLog.e(TAG, "Error getting deliveries by status", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -292,6 +612,10 @@ public class CouponDeliveryDAO {
         delivery.setSubject(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_DELIVERY_SUBJECT)));
         delivery.setMessage(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_DELIVERY_MESSAGE)));
         delivery.setMetadata(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_DELIVERY_METADATA)));
+        int jobIdIndex = cursor.getColumnIndex(DatabaseHelper.COLUMN_DELIVERY_JOB_ID);
+        if (jobIdIndex >= 0) {
+            delivery.setJobId(cursor.getString(jobIdIndex));
+        }
         delivery.setCreatedAt(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_DELIVERY_CREATED_AT)));
         delivery.setUpdatedAt(cursor.getString(cursor.getColumnIndexOrThrow(DatabaseHelper.COLUMN_DELIVERY_UPDATED_AT)));
         
@@ -318,7 +642,7 @@ public class CouponDeliveryDAO {
             if (cursor != null && cursor.moveToFirst()) {
                 do {
                     CouponDelivery delivery = cursorToDelivery(cursor);
-                    Log.d(TAG, "[DB-QUERY] 발송 기록 조회 - ID: " + delivery.getDeliveryId() + 
+                    AppLog.d(TAG, () -> "[DB-QUERY] 발송 기록 조회 - ID: " + delivery.getDeliveryId() + 
                         ", deliveryStatus: '" + delivery.getDeliveryStatus() + "'" +
                         ", deliveryType: '" + delivery.getDeliveryType() + "'" +
                         ", recipient: '" + delivery.getRecipientAddress() + "'");
@@ -326,10 +650,10 @@ public class CouponDeliveryDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved all deliveries: " + deliveries.size() + " records");
+            AppLog.i(TAG, "Retrieved all deliveries: " + deliveries.size() + " records");
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting all deliveries", e);
+            AppLog.e(TAG, "Error getting all deliveries", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -339,6 +663,14 @@ public class CouponDeliveryDAO {
         return deliveries;
     }
     
+    private static void bindNullable(SQLiteStatement statement, int index, String value) {
+        if (value == null) {
+            statement.bindNull(index);
+        } else {
+            statement.bindString(index, value);
+        }
+    }
+
     /**
      * 현재 시간을 문자열로 반환
      */
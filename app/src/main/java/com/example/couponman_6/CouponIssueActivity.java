@@ -15,6 +15,7 @@ import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
 import java.util.ArrayList;
@@ -166,20 +167,88 @@ public class CouponIssueActivity extends AppCompatActivity {
             Toast.makeText(this, "사용한도를 입력하세요.", Toast.LENGTH_SHORT).show();
             return;
         }
-        int count = couponBatchService.issueCoupons(
-                corporate.getCustomerId(),
-                collectDrafts(),
-                usageLimit,
-                expireDateEditText.getText().toString().trim(),
-                availableDaysEditText.getText().toString().trim()
-        );
-        Toast.makeText(this, count + "건의 신규 쿠폰을 발행했습니다.", Toast.LENGTH_LONG).show();
+        int corporateId = corporate.getCustomerId();
+        List<CouponTargetDraft> drafts = collectDrafts();
+        String expireDate = expireDateEditText.getText().toString().trim();
+        String availableDays = availableDaysEditText.getText().toString().trim();
+
+        // 대량 발행은 백그라운드에서 처리하고 버튼에 진행 상황 표시
+        Button issueButton = findViewById(R.id.btnIssueCreateCoupons);
+        CharSequence buttonText = issueButton.getText();
+        issueButton.setEnabled(false);
+        new Thread(() -> {
+            try {
+                CouponBatchService.BatchResult result = couponBatchService.issueCoupons(
+                        corporateId, drafts, usageLimit, expireDate, availableDays,
+                        (processed, total) -> runOnUiThread(() -> issueButton.setText("발행 중... " + processed + "/" + total)));
+                runOnUiThread(() -> {
+                    String message = result.getSuccessCount() + "건의 신규 쿠폰을 발행했습니다.";
+                    if (result.getFailedCount() > 0) {
+                        message += " (실패 " + result.getFailedCount() + "건)";
+                    }
+                    Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+                });
+            } catch (Exception e) {
+                runOnUiThread(() -> Toast.makeText(this, "쿠폰 발행 실패: " + e.getMessage(), Toast.LENGTH_LONG).show());
+            } finally {
+                runOnUiThread(() -> {
+                    issueButton.setText(buttonText);
+                    issueButton.setEnabled(true);
+                });
+            }
+        }).start();
     }
 
     private void handleImportResult(Uri uri) {
         if (uri == null) {
             return;
         }
+        Corporate corporate = getSelectedCorporate();
+        double usageLimit = parseDouble(usageLimitEditText.getText().toString());
+        if (corporate == null || usageLimit <= 0) {
+            importIntoList(uri);
+            return;
+        }
+        // 발행 조건이 입력돼 있으면 대량 명단은 목록을 거치지 않고 파일에서 바로 발행할 수 있다
+        new AlertDialog.Builder(this)
+                .setTitle("엑셀 업로드")
+                .setMessage(corporate.getName() + " 직원으로 파일의 대상에게 바로 발행할까요?\n목록에 추가하면 확인 후 발행할 수 있습니다.")
+                .setPositiveButton("바로 발행", (dialog, which) -> issueFromFile(uri, corporate, usageLimit))
+                .setNegativeButton("목록에 추가", (dialog, which) -> importIntoList(uri))
+                .show();
+    }
+
+    private void issueFromFile(Uri uri, Corporate corporate, double usageLimit) {
+        String expireDate = expireDateEditText.getText().toString().trim();
+        String availableDays = availableDaysEditText.getText().toString().trim();
+
+        Button issueButton = findViewById(R.id.btnIssueCreateCoupons);
+        CharSequence buttonText = issueButton.getText();
+        issueButton.setEnabled(false);
+        new Thread(() -> {
+            try {
+                CouponBatchService.BatchResult result = couponBatchService.importAndProcess(
+                        uri, corporate.getCustomerId(), usageLimit, expireDate, availableDays, false, false, false,
+                        (processed, total) -> runOnUiThread(() -> issueButton.setText("발행 중... " + processed + "/" + total)));
+                runOnUiThread(() -> {
+                    String message = result.getSuccessCount() + "건의 신규 쿠폰을 발행했습니다.";
+                    if (result.getFailedCount() > 0) {
+                        message += " (실패 " + result.getFailedCount() + "건)";
+                    }
+                    Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+                });
+            } catch (Exception e) {
+                runOnUiThread(() -> Toast.makeText(this, "파일 발행 실패: " + e.getMessage(), Toast.LENGTH_LONG).show());
+            } finally {
+                runOnUiThread(() -> {
+                    issueButton.setText(buttonText);
+                    issueButton.setEnabled(true);
+                });
+            }
+        }).start();
+    }
+
+    private void importIntoList(Uri uri) {
         try {
             List<CouponTargetDraft> drafts = ExcelEmployeeImporter.importFile(this, uri);
             for (CouponTargetDraft draft : drafts) {
@@ -0,0 +1,178 @@
+package com.example.couponman_6;
+
+import android.util.Log;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * full_coupon_code → (쿠폰, 직원, 거래처) 조회 결과 LRU 캐시.
+ * QR 스캔 화면과 ApiServer 가 함께 사용하며, 잔액/상태/직원/거래처를 바꾸는 모든 DAO 쓰기에서 무효화된다.
+ * 무효화 중에 진행된 DB 조회 결과는 세대(generation) 비교로 버려서 오래된 값이 다시 캐시되지 않게 한다.
+ */
+public class CouponLookupCache {
+    private static final String TAG = "CouponLookupCache";
+
+    public static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private static volatile CouponLookupCache instance;
+
+    /** 쿠폰 코드로 조회한 쿠폰 + 직원 + 거래처 */
+    public static class CouponView {
+        private final Coupon coupon;
+        private final Employee employee;
+        private final Corporate corporate;
+
+        public CouponView(Coupon coupon, Employee employee, Corporate corporate) {
+            this.coupon = coupon;
+            this.employee = employee;
+            this.corporate = corporate;
+        }
+
+        public Coupon getCoupon() {
+            return coupon;
+        }
+
+        public Employee getEmployee() {
+            return employee;
+        }
+
+        public Corporate getCorporate() {
+            return corporate;
+        }
+    }
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, CouponView> entries;
+    private final Map<Integer, String> codeByCouponId = new HashMap<>();
+    private long generation;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    public static CouponLookupCache getInstance() {
+        if (instance == null) {
+            synchronized (CouponLookupCache.class) {
+                if (instance == null) {
+                    instance = new CouponLookupCache(DEFAULT_MAX_ENTRIES);
+                }
+            }
+        }
+        return instance;
+    }
+
+    CouponLookupCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<String, CouponView>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CouponView> eldest) {
+                if (size() > CouponLookupCache.this.maxEntries) {
+                    codeByCouponId.remove(eldest.getValue().getCoupon().getCouponId());
+                    evictionCount++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 캐시 조회, 없으면 CouponDAO 로 한 번의 JOIN 쿼리를 실행해 채운다 (couponDAO 는 열린 상태여야 함).
+     * 반환되는 쿠폰은 복사본이므로 호출자가 잔액을 바꿔도 캐시에는 영향이 없다.
+     */
+    public CouponView lookup(String couponCode, CouponDAO couponDAO) {
+        if (couponCode == null) {
+            return null;
+        }
+        long loadGeneration;
+        synchronized (this) {
+            CouponView cached = entries.get(couponCode);
+            if (cached != null) {
+                hitCount++;
+                return copyOf(cached);
+            }
+            missCount++;
+            loadGeneration = generation;
+        }
+
+        CouponView loaded = couponDAO.getCouponViewByCode(couponCode);
+        if (loaded == null) {
+            return null;
+        }
+
+        synchronized (this) {
+            // 조회 중 무효화가 있었다면 결과를 캐시하지 않음
+            if (loadGeneration == generation) {
+                entries.put(couponCode, loaded);
+                codeByCouponId.put(loaded.getCoupon().getCouponId(), couponCode);
+            }
+        }
+        return copyOf(loaded);
+    }
+
+    /** 쿠폰 잔액/상태/코드 변경 시 */
+    public synchronized void invalidateCoupon(int couponId) {
+        generation++;
+        String code = codeByCouponId.remove(couponId);
+        if (code != null) {
+            entries.remove(code);
+        }
+    }
+
+    /** 직원 정보 변경/삭제 시 (삭제 시 쿠폰도 CASCADE 되므로 함께 제거) */
+    public synchronized void invalidateEmployee(int employeeId) {
+        generation++;
+        Iterator<Map.Entry<String, CouponView>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            CouponView view = it.next().getValue();
+            if (view.getCoupon().getEmployeeId() == employeeId) {
+                codeByCouponId.remove(view.getCoupon().getCouponId());
+                it.remove();
+            }
+        }
+    }
+
+    /** 거래처 정보 변경/삭제 시 */
+    public synchronized void invalidateCorporate(int corporateId) {
+        generation++;
+        Iterator<Map.Entry<String, CouponView>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            CouponView view = it.next().getValue();
+            if (view.getEmployee() != null && view.getEmployee().getCorporateId() == corporateId) {
+                codeByCouponId.remove(view.getCoupon().getCouponId());
+                it.remove();
+            }
+        }
+    }
+
+    /** 복구 등 대량 변경 시 전체 무효화 */
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        codeByCouponId.clear();
+        Log.d(TAG, "Coupon lookup cache cleared");
+    }
+
+    /** 캐시 크기, 적중률, 제거 건수 */
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        long lookups = hitCount + missCount;
+        metrics.put("size", entries.size());
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("hits", hitCount);
+        metrics.put("misses", missCount);
+        metrics.put("hitRate", lookups > 0 ? (double) hitCount / lookups : 0.0);
+        metrics.put("evictions", evictionCount);
+        return metrics;
+    }
+
+    private static CouponView copyOf(CouponView view) {
+        Coupon c = view.getCoupon();
+        Coupon copy = new Coupon(c.getCouponId(), c.getFullCouponCode(), c.getEmployeeId(), c.getCashBalance(),
+                c.getPointBalance(), c.getExpireDate(), c.getStatus(), c.getPaymentType(), c.getAvailableDays(),
+                c.getCreatedAt());
+        return new CouponView(copy, view.getEmployee(), view.getCorporate());
+    }
+}
@@ -15,6 +15,7 @@ import android.widget.Toast;
 
 import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.app.AppCompatActivity;
 
 import java.util.ArrayList;
@@ -172,23 +173,92 @@ public class CouponRechargeActivity extends AppCompatActivity {
         }
         double usageLimit = parseDouble(usageLimitEditText.getText().toString());
         boolean additive = rechargeModeSpinner.getSelectedItemPosition() == 1;
-        int count = couponBatchService.rechargeCoupons(
-                corporate.getCustomerId(),
-                collectDrafts(),
-                usageLimit,
-                expireDateEditText.getText().toString().trim(),
-                availableDaysEditText.getText().toString().trim(),
-                additive,
-                extendExpiredCheckBox.isChecked()
-        );
-        Toast.makeText(this, count + "건의 쿠폰 충전/신규발행을 처리했습니다.", Toast.LENGTH_LONG).show();
-        previewCoupons();
+        int corporateId = corporate.getCustomerId();
+        List<CouponTargetDraft> drafts = collectDrafts();
+        String expireDate = expireDateEditText.getText().toString().trim();
+        String availableDays = availableDaysEditText.getText().toString().trim();
+        boolean extendExpired = extendExpiredCheckBox.isChecked();
+
+        // 대량 충전은 백그라운드에서 처리하고 버튼에 진행 상황 표시
+        Button rechargeButton = findViewById(R.id.btnRechargeExecute);
+        CharSequence buttonText = rechargeButton.getText();
+        rechargeButton.setEnabled(false);
+        new Thread(() -> {
+            try {
+                CouponBatchService.BatchResult result = couponBatchService.rechargeCoupons(
+                        corporateId, drafts, usageLimit, expireDate, availableDays, additive, extendExpired,
+                        (processed, total) -> runOnUiThread(() -> rechargeButton.setText("처리 중... " + processed + "/" + total)));
+                runOnUiThread(() -> {
+                    String message = result.getSuccessCount() + "건의 쿠폰 충전/신규발행을 처리했습니다.";
+                    if (result.getSkippedCount() > 0 || result.getFailedCount() > 0) {
+                        message += " (만료 제외 " + result.getSkippedCount() + "건, 실패 " + result.getFailedCount() + "건)";
+                    }
+                    Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+                    previewCoupons();
+                });
+            } catch (Exception e) {
+                runOnUiThread(() -> Toast.makeText(this, "쿠폰 충전 실패: " + e.getMessage(), Toast.LENGTH_LONG).show());
+            } finally {
+                runOnUiThread(() -> {
+                    rechargeButton.setText(buttonText);
+                    rechargeButton.setEnabled(true);
+                });
+            }
+        }).start();
     }
 
     private void handleImportResult(Uri uri) {
         if (uri == null) {
             return;
         }
+        Corporate corporate = getSelectedCorporate();
+        double usageLimit = parseDouble(usageLimitEditText.getText().toString());
+        if (corporate == null || usageLimit <= 0) {
+            importIntoList(uri);
+            return;
+        }
+        // 충전 조건이 입력돼 있으면 대량 명단은 목록/미리보기를 거치지 않고 파일에서 바로 충전할 수 있다
+        new AlertDialog.Builder(this)
+                .setTitle("엑셀 업로드")
+                .setMessage(corporate.getName() + " 직원으로 파일의 대상을 바로 충전할까요?\n목록에 추가하면 미리보기 후 충전할 수 있습니다.")
+                .setPositiveButton("바로 충전", (dialog, which) -> rechargeFromFile(uri, corporate, usageLimit))
+                .setNegativeButton("목록에 추가", (dialog, which) -> importIntoList(uri))
+                .show();
+    }
+
+    private void rechargeFromFile(Uri uri, Corporate corporate, double usageLimit) {
+        boolean additive = rechargeModeSpinner.getSelectedItemPosition() == 1;
+        String expireDate = expireDateEditText.getText().toString().trim();
+        String availableDays = availableDaysEditText.getText().toString().trim();
+        boolean extendExpired = extendExpiredCheckBox.isChecked();
+
+        Button rechargeButton = findViewById(R.id.btnRechargeExecute);
+        CharSequence buttonText = rechargeButton.getText();
+        rechargeButton.setEnabled(false);
+        new Thread(() -> {
+            try {
+                CouponBatchService.BatchResult result = couponBatchService.importAndProcess(
+                        uri, corporate.getCustomerId(), usageLimit, expireDate, availableDays, true, additive, extendExpired,
+                        (processed, total) -> runOnUiThread(() -> rechargeButton.setText("처리 중... " + processed + "/" + total)));
+                runOnUiThread(() -> {
+                    String message = result.getSuccessCount() + "건의 쿠폰 충전/신규발행을 처리했습니다.";
+                    if (result.getSkippedCount() > 0 || result.getFailedCount() > 0) {
+                        message += " (만료 제외 " + result.getSkippedCount() + "건, 실패 " + result.getFailedCount() + "건)";
+                    }
+                    Toast.makeText(this, message, Toast.LENGTH_LONG).show();
+                });
+            } catch (Exception e) {
+                runOnUiThread(() -> Toast.makeText(this, "파일 충전 실패: " + e.getMessage(), Toast.LENGTH_LONG).show());
+            } finally {
+                runOnUiThread(() -> {
+                    rechargeButton.setText(buttonText);
+                    rechargeButton.setEnabled(true);
+                });
+            }
+        }).start();
+    }
+
+    private void importIntoList(Uri uri) {
         try {
             List<CouponTargetDraft> drafts = ExcelEmployeeImporter.importFile(this, uri);
             for (CouponTargetDraft draft : drafts) {
@@ -0,0 +1,565 @@
+package com.example.couponman_6;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteStatement;
+import android.util.Log;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 데이터베이스 백업/복구 스트리밍 처리.
+ * 백업은 테이블을 Cursor 로 한 행씩 읽어 JsonWriter 로 바로 쓰고, 복구는 JsonReader 로 한 행씩 읽어
+ * 컴파일된 INSERT 문에 바인딩하므로 메모리 사용량이 DB 크기와 무관하다.
+ * 파일 형식은 기존 /api/backup 응답과 동일하다:
+ * {"success":true,"message":..,"data":{"timestamp","version","corporates":[..],"employees":[..],"coupons":[..],"transactions":[..]}}
+ */
+public class DatabaseBackup {
+    private static final String TAG = "DatabaseBackup";
+
+    public static final String FORMAT_VERSION = "1.0";
+
+    /** 복구 진행 상황 로그/콜백 간격 (행) */
+    private static final int PROGRESS_INTERVAL = 1000;
+
+    private static final int TYPE_INTEGER = 0;
+    private static final int TYPE_REAL = 1;
+    private static final int TYPE_TEXT = 2;
+
+    /** 백업 파일의 배열 이름과 테이블 컬럼 정의 */
+    private static final class TableSpec {
+        final String key;
+        final String table;
+        final String primaryKey;
+        final String[] columns;
+        final int[] types;
+        final Map<String, Integer> columnIndex = new HashMap<>();
+
+        TableSpec(String key, String table, String primaryKey, String[] columns, int[] types) {
+            this.key = key;
+            this.table = table;
+            this.primaryKey = primaryKey;
+            this.columns = columns;
+            this.types = types;
+            for (int i = 0; i < columns.length; i++) {
+                columnIndex.put(columns[i], i);
+            }
+        }
+
+        String columnList() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(columns[i]);
+            }
+            return sb.toString();
+        }
+
+        String insertSql() {
+            StringBuilder sb = new StringBuilder("INSERT OR REPLACE INTO ").append(table)
+                    .append(" (").append(columnList()).append(") VALUES (");
+            for (int i = 0; i < columns.length; i++) {
+                sb.append(i > 0 ? ",?" : "?");
+            }
+            return sb.append(")").toString();
+        }
+    }
+
+    private static final TableSpec CORPORATES = new TableSpec("corporates", DatabaseHelper.TABLE_CORPORATE,
+            DatabaseHelper.COLUMN_CUSTOMER_ID,
+            new String[]{
+                    DatabaseHelper.COLUMN_CUSTOMER_ID, DatabaseHelper.COLUMN_NAME, DatabaseHelper.COLUMN_BUSINESS_NUMBER,
+                    DatabaseHelper.COLUMN_REPRESENTATIVE, DatabaseHelper.COLUMN_PHONE, DatabaseHelper.COLUMN_EMAIL,
+                    DatabaseHelper.COLUMN_ADDRESS, DatabaseHelper.COLUMN_CREATED_AT
+            },
+            new int[]{TYPE_INTEGER, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT});
+
+    private static final TableSpec EMPLOYEES = new TableSpec("employees", DatabaseHelper.TABLE_EMPLOYEE,
+            DatabaseHelper.COLUMN_EMPLOYEE_ID,
+            new String[]{
+                    DatabaseHelper.COLUMN_EMPLOYEE_ID, DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID,
+                    DatabaseHelper.COLUMN_EMPLOYEE_NAME, DatabaseHelper.COLUMN_EMPLOYEE_CODE,
+                    DatabaseHelper.COLUMN_EMPLOYEE_PHONE, DatabaseHelper.COLUMN_EMPLOYEE_EMAIL,
+                    DatabaseHelper.COLUMN_EMPLOYEE_DEPARTMENT, DatabaseHelper.COLUMN_EMPLOYEE_CREATED_AT
+            },
+            new int[]{TYPE_INTEGER, TYPE_INTEGER, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT});
+
+    private static final TableSpec COUPONS = new TableSpec("coupons", DatabaseHelper.TABLE_COUPON,
+            DatabaseHelper.COLUMN_COUPON_ID,
+            new String[]{
+                    DatabaseHelper.COLUMN_COUPON_ID, DatabaseHelper.COLUMN_COUPON_FULL_CODE,
+                    DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID, DatabaseHelper.COLUMN_COUPON_CASH_BALANCE,
+                    DatabaseHelper.COLUMN_COUPON_POINT_BALANCE, DatabaseHelper.COLUMN_COUPON_EXPIRE_DATE,
+                    DatabaseHelper.COLUMN_COUPON_STATUS, DatabaseHelper.COLUMN_COUPON_PAYMENT_TYPE,
+                    DatabaseHelper.COLUMN_COUPON_AVAILABLE_DAYS, DatabaseHelper.COLUMN_COUPON_CREATED_AT
+            },
+            new int[]{TYPE_INTEGER, TYPE_TEXT, TYPE_INTEGER, TYPE_REAL, TYPE_REAL, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT,
+                    TYPE_TEXT, TYPE_TEXT});
+
+    private static final TableSpec TRANSACTIONS = new TableSpec("transactions", DatabaseHelper.TABLE_TRANSACTION,
+            DatabaseHelper.COLUMN_TRANSACTION_ID,
+            new String[]{
+                    DatabaseHelper.COLUMN_TRANSACTION_ID, DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID,
+                    DatabaseHelper.COLUMN_TRANSACTION_AMOUNT, DatabaseHelper.COLUMN_TRANSACTION_TYPE,
+                    DatabaseHelper.COLUMN_TRANSACTION_DATE, DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE,
+                    DatabaseHelper.COLUMN_TRANSACTION_BALANCE_BEFORE, DatabaseHelper.COLUMN_TRANSACTION_BALANCE_AFTER,
+                    DatabaseHelper.COLUMN_TRANSACTION_DESCRIPTION
+            },
+            new int[]{TYPE_INTEGER, TYPE_INTEGER, TYPE_REAL, TYPE_TEXT, TYPE_TEXT, TYPE_TEXT, TYPE_REAL, TYPE_REAL,
+                    TYPE_TEXT});
+
+    private static final TableSpec[] TABLES = {CORPORATES, EMPLOYEES, COUPONS, TRANSACTIONS};
+
+    /** 복구 진행 상황 콜백 */
+    public interface ProgressListener {
+        void onProgress(String table, int rows);
+    }
+
+    /** 테이블별 복구 행 수 */
+    public static class RestoreResult {
+        private final Map<String, Integer> counts = new HashMap<>();
+        private boolean dataFound;
+
+        public int getCount(String key) {
+            Integer count = counts.get(key);
+            return count != null ? count : 0;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> stats = new HashMap<>();
+            for (TableSpec spec : TABLES) {
+                stats.put(spec.key, getCount(spec.key));
+            }
+            return stats;
+        }
+    }
+
+    /** 잘못된 백업 파일 형식 */
+    public static class InvalidBackupException extends IOException {
+        public InvalidBackupException(String message) {
+            super(message);
+        }
+    }
+
+    /** 읽은 바이트 수를 세고 Content-Length 이상은 읽지 않는 입력 스트림 */
+    public static class CountingInputStream extends FilterInputStream {
+        private final long limit;
+        private volatile long count;
+
+        public CountingInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getLimit() {
+            return limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (count >= limit) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (count >= limit) {
+                return -1;
+            }
+            int n = super.read(buffer, offset, (int) Math.min(length, limit - count));
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, limit - count));
+            count += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), limit - count);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // 소켓 스트림은 NanoHTTPD 가 관리하므로 닫지 않음
+        }
+
+        /** 남은 요청 본문을 읽어 버려 keep-alive 연결을 정상 상태로 둔다 */
+        public void drain() {
+            byte[] buffer = new byte[8192];
+            try {
+                while (read(buffer, 0, buffer.length) > 0) {
+                    // discard
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "[RESTORE] Failed to drain request body: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 닫을 때 파일을 지우는 임시(스풀) 파일 스트림
+     */
+    public static class TempFileInputStream extends FileInputStream {
+        private final File file;
+
+        public TempFileInputStream(File file) throws FileNotFoundException {
+            super(file);
+            this.file = file;
+        }
+
+        public long length() {
+            return file.length();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!file.delete() && file.exists()) {
+                    Log.w(TAG, "Failed to delete spool file: " + file);
+                }
+            }
+        }
+    }
+
+    private final DatabaseHelper dbHelper;
+
+    public DatabaseBackup(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+    }
+
+    /**
+     * 전체 백업을 JsonWriter 로 스트리밍 출력.
+     * 네 테이블을 한 트랜잭션에서 읽어 백업 중의 쓰기가 섞인 스냅샷이 되지 않게 한다.
+     * 그동안 다른 쓰기가 대기하므로 writer 는 네트워크가 아닌 로컬 파일처럼 빠른 대상이어야 한다.
+     */
+    public void export(JsonWriter writer) throws IOException {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        db.beginTransactionNonExclusive();
+        try {
+            writeBackup(db, writer);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void writeBackup(SQLiteDatabase db, JsonWriter writer) throws IOException {
+        // 기존 Gson 직렬화와 동일하게 null 필드는 생략
+        writer.setSerializeNulls(false);
+
+        writer.beginObject();
+        writer.name("success").value(true);
+        writer.name("message").value("데이터베이스 백업이 완료되었습니다.");
+        writer.name("data");
+        writer.beginObject();
+        writer.name("timestamp").value(new java.util.Date().toString());
+        writer.name("version").value(FORMAT_VERSION);
+
+        for (TableSpec spec : TABLES) {
+            String sql = "SELECT " + spec.columnList() + " FROM " + spec.table;
+            if (spec == TRANSACTIONS) {
+                // 기존 백업과 동일하게 존재하는 쿠폰의 거래내역만 포함
+                sql += " WHERE " + DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID + " IN (SELECT " +
+                        DatabaseHelper.COLUMN_COUPON_ID + " FROM " + DatabaseHelper.TABLE_COUPON + ")";
+            }
+            sql += " ORDER BY " + spec.primaryKey;
+            int count = writeTable(db, writer, spec.key, sql);
+            Log.i(TAG, "[BACKUP] " + spec.key + ": " + count + " records");
+        }
+
+        writer.endObject();
+        writer.endObject();
+        writer.flush();
+    }
+
+    /**
+     * 쿼리 결과를 JSON 배열로 기록하고 행 수를 반환
+     */
+    private int writeTable(SQLiteDatabase db, JsonWriter writer, String name, String sql) throws IOException {
+        int count = 0;
+        writer.name(name);
+        writer.beginArray();
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(sql, null);
+            int columnCount = cursor.getColumnCount();
+            String[] columnNames = cursor.getColumnNames();
+            while (cursor.moveToNext()) {
+                writer.beginObject();
+                for (int i = 0; i < columnCount; i++) {
+                    switch (cursor.getType(i)) {
+                        case Cursor.FIELD_TYPE_INTEGER:
+                            writer.name(columnNames[i]).value(cursor.getLong(i));
+                            break;
+                        case Cursor.FIELD_TYPE_FLOAT:
+                            writer.name(columnNames[i]).value(cursor.getDouble(i));
+                            break;
+                        case Cursor.FIELD_TYPE_STRING:
+                            writer.name(columnNames[i]).value(cursor.getString(i));
+                            break;
+                        default:
+                            // NULL / BLOB 은 기록하지 않음
+                            break;
+                    }
+                }
+                writer.endObject();
+                count++;
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        writer.endArray();
+        return count;
+    }
+
+    /**
+     * 백업 JSON 을 스트리밍으로 읽어 전체 데이터를 교체한다.
+     * 하나의 트랜잭션 안에서 기존 데이터 삭제 → 인덱스 제거 → 행 적재 → 인덱스 재생성을 수행하므로
+     * 중간에 실패하면 기존 데이터가 그대로 유지된다.
+     */
+    public RestoreResult restore(JsonReader reader, ProgressListener listener) throws IOException {
+        SQLiteDatabase db = dbHelper.getWritableDatabase();
+        RestoreResult result = new RestoreResult();
+        Map<TableSpec, SQLiteStatement> statements = new HashMap<>();
+
+        db.beginTransaction();
+        try {
+            // 기존 데이터 전체 삭제 (FK CASCADE 순서 고려)
+            db.execSQL("DELETE FROM " + DatabaseHelper.TABLE_TRANSACTION);
+            db.execSQL("DELETE FROM " + DatabaseHelper.TABLE_COUPON_DELIVERY);
+            db.execSQL("DELETE FROM " + DatabaseHelper.TABLE_COUPON);
+            db.execSQL("DELETE FROM " + DatabaseHelper.TABLE_EMPLOYEE);
+            db.execSQL("DELETE FROM " + DatabaseHelper.TABLE_CORPORATE);
+            Log.i(TAG, "[RESTORE] Existing data cleared");
+
+            // 적재 중 인덱스 유지 비용을 없애고 마지막에 한 번에 재생성
+            List<String> indexSql = dropIndexes(db);
+            Log.i(TAG, "[RESTORE] Dropped " + indexSql.size() + " indexes for bulk load");
+
+            for (TableSpec spec : TABLES) {
+                statements.put(spec, db.compileStatement(spec.insertSql()));
+            }
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if ("data".equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    readData(reader, statements, result, listener);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+
+            if (!result.dataFound) {
+                throw new InvalidBackupException("잘못된 백업 데이터 형식입니다.");
+            }
+
+            long indexStart = System.currentTimeMillis();
+            for (String sql : indexSql) {
+                db.execSQL(sql);
+            }
+            Log.i(TAG, "[RESTORE] Rebuilt " + indexSql.size() + " indexes in "
+                    + (System.currentTimeMillis() - indexStart) + "ms");
+
+            db.setTransactionSuccessful();
+        } finally {
+            for (SQLiteStatement statement : statements.values()) {
+                statement.close();
+            }
+            db.endTransaction();
+            CouponLookupCache.getInstance().invalidateAll();
+        }
+        return result;
+    }
+
+    private void readData(JsonReader reader, Map<TableSpec, SQLiteStatement> statements,
+                          RestoreResult result, ProgressListener listener) throws IOException {
+        result.dataFound = true;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            TableSpec spec = findTable(name);
+            if (spec == null || reader.peek() != JsonToken.BEGIN_ARRAY) {
+                reader.skipValue();
+                continue;
+            }
+            int count = readTable(reader, spec, statements.get(spec), listener);
+            result.counts.put(spec.key, result.getCount(spec.key) + count);
+            Log.i(TAG, "[RESTORE] " + spec.key + " restored: " + count);
+        }
+        reader.endObject();
+    }
+
+    /**
+     * 배열의 각 행을 컴파일된 INSERT 문에 바인딩해 실행
+     */
+    private int readTable(JsonReader reader, TableSpec spec, SQLiteStatement statement,
+                          ProgressListener listener) throws IOException {
+        int count = 0;
+        boolean[] present = new boolean[spec.columns.length];
+        reader.beginArray();
+        while (reader.hasNext()) {
+            statement.clearBindings();
+            java.util.Arrays.fill(present, false);
+
+            reader.beginObject();
+            while (reader.hasNext()) {
+                Integer index = spec.columnIndex.get(reader.nextName());
+                if (index == null) {
+                    reader.skipValue();
+                    continue;
+                }
+                present[index] = bindValue(reader, statement, index + 1, spec.types[index]);
+            }
+            reader.endObject();
+
+            // 누락 값은 기존 복구 로직과 동일하게 숫자 0 / 문자열 NULL 로 채움
+            for (int i = 0; i < present.length; i++) {
+                if (!present[i]) {
+                    bindDefault(statement, i + 1, spec.types[i]);
+                }
+            }
+            statement.executeInsert();
+            count++;
+
+            if (count % PROGRESS_INTERVAL == 0) {
+                Log.d(TAG, "[RESTORE] " + spec.key + " progress: " + count);
+                if (listener != null) {
+                    listener.onProgress(spec.key, count);
+                }
+            }
+        }
+        reader.endArray();
+        if (listener != null) {
+            listener.onProgress(spec.key, count);
+        }
+        return count;
+    }
+
+    /** JSON 값을 컬럼 타입에 맞춰 바인딩. null 이면 false 를 반환해 기본값으로 채운다. */
+    private boolean bindValue(JsonReader reader, SQLiteStatement statement, int position, int type) throws IOException {
+        JsonToken token = reader.peek();
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return false;
+        }
+        if (token == JsonToken.BEGIN_OBJECT || token == JsonToken.BEGIN_ARRAY) {
+            reader.skipValue();
+            return false;
+        }
+        if (token == JsonToken.BOOLEAN) {
+            boolean value = reader.nextBoolean();
+            if (type == TYPE_TEXT) {
+                statement.bindString(position, String.valueOf(value));
+            } else {
+                statement.bindLong(position, value ? 1 : 0);
+            }
+            return true;
+        }
+        switch (type) {
+            case TYPE_INTEGER:
+                statement.bindLong(position, reader.nextLong());
+                break;
+            case TYPE_REAL:
+                statement.bindDouble(position, reader.nextDouble());
+                break;
+            default:
+                statement.bindString(position, reader.nextString());
+                break;
+        }
+        return true;
+    }
+
+    private void bindDefault(SQLiteStatement statement, int position, int type) {
+        switch (type) {
+            case TYPE_INTEGER:
+                statement.bindLong(position, 0);
+                break;
+            case TYPE_REAL:
+                statement.bindDouble(position, 0.0);
+                break;
+            default:
+                statement.bindNull(position);
+                break;
+        }
+    }
+
+    private TableSpec findTable(String key) {
+        for (TableSpec spec : TABLES) {
+            if (spec.key.equals(key)) {
+                return spec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 복구 대상 테이블의 명시적 인덱스를 제거하고, 재생성용 CREATE 문을 반환
+     * (UNIQUE 제약의 자동 인덱스는 sql 이 NULL 이므로 제외된다)
+     */
+    private List<String> dropIndexes(SQLiteDatabase db) {
+        List<String> names = new ArrayList<>();
+        List<String> sqls = new ArrayList<>();
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery("SELECT name, sql FROM sqlite_master WHERE type = 'index' AND sql IS NOT NULL" +
+                    " AND tbl_name IN (?, ?, ?, ?)", new String[]{
+                    DatabaseHelper.TABLE_CORPORATE, DatabaseHelper.TABLE_EMPLOYEE,
+                    DatabaseHelper.TABLE_COUPON, DatabaseHelper.TABLE_TRANSACTION});
+            while (cursor.moveToNext()) {
+                names.add(cursor.getString(0));
+                sqls.add(cursor.getString(1));
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        for (String name : names) {
+            db.execSQL("DROP INDEX IF EXISTS " + name);
+        }
+        return sqls;
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.couponman_6;
 
 import android.content.Context;
+import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
 import android.util.Log;
@@ -11,6 +12,12 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     // 데이터베이스 정보
     private static final String DATABASE_NAME = "couponman.db";
     private static final int DATABASE_VERSION = 7;
+
+    // 연결 튜닝 값 (WAL 모드 기준)
+    private static final int CACHE_SIZE_KB = 8 * 1024;
+    private static final long MMAP_SIZE_BYTES = 32L * 1024 * 1024;
+
+    private static volatile DatabaseHelper instance;
     
     // Corporate 테이블 정보
     public static final String TABLE_CORPORATE = "corporate";
@@ -75,6 +82,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     public static final String COLUMN_DELIVERY_SUBJECT = "sbj";
     public static final String COLUMN_DELIVERY_MESSAGE = "msg";
     public static final String COLUMN_DELIVERY_METADATA = "metadata";
+    public static final String COLUMN_DELIVERY_JOB_ID = "job_id";
     public static final String COLUMN_DELIVERY_CREATED_AT = "created_at";
     public static final String COLUMN_DELIVERY_UPDATED_AT = "updated_at";
     
@@ -165,6 +173,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
             COLUMN_DELIVERY_SUBJECT + " TEXT NULL, " +
             COLUMN_DELIVERY_MESSAGE + " TEXT NULL, " +
             COLUMN_DELIVERY_METADATA + " TEXT NULL, " +
+            COLUMN_DELIVERY_JOB_ID + " TEXT NULL, " +
             COLUMN_DELIVERY_CREATED_AT + " DATETIME DEFAULT CURRENT_TIMESTAMP, " +
             COLUMN_DELIVERY_UPDATED_AT + " DATETIME DEFAULT CURRENT_TIMESTAMP, " +
             "FOREIGN KEY(" + COLUMN_DELIVERY_COUPON_ID + ") REFERENCES " + 
@@ -208,6 +217,25 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     
     private static final String CREATE_INDEX_COUPON_STATUS = 
             "CREATE INDEX idx_coupon_status ON " + TABLE_COUPON + "(" + COLUMN_COUPON_STATUS + ");";
+
+    // 쿠폰 목록 keyset 페이지네이션용 복합 인덱스 (상태+생성순은 idx_coupon_status 의 rowid 로 처리됨)
+    private static final String CREATE_INDEX_COUPON_EXPIRE =
+            "CREATE INDEX IF NOT EXISTS idx_coupon_expire ON " + TABLE_COUPON + "(" +
+            COLUMN_COUPON_EXPIRE_DATE + ", " + COLUMN_COUPON_ID + ");";
+
+    private static final String CREATE_INDEX_COUPON_STATUS_EXPIRE =
+            "CREATE INDEX IF NOT EXISTS idx_coupon_status_expire ON " + TABLE_COUPON + "(" +
+            COLUMN_COUPON_STATUS + ", " + COLUMN_COUPON_EXPIRE_DATE + ", " + COLUMN_COUPON_ID + ");";
+    
+    // 쿠폰별 발송 기록 조회(최근순)와 발송 화면의 쿠폰별 최근 상태 GROUP BY 용
+    private static final String CREATE_INDEX_DELIVERY_COUPON_CREATED =
+            "CREATE INDEX IF NOT EXISTS idx_delivery_coupon_created ON " + TABLE_COUPON_DELIVERY + "(" +
+            COLUMN_DELIVERY_COUPON_ID + ", " + COLUMN_DELIVERY_CREATED_AT + ");";
+
+    // 발송 작업 진행 상황(상태별 건수) 조회용
+    private static final String CREATE_INDEX_DELIVERY_JOB_STATUS =
+            "CREATE INDEX IF NOT EXISTS idx_delivery_job_status ON " + TABLE_COUPON_DELIVERY + "(" +
+            COLUMN_DELIVERY_JOB_ID + ", " + COLUMN_DELIVERY_STATUS + ");";
     
     // Transaction 인덱스 생성 SQL
     private static final String CREATE_INDEX_TRANSACTION_COUPON_ID = 
@@ -220,10 +248,51 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     private static final String CREATE_INDEX_SETTING_KEY = 
             "CREATE INDEX idx_setting_key ON " + TABLE_SYSTEM_SETTINGS + "(" + COLUMN_SETTING_KEY + ");";
 
-    public DatabaseHelper(Context context) {
+    /**
+     * 프로세스 전역 공유 인스턴스. 모든 DAO 가 같은 SQLiteOpenHelper/연결 풀을 사용한다.
+     */
+    public static DatabaseHelper getInstance(Context context) {
+        if (instance == null) {
+            synchronized (DatabaseHelper.class) {
+                if (instance == null) {
+                    instance = new DatabaseHelper(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private DatabaseHelper(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
     }
 
+    @Override
+    public void onConfigure(SQLiteDatabase db) {
+        super.onConfigure(db);
+        // WAL: 대시보드 조회가 스캔 중 쓰기를 막지 않도록 읽기/쓰기 동시 수행
+        db.enableWriteAheadLogging();
+        execPragma(db, "PRAGMA synchronous = NORMAL");
+        execPragma(db, "PRAGMA cache_size = -" + CACHE_SIZE_KB);
+        execPragma(db, "PRAGMA mmap_size = " + MMAP_SIZE_BYTES);
+        execPragma(db, "PRAGMA temp_store = MEMORY");
+        Log.i(TAG, "Database configured (WAL enabled)");
+    }
+
+    /** 결과 행을 반환하는 PRAGMA 도 있으므로 rawQuery 로 실행 */
+    private void execPragma(SQLiteDatabase db, String pragma) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery(pragma, null);
+            cursor.moveToFirst();
+        } catch (Exception e) {
+            Log.w(TAG, "Failed to apply " + pragma, e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+    }
+
     @Override
     public void onCreate(SQLiteDatabase db) {
         Log.i(TAG, "Creating database tables");
@@ -262,6 +331,10 @@ public class DatabaseHelper extends SQLiteOpenHelper {
             db.execSQL(CREATE_INDEX_COUPON_EMPLOYEE_ID);
             db.execSQL(CREATE_INDEX_COUPON_CODE);
             db.execSQL(CREATE_INDEX_COUPON_STATUS);
+            db.execSQL(CREATE_INDEX_COUPON_EXPIRE);
+            db.execSQL(CREATE_INDEX_COUPON_STATUS_EXPIRE);
+            db.execSQL(CREATE_INDEX_DELIVERY_COUPON_CREATED);
+            db.execSQL(CREATE_INDEX_DELIVERY_JOB_STATUS);
             db.execSQL(CREATE_INDEX_TRANSACTION_COUPON_ID);
             db.execSQL(CREATE_INDEX_TRANSACTION_DATE);
             db.execSQL(CREATE_INDEX_SETTING_KEY);
@@ -317,6 +390,7 @@ public class DatabaseHelper extends SQLiteOpenHelper {
     @Override
     public void onOpen(SQLiteDatabase db) {
         super.onOpen(db);
+        ensureIndexes(db);
         Log.i(TAG, "Database opened");
     }
     
@@ -445,6 +519,46 @@ public class DatabaseHelper extends SQLiteOpenHelper {
         }
     }
     
+    /**
+     * 버전 업그레이드(테이블 재생성) 없이 기존 DB 에도 나중에 추가된 인덱스를 만든다 (IF NOT EXISTS)
+     */
+    private void ensureIndexes(SQLiteDatabase db) {
+        if (db.isReadOnly()) {
+            return;
+        }
+        try {
+            db.execSQL(CREATE_INDEX_COUPON_EXPIRE);
+            db.execSQL(CREATE_INDEX_COUPON_STATUS_EXPIRE);
+            db.execSQL(CREATE_INDEX_DELIVERY_COUPON_CREATED);
+            ensureColumn(db, TABLE_COUPON_DELIVERY, COLUMN_DELIVERY_JOB_ID, "TEXT NULL");
+            db.execSQL(CREATE_INDEX_DELIVERY_JOB_STATUS);
+        } catch (Exception e) {
+            Log.w(TAG, "Error ensuring indexes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 이전 버전에서 만든 테이블에 컬럼이 없으면 추가 (데이터를 지우는 onUpgrade 를 피하려고 버전은 올리지 않음)
+     */
+    private void ensureColumn(SQLiteDatabase db, String table, String column, String definition) {
+        Cursor cursor = null;
+        try {
+            cursor = db.rawQuery("PRAGMA table_info(" + table + ")", null);
+            int nameIndex = cursor.getColumnIndexOrThrow("name");
+            while (cursor.moveToNext()) {
+                if (column.equals(cursor.getString(nameIndex))) {
+                    return;
+                }
+            }
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        db.execSQL("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        Log.i(TAG, "Added column " + table + "." + column);
+    }
+
     /**
      * 데이터베이스 초기화 (모든 테이블 재생성)
      */
@@ -0,0 +1,178 @@
+package com.example.couponman_6;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.TimeZone;
+
+/**
+ * PriceSettings 를 미리 해석해 둔 시간대별 차감 규칙.
+ * 시작/종료 시각은 하루 중 분(0~1439)으로 바꿔 두고, 분마다 적용 시간대를 표로 만들어서
+ * 스캔 때는 현재 분으로 표를 한 번 찾기만 한다 (SharedPreferences 읽기, 문자열 파싱, 객체 생성 없음).
+ * 가격 설정이 저장될 때만 reload 로 다시 만든다.
+ */
+public final class DeductionPolicy {
+    public static final String PREFS_NAME = "PriceSettings";
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private static volatile DeductionPolicy current;
+
+    /** 차감 시간대 하나 (시작/종료 분 포함) */
+    public static final class Period {
+        private final String name;
+        private final int startMinute;
+        private final int endMinute;
+        private final int cashAmount;
+
+        Period(String name, int startMinute, int endMinute, int cashAmount) {
+            this.name = name;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+            this.cashAmount = cashAmount;
+        }
+
+        /** "HH:mm" 시각으로 시간대 생성. 시각이 잘못되면 어느 분에도 적용되지 않는다 */
+        static Period of(String name, String startTime, String endTime, int cashAmount) {
+            return new Period(name, parseMinute(startTime), parseMinute(endTime), cashAmount);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCashAmount() {
+            return cashAmount;
+        }
+
+        boolean contains(int minuteOfDay) {
+            return startMinute >= 0 && endMinute >= 0
+                    && minuteOfDay >= startMinute && minuteOfDay <= endMinute;
+        }
+    }
+
+    private final boolean timeBasedDeduction;
+    private final boolean allowNegativeBalance;
+    private final String pointDeductionMethod;
+    private final Period defaultPeriod;
+    private final Period[] periodByMinute;
+    private final TimeZone timeZone;
+
+    /**
+     * @param periods 우선순위 순서 (앞의 시간대가 겹치는 분을 가져간다)
+     */
+    DeductionPolicy(boolean timeBasedDeduction, boolean allowNegativeBalance, String pointDeductionMethod,
+                    Period defaultPeriod, Period[] periods, TimeZone timeZone) {
+        this.timeBasedDeduction = timeBasedDeduction;
+        this.allowNegativeBalance = allowNegativeBalance;
+        this.pointDeductionMethod = pointDeductionMethod;
+        this.defaultPeriod = defaultPeriod;
+        this.timeZone = timeZone;
+        this.periodByMinute = new Period[MINUTES_PER_DAY];
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            Period applied = defaultPeriod;
+            if (timeBasedDeduction) {
+                for (Period period : periods) {
+                    if (period.contains(minute)) {
+                        applied = period;
+                        break;
+                    }
+                }
+            }
+            periodByMinute[minute] = applied;
+        }
+    }
+
+    /** 현재 규칙 (처음 한 번만 PriceSettings 에서 만든다) */
+    public static DeductionPolicy get(Context context) {
+        DeductionPolicy policy = current;
+        if (policy == null) {
+            synchronized (DeductionPolicy.class) {
+                policy = current;
+                if (policy == null) {
+                    policy = reload(context);
+                }
+            }
+        }
+        return policy;
+    }
+
+    /** 가격 설정 저장 후 호출해 규칙을 다시 만든다 */
+    public static DeductionPolicy reload(Context context) {
+        SharedPreferences prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        DeductionPolicy policy = fromPreferences(prefs);
+        current = policy;
+        AppLog.i("DeductionPolicy", "[PRICE-POLICY] 차감 규칙 갱신 - 시간대별: " + policy.timeBasedDeduction
+                + ", 기본: " + policy.defaultPeriod.cashAmount + "원");
+        return policy;
+    }
+
+    static DeductionPolicy fromPreferences(SharedPreferences prefs) {
+        Period[] periods = {
+                Period.of("아침", prefs.getString("breakfast_startTime", "07:00"),
+                        prefs.getString("breakfast_endTime", "10:59"), prefs.getInt("breakfast_cashDeduction", 3000)),
+                Period.of("점심", prefs.getString("lunch_startTime", "11:00"),
+                        prefs.getString("lunch_endTime", "14:59"), prefs.getInt("lunch_cashDeduction", 5000)),
+                Period.of("저녁", prefs.getString("dinner_startTime", "15:00"),
+                        prefs.getString("dinner_endTime", "21:59"), prefs.getInt("dinner_cashDeduction", 7000)),
+        };
+        Period defaultPeriod = new Period("기본", 0, MINUTES_PER_DAY - 1, prefs.getInt("default_cashDeduction", 4000));
+        return new DeductionPolicy(
+                prefs.getBoolean("enableTimeBasedDeduction", false),
+                prefs.getBoolean("allowNegativeBalance", false),
+                prefs.getString("pointDeductionMethod", "후순위"),
+                defaultPeriod,
+                periods,
+                TimeZone.getDefault());
+    }
+
+    /** "HH:mm" → 하루 중 분, 잘못된 값은 -1 */
+    static int parseMinute(String time) {
+        if (time == null) {
+            return -1;
+        }
+        String value = time.trim();
+        int colon = value.indexOf(':');
+        if (colon <= 0 || colon == value.length() - 1) {
+            return -1;
+        }
+        try {
+            int hour = Integer.parseInt(value.substring(0, colon));
+            int minute = Integer.parseInt(value.substring(colon + 1));
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                return -1;
+            }
+            return hour * 60 + minute;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** 지금 적용할 시간대 */
+    public Period currentPeriod() {
+        return periodAt(System.currentTimeMillis());
+    }
+
+    /** epoch 밀리초 시각에 적용할 시간대 */
+    public Period periodAt(long epochMillis) {
+        long localMillis = epochMillis + timeZone.getOffset(epochMillis);
+        int minuteOfDay = (int) Math.floorMod(localMillis / 60_000L, (long) MINUTES_PER_DAY);
+        return periodAtMinute(minuteOfDay);
+    }
+
+    Period periodAtMinute(int minuteOfDay) {
+        return periodByMinute[minuteOfDay];
+    }
+
+    public boolean isTimeBasedDeduction() {
+        return timeBasedDeduction;
+    }
+
+    public boolean isAllowNegativeBalance() {
+        return allowNegativeBalance;
+    }
+
+    public String getPointDeductionMethod() {
+        return pointDeductionMethod;
+    }
+}
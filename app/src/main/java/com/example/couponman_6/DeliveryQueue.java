@@ -0,0 +1,284 @@
+package com.example.couponman_6;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * coupon_deliveries 테이블을 작업 큐로 사용하는 쿠폰 발송 큐.
+ * HTTP 핸들러는 PENDING 행만 기록하고 바로 응답하며, 실제 발송은 채널(EMAIL/SMS/KAKAO)별
+ * 고정 크기 워커 풀이 처리한다. 큐에는 delivery_id 만 들어가고 워커가 실행 시점에 행을 다시 읽으므로
+ * 수천 건을 한 번에 넣어도 메모리와 스레드 수는 일정하다.
+ * 실패 시 retry_count / last_retry_at 을 갱신하고 지수 백오프로 재시도하며,
+ * 서버 재시작 시 남아 있는 PENDING 행을 다시 큐에 넣는다.
+ */
+public class DeliveryQueue {
+    private static final String TAG = "DeliveryQueue";
+
+    public static final int DEFAULT_THREADS_PER_CHANNEL = 2;
+    /** SMS/KAKAO 워커는 대부분 NusomeGateway 배치 결과를 기다리므로 더 많이 두어 한 배치에 모이게 한다 */
+    public static final int DEFAULT_MESSAGING_THREADS = 8;
+    /** CouponDelivery.canRetry() 와 같은 최대 재시도 횟수 */
+    public static final int MAX_RETRIES = 3;
+    public static final long BASE_RETRY_DELAY_MS = 10_000L;
+    public static final long MAX_RETRY_DELAY_MS = 5 * 60_000L;
+    private static final long KEEP_ALIVE_SECONDS = 30L;
+
+    private static final String[] CHANNELS = {
+            CouponDelivery.TYPE_EMAIL, CouponDelivery.TYPE_SMS, CouponDelivery.TYPE_KAKAO
+    };
+
+    /** 발송 1건을 실제로 처리하는 쪽 (ApiServer 구현) */
+    public interface Sender {
+        void send(CouponDelivery delivery) throws DeliveryException;
+    }
+
+    /** 발송 실패. retryable 이 false 면 재시도 없이 바로 FAILED 처리 */
+    public static class DeliveryException extends Exception {
+        private final boolean retryable;
+
+        public DeliveryException(String message, boolean retryable) {
+            super(message);
+            this.retryable = retryable;
+        }
+
+        public boolean isRetryable() {
+            return retryable;
+        }
+    }
+
+    private static final AtomicInteger JOB_SEQUENCE = new AtomicInteger();
+
+    private final CouponDeliveryDAO deliveryDAO;
+    private final Sender sender;
+    private final Map<String, ThreadPoolExecutor> channels = new LinkedHashMap<>();
+    private final ScheduledExecutorService retryScheduler;
+    /** 큐에 들어갔거나 처리 중인 delivery_id (중복 투입 방지) */
+    private final Set<Long> queued = Collections.newSetFromMap(new ConcurrentHashMap<Long, Boolean>());
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong retriedCount = new AtomicLong();
+    private volatile boolean shutdown;
+
+    public DeliveryQueue(CouponDeliveryDAO deliveryDAO, Sender sender) {
+        this(deliveryDAO, sender, DEFAULT_THREADS_PER_CHANNEL, DEFAULT_MESSAGING_THREADS);
+    }
+
+    public DeliveryQueue(CouponDeliveryDAO deliveryDAO, Sender sender, int threadsPerChannel) {
+        this(deliveryDAO, sender, threadsPerChannel, threadsPerChannel);
+    }
+
+    public DeliveryQueue(CouponDeliveryDAO deliveryDAO, Sender sender, int emailThreads, int messagingThreads) {
+        this.deliveryDAO = deliveryDAO;
+        this.sender = sender;
+        for (String channel : CHANNELS) {
+            int threads = CouponDelivery.TYPE_EMAIL.equals(channel) ? emailThreads : messagingThreads;
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threads,
+                    threads,
+                    KEEP_ALIVE_SECONDS,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(),
+                    new ChannelThreadFactory("DeliveryQueue-" + channel.toLowerCase())
+            );
+            executor.allowCoreThreadTimeOut(true);
+            channels.put(channel, executor);
+        }
+        ScheduledThreadPoolExecutor scheduler =
+                new ScheduledThreadPoolExecutor(1, new ChannelThreadFactory("DeliveryQueue-retry"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.retryScheduler = scheduler;
+    }
+
+    /** 발송 작업 ID 생성 (job_id 컬럼에 저장되어 진행 상황 조회에 사용) */
+    public static String newJobId() {
+        return "J" + Long.toString(System.currentTimeMillis(), 36)
+                + Integer.toString(JOB_SEQUENCE.incrementAndGet() & 0xffff, 36);
+    }
+
+    /** PENDING 으로 저장된 발송 기록을 해당 채널 워커 풀에 넣는다 */
+    public boolean submit(final long deliveryId, final String deliveryType) {
+        ThreadPoolExecutor executor = channels.get(deliveryType);
+        if (executor == null || shutdown) {
+            Log.w(TAG, "[DELIVERY-QUEUE] Cannot enqueue delivery " + deliveryId + " (type=" + deliveryType + ")");
+            return false;
+        }
+        if (!queued.add(deliveryId)) {
+            return true;
+        }
+        try {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    process(deliveryId);
+                }
+            });
+            enqueuedCount.incrementAndGet();
+            return true;
+        } catch (RejectedExecutionException e) {
+            queued.remove(deliveryId);
+            Log.w(TAG, "[DELIVERY-QUEUE] Rejected delivery " + deliveryId + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /** 서버 시작 시 이전 실행에서 남은 PENDING 발송을 오래된 순서로 다시 큐에 넣는다 */
+    public int recoverPending() {
+        List<CouponDelivery> pending = deliveryDAO.getDeliveriesByStatus(CouponDelivery.STATUS_PENDING);
+        List<CouponDelivery> ordered = new ArrayList<>(pending);
+        Collections.reverse(ordered);
+        int recovered = 0;
+        for (CouponDelivery delivery : ordered) {
+            if (submit(delivery.getDeliveryId(), delivery.getDeliveryType())) {
+                recovered++;
+            }
+        }
+        if (recovered > 0) {
+            Log.i(TAG, "[DELIVERY-QUEUE] Recovered " + recovered + " pending deliveries");
+        }
+        return recovered;
+    }
+
+    private void process(long deliveryId) {
+        boolean rescheduled = false;
+        try {
+            if (shutdown) {
+                return;
+            }
+            CouponDelivery delivery = deliveryDAO.getDeliveryById(deliveryId);
+            if (delivery == null || !CouponDelivery.STATUS_PENDING.equals(delivery.getDeliveryStatus())) {
+                return;
+            }
+
+            String errorMessage;
+            boolean retryable;
+            try {
+                sender.send(delivery);
+                deliveryDAO.updateDeliveryStatus(deliveryId, CouponDelivery.STATUS_SENT, null);
+                sentCount.incrementAndGet();
+                Log.i(TAG, "[DELIVERY-QUEUE] Sent delivery " + deliveryId + " (" + delivery.getDeliveryType() + ")");
+                return;
+            } catch (DeliveryException e) {
+                errorMessage = e.getMessage();
+                retryable = e.isRetryable();
+            } catch (RuntimeException e) {
+                Log.e(TAG, "[DELIVERY-QUEUE] Unexpected error for delivery " + deliveryId, e);
+                errorMessage = "발송 중 오류가 발생했습니다: " + e.getMessage();
+                retryable = true;
+            }
+
+            // 종료 중(shutdownNow 인터럽트 포함)에 실패한 재시도 가능 건은 PENDING 그대로 두어 다음 시작 시 재개.
+            // DATA 이후 실패 등 재시도 불가 건은 중복 발송을 막기 위해 종료 중에도 FAILED 로 기록한다
+            if (retryable && shutdown) {
+                Log.i(TAG, "[DELIVERY-QUEUE] Delivery " + deliveryId + " interrupted by shutdown, left PENDING: " + errorMessage);
+                return;
+            }
+
+            int retryCount = delivery.getRetryCount();
+            if (retryable && retryCount < MAX_RETRIES) {
+                deliveryDAO.recordRetry(deliveryId, errorMessage);
+                long delay = retryDelayMillis(retryCount);
+                retriedCount.incrementAndGet();
+                Log.w(TAG, "[DELIVERY-QUEUE] Delivery " + deliveryId + " failed (" + errorMessage
+                        + "), retry " + (retryCount + 1) + "/" + MAX_RETRIES + " in " + delay + "ms");
+                scheduleRetry(deliveryId, delivery.getDeliveryType(), delay);
+                rescheduled = true;
+            } else {
+                deliveryDAO.updateDeliveryStatus(deliveryId, CouponDelivery.STATUS_FAILED, errorMessage);
+                failedCount.incrementAndGet();
+                Log.w(TAG, "[DELIVERY-QUEUE] Delivery " + deliveryId + " failed permanently: " + errorMessage);
+            }
+        } finally {
+            if (!rescheduled) {
+                queued.remove(deliveryId);
+            }
+        }
+    }
+
+    private void scheduleRetry(final long deliveryId, final String deliveryType, long delayMillis) {
+        try {
+            retryScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    queued.remove(deliveryId);
+                    submit(deliveryId, deliveryType);
+                }
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중: PENDING 으로 남아 다음 시작 시 recoverPending() 에서 재개
+            queued.remove(deliveryId);
+        }
+    }
+
+    /** 재시도 지연: BASE × 2^retryCount, 최대 MAX_RETRY_DELAY_MS */
+    static long retryDelayMillis(int retryCount) {
+        int shift = Math.min(Math.max(retryCount, 0), 16);
+        return Math.min(BASE_RETRY_DELAY_MS << shift, MAX_RETRY_DELAY_MS);
+    }
+
+    /** 채널별 대기/처리 중 건수와 누적 성공/실패/재시도 건수 */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        Map<String, Object> channelMetrics = new LinkedHashMap<>();
+        for (Map.Entry<String, ThreadPoolExecutor> entry : channels.entrySet()) {
+            ThreadPoolExecutor executor = entry.getValue();
+            Map<String, Object> m = new HashMap<>();
+            m.put("activeThreads", executor.getActiveCount());
+            m.put("maxThreads", executor.getMaximumPoolSize());
+            m.put("queueDepth", executor.getQueue().size());
+            m.put("completed", executor.getCompletedTaskCount());
+            channelMetrics.put(entry.getKey().toLowerCase(), m);
+        }
+        metrics.put("channels", channelMetrics);
+        metrics.put("inQueue", queued.size());
+        metrics.put("enqueued", enqueuedCount.get());
+        metrics.put("sent", sentCount.get());
+        metrics.put("failed", failedCount.get());
+        metrics.put("retried", retriedCount.get());
+        return metrics;
+    }
+
+    /** 서버 종료 시 호출. 처리되지 않은 행은 PENDING 으로 남아 다음 시작 시 재개된다 */
+    public void shutdown() {
+        shutdown = true;
+        retryScheduler.shutdownNow();
+        for (ThreadPoolExecutor executor : channels.values()) {
+            executor.shutdownNow();
+        }
+        queued.clear();
+    }
+
+    private static class ChannelThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        ChannelThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
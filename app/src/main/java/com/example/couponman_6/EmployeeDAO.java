@@ -5,7 +5,6 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
-import android.util.Log;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,9 +14,10 @@ public class EmployeeDAO {
 
     private final DatabaseHelper dbHelper;
     private SQLiteDatabase database;
+    private final CouponLookupCache lookupCache = CouponLookupCache.getInstance();
 
     public EmployeeDAO(Context context) {
-        dbHelper = new DatabaseHelper(context);
+        dbHelper = DatabaseHelper.getInstance(context);
     }
 
     public void open() {
@@ -26,13 +26,12 @@ public class EmployeeDAO {
     }
 
     public void close() {
-        // no-op: SQLiteOpenHelper 연결 유지. shutdown()으로만 실제 닫기.
+        // no-op: 공유 DatabaseHelper 연결 유지. shutdown()으로 참조만 해제.
     }
 
     public void shutdown() {
-        if (database != null && database.isOpen()) {
-            database.close();
-        }
+        // 공유 연결은 다른 DAO/화면이 계속 사용하므로 닫지 않고 참조만 해제
+        database = null;
     }
 
     public long insertEmployee(Employee employee) {
@@ -46,20 +45,24 @@ public class EmployeeDAO {
         if (!employee.isValidForSave()) {
             return 0;
         }
-        return database.update(
+        int rowsAffected = database.update(
                 DatabaseHelper.TABLE_EMPLOYEE,
                 toValues(employee),
                 DatabaseHelper.COLUMN_EMPLOYEE_ID + " = ?",
                 new String[]{String.valueOf(employee.getEmployeeId())}
         );
+        lookupCache.invalidateEmployee(employee.getEmployeeId());
+        return rowsAffected;
     }
 
     public int deleteEmployee(int employeeId) {
-        return database.delete(
+        int rowsAffected = database.delete(
                 DatabaseHelper.TABLE_EMPLOYEE,
                 DatabaseHelper.COLUMN_EMPLOYEE_ID + " = ?",
                 new String[]{String.valueOf(employeeId)}
         );
+        lookupCache.invalidateEmployee(employeeId);
+        return rowsAffected;
     }
 
     public Employee getEmployeeById(int employeeId) {
@@ -152,7 +155,7 @@ public class EmployeeDAO {
                 return cursorToEmployee(cursor);
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error querying single employee", e);
+            AppLog.e(TAG, "Error querying single employee", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -180,7 +183,7 @@ public class EmployeeDAO {
                 } while (cursor.moveToNext());
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error querying employees", e);
+            AppLog.e(TAG, "Error querying employees", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -4,31 +4,108 @@ import android.content.ContentResolver;
 import android.content.Context;
 import android.net.Uri;
 
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
 import org.apache.poi.ss.usermodel.DataFormatter;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.eventusermodel.XSSFSheetXMLHandler;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.xml.sax.InputSource;
+import org.xml.sax.XMLReader;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
+/**
+ * 직원 명단 파일(XLSX/XLS/CSV)을 CouponTargetDraft 로 읽는다.
+ * XLSX 는 POI 이벤트(SAX) API 로 시트 XML 을 행 단위로 흘려 읽고, CSV 는 따옴표를 지원하는
+ * 스트리밍 파서로 읽어서 파일 크기와 관계없이 한 행 분량의 메모리만 쓴다.
+ * 구형 XLS(OLE2)는 최대 65,536행이라 HSSF 워크북으로 읽는다 (파일 형식은 확장자가 아닌 헤더로 판별).
+ * 첫 행은 머리글로 보고 건너뛰며, 첫 번째 열은 이름, 두 번째 열은 사번이다.
+ */
 public class ExcelEmployeeImporter {
+    /** CSV 레코드 하나의 최대 길이 (닫히지 않은 따옴표가 파일 전체를 삼키지 않도록) */
+    static final int MAX_CSV_RECORD_CHARS = 64 * 1024;
+    private static final int COPY_BUFFER_SIZE = 8 * 1024;
+
+    /** 읽은 대상을 한 건씩 받는 쪽 */
+    public interface DraftSink {
+        void accept(CouponTargetDraft draft) throws Exception;
+    }
+
     public static List<CouponTargetDraft> importFile(Context context, Uri uri) throws Exception {
+        List<CouponTargetDraft> drafts = new ArrayList<>();
+        importFile(context, uri, drafts::add);
+        return drafts;
+    }
+
+    /**
+     * 유효한 대상을 읽는 즉시 sink 로 넘긴다
+     *
+     * @return 넘긴 대상 수
+     */
+    public static int importFile(Context context, Uri uri, DraftSink sink) throws Exception {
         String lower = uri.toString().toLowerCase();
+        ContentResolver resolver = context.getContentResolver();
         if (lower.endsWith(".csv") || lower.endsWith(".txt")) {
-            return importCsv(context.getContentResolver(), uri);
+            try (InputStream inputStream = resolver.openInputStream(uri)) {
+                return importCsv(new InputStreamReader(inputStream, StandardCharsets.UTF_8), sink);
+            }
+        }
+
+        // OPCPackage 는 InputStream 으로 열면 zip 전체를 메모리에 풀기 때문에 임시 파일로 복사 후 연다
+        File tempFile = File.createTempFile("employee_import", ".tmp", context.getCacheDir());
+        try {
+            try (InputStream inputStream = resolver.openInputStream(uri);
+                 OutputStream outputStream = new FileOutputStream(tempFile)) {
+                byte[] buffer = new byte[COPY_BUFFER_SIZE];
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    outputStream.write(buffer, 0, read);
+                }
+            }
+            return importWorkbook(tempFile, sink);
+        } finally {
+            tempFile.delete();
         }
-        return importWorkbook(context.getContentResolver(), uri);
     }
 
-    private static List<CouponTargetDraft> importWorkbook(ContentResolver resolver, Uri uri) throws Exception {
-        List<CouponTargetDraft> drafts = new ArrayList<>();
-        try (InputStream inputStream = resolver.openInputStream(uri);
-             Workbook workbook = WorkbookFactory.create(inputStream)) {
+    /** 파일 헤더로 XLSX(OOXML)/XLS(OLE2)를 구분해 첫 번째 시트를 읽는다 */
+    static int importWorkbook(File file, DraftSink sink) throws Exception {
+        FileMagic magic = FileMagic.valueOf(file);
+        if (magic == FileMagic.OOXML) {
+            return importXlsx(file, sink);
+        }
+        if (magic == FileMagic.OLE2) {
+            return importXls(file, sink);
+        }
+        throw new IllegalArgumentException("지원하지 않는 파일 형식입니다 (XLSX, XLS, CSV 만 가능): " + magic);
+    }
+
+    /** 구형 XLS: 읽기 전용 HSSF 워크북으로 첫 번째 시트를 읽는다 */
+    private static int importXls(File file, DraftSink sink) throws Exception {
+        int emitted = 0;
+        try (Workbook workbook = WorkbookFactory.create(file, null, true)) {
             DataFormatter formatter = new DataFormatter();
             Sheet sheet = workbook.getSheetAt(0);
             boolean firstRow = true;
@@ -37,36 +114,62 @@ public class ExcelEmployeeImporter {
                     firstRow = false;
                     continue;
                 }
-                drafts.add(toDraft(
+                CouponTargetDraft draft = toDraft(
                         formatter.formatCellValue(row.getCell(0, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK)),
                         formatter.formatCellValue(row.getCell(1, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK))
-                ));
+                );
+                if (draft.isValid()) {
+                    sink.accept(draft);
+                    emitted++;
+                }
             }
         }
-        drafts.removeIf(item -> !item.isValid());
-        return drafts;
+        return emitted;
     }
 
-    private static List<CouponTargetDraft> importCsv(ContentResolver resolver, Uri uri) throws Exception {
-        List<CouponTargetDraft> drafts = new ArrayList<>();
-        try (InputStream inputStream = resolver.openInputStream(uri);
-             BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            boolean firstRow = true;
-            while ((line = reader.readLine()) != null) {
-                if (firstRow) {
-                    firstRow = false;
-                    continue;
-                }
-                String[] parts = line.split(",", -1);
-                drafts.add(toDraft(
-                        parts.length > 0 ? parts[0] : "",
-                        parts.length > 1 ? parts[1] : ""
-                ));
+    /** XLSX: 첫 번째 시트를 SAX 로 읽는다 (공유 문자열 외에는 행 단위로만 메모리 사용) */
+    private static int importXlsx(File file, DraftSink sink) throws Exception {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable strings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return 0;
             }
+
+            RowCollector collector = new RowCollector(sink);
+            XMLReader parser = XMLHelper.newXMLReader();
+            parser.setContentHandler(new XSSFSheetXMLHandler(styles, null, strings, collector, new DataFormatter(), false));
+            try (InputStream sheet = new BufferedInputStream(sheets.next())) {
+                parser.parse(new InputSource(sheet));
+            } catch (SinkException e) {
+                throw e.error;
+            }
+            return collector.emitted;
         }
-        drafts.removeIf(item -> !item.isValid());
-        return drafts;
+    }
+
+    static int importCsv(Reader source, DraftSink sink) throws Exception {
+        CsvReader reader = new CsvReader(new BufferedReader(source));
+        List<String> fields = new ArrayList<>();
+        int emitted = 0;
+        boolean firstRow = true;
+        while (reader.readRecord(fields)) {
+            if (firstRow) {
+                firstRow = false;
+                continue;
+            }
+            CouponTargetDraft draft = toDraft(
+                    fields.size() > 0 ? fields.get(0) : "",
+                    fields.size() > 1 ? fields.get(1) : ""
+            );
+            if (draft.isValid()) {
+                sink.accept(draft);
+                emitted++;
+            }
+        }
+        return emitted;
     }
 
     private static CouponTargetDraft toDraft(String name, String employeeCode) {
@@ -76,4 +179,147 @@ public class ExcelEmployeeImporter {
         draft.setSelected(true);
         return draft;
     }
+
+    /** 시트 행 이벤트에서 앞 두 열만 모아 대상으로 만든다 */
+    private static class RowCollector implements XSSFSheetXMLHandler.SheetContentsHandler {
+        private final DraftSink sink;
+        private boolean headerSkipped;
+        private int nextColumn;
+        private String name;
+        private String employeeCode;
+        int emitted;
+
+        RowCollector(DraftSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void startRow(int rowNum) {
+            nextColumn = 0;
+            name = "";
+            employeeCode = "";
+        }
+
+        @Override
+        public void endRow(int rowNum) {
+            if (!headerSkipped) {
+                headerSkipped = true;
+                return;
+            }
+            CouponTargetDraft draft = toDraft(name, employeeCode);
+            if (!draft.isValid()) {
+                return;
+            }
+            try {
+                sink.accept(draft);
+                emitted++;
+            } catch (Exception e) {
+                throw new SinkException(e);
+            }
+        }
+
+        @Override
+        public void cell(String cellReference, String formattedValue, XSSFComment comment) {
+            int column = cellReference != null ? new CellReference(cellReference).getCol() : nextColumn;
+            nextColumn = column + 1;
+            if (column == 0) {
+                name = formattedValue;
+            } else if (column == 1) {
+                employeeCode = formattedValue;
+            }
+        }
+    }
+
+    /** SAX 콜백 밖으로 sink 예외를 그대로 전달하기 위한 래퍼 */
+    private static class SinkException extends RuntimeException {
+        final Exception error;
+
+        SinkException(Exception error) {
+            super(error);
+            this.error = error;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV 레코드 리더. 따옴표 안의 쉼표/줄바꿈과 "" 이스케이프를 처리하고
+     * CRLF/LF/CR 줄끝과 UTF-8 BOM 을 받아들인다.
+     */
+    static class CsvReader {
+        private final Reader reader;
+        private final StringBuilder field = new StringBuilder();
+        private int pushback = -2;
+        private boolean started;
+
+        CsvReader(Reader reader) {
+            this.reader = reader;
+        }
+
+        private int read() throws IOException {
+            if (pushback != -2) {
+                int c = pushback;
+                pushback = -2;
+                return c;
+            }
+            return reader.read();
+        }
+
+        /** 다음 레코드를 fields 에 채운다. 파일 끝이면 false */
+        boolean readRecord(List<String> fields) throws IOException {
+            fields.clear();
+            field.setLength(0);
+            int c = read();
+            if (!started) {
+                started = true;
+                if (c == '\uFEFF') {
+                    c = read();
+                }
+            }
+            if (c == -1) {
+                return false;
+            }
+
+            int recordChars = 0;
+            boolean quoted = false;
+            while (true) {
+                if (++recordChars > MAX_CSV_RECORD_CHARS) {
+                    throw new IOException("CSV 레코드가 너무 깁니다 (닫히지 않은 따옴표 확인): "
+                            + MAX_CSV_RECORD_CHARS + "자 초과");
+                }
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IOException("CSV 따옴표가 닫히지 않았습니다");
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        int next = read();
+                        if (next != '\n') {
+                            pushback = next;
+                        }
+                    }
+                    fields.add(field.toString());
+                    return true;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+    }
 }
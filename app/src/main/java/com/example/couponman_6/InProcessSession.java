@@ -0,0 +1,157 @@
+package com.example.couponman_6;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Method;
+
+/**
+ * 소켓 없이 ApiServer.serve() 에 넘기는 요청.
+ * WebSocket 중계로 들어온 API 호출을 HTTP 루프백 대신 같은 프로세스 안에서 처리할 때 쓴다.
+ * 핸들러가 읽는 범위(헤더, 쿼리 파라미터, content-length 본문, parseBody 의 postData)만 채운다.
+ */
+class InProcessSession implements IHTTPSession {
+    static final String REMOTE_ADDRESS = "relay";
+
+    private final Method method;
+    private final String uri;
+    private final String queryString;
+    private final Map<String, String> headers = new HashMap<>();
+    private final Map<String, List<String>> parameters = new HashMap<>();
+    private final byte[] body;
+    private final InputStream input;
+
+    /**
+     * @param method   HTTP 메소드
+     * @param endpoint 경로 (쿼리 문자열 포함 가능)
+     * @param body     JSON 본문, 없으면 null
+     * @param token    Bearer 토큰, 없으면 null
+     */
+    InProcessSession(Method method, String endpoint, String body, String token) {
+        this.method = method;
+        int query = endpoint.indexOf('?');
+        this.uri = query >= 0 ? endpoint.substring(0, query) : endpoint;
+        this.queryString = query >= 0 ? endpoint.substring(query + 1) : null;
+        this.body = body != null ? body.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        this.input = new ByteArrayInputStream(this.body);
+
+        // NanoHTTPD 와 같이 헤더 이름은 소문자
+        headers.put("remote-addr", REMOTE_ADDRESS);
+        headers.put("http-client-ip", REMOTE_ADDRESS);
+        headers.put("accept", "application/json");
+        if (token != null && !token.isEmpty()) {
+            headers.put("authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            headers.put("content-type", "application/json; charset=utf-8");
+            headers.put("content-length", String.valueOf(this.body.length));
+        }
+        parseQuery(queryString);
+    }
+
+    private void parseQuery(String query) {
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String key = decode(eq >= 0 ? pair.substring(0, eq) : pair).trim();
+            String value = eq >= 0 ? decode(pair.substring(eq + 1)) : "";
+            List<String> values = parameters.get(key);
+            if (values == null) {
+                values = new ArrayList<>();
+                parameters.put(key, values);
+            }
+            values.add(value);
+        }
+    }
+
+    private static String decode(String text) {
+        try {
+            return URLDecoder.decode(text, "UTF-8");
+        } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+            return text;
+        }
+    }
+
+    @Override
+    public void execute() {
+        throw new UnsupportedOperationException("in-process session has no connection");
+    }
+
+    /** 중계 요청에는 쿠키가 없다 */
+    @Override
+    public NanoHTTPD.CookieHandler getCookies() {
+        return null;
+    }
+
+    @Override
+    public Map<String, String> getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public InputStream getInputStream() {
+        return input;
+    }
+
+    @Override
+    public Method getMethod() {
+        return method;
+    }
+
+    @Override
+    public Map<String, String> getParms() {
+        Map<String, String> parms = new HashMap<>();
+        for (Map.Entry<String, List<String>> entry : parameters.entrySet()) {
+            parms.put(entry.getKey(), entry.getValue().get(0));
+        }
+        return parms;
+    }
+
+    @Override
+    public Map<String, List<String>> getParameters() {
+        return Collections.unmodifiableMap(parameters);
+    }
+
+    @Override
+    public String getQueryParameterString() {
+        return queryString;
+    }
+
+    @Override
+    public String getUri() {
+        return uri;
+    }
+
+    /** JSON 본문을 NanoHTTPD 처럼 "postData" 로 넘긴다 (PUT 도 임시 파일 대신 postData) */
+    @Override
+    public void parseBody(Map<String, String> files) {
+        if (body.length > 0 && (Method.POST.equals(method) || Method.PUT.equals(method))) {
+            files.put("postData", new String(body, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public String getRemoteIpAddress() {
+        return REMOTE_ADDRESS;
+    }
+
+    @Override
+    public String getRemoteHostName() {
+        return REMOTE_ADDRESS;
+    }
+}
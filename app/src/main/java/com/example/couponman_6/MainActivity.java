@@ -30,6 +30,7 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        AppLog.configure(this);
         ScreenOrientationHelper.applyOrientation(this);
         setContentView(R.layout.activity_main);
 
@@ -0,0 +1,384 @@
+package com.example.couponman_6;
+
+import android.util.Log;
+
+import com.google.gson.Gson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * 누썸 SMS/카카오톡 API 게이트웨이.
+ * 프로세스 전체에서 OkHttpClient 하나를 공유해 커넥션 풀/TLS 세션/디스패처를 재사용하고
+ * (서버가 지원하면 HTTP/2 로 한 연결에 다중화), 대량 발송 시에는 배치 윈도우 동안 들어온
+ * 요청을 모아 한 번에 내보낸다. 다건 API 주소(batchApiUrl)가 설정되면 묶음을 요청 1건으로 보내고,
+ * 서버가 404/405 로 응답하면 묶음 안의 요청을 공유 연결 위로 동시에 보낸다.
+ * 다건 API 주소가 없으면 모아 봐야 건별로 나가므로 배치 윈도우 없이 바로 보낸다.
+ */
+public class NusomeGateway {
+    private static final String TAG = "NusomeGateway";
+
+    public static final String DEFAULT_API_URL = "https://www.nusome.co.kr/api/request_qr_sms";
+    public static final long DEFAULT_BATCH_WINDOW_MS = 200L;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 20;
+    private static final int TIMEOUT_SECONDS = 30;
+    private static final int MAX_REQUESTS_PER_HOST = 16;
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+
+    private static volatile OkHttpClient sharedClient;
+
+    /** 누썸 API 응답 1건 */
+    public static class Result {
+        private final boolean success;
+        private final String message;
+        private final String requestId;
+
+        Result(boolean success, String message, String requestId) {
+            this.success = success;
+            this.message = message;
+            this.requestId = requestId;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String getRequestId() {
+            return requestId;
+        }
+    }
+
+    /** 배치 윈도우를 기다리는 요청 1건 */
+    private static class Pending {
+        final Map<String, Object> request;
+        final CompletableFuture<Result> future = new CompletableFuture<>();
+
+        Pending(Map<String, Object> request) {
+            this.request = request;
+        }
+    }
+
+    private final OkHttpClient client;
+    private final Gson gson;
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+
+    private volatile String apiUrl = DEFAULT_API_URL;
+    private volatile String batchApiUrl = "";
+    private volatile long batchWindowMs = 0L;
+    private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+    private volatile boolean shutdown;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong gatewayCalls = new AtomicLong();
+    private final AtomicLong batchCalls = new AtomicLong();
+    private final AtomicLong batchedRequests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public NusomeGateway() {
+        this(sharedClient(), new Gson());
+    }
+
+    public NusomeGateway(OkHttpClient client, Gson gson) {
+        this.client = client;
+        this.gson = gson;
+        this.dispatcher = new Thread(this::dispatchLoop, "NusomeGateway-batcher");
+        this.dispatcher.setDaemon(true);
+        this.dispatcher.start();
+    }
+
+    /**
+     * 모든 누썸 호출이 공유하는 OkHttpClient (keep-alive 커넥션 풀, HTTP/2 우선).
+     * 발송 POST 는 요청이 서버에 닿은 뒤 끊겨도 재시도되면 문자가 중복 발송되므로 연결 실패 자동 재시도를 끈다.
+     * 재시도는 DeliveryQueue 가 발송 이력 상태를 보고 판단한다.
+     */
+    public static OkHttpClient sharedClient() {
+        OkHttpClient client = sharedClient;
+        if (client == null) {
+            synchronized (NusomeGateway.class) {
+                client = sharedClient;
+                if (client == null) {
+                    Dispatcher dispatcher = new Dispatcher();
+                    dispatcher.setMaxRequestsPerHost(MAX_REQUESTS_PER_HOST);
+                    client = new OkHttpClient.Builder()
+                            .connectionPool(new ConnectionPool(5, 5, TimeUnit.MINUTES))
+                            .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                            .dispatcher(dispatcher)
+                            .connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                            .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                            .writeTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                            .retryOnConnectionFailure(false)
+                            .build();
+                    sharedClient = client;
+                }
+            }
+        }
+        return client;
+    }
+
+    /**
+     * 발송 설정 반영 (SmsSettings 의 api_url / batch_api_url / batch_window_ms / batch_max_size).
+     * batchWindowMs 가 0 이하이거나 다건 API 주소가 비어 있으면 배치 없이 호출 스레드에서 바로 보낸다.
+     */
+    public void configure(String apiUrl, String batchApiUrl, long batchWindowMs, int maxBatchSize) {
+        this.apiUrl = apiUrl != null && !apiUrl.trim().isEmpty() ? apiUrl.trim() : DEFAULT_API_URL;
+        this.batchApiUrl = batchApiUrl != null ? batchApiUrl.trim() : "";
+        this.batchWindowMs = this.batchApiUrl.isEmpty() ? 0L : Math.max(0L, batchWindowMs);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    /** 배치 윈도우를 거쳐 발송하고 결과를 기다린다 (DeliveryQueue 워커에서 호출) */
+    public Result send(Map<String, Object> request) {
+        if (batchWindowMs <= 0 || shutdown) {
+            return sendNow(request);
+        }
+        requests.incrementAndGet();
+        Pending pending = new Pending(request);
+        queue.add(pending);
+        Result result;
+        try {
+            result = pending.future.get(batchWindowMs + 2L * TIMEOUT_SECONDS * 1000L, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result = failed("발송 대기 중 중단되었습니다");
+        } catch (ExecutionException | TimeoutException e) {
+            result = failed("누썸 API 응답 대기 실패: " + e.getMessage());
+        }
+        return record(result);
+    }
+
+    /** 배치 없이 즉시 1건 발송 (연결 테스트 등) */
+    public Result sendNow(Map<String, Object> request) {
+        requests.incrementAndGet();
+        return record(execute(request));
+    }
+
+    private Result execute(Map<String, Object> request) {
+        gatewayCalls.incrementAndGet();
+        try (Response response = client.newCall(buildRequest(apiUrl, request)).execute()) {
+            return toResult(response);
+        } catch (IOException e) {
+            Log.e(TAG, "[NUSOME-HTTP] HTTP 요청 중 예외", e);
+            return failed("누썸 API 요청 실패: " + e.getMessage());
+        }
+    }
+
+    private void dispatchLoop() {
+        while (!shutdown) {
+            List<Pending> batch = new ArrayList<>();
+            try {
+                batch.add(queue.take());
+                long deadline = System.currentTimeMillis() + batchWindowMs;
+                while (batch.size() < maxBatchSize) {
+                    long wait = deadline - System.currentTimeMillis();
+                    Pending next = wait > 0 ? queue.poll(wait, TimeUnit.MILLISECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                completeAll(batch, failed("게이트웨이가 종료되었습니다"));
+                return;
+            }
+            String batchUrl = batchApiUrl;
+            if (batch.size() > 1 && !batchUrl.isEmpty()) {
+                dispatchBatch(batchUrl, batch);
+            } else {
+                dispatchEach(batch);
+            }
+        }
+    }
+
+    /** 묶음 전체를 다건 API 에 요청 1건으로 보낸다: {"requests":[...]} → {"results":[...]} */
+    private void dispatchBatch(String batchUrl, final List<Pending> batch) {
+        List<Map<String, Object>> items = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            items.add(pending.request);
+        }
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("requests", items);
+
+        gatewayCalls.incrementAndGet();
+        batchCalls.incrementAndGet();
+        Log.d(TAG, "[NUSOME-HTTP] 다건 요청 " + batch.size() + "건 → " + batchUrl);
+        client.newCall(buildRequest(batchUrl, payload)).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                Log.e(TAG, "[NUSOME-HTTP] 다건 요청 실패", e);
+                completeAll(batch, failed("누썸 API 요청 실패: " + e.getMessage()));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                try (Response r = response) {
+                    if (r.code() == 404 || r.code() == 405) {
+                        Log.w(TAG, "[NUSOME-HTTP] 다건 API 미지원 (" + r.code() + "), 건별 발송으로 전환");
+                        dispatchEach(batch);
+                        return;
+                    }
+                    completeBatch(batch, r);
+                } catch (IOException | RuntimeException e) {
+                    Log.e(TAG, "[NUSOME-HTTP] 다건 응답 처리 실패", e);
+                    completeAll(batch, failed("누썸 API 응답 처리 실패: " + e.getMessage()));
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private void completeBatch(List<Pending> batch, Response response) throws IOException {
+        String body = readBody(response);
+        if (!response.isSuccessful()) {
+            Log.e(TAG, "[NUSOME-HTTP] 다건 요청 실패 - 코드: " + response.code() + ", 응답: " + body);
+            completeAll(batch, failed("누썸 API HTTP " + response.code()));
+            return;
+        }
+        Map<String, Object> data = gson.fromJson(body, Map.class);
+        Object results = data != null ? data.get("results") : null;
+        if (!(results instanceof List) || ((List<Object>) results).size() != batch.size()) {
+            Log.e(TAG, "[NUSOME-HTTP] 다건 응답 형식 오류: " + body);
+            completeAll(batch, failed("누썸 다건 API 응답 형식이 올바르지 않습니다"));
+            return;
+        }
+        List<Object> list = (List<Object>) results;
+        batchedRequests.addAndGet(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Object item = list.get(i);
+            Result result = item instanceof Map ? parseResult((Map<String, Object>) item) : failed("응답 항목 없음");
+            complete(batch.get(i), result);
+        }
+    }
+
+    /** 묶음 안의 요청을 공유 클라이언트로 동시에 보낸다 (연결은 풀에서 재사용) */
+    private void dispatchEach(List<Pending> batch) {
+        String url = apiUrl;
+        for (final Pending pending : batch) {
+            gatewayCalls.incrementAndGet();
+            client.newCall(buildRequest(url, pending.request)).enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    Log.e(TAG, "[NUSOME-HTTP] HTTP 요청 중 예외", e);
+                    complete(pending, failed("누썸 API 요청 실패: " + e.getMessage()));
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    try (Response r = response) {
+                        complete(pending, toResult(r));
+                    } catch (IOException | RuntimeException e) {
+                        complete(pending, failed("누썸 API 응답 처리 실패: " + e.getMessage()));
+                    }
+                }
+            });
+        }
+    }
+
+    private Request buildRequest(String url, Object payload) {
+        return new Request.Builder()
+                .url(url)
+                .post(RequestBody.create(gson.toJson(payload), JSON))
+                .addHeader("User-Agent", "CouponMan/1.0")
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result toResult(Response response) throws IOException {
+        String body = readBody(response);
+        Log.d(TAG, "[NUSOME-HTTP] 응답 코드: " + response.code() + " (" + response.protocol() + ")");
+        if (!response.isSuccessful()) {
+            Log.e(TAG, "[NUSOME-HTTP] HTTP 요청 실패 - 코드: " + response.code() + ", 응답: " + body);
+            return failed("누썸 API HTTP " + response.code());
+        }
+        Map<String, Object> data = gson.fromJson(body, Map.class);
+        return data != null ? parseResult(data) : failed("누썸 API 응답이 비어 있습니다");
+    }
+
+    private Result parseResult(Map<String, Object> data) {
+        boolean success = Boolean.TRUE.equals(data.get("success"));
+        Object message = data.get("message");
+        Object requestId = data.get("request_id");
+        Log.i(TAG, "[NUSOME-HTTP] 누썸 API 응답 - 성공: " + success + ", 메시지: " + message + ", 요청ID: " + requestId);
+        return new Result(success, message != null ? message.toString() : null,
+                requestId != null ? requestId.toString() : null);
+    }
+
+    private static String readBody(Response response) throws IOException {
+        ResponseBody body = response.body();
+        return body != null ? body.string() : "";
+    }
+
+    private static Result failed(String message) {
+        return new Result(false, message, null);
+    }
+
+    private Result record(Result result) {
+        if (!result.isSuccess()) {
+            failures.incrementAndGet();
+        }
+        return result;
+    }
+
+    private static void complete(Pending pending, Result result) {
+        pending.future.complete(result);
+    }
+
+    private static void completeAll(List<Pending> batch, Result result) {
+        for (Pending pending : batch) {
+            pending.future.complete(result);
+        }
+    }
+
+    /** 요청/게이트웨이 호출/다건 호출 수와 커넥션 풀 상태 */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("requests", requests.get());
+        metrics.put("gatewayCalls", gatewayCalls.get());
+        metrics.put("batchCalls", batchCalls.get());
+        metrics.put("batchedRequests", batchedRequests.get());
+        metrics.put("failures", failures.get());
+        metrics.put("waiting", queue.size());
+        metrics.put("batchWindowMs", batchWindowMs);
+        metrics.put("maxBatchSize", maxBatchSize);
+        metrics.put("batchApi", !batchApiUrl.isEmpty());
+        metrics.put("connections", client.connectionPool().connectionCount());
+        metrics.put("idleConnections", client.connectionPool().idleConnectionCount());
+        return metrics;
+    }
+
+    /** 서버 종료 시 호출. 대기 중인 요청은 실패로 완료되고 유휴 연결을 닫는다 */
+    public void shutdown() {
+        shutdown = true;
+        dispatcher.interrupt();
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        completeAll(remaining, failed("게이트웨이가 종료되었습니다"));
+        client.connectionPool().evictAll();
+    }
+}
@@ -1,50 +1,92 @@
 package com.example.couponman_6;
 
-import android.content.Context;
-import android.graphics.Bitmap;
-import android.graphics.Canvas;
-import android.graphics.Color;
-import android.graphics.Paint;
 import android.util.Log;
 
 import com.google.zxing.BarcodeFormat;
 import com.google.zxing.EncodeHintType;
 import com.google.zxing.WriterException;
+import com.google.zxing.common.BitArray;
 import com.google.zxing.common.BitMatrix;
 import com.google.zxing.qrcode.QRCodeWriter;
 
-import java.io.File;
-import java.io.FileOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 
+/**
+ * 쿠폰 코드 QR 이미지 생성기.
+ * BitMatrix 의 행 비트(int[])를 그대로 1비트 흑백 PNG 로 묶어 메모리에서 바이트를 만들고,
+ * 쿠폰 코드(= QR 내용) 를 키로 하는 LRU 캐시에 보관한다. 이메일 첨부와 대시보드 QR 조회가
+ * 같은 캐시를 쓰므로 재발송/대량 발송 때 다시 인코딩하거나 파일을 만들지 않는다.
+ */
 public class QRCodeGenerator {
     private static final String TAG = "QRCodeGenerator";
-    
+
     // QR 코드 설정
     private static final int QR_SIZE = 250; // 250x250 픽셀
-    private static final int QR_COLOR_BLACK = Color.BLACK;
-    private static final int QR_COLOR_WHITE = Color.WHITE;
-    private static final Bitmap.CompressFormat IMAGE_FORMAT = Bitmap.CompressFormat.JPEG;
-    private static final int JPEG_QUALITY = 90;
+    public static final String CONTENT_TYPE = "image/png";
+    /** 250px 1비트 PNG 는 1~2KB 이므로 최대 약 1MB */
+    public static final int DEFAULT_CACHE_ENTRIES = 512;
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    private static final LinkedHashMap<String, byte[]> cache =
+            new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    if (size() > DEFAULT_CACHE_ENTRIES) {
+                        evictionCount++;
+                        return true;
+                    }
+                    return false;
+                }
+            };
+    private static long hitCount;
+    private static long missCount;
+    private static long evictionCount;
 
     /**
-     * 쿠폰 코드를 QR 코드 이미지로 생성
+     * 쿠폰 코드의 QR PNG 바이트 (캐시 우선)
      *
-     * @param context      컨텍스트
-     * @param couponCode   쿠폰 코드
-     * @param fileName     저장할 파일명 (확장자 제외)
-     * @return 생성된 이미지 파일 객체, 실패 시 null
+     * @param couponCode 쿠폰 코드
+     * @return PNG 바이트, 실패 시 null. 캐시와 공유되므로 수정하지 말 것
      */
-    public static File generateQRCodeImage(Context context, String couponCode, String fileName) {
-        Log.i(TAG, "[QR-GEN] QR 코드 생성 시작 - 쿠폰코드: " + couponCode + ", 파일명: " + fileName);
-        
+    public static byte[] getQRCodePng(String couponCode) {
         if (couponCode == null || couponCode.trim().isEmpty()) {
             Log.e(TAG, "[QR-GEN] 쿠폰 코드가 비어있음");
             return null;
         }
 
+        synchronized (cache) {
+            byte[] cached = cache.get(couponCode);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            missCount++;
+        }
+
+        byte[] png = generateQRCodePng(couponCode);
+        if (png != null) {
+            synchronized (cache) {
+                cache.put(couponCode, png);
+            }
+        }
+        return png;
+    }
+
+    /**
+     * 쿠폰 코드를 QR PNG 로 인코딩 (캐시 없이)
+     */
+    static byte[] generateQRCodePng(String couponCode) {
         try {
             // QR 코드 생성 설정
             Map<EncodeHintType, Object> hints = new HashMap<>();
@@ -54,31 +96,11 @@ public class QRCodeGenerator {
             // QR 코드 매트릭스 생성
             QRCodeWriter qrCodeWriter = new QRCodeWriter();
             BitMatrix bitMatrix = qrCodeWriter.encode(couponCode, BarcodeFormat.QR_CODE, QR_SIZE, QR_SIZE, hints);
-            
-            Log.i(TAG, "[QR-GEN] QR 코드 매트릭스 생성 완료 - 크기: " + QR_SIZE + "x" + QR_SIZE);
-
-            // 비트맵 생성
-            Bitmap bitmap = createBitmapFromMatrix(bitMatrix);
-            
-            if (bitmap == null) {
-                Log.e(TAG, "[QR-GEN] 비트맵 생성 실패");
-                return null;
-            }
 
-            // 파일로 저장
-            File qrImageFile = saveQRCodeToFile(context, bitmap, fileName);
-            
-            // 비트맵 메모리 해제
-            bitmap.recycle();
-            
-            if (qrImageFile != null) {
-                Log.i(TAG, "[QR-GEN] QR 코드 이미지 생성 성공 - 파일: " + qrImageFile.getAbsolutePath());
-                Log.i(TAG, "[QR-GEN] 파일 크기: " + qrImageFile.length() + " bytes");
-            } else {
-                Log.e(TAG, "[QR-GEN] QR 코드 이미지 파일 저장 실패");
-            }
-            
-            return qrImageFile;
+            byte[] png = encodePng(bitMatrix);
+            Log.d(TAG, "[QR-GEN] QR PNG 생성 - " + bitMatrix.getWidth() + "x" + bitMatrix.getHeight()
+                    + ", " + png.length + " bytes");
+            return png;
 
         } catch (WriterException e) {
             Log.e(TAG, "[QR-GEN] QR 코드 생성 중 WriterException", e);
@@ -90,110 +112,83 @@ public class QRCodeGenerator {
     }
 
     /**
-     * BitMatrix를 흑백 비트맵으로 변환
+     * BitMatrix 를 1비트 그레이스케일 PNG 로 변환 (1 = 흰색, 0 = 검정).
+     * 행마다 BitArray 의 int[] 워드를 한 번에 받아 8픽셀씩 바이트로 묶는다.
      */
-    private static Bitmap createBitmapFromMatrix(BitMatrix bitMatrix) {
+    static byte[] encodePng(BitMatrix bitMatrix) throws IOException {
+        int width = bitMatrix.getWidth();
+        int height = bitMatrix.getHeight();
+        int rowBytes = (width + 7) / 8;
+
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(height * (rowBytes + 1) / 4);
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
         try {
-            int width = bitMatrix.getWidth();
-            int height = bitMatrix.getHeight();
-            
-            Bitmap bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.RGB_565);
-            Canvas canvas = new Canvas(bitmap);
-            
-            // 배경을 흰색으로 칠하기
-            canvas.drawColor(QR_COLOR_WHITE);
-            
-            Paint paint = new Paint();
-            paint.setColor(QR_COLOR_BLACK);
-            paint.setStyle(Paint.Style.FILL);
-            
-            // QR 코드 픽셀 그리기
-            for (int x = 0; x < width; x++) {
+            try (DeflaterOutputStream idat = new DeflaterOutputStream(raw, deflater)) {
+                BitArray row = new BitArray(width);
+                byte[] line = new byte[rowBytes + 1]; // 첫 바이트는 필터 타입 0 (None)
                 for (int y = 0; y < height; y++) {
-                    if (bitMatrix.get(x, y)) {
-                        canvas.drawPoint(x, y, paint);
+                    int[] bits = bitMatrix.getRow(y, row).getBitArray();
+                    Arrays.fill(line, 1, line.length, (byte) 0xff);
+                    for (int x = 0; x < width; x++) {
+                        if ((bits[x >>> 5] & (1 << (x & 31))) != 0) {
+                            line[1 + (x >>> 3)] &= (byte) ~(0x80 >>> (x & 7));
+                        }
                     }
+                    idat.write(line);
                 }
             }
-            
-            Log.i(TAG, "[QR-GEN] 비트맵 생성 완료 - " + width + "x" + height + " 픽셀");
-            return bitmap;
-            
-        } catch (Exception e) {
-            Log.e(TAG, "[QR-GEN] 비트맵 생성 중 오류", e);
-            return null;
+        } finally {
+            deflater.end();
         }
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream(raw.size() + 64);
+        DataOutputStream out = new DataOutputStream(png);
+        out.write(PNG_SIGNATURE);
+
+        ByteArrayOutputStream ihdr = new ByteArrayOutputStream(13);
+        DataOutputStream header = new DataOutputStream(ihdr);
+        header.writeInt(width);
+        header.writeInt(height);
+        header.writeByte(1); // bit depth
+        header.writeByte(0); // color type: grayscale
+        header.writeByte(0); // compression
+        header.writeByte(0); // filter
+        header.writeByte(0); // interlace
+        writeChunk(out, "IHDR", ihdr.toByteArray());
+        writeChunk(out, "IDAT", raw.toByteArray());
+        writeChunk(out, "IEND", new byte[0]);
+        out.flush();
+        return png.toByteArray();
     }
 
-    /**
-     * QR 코드 비트맵을 파일로 저장
-     */
-    private static File saveQRCodeToFile(Context context, Bitmap bitmap, String fileName) {
-        FileOutputStream outputStream = null;
-        
-        try {
-            // 임시 디렉토리에 파일 생성
-            File cacheDir = context.getCacheDir();
-            File qrImageFile = new File(cacheDir, fileName + ".jpg");
-            
-            // 기존 파일이 있으면 삭제
-            if (qrImageFile.exists()) {
-                qrImageFile.delete();
-                Log.d(TAG, "[QR-GEN] 기존 파일 삭제: " + qrImageFile.getAbsolutePath());
-            }
+    private static void writeChunk(DataOutputStream out, String type, byte[] data) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data);
+        out.writeInt(data.length);
+        out.write(typeBytes);
+        out.write(data);
+        out.writeInt((int) crc.getValue());
+    }
 
-            outputStream = new FileOutputStream(qrImageFile);
-            
-            // JPEG로 압축하여 저장
-            boolean saved = bitmap.compress(IMAGE_FORMAT, JPEG_QUALITY, outputStream);
-            
-            if (!saved) {
-                Log.e(TAG, "[QR-GEN] 비트맵 압축 실패");
-                return null;
-            }
-            
-            outputStream.flush();
-            Log.i(TAG, "[QR-GEN] QR 코드 이미지 파일 저장 완료");
-            
-            return qrImageFile;
-            
-        } catch (IOException e) {
-            Log.e(TAG, "[QR-GEN] 파일 저장 중 IOException", e);
-            return null;
-        } catch (Exception e) {
-            Log.e(TAG, "[QR-GEN] 파일 저장 중 예외", e);
-            return null;
-        } finally {
-            if (outputStream != null) {
-                try {
-                    outputStream.close();
-                } catch (IOException e) {
-                    Log.w(TAG, "[QR-GEN] 출력 스트림 닫기 실패", e);
-                }
-            }
+    /** QR 캐시 적중/미스/제거 건수 */
+    public static Map<String, Object> getCacheMetrics() {
+        synchronized (cache) {
+            Map<String, Object> metrics = new HashMap<>();
+            metrics.put("entries", cache.size());
+            metrics.put("maxEntries", DEFAULT_CACHE_ENTRIES);
+            metrics.put("hits", hitCount);
+            metrics.put("misses", missCount);
+            metrics.put("evictions", evictionCount);
+            return metrics;
         }
     }
 
-    /**
-     * QR 코드 이미지 파일 삭제
-     */
-    public static boolean deleteQRCodeImage(File qrImageFile) {
-        if (qrImageFile == null || !qrImageFile.exists()) {
-            Log.w(TAG, "[QR-GEN] 삭제할 파일이 존재하지 않음");
-            return true; // 이미 없으므로 성공으로 처리
-        }
-        
-        try {
-            boolean deleted = qrImageFile.delete();
-            if (deleted) {
-                Log.i(TAG, "[QR-GEN] QR 코드 이미지 파일 삭제 완료: " + qrImageFile.getAbsolutePath());
-            } else {
-                Log.w(TAG, "[QR-GEN] QR 코드 이미지 파일 삭제 실패: " + qrImageFile.getAbsolutePath());
-            }
-            return deleted;
-        } catch (Exception e) {
-            Log.e(TAG, "[QR-GEN] QR 코드 이미지 파일 삭제 중 예외", e);
-            return false;
+    /** QR 캐시 비우기 */
+    public static void clearCache() {
+        synchronized (cache) {
+            cache.clear();
         }
     }
 
@@ -201,8 +196,8 @@ public class QRCodeGenerator {
      * 쿠폰 코드의 유효성 검증
      */
     public static boolean isValidCouponCode(String couponCode) {
-        return couponCode != null && 
-               !couponCode.trim().isEmpty() && 
+        return couponCode != null &&
+               !couponCode.trim().isEmpty() &&
                couponCode.length() >= 10; // 최소 길이 체크
     }
-}
\ No newline at end of file
+}
@@ -28,7 +28,6 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
-import android.util.Log;
 
 public class QRScanActivity extends AppCompatActivity {
 
@@ -116,9 +115,9 @@ public class QRScanActivity extends AppCompatActivity {
             employeeDAO = new EmployeeDAO(this);
             corporateDAO = new CorporateDAO(this);
             transactionDAO = new TransactionDAO(this);
-            Log.i(TAG, "[DB-INIT] DAO 초기화 완료");
+            AppLog.i(TAG, "[DB-INIT] DAO 초기화 완료");
         } catch (Exception e) {
-            Log.e(TAG, "[DB-INIT] DAO 초기화 실패", e);
+            AppLog.e(TAG, "[DB-INIT] DAO 초기화 실패", e);
         }
     }
     
@@ -132,13 +131,13 @@ public class QRScanActivity extends AppCompatActivity {
             
             if (keepScreenOn) {
                 getWindow().addFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
-                Log.i(TAG, "[SCREEN-SETTING] 화면 잠김 방지 활성화");
+                AppLog.i(TAG, "[SCREEN-SETTING] 화면 잠김 방지 활성화");
             } else {
                 getWindow().clearFlags(WindowManager.LayoutParams.FLAG_KEEP_SCREEN_ON);
-                Log.i(TAG, "[SCREEN-SETTING] 화면 잠김 방지 비활성화");
+                AppLog.i(TAG, "[SCREEN-SETTING] 화면 잠김 방지 비활성화");
             }
         } catch (Exception e) {
-            Log.e(TAG, "[SCREEN-SETTING] 화면 잠김 방지 설정 중 오류", e);
+            AppLog.e(TAG, "[SCREEN-SETTING] 화면 잠김 방지 설정 중 오류", e);
         }
     }
 
@@ -218,7 +217,7 @@ public class QRScanActivity extends AppCompatActivity {
             // 후면 카메라를 기본으로 설정
             cameraSettings.setRequestedCameraId(isUsingFrontCamera ? 1 : 0);
         }
-        Log.i(TAG, "[CAMERA] 카메라 설정 완료 - " + (isUsingFrontCamera ? "전면" : "후면") + " 카메라");
+        AppLog.i(TAG, "[CAMERA] 카메라 설정 완료 - " + (isUsingFrontCamera ? "전면" : "후면") + " 카메라");
     }
 
     private void toggleScanning() {
@@ -246,7 +245,7 @@ public class QRScanActivity extends AppCompatActivity {
     private void handleScanResult(String result) {
         scanCount++;
         
-        Log.i(TAG, "[SCAN-RESULT] QR 스캔 결과: " + result);
+        AppLog.i(TAG, "[SCAN-RESULT] QR 스캔 결과: " + result);
         
         // 쿠폰 및 연관 정보 확인 (UI 업데이트 포함)
         checkCouponBalance(result);
@@ -275,7 +274,7 @@ public class QRScanActivity extends AppCompatActivity {
      */
     private void switchCamera() {
         try {
-            Log.i(TAG, "[CAMERA-SWITCH] 카메라 전환 시작 - 현재: " + (isUsingFrontCamera ? "전면" : "후면"));
+            AppLog.i(TAG, "[CAMERA-SWITCH] 카메라 전환 시작 - 현재: " + (isUsingFrontCamera ? "전면" : "후면"));
             
             // 현재 스캔 상태 저장
             boolean wasScanning = isScanning;
@@ -297,7 +296,7 @@ public class QRScanActivity extends AppCompatActivity {
                 barcodeView.pause();
                 barcodeView.resume();
                 
-                Log.i(TAG, "[CAMERA-SWITCH] 카메라 전환 완료 - 변경된 카메라: " + (isUsingFrontCamera ? "전면" : "후면"));
+                AppLog.i(TAG, "[CAMERA-SWITCH] 카메라 전환 완료 - 변경된 카메라: " + (isUsingFrontCamera ? "전면" : "후면"));
                 
                 // 이전 스캔 상태 복원
                 if (wasScanning) {
@@ -313,12 +312,12 @@ public class QRScanActivity extends AppCompatActivity {
                 updateCameraSwitchButtonText();
                 
             } else {
-                Log.e(TAG, "[CAMERA-SWITCH] 카메라 설정을 가져올 수 없습니다");
+                AppLog.e(TAG, "[CAMERA-SWITCH] 카메라 설정을 가져올 수 없습니다");
                 Toast.makeText(this, "카메라 전환에 실패했습니다", Toast.LENGTH_SHORT).show();
             }
             
         } catch (Exception e) {
-            Log.e(TAG, "[CAMERA-SWITCH] 카메라 전환 중 오류", e);
+            AppLog.e(TAG, "[CAMERA-SWITCH] 카메라 전환 중 오류", e);
             Toast.makeText(this, "카메라 전환 중 오류가 발생했습니다", Toast.LENGTH_SHORT).show();
         }
     }
@@ -347,7 +346,8 @@ public class QRScanActivity extends AppCompatActivity {
                 }
             }
             
-            Log.i(TAG, "[COUPON-CHECK] 쿠폰 코드: " + couponCode);
+            String scannedCode = couponCode;
+            AppLog.d(TAG, () -> "[COUPON-CHECK] 쿠폰 코드: " + scannedCode);
             
             // 데이터베이스에서 쿠폰 조회
             if (couponDAO != null && employeeDAO != null && corporateDAO != null && transactionDAO != null) {
@@ -358,34 +358,29 @@ public class QRScanActivity extends AppCompatActivity {
                     corporateDAO.open();
                     transactionDAO.open();
                     
-                    Coupon coupon = couponDAO.getCouponByCode(couponCode);
+                    // 쿠폰 + 직원 + 회사 정보를 캐시 또는 한 번의 JOIN 쿼리로 조회
+                    CouponLookupCache.CouponView view = CouponLookupCache.getInstance().lookup(couponCode, couponDAO);
+                    Coupon coupon = view != null ? view.getCoupon() : null;
                     if (coupon != null) {
-                        Log.i(TAG, "[COUPON-CHECK] ========== 쿠폰 조회 성공 ==========");
-                        Log.i(TAG, "[COUPON-CHECK] 쿠폰 ID: " + coupon.getCouponId());
-                        Log.i(TAG, "[COUPON-CHECK] 쿠폰 코드: " + coupon.getFullCouponCode());
+                        AppLog.d(TAG, "[COUPON-CHECK] ========== 쿠폰 조회 성공 ==========");
+                        AppLog.d(TAG, () -> "[COUPON-CHECK] 쿠폰 ID: " + coupon.getCouponId());
+                        AppLog.d(TAG, () -> "[COUPON-CHECK] 쿠폰 코드: " + coupon.getFullCouponCode());
 
                         // 결제 타입 상세 로그
                         String paymentType = coupon.getPaymentType();
-                        Log.i(TAG, "[PAYMENT-TYPE-CHECK] ===== 결제 타입 확인 =====");
-                        Log.i(TAG, "[PAYMENT-TYPE-CHECK] paymentType 값: '" + paymentType + "'");
-                        Log.i(TAG, "[PAYMENT-TYPE-CHECK] paymentType == null? " + (paymentType == null));
+                        AppLog.d(TAG, "[PAYMENT-TYPE-CHECK] ===== 결제 타입 확인 =====");
+                        AppLog.d(TAG, () -> "[PAYMENT-TYPE-CHECK] paymentType 값: '" + paymentType + "'");
+                        AppLog.d(TAG, () -> "[PAYMENT-TYPE-CHECK] paymentType == null? " + (paymentType == null));
                         if (paymentType != null) {
-                            Log.i(TAG, "[PAYMENT-TYPE-CHECK] paymentType.length(): " + paymentType.length());
-                            Log.i(TAG, "[PAYMENT-TYPE-CHECK] paymentType.trim(): '" + paymentType.trim() + "'");
-                            Log.i(TAG, "[PAYMENT-TYPE-CHECK] paymentType 바이트: " + bytesToHex(paymentType.getBytes()));
+                            AppLog.d(TAG, () -> "[PAYMENT-TYPE-CHECK] paymentType.length(): " + paymentType.length());
+                            AppLog.d(TAG, () -> "[PAYMENT-TYPE-CHECK] paymentType.trim(): '" + paymentType.trim() + "'");
                         }
-                        Log.i(TAG, "[PAYMENT-TYPE-CHECK] PAYMENT_TYPE_CUSTOM 상수: '" + Coupon.PAYMENT_TYPE_CUSTOM + "'");
-                        Log.i(TAG, "[PAYMENT-TYPE-CHECK] PAYMENT_TYPE_PREPAID 상수: '" + Coupon.PAYMENT_TYPE_PREPAID + "'");
-                        Log.i(TAG, "[PAYMENT-TYPE-CHECK] PAYMENT_TYPE_POSTPAID 상수: '" + Coupon.PAYMENT_TYPE_POSTPAID + "'");
+                        AppLog.d(TAG, () -> "[PAYMENT-TYPE-CHECK] PAYMENT_TYPE_CUSTOM 상수: '" + Coupon.PAYMENT_TYPE_CUSTOM + "'");
+                        AppLog.d(TAG, () -> "[PAYMENT-TYPE-CHECK] PAYMENT_TYPE_PREPAID 상수: '" + Coupon.PAYMENT_TYPE_PREPAID + "'");
+                        AppLog.d(TAG, () -> "[PAYMENT-TYPE-CHECK] PAYMENT_TYPE_POSTPAID 상수: '" + Coupon.PAYMENT_TYPE_POSTPAID + "'");
 
-                        // 직원 정보 조회
-                        Employee employee = employeeDAO.getEmployeeById(coupon.getEmployeeId());
-
-                        // 회사 정보 조회
-                        Corporate corporate = null;
-                        if (employee != null) {
-                            corporate = corporateDAO.getCorporateById(employee.getCorporateId());
-                        }
+                        Employee employee = view.getEmployee();
+                        Corporate corporate = view.getCorporate();
 
                         // 상세 정보 로그 출력
                         logCouponDetails(coupon, employee, corporate);
@@ -394,30 +389,30 @@ public class QRScanActivity extends AppCompatActivity {
                         displayCouponInfo(couponCode, coupon, employee, corporate);
 
                         // 결제 유형 확인 - 임의결제(custom)인 경우 금액 입력 대화상자 표시
-                        Log.i(TAG, "[PAYMENT-TYPE-DECISION] ===== 결제 타입에 따른 분기 시작 =====");
+                        AppLog.d(TAG, "[PAYMENT-TYPE-DECISION] ===== 결제 타입에 따른 분기 시작 =====");
 
                         // equals() 비교 상세 로그 (대소문자 무시)
                         boolean isCustomPayment = paymentType != null &&
                                                  paymentType.equalsIgnoreCase(Coupon.PAYMENT_TYPE_CUSTOM);
-                        Log.i(TAG, "[PAYMENT-TYPE-DECISION] paymentType.equalsIgnoreCase(CUSTOM) = " + isCustomPayment);
-                        Log.i(TAG, "[PAYMENT-TYPE-DECISION] DB 값: '" + paymentType + "', 비교 상수: '" + Coupon.PAYMENT_TYPE_CUSTOM + "'");
+                        AppLog.d(TAG, () -> "[PAYMENT-TYPE-DECISION] paymentType.equalsIgnoreCase(CUSTOM) = " + isCustomPayment);
+                        AppLog.d(TAG, () -> "[PAYMENT-TYPE-DECISION] DB 값: '" + paymentType + "', 비교 상수: '" + Coupon.PAYMENT_TYPE_CUSTOM + "'");
 
                         if (isCustomPayment) {
-                            Log.i(TAG, "[CUSTOM-PAYMENT] ✅ 임의결제 쿠폰 감지! - 금액 입력 대화상자 표시 시작");
+                            AppLog.d(TAG, "[CUSTOM-PAYMENT] ✅ 임의결제 쿠폰 감지! - 금액 입력 대화상자 표시 시작");
                             showCustomAmountDialog(coupon, employee, corporate);
-                            Log.i(TAG, "[CUSTOM-PAYMENT] showCustomAmountDialog() 호출 완료");
+                            AppLog.d(TAG, "[CUSTOM-PAYMENT] showCustomAmountDialog() 호출 완료");
                         } else {
-                            Log.i(TAG, "[STANDARD-PAYMENT] 일반 결제(선불/후불) 처리 - paymentType: '" + paymentType + "'");
+                            AppLog.d(TAG, () -> "[STANDARD-PAYMENT] 일반 결제(선불/후불) 처리 - paymentType: '" + paymentType + "'");
                             // 가격 설정에 따른 차감 처리 (선불/후불)
                             boolean deductionSuccess = applyPriceDeduction(coupon, employee, corporate);
-                            Log.i(TAG, "[STANDARD-PAYMENT] applyPriceDeduction() 결과: " + deductionSuccess);
+                            AppLog.d(TAG, () -> "[STANDARD-PAYMENT] applyPriceDeduction() 결과: " + deductionSuccess);
                         }
 
                         // 하단 잔고 표시 업데이트
                         updateBalanceDisplay(coupon, employee, corporate);
                         
                     } else {
-                        Log.w(TAG, "[COUPON-BALANCE] 쿠폰을 찾을 수 없습니다: " + couponCode);
+                        AppLog.w(TAG, "[COUPON-BALANCE] 쿠폰을 찾을 수 없습니다: " + couponCode);
                         displayCouponNotFound(couponCode);
                         
                         // 하단 잔고 표시 - 찾을 수 없음
@@ -428,20 +423,20 @@ public class QRScanActivity extends AppCompatActivity {
                     }
                 } finally {
                     // DAO 데이터베이스 연결 닫기
-                    try { couponDAO.close(); } catch (Exception e) { Log.w(TAG, "Error closing couponDAO", e); }
-                    try { employeeDAO.close(); } catch (Exception e) { Log.w(TAG, "Error closing employeeDAO", e); }
-                    try { corporateDAO.close(); } catch (Exception e) { Log.w(TAG, "Error closing corporateDAO", e); }
-                    try { transactionDAO.close(); } catch (Exception e) { Log.w(TAG, "Error closing transactionDAO", e); }
+                    try { couponDAO.close(); } catch (Exception e) { AppLog.w(TAG, "Error closing couponDAO", e); }
+                    try { employeeDAO.close(); } catch (Exception e) { AppLog.w(TAG, "Error closing employeeDAO", e); }
+                    try { corporateDAO.close(); } catch (Exception e) { AppLog.w(TAG, "Error closing corporateDAO", e); }
+                    try { transactionDAO.close(); } catch (Exception e) { AppLog.w(TAG, "Error closing transactionDAO", e); }
                 }
             } else {
-                Log.e(TAG, "[COUPON-BALANCE] DAO가 초기화되지 않았습니다");
+                AppLog.e(TAG, "[COUPON-BALANCE] DAO가 초기화되지 않았습니다");
                 updateBalanceDisplayError("시스템 오류");
                 
                 // 시스템 오류 - 실패 음성 재생
                 playAudioFeedback(false);
             }
         } catch (Exception e) {
-            Log.e(TAG, "[COUPON-CHECK] 쿠폰 확인 중 오류", e);
+            AppLog.e(TAG, "[COUPON-CHECK] 쿠폰 확인 중 오류", e);
             updateBalanceDisplayError("오류 발생");
             
             // 일반 오류 - 실패 음성 재생
@@ -453,32 +448,32 @@ public class QRScanActivity extends AppCompatActivity {
      * 쿠폰 상세 정보 로그 출력
      */
     private void logCouponDetails(Coupon coupon, Employee employee, Corporate corporate) {
-        Log.i(TAG, "[COUPON-DETAILS] ==========================================");
-        Log.i(TAG, "[COUPON-DETAILS] === 쿠폰 정보 ===");
-        Log.i(TAG, "[COUPON-DETAILS] 쿠폰 ID: " + coupon.getCouponId());
-        Log.i(TAG, "[COUPON-DETAILS] 쿠폰 코드: " + coupon.getFullCouponCode());
-        Log.i(TAG, "[COUPON-DETAILS] 현금 잔고: " + coupon.getCashBalance() + "원");
-        Log.i(TAG, "[COUPON-DETAILS] 포인트 잔고: " + coupon.getPointBalance() + "P");
-        Log.i(TAG, "[COUPON-DETAILS] 상태: " + coupon.getStatus());
-        Log.i(TAG, "[COUPON-DETAILS] 유효기간: " + coupon.getExpireDate());
+        AppLog.d(TAG, "[COUPON-DETAILS] ==========================================");
+        AppLog.d(TAG, "[COUPON-DETAILS] === 쿠폰 정보 ===");
+        AppLog.d(TAG, () -> "[COUPON-DETAILS] 쿠폰 ID: " + coupon.getCouponId());
+        AppLog.d(TAG, () -> "[COUPON-DETAILS] 쿠폰 코드: " + coupon.getFullCouponCode());
+        AppLog.d(TAG, () -> "[COUPON-DETAILS] 현금 잔고: " + coupon.getCashBalance() + "원");
+        AppLog.d(TAG, () -> "[COUPON-DETAILS] 포인트 잔고: " + coupon.getPointBalance() + "P");
+        AppLog.d(TAG, () -> "[COUPON-DETAILS] 상태: " + coupon.getStatus());
+        AppLog.d(TAG, () -> "[COUPON-DETAILS] 유효기간: " + coupon.getExpireDate());
         
         if (employee != null) {
-            Log.i(TAG, "[COUPON-DETAILS] === 직원 정보 ===");
-            Log.i(TAG, "[COUPON-DETAILS] 직원 ID: " + employee.getEmployeeId());
-            Log.i(TAG, "[COUPON-DETAILS] 이름: " + employee.getName());
-            Log.i(TAG, "[COUPON-DETAILS] 전화번호: " + employee.getPhone());
-            Log.i(TAG, "[COUPON-DETAILS] 이메일: " + employee.getEmail());
-            Log.i(TAG, "[COUPON-DETAILS] 부서: " + employee.getDepartment());
+            AppLog.d(TAG, "[COUPON-DETAILS] === 직원 정보 ===");
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 직원 ID: " + employee.getEmployeeId());
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 이름: " + employee.getName());
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 전화번호: " + employee.getPhone());
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 이메일: " + employee.getEmail());
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 부서: " + employee.getDepartment());
         }
         
         if (corporate != null) {
-            Log.i(TAG, "[COUPON-DETAILS] === 회사 정보 ===");
-            Log.i(TAG, "[COUPON-DETAILS] 회사 ID: " + corporate.getCustomerId());
-            Log.i(TAG, "[COUPON-DETAILS] 회사명: " + corporate.getName());
-            Log.i(TAG, "[COUPON-DETAILS] 사업자등록번호: " + corporate.getBusinessNumber());
-            Log.i(TAG, "[COUPON-DETAILS] 대표자: " + corporate.getRepresentative());
+            AppLog.d(TAG, "[COUPON-DETAILS] === 회사 정보 ===");
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 회사 ID: " + corporate.getCustomerId());
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 회사명: " + corporate.getName());
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 사업자등록번호: " + corporate.getBusinessNumber());
+            AppLog.d(TAG, () -> "[COUPON-DETAILS] 대표자: " + corporate.getRepresentative());
         }
-        Log.i(TAG, "[COUPON-DETAILS] ==========================================");
+        AppLog.d(TAG, "[COUPON-DETAILS] ==========================================");
     }
     
     /**
@@ -636,50 +631,43 @@ public class QRScanActivity extends AppCompatActivity {
      */
     private boolean applyPriceDeduction(Coupon coupon, Employee employee, Corporate corporate) {
         try {
-            Log.i(TAG, "[PRICE-DEDUCTION] 가격 차감 처리 시작");
-            
-            // 가격 설정 불러오기
-            SharedPreferences prefs = getSharedPreferences("PriceSettings", MODE_PRIVATE);
-            
-            // 시간대별 기능 활성화 여부 확인
-            boolean enableTimeBasedDeduction = prefs.getBoolean("enableTimeBasedDeduction", false);
-            boolean allowNegativeBalance = prefs.getBoolean("allowNegativeBalance", false);
-            String pointDeductionMethod = prefs.getString("pointDeductionMethod", "후순위");
-            
-            Log.i(TAG, "[PRICE-DEDUCTION] 시간대별 차감 활성화: " + enableTimeBasedDeduction);
-            Log.i(TAG, "[PRICE-DEDUCTION] 마이너스 잔고 허용: " + allowNegativeBalance);
-            Log.i(TAG, "[PRICE-DEDUCTION] 포인트 차감 방식: " + pointDeductionMethod);
-            
-            int cashDeduction = 0;
-            String periodName = "기본";
-            
-            if (enableTimeBasedDeduction) {
-                // 현재 시간에 따른 시간대별 차감액 계산
-                DeductionInfo deductionInfo = calculateCurrentDeduction(prefs);
-                cashDeduction = deductionInfo.cashAmount;
-                periodName = deductionInfo.periodName;
-            } else {
-                // 기본 차감액 사용
-                cashDeduction = prefs.getInt("default_cashDeduction", 4000);
-                periodName = "기본";
-            }
+            AppLog.d(TAG, "[PRICE-DEDUCTION] 가격 차감 처리 시작");
             
+            // 저장 시점에 미리 만들어 둔 차감 규칙에서 현재 시간대 조회
+            DeductionPolicy policy = DeductionPolicy.get(this);
+            DeductionPolicy.Period period = policy.currentPeriod();
+            boolean allowNegativeBalance = policy.isAllowNegativeBalance();
+            int cashDeduction = period.getCashAmount();
+            String periodName = period.getName();
+
+            AppLog.d(TAG, () -> "[PRICE-DEDUCTION] 시간대별 차감 활성화: " + policy.isTimeBasedDeduction()
+                    + ", 마이너스 잔고 허용: " + allowNegativeBalance);
+
             // Lambda에서 사용하기 위해 final 변수로 복사
             final int finalCashDeduction = cashDeduction;
             final String finalPeriodName = periodName;
             
-            Log.i(TAG, "[PRICE-DEDUCTION] 적용할 현금 차감액: " + cashDeduction + "원 (" + periodName + " 시간대)");
-            
-            // 현재 쿠폰 잔고 확인
-            double currentCash = coupon.getCashBalance();
-            double currentPoints = coupon.getPointBalance();
+            AppLog.d(TAG, () -> "[PRICE-DEDUCTION] 적용할 현금 차감액: " + cashDeduction + "원 (" + periodName + " 시간대)");
             
-            Log.i(TAG, "[PRICE-DEDUCTION] 차감 전 잔고 - 현금: " + currentCash + "원, 포인트: " + currentPoints + "P");
-            
-            // 잔고 검사
-            if (currentCash < cashDeduction && !allowNegativeBalance) {
-                Log.w(TAG, "[PRICE-DEDUCTION] 현금 잔고 부족 (현금: " + currentCash + "원 < 차감액: " + cashDeduction + "원)");
-                
+            // 조건부 UPDATE + 거래 기록을 한 트랜잭션으로 처리 (동시 차감 시 갱신 유실 방지)
+            CouponDAO.RedeemResult redeemResult;
+            couponDAO.open();
+            try {
+                redeemResult = couponDAO.redeem(
+                        coupon.getCouponId(),
+                        finalCashDeduction,
+                        Transaction.BALANCE_TYPE_CASH,
+                        allowNegativeBalance,
+                        "QR 스캔 " + finalPeriodName + " 시간대 차감");
+            } finally {
+                couponDAO.close();
+            }
+
+            if (redeemResult.isInsufficientBalance()) {
+                final double currentCash = redeemResult.getBalanceBefore();
+                AppLog.w(TAG, "[PRICE-DEDUCTION] 현금 잔고 부족 (현금: " + currentCash + "원 < 차감액: " + cashDeduction + "원)");
+                coupon.setCashBalance(currentCash);
+
                 runOnUiThread(() -> {
                     Toast.makeText(this, 
                         "현금 잔고가 부족합니다!\n현재: " + String.format("%,d", (int)currentCash) + "원\n필요: " + String.format("%,d", finalCashDeduction) + "원", 
@@ -694,79 +682,47 @@ public class QRScanActivity extends AppCompatActivity {
                 
                 return false;
             }
+
+            if (!redeemResult.isSuccess()) {
+                AppLog.e(TAG, "[PRICE-DEDUCTION] 쿠폰 차감 실패: " + redeemResult.getFailureReason());
+                
+                runOnUiThread(() -> {
+                    Toast.makeText(this, "차감 처리 중 오류가 발생했습니다", Toast.LENGTH_SHORT).show();
+                    // 차감 실패 메시지를 스캔 결과에 추가
+                    String currentResult = tvScanResult.getText().toString();
+                    tvScanResult.setText(currentResult + "\n❌ 차감 처리 실패");
+                });
+                
+                // 결제 실패 음성 재생
+                playAudioFeedback(false);
+                
+                return false;
+            }
+
+            final double currentCash = redeemResult.getBalanceBefore();
+            final double newCashBalance = redeemResult.getBalanceAfter();
+            coupon.setCashBalance(newCashBalance);
+
+            AppLog.i(TAG, "[PRICE-DEDUCTION] 차감 적용 - 현금: " + currentCash + "원 → " + newCashBalance + "원, 거래 ID: " + redeemResult.getTransactionId());
             
-            // 차감 적용
-            double newCashBalance = currentCash - cashDeduction;
-            
-            Log.i(TAG, "[PRICE-DEDUCTION] 차감 적용 - 현금: " + currentCash + "원 → " + newCashBalance + "원");
+            // 성공 메시지 표시
+            runOnUiThread(() -> {
+                Toast.makeText(this, 
+                    "💰 차감 완료!\n" + finalPeriodName + " 시간대: " + String.format("%,d", finalCashDeduction) + "원 차감\n" +
+                    "현금 잔고: " + String.format("%,d", (int)currentCash) + "원 → " + String.format("%,d", (int)newCashBalance) + "원", 
+                    Toast.LENGTH_LONG).show();
+                // 차감 완료 메시지를 스캔 결과에 추가
+                String currentResult = tvScanResult.getText().toString();
+                tvScanResult.setText(currentResult + "\n✅ 차감 완료 (" + finalPeriodName + " 시간대)");
+            });
             
-            // 쿠폰 업데이트
-            coupon.setCashBalance(newCashBalance);
+            // 결제 성공 음성 재생
+            playAudioFeedback(true);
             
-            // 데이터베이스에 업데이트
-            couponDAO.open();
-            transactionDAO.open();
-            try {
-                int updateResult = couponDAO.updateCoupon(coupon);
-                if (updateResult > 0) {
-                    Log.i(TAG, "[PRICE-DEDUCTION] 쿠폰 업데이트 성공");
-                    
-                    // 거래 기록 생성
-                    Transaction transaction = new Transaction();
-                    transaction.setCouponId(coupon.getCouponId());
-                    transaction.setTransactionType(Transaction.TYPE_USE); // 차감 거래
-                    transaction.setAmount(finalCashDeduction); // 차감 금액
-                    transaction.setBalanceType(Transaction.BALANCE_TYPE_CASH); // 현금 거래
-                    transaction.setDescription("QR 스캔 " + finalPeriodName + " 시간대 차감");
-                    transaction.setTransactionDate(new java.text.SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new java.util.Date()));
-                    transaction.setBalanceBefore(currentCash); // 차감 전 잔고
-                    transaction.setBalanceAfter(newCashBalance); // 차감 후 잔고
-                    
-                    long transactionId = transactionDAO.insertTransaction(transaction);
-                    
-                    if (transactionId > 0) {
-                        Log.i(TAG, "[PRICE-DEDUCTION] 거래 기록 생성 성공 - ID: " + transactionId);
-                    } else {
-                        Log.w(TAG, "[PRICE-DEDUCTION] 거래 기록 생성 실패");
-                    }
-                    
-                    // 성공 메시지 표시
-                    runOnUiThread(() -> {
-                        Toast.makeText(this, 
-                            "💰 차감 완료!\n" + finalPeriodName + " 시간대: " + String.format("%,d", finalCashDeduction) + "원 차감\n" +
-                            "현금 잔고: " + String.format("%,d", (int)currentCash) + "원 → " + String.format("%,d", (int)newCashBalance) + "원", 
-                            Toast.LENGTH_LONG).show();
-                        // 차감 완료 메시지를 스캔 결과에 추가
-                        String currentResult = tvScanResult.getText().toString();
-                        tvScanResult.setText(currentResult + "\n✅ 차감 완료 (" + finalPeriodName + " 시간대)");
-                    });
-                    
-                    // 결제 성공 음성 재생
-                    playAudioFeedback(true);
-                    
-                    return true;
-                } else {
-                    Log.e(TAG, "[PRICE-DEDUCTION] 쿠폰 업데이트 실패");
-                    
-                    runOnUiThread(() -> {
-                        Toast.makeText(this, "차감 처리 중 오류가 발생했습니다", Toast.LENGTH_SHORT).show();
-                        // 차감 실패 메시지를 스캔 결과에 추가
-                        String currentResult = tvScanResult.getText().toString();
-                        tvScanResult.setText(currentResult + "\n❌ 차감 처리 실패");
-                    });
-                    
-                    // 결제 실패 음성 재생
-                    playAudioFeedback(false);
-                    
-                    return false;
-                }
-            } finally {
-                couponDAO.close();
-                transactionDAO.close();
-            }
+            return true;
             
         } catch (Exception e) {
-            Log.e(TAG, "[PRICE-DEDUCTION] 가격 차감 처리 중 오류", e);
+            AppLog.e(TAG, "[PRICE-DEDUCTION] 가격 차감 처리 중 오류", e);
             
             runOnUiThread(() -> {
                 Toast.makeText(this, "차감 처리 중 오류: " + e.getMessage(), Toast.LENGTH_SHORT).show();
@@ -782,79 +738,6 @@ public class QRScanActivity extends AppCompatActivity {
         }
     }
     
-    /**
-     * 차감 정보를 담는 클래스
-     */
-    private static class DeductionInfo {
-        int cashAmount;
-        String periodName;
-        
-        DeductionInfo(int cashAmount, String periodName) {
-            this.cashAmount = cashAmount;
-            this.periodName = periodName;
-        }
-    }
-    
-    /**
-     * 현재 시간에 따른 차감액 계산
-     */
-    private DeductionInfo calculateCurrentDeduction(SharedPreferences prefs) {
-        // 현재 시간 구하기
-        java.util.Calendar now = java.util.Calendar.getInstance();
-        int hour = now.get(java.util.Calendar.HOUR_OF_DAY);
-        int minute = now.get(java.util.Calendar.MINUTE);
-        String currentTime = String.format("%02d:%02d", hour, minute);
-        
-        Log.i(TAG, "[TIME-CALC] 현재 시간: " + currentTime);
-        
-        // 시간대별 설정 불러오기
-        String breakfastStart = prefs.getString("breakfast_startTime", "07:00");
-        String breakfastEnd = prefs.getString("breakfast_endTime", "10:59");
-        int breakfastCash = prefs.getInt("breakfast_cashDeduction", 3000);
-        
-        String lunchStart = prefs.getString("lunch_startTime", "11:00");
-        String lunchEnd = prefs.getString("lunch_endTime", "14:59");
-        int lunchCash = prefs.getInt("lunch_cashDeduction", 5000);
-        
-        String dinnerStart = prefs.getString("dinner_startTime", "15:00");
-        String dinnerEnd = prefs.getString("dinner_endTime", "21:59");
-        int dinnerCash = prefs.getInt("dinner_cashDeduction", 7000);
-        
-        int defaultCash = prefs.getInt("default_cashDeduction", 4000);
-        
-        // 현재 시간이 어느 시간대에 속하는지 확인
-        if (isTimeInRange(currentTime, breakfastStart, breakfastEnd)) {
-            Log.i(TAG, "[TIME-CALC] 아침 시간대 적용: " + breakfastCash + "원");
-            return new DeductionInfo(breakfastCash, "아침");
-        } else if (isTimeInRange(currentTime, lunchStart, lunchEnd)) {
-            Log.i(TAG, "[TIME-CALC] 점심 시간대 적용: " + lunchCash + "원");
-            return new DeductionInfo(lunchCash, "점심");
-        } else if (isTimeInRange(currentTime, dinnerStart, dinnerEnd)) {
-            Log.i(TAG, "[TIME-CALC] 저녁 시간대 적용: " + dinnerCash + "원");
-            return new DeductionInfo(dinnerCash, "저녁");
-        } else {
-            Log.i(TAG, "[TIME-CALC] 기본 시간대 적용: " + defaultCash + "원");
-            return new DeductionInfo(defaultCash, "기본");
-        }
-    }
-    
-    /**
-     * 시간이 특정 범위에 속하는지 확인
-     */
-    private boolean isTimeInRange(String currentTime, String startTime, String endTime) {
-        try {
-            java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat("HH:mm");
-            java.util.Date current = sdf.parse(currentTime);
-            java.util.Date start = sdf.parse(startTime);
-            java.util.Date end = sdf.parse(endTime);
-            
-            return current.compareTo(start) >= 0 && current.compareTo(end) <= 0;
-        } catch (Exception e) {
-            Log.e(TAG, "[TIME-RANGE] 시간 범위 확인 중 오류", e);
-            return false;
-        }
-    }
-
     @Override
     protected void onResume() {
         super.onResume();
@@ -869,7 +752,7 @@ public class QRScanActivity extends AppCompatActivity {
      */
     private void playAudioFeedback(boolean paymentSuccess) {
         try {
-            Log.i(TAG, "[AUDIO] 음성 재생 시작 - 결제 " + (paymentSuccess ? "성공" : "실패"));
+            AppLog.i(TAG, "[AUDIO] 음성 재생 시작 - 결제 " + (paymentSuccess ? "성공" : "실패"));
             
             // 기존 MediaPlayer가 있으면 해제
             if (mediaPlayer != null) {
@@ -884,7 +767,7 @@ public class QRScanActivity extends AppCompatActivity {
             int audioResource = paymentSuccess ? R.raw.payment_success : R.raw.payment_failed;
             String audioType = paymentSuccess ? "payment_success.mp3" : "payment_failed.mp3";
             
-            Log.i(TAG, "[AUDIO] 재생할 파일: " + audioType);
+            AppLog.i(TAG, "[AUDIO] 재생할 파일: " + audioType);
             
             // MediaPlayer 생성 및 설정
             mediaPlayer = MediaPlayer.create(this, audioResource);
@@ -894,7 +777,7 @@ public class QRScanActivity extends AppCompatActivity {
                 mediaPlayer.setOnCompletionListener(new MediaPlayer.OnCompletionListener() {
                     @Override
                     public void onCompletion(MediaPlayer mp) {
-                        Log.i(TAG, "[AUDIO] 음성 재생 완료");
+                        AppLog.i(TAG, "[AUDIO] 음성 재생 완료");
                         if (mp != null) {
                             mp.release();
                         }
@@ -906,7 +789,7 @@ public class QRScanActivity extends AppCompatActivity {
                 mediaPlayer.setOnErrorListener(new MediaPlayer.OnErrorListener() {
                     @Override
                     public boolean onError(MediaPlayer mp, int what, int extra) {
-                        Log.e(TAG, "[AUDIO] 음성 재생 오류 - what: " + what + ", extra: " + extra);
+                        AppLog.e(TAG, "[AUDIO] 음성 재생 오류 - what: " + what + ", extra: " + extra);
                         if (mp != null) {
                             mp.release();
                         }
@@ -917,21 +800,21 @@ public class QRScanActivity extends AppCompatActivity {
                 
                 // 음성 재생 시작
                 mediaPlayer.start();
-                Log.i(TAG, "[AUDIO] 음성 재생 시작됨");
+                AppLog.i(TAG, "[AUDIO] 음성 재생 시작됨");
                 
             } else {
-                Log.e(TAG, "[AUDIO] MediaPlayer 생성 실패 - 리소스를 찾을 수 없습니다: " + audioType);
+                AppLog.e(TAG, "[AUDIO] MediaPlayer 생성 실패 - 리소스를 찾을 수 없습니다: " + audioType);
             }
             
         } catch (Exception e) {
-            Log.e(TAG, "[AUDIO] 음성 재생 중 오류", e);
+            AppLog.e(TAG, "[AUDIO] 음성 재생 중 오류", e);
             
             // MediaPlayer 정리
             if (mediaPlayer != null) {
                 try {
                     mediaPlayer.release();
                 } catch (Exception ex) {
-                    Log.w(TAG, "[AUDIO] MediaPlayer 해제 중 오류", ex);
+                    AppLog.w(TAG, "[AUDIO] MediaPlayer 해제 중 오류", ex);
                 }
                 mediaPlayer = null;
             }
@@ -951,7 +834,7 @@ public class QRScanActivity extends AppCompatActivity {
                 }
                 mediaPlayer.release();
             } catch (Exception e) {
-                Log.w(TAG, "[AUDIO] onPause에서 MediaPlayer 해제 중 오류", e);
+                AppLog.w(TAG, "[AUDIO] onPause에서 MediaPlayer 해제 중 오류", e);
             }
             mediaPlayer = null;
         }
@@ -969,39 +852,28 @@ public class QRScanActivity extends AppCompatActivity {
                 }
                 mediaPlayer.release();
             } catch (Exception e) {
-                Log.w(TAG, "[AUDIO] onDestroy에서 MediaPlayer 해제 중 오류", e);
+                AppLog.w(TAG, "[AUDIO] onDestroy에서 MediaPlayer 해제 중 오류", e);
             }
             mediaPlayer = null;
         }
     }
 
-    /**
-     * 바이트 배열을 16진수 문자열로 변환 (디버깅용)
-     */
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
-            sb.append(String.format("%02X ", b));
-        }
-        return sb.toString().trim();
-    }
-
     /**
      * 임의결제 쿠폰 - 금액 입력 대화상자 표시
      */
     private void showCustomAmountDialog(final Coupon coupon, final Employee employee, final Corporate corporate) {
-        Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] ===== showCustomAmountDialog() 진입 =====");
-        Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] 쿠폰 ID: " + coupon.getCouponId());
-        Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] 현재 스레드: " + Thread.currentThread().getName());
+        AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] ===== showCustomAmountDialog() 진입 =====");
+        AppLog.d(TAG, () -> "[CUSTOM-PAYMENT-DIALOG] 쿠폰 ID: " + coupon.getCouponId());
+        AppLog.d(TAG, () -> "[CUSTOM-PAYMENT-DIALOG] 현재 스레드: " + Thread.currentThread().getName());
 
         runOnUiThread(new Runnable() {
             @Override
             public void run() {
-                Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] runOnUiThread 내부 실행 시작");
+                AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] runOnUiThread 내부 실행 시작");
                 AlertDialog.Builder builder = new AlertDialog.Builder(QRScanActivity.this);
                 builder.setTitle("💰 결제 금액 입력");
                 builder.setMessage("차감할 금액을 입력하세요");
-                Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] AlertDialog.Builder 생성 완료");
+                AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] AlertDialog.Builder 생성 완료");
 
                 // EditText 생성
                 final EditText input = new EditText(QRScanActivity.this);
@@ -1013,15 +885,15 @@ public class QRScanActivity extends AppCompatActivity {
                 input.setPadding(padding, padding, padding, padding);
 
                 builder.setView(input);
-                Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] EditText 설정 완료");
+                AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] EditText 설정 완료");
 
                 // 확인 버튼
                 builder.setPositiveButton("확인", new DialogInterface.OnClickListener() {
                     @Override
                     public void onClick(DialogInterface dialog, int which) {
-                        Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] 확인 버튼 클릭");
+                        AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] 확인 버튼 클릭");
                         String amountStr = input.getText().toString().trim();
-                        Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] 입력된 금액: '" + amountStr + "'");
+                        AppLog.d(TAG, () -> "[CUSTOM-PAYMENT-DIALOG] 입력된 금액: '" + amountStr + "'");
 
                         if (amountStr.isEmpty()) {
                             Toast.makeText(QRScanActivity.this, "금액을 입력해주세요", Toast.LENGTH_SHORT).show();
@@ -1062,18 +934,18 @@ public class QRScanActivity extends AppCompatActivity {
                     @Override
                     public void onClick(DialogInterface dialog, int which) {
                         dialog.cancel();
-                        Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] 사용자가 금액 입력을 취소함");
+                        AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] 사용자가 금액 입력을 취소함");
                     }
                 });
 
-                Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] 버튼 설정 완료 - AlertDialog 생성 중");
+                AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] 버튼 설정 완료 - AlertDialog 생성 중");
                 try {
                     AlertDialog dialog = builder.create();
-                    Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] AlertDialog 생성 성공");
+                    AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] AlertDialog 생성 성공");
                     dialog.show();
-                    Log.i(TAG, "[CUSTOM-PAYMENT-DIALOG] ✅ AlertDialog 표시 완료!");
+                    AppLog.d(TAG, "[CUSTOM-PAYMENT-DIALOG] ✅ AlertDialog 표시 완료!");
                 } catch (Exception e) {
-                    Log.e(TAG, "[CUSTOM-PAYMENT-DIALOG] ❌ AlertDialog 생성/표시 중 오류", e);
+                    AppLog.e(TAG, "[CUSTOM-PAYMENT-DIALOG] ❌ AlertDialog 생성/표시 중 오류", e);
                     Toast.makeText(QRScanActivity.this, "대화상자 표시 오류: " + e.getMessage(), Toast.LENGTH_LONG).show();
                 }
             }
@@ -1084,14 +956,14 @@ public class QRScanActivity extends AppCompatActivity {
      * 임의결제 처리 - 입력받은 금액만큼 차감
      */
     private boolean processCustomPayment(Coupon coupon, Employee employee, Corporate corporate, double amount) {
-        Log.i(TAG, String.format("[CUSTOM-PAYMENT] 임의결제 처리 시작 - 쿠폰ID: %d, 금액: %.0f원",
+        AppLog.i(TAG, String.format("[CUSTOM-PAYMENT] 임의결제 처리 시작 - 쿠폰ID: %d, 금액: %.0f원",
             coupon.getCouponId(), amount));
 
         // 현재 잔액 확인
         double currentCashBalance = coupon.getCashBalance();
         double currentPointBalance = coupon.getPointBalance();
 
-        Log.i(TAG, String.format("[CUSTOM-PAYMENT] 현재 잔액 - 현금: %.0f원, 포인트: %.0fP",
+        AppLog.i(TAG, String.format("[CUSTOM-PAYMENT] 현재 잔액 - 현금: %.0f원, 포인트: %.0fP",
             currentCashBalance, currentPointBalance));
 
         // 마이너스 잔고 허용 여부 확인
@@ -1108,7 +980,7 @@ public class QRScanActivity extends AppCompatActivity {
 
         // 잔고 부족 확인
         if (finalRemaining > 0 && !allowNegativeBalance) {
-            Log.w(TAG, String.format("[CUSTOM-PAYMENT] 잔고 부족 - 부족액: %.0f원", finalRemaining));
+            AppLog.w(TAG, String.format("[CUSTOM-PAYMENT] 잔고 부족 - 부족액: %.0f원", finalRemaining));
             runOnUiThread(new Runnable() {
                 @Override
                 public void run() {
@@ -1127,7 +999,7 @@ public class QRScanActivity extends AppCompatActivity {
         // 마이너스 허용 시 남은 금액을 현금에서 차감
         if (finalRemaining > 0 && allowNegativeBalance) {
             newCashBalance -= finalRemaining;
-            Log.i(TAG, "[CUSTOM-PAYMENT] 마이너스 잔고 허용 - 현금 잔액이 음수가 됩니다");
+            AppLog.i(TAG, "[CUSTOM-PAYMENT] 마이너스 잔고 허용 - 현금 잔액이 음수가 됩니다");
         }
 
         // 잔액 업데이트
@@ -1170,18 +1042,18 @@ public class QRScanActivity extends AppCompatActivity {
                     transactionDAO.insertTransaction(pointTransaction);
                 }
 
-                Log.i(TAG, String.format("[CUSTOM-PAYMENT] ✅ 차감 완료 - 현금: %.0f원, 포인트: %.0fP",
+                AppLog.i(TAG, String.format("[CUSTOM-PAYMENT] ✅ 차감 완료 - 현금: %.0f원, 포인트: %.0fP",
                     cashToDeduct, pointsToDeduct));
-                Log.i(TAG, String.format("[CUSTOM-PAYMENT] 새 잔액 - 현금: %.0f원, 포인트: %.0fP",
+                AppLog.i(TAG, String.format("[CUSTOM-PAYMENT] 새 잔액 - 현금: %.0f원, 포인트: %.0fP",
                     newCashBalance, newPointBalance));
 
                 return true;
             } else {
-                Log.e(TAG, "[CUSTOM-PAYMENT] DB 업데이트 실패");
+                AppLog.e(TAG, "[CUSTOM-PAYMENT] DB 업데이트 실패");
                 return false;
             }
         } catch (Exception e) {
-            Log.e(TAG, "[CUSTOM-PAYMENT] 오류 발생", e);
+            AppLog.e(TAG, "[CUSTOM-PAYMENT] 오류 발생", e);
             return false;
         } finally {
             couponDAO.close();
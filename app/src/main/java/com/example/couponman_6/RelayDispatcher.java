@@ -0,0 +1,193 @@
+package com.example.couponman_6;
+
+import com.google.gson.Gson;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.Method;
+import fi.iki.elonen.NanoHTTPD.Response;
+
+/**
+ * WebSocket 중계로 들어온 API 요청을 같은 프로세스의 ApiServer 로 바로 넘기는 디스패처.
+ * 요청마다 스레드와 루프백 HTTP 연결을 만들던 방식 대신 작은 고정 풀에서 serve() 를 호출하고,
+ * 응답 본문(JSON)은 다시 파싱하지 않고 api_response 봉투의 data 자리에 그대로 이어 붙인다.
+ * 라우팅, 인증, 로그는 HTTP 요청과 같은 경로(serve)를 탄다.
+ */
+public class RelayDispatcher {
+    private static final String TAG = "RelayDispatcher";
+
+    static final int DEFAULT_THREADS = 2;
+    static final int DEFAULT_QUEUE_CAPACITY = 32;
+    private static final int STREAM_BUFFER_SIZE = 16 * 1024;
+
+    /** 완성된 api_response 메시지를 받는 쪽 (WebSocket 송신) */
+    public interface Callback {
+        /**
+         * @param requestId 중계 요청 id
+         * @param status    HTTP 상태 코드 (서버 미실행/혼잡/오류 시 503/500)
+         * @param message   UTF-8 api_response JSON
+         * @param error     처리 중 오류 메시지, 정상 응답이면 null
+         */
+        void onResponse(int requestId, int status, byte[] message, String error);
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Gson gson = new Gson();
+
+    public RelayDispatcher() {
+        this(DEFAULT_THREADS, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    public RelayDispatcher(int threads, int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                30L,
+                TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(queueCapacity),
+                new RelayThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 요청을 풀에 넣는다. 결과(오류 포함)는 항상 callback 으로 한 번 돌려준다.
+     *
+     * @param server   실행 중인 ApiServer, 서버가 꺼져 있으면 null
+     * @param endpoint 경로 (쿼리 문자열 포함 가능)
+     * @param body     JSON 본문, 없으면 null
+     * @param token    Bearer 토큰, 없으면 null
+     */
+    public void dispatch(NanoHTTPD server, int requestId, String method, String endpoint,
+                         String body, String token, Callback callback) {
+        if (server == null) {
+            fail(requestId, 503, "API 서버가 실행 중이 아닙니다.", callback);
+            return;
+        }
+        Method httpMethod = parseMethod(method);
+        if (httpMethod == null || endpoint == null || !endpoint.startsWith("/")) {
+            fail(requestId, 400, "잘못된 요청입니다: " + method + " " + endpoint, callback);
+            return;
+        }
+        try {
+            executor.execute(() -> serve(server, requestId, httpMethod, endpoint, body, token, callback));
+        } catch (RejectedExecutionException e) {
+            AppLog.w(TAG, "[RELAY] 처리 대기열이 가득 참 - " + method + " " + endpoint);
+            fail(requestId, 503, "서버가 혼잡합니다. 잠시 후 다시 시도해주세요.", callback);
+        }
+    }
+
+    private static Method parseMethod(String method) {
+        if (method == null) {
+            return null;
+        }
+        try {
+            return Method.valueOf(method.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void serve(NanoHTTPD server, int requestId, Method method, String endpoint,
+                       String body, String token, Callback callback) {
+        long started = System.currentTimeMillis();
+        Response response = null;
+        try {
+            response = server.serve(new InProcessSession(method, endpoint, body, token));
+            int status = response.getStatus().getRequestStatus();
+            byte[] message = envelope(requestId, response);
+            AppLog.d(TAG, () -> "[RELAY] " + method + " " + endpoint + " -> " + status + ", "
+                    + message.length + " bytes, " + (System.currentTimeMillis() - started) + "ms");
+            callback.onResponse(requestId, status, message, null);
+        } catch (Exception e) {
+            AppLog.e(TAG, "[RELAY] 요청 처리 오류: " + method + " " + endpoint, e);
+            fail(requestId, 500, "Internal server error: " + e.getMessage(), callback);
+        } finally {
+            if (response != null) {
+                try {
+                    response.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+    }
+
+    private void fail(int requestId, int status, String error, Callback callback) {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("success", false);
+        data.put("message", error);
+        byte[] message = envelope(requestId, false, gson.toJson(data).getBytes(StandardCharsets.UTF_8));
+        callback.onResponse(requestId, status, message, error);
+    }
+
+    /**
+     * 응답을 {"type":"api_response","id":..,"success":..,"data":<본문>} 로 만든다.
+     * JSON 본문은 스트림에서 읽은 바이트를 그대로 넣고, 그 밖의 본문(404 텍스트 등)은
+     * {"success":..,"message":"<본문>"} 으로 감싼다.
+     */
+    byte[] envelope(int requestId, Response response) throws IOException {
+        int status = response.getStatus().getRequestStatus();
+        boolean success = status >= 200 && status < 300;
+        byte[] body = readAll(response.getData());
+        String mimeType = response.getMimeType();
+        if (body.length == 0 || mimeType == null || !mimeType.startsWith("application/json")) {
+            Map<String, Object> data = new LinkedHashMap<>();
+            data.put("success", success);
+            data.put("message", new String(body, StandardCharsets.UTF_8));
+            body = gson.toJson(data).getBytes(StandardCharsets.UTF_8);
+        }
+        return envelope(requestId, success, body);
+    }
+
+    private static byte[] envelope(int requestId, boolean success, byte[] data) {
+        byte[] head = ("{\"type\":\"api_response\",\"id\":" + requestId + ",\"success\":" + success + ",\"data\":")
+                .getBytes(StandardCharsets.UTF_8);
+        byte[] message = new byte[head.length + data.length + 1];
+        System.arraycopy(head, 0, message, 0, head.length);
+        System.arraycopy(data, 0, message, head.length, data.length);
+        message[message.length - 1] = '}';
+        return message;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        if (in == null) {
+            return new byte[0];
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(in.available(), 256));
+        byte[] chunk = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private static final class RelayThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "RelayDispatcher-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.couponman_6;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Method;
+import fi.iki.elonen.NanoHTTPD.Response;
+
+/**
+ * API 응답 gzip 인코딩. 클라이언트가 gzip 을 받고 본문이 텍스트/JSON 일 때만 압축한다.
+ * 고정 길이 응답(문자열 본문)은 임계값 이상일 때 한 번에 압축하고, 크기를 모르는 chunked 응답
+ * (/api/backup 등)은 읽히는 만큼 압축하며 흘려보낸다. 압축 전후 바이트는 서버 상태에 보고한다.
+ * NanoHTTPD 자체 gzip (크기와 무관하게 전부 압축) 대신 사용한다.
+ */
+public class ResponseCompressor {
+    /** 이보다 작은 본문은 gzip 헤더/CPU 비용이 더 크다 */
+    static final int MIN_COMPRESS_BYTES = 1024;
+    private static final int STREAM_BUFFER_SIZE = 16 * 1024;
+
+    private final AtomicLong compressedCount = new AtomicLong();
+    private final AtomicLong streamedCount = new AtomicLong();
+    private final AtomicLong skippedSmallCount = new AtomicLong();
+    private final AtomicLong identityBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+
+    /**
+     * 조건에 맞으면 응답 본문을 gzip 으로 바꾼다 (헤더는 그대로 두고 본문만 교체).
+     * 압축한 응답은 NanoHTTPD 의 gzip 과 같이 chunked 로 전송된다.
+     */
+    public Response encode(IHTTPSession session, Response response) {
+        InputStream data = response.getData();
+        if (data == null || Method.HEAD.equals(session.getMethod())
+                || response.getHeader("content-encoding") != null
+                || !StaticAssets.isCompressible(response.getMimeType())) {
+            return response;
+        }
+
+        boolean fixedLength = data instanceof ByteArrayInputStream;
+        if (fixedLength && ((ByteArrayInputStream) data).available() < MIN_COMPRESS_BYTES) {
+            skippedSmallCount.incrementAndGet();
+            return response;
+        }
+        response.addHeader("Vary", "Accept-Encoding");
+        if (!StaticAssets.acceptsGzip(session.getHeaders().get("accept-encoding"))) {
+            return response;
+        }
+
+        try {
+            if (fixedLength) {
+                byte[] identity = readAll(data);
+                byte[] gzip = gzip(identity);
+                if (gzip.length >= identity.length) {
+                    // 압축 이득이 없으면 원래 본문을 다시 넣는다
+                    response.setData(new ByteArrayInputStream(identity));
+                    return response;
+                }
+                response.setData(new ByteArrayInputStream(gzip));
+                record(identity.length, gzip.length);
+            } else {
+                response.setData(new GzipInputStream(data));
+                streamedCount.incrementAndGet();
+            }
+        } catch (IOException e) {
+            // ByteArrayInputStream/ByteArrayOutputStream 만 쓰므로 발생하지 않는다
+            throw new IllegalStateException(e);
+        }
+        response.addHeader("Content-Encoding", "gzip");
+        response.setChunkedTransfer(true);
+        return response;
+    }
+
+    private void record(long identity, long compressed) {
+        compressedCount.incrementAndGet();
+        identityBytes.addAndGet(identity);
+        compressedBytes.addAndGet(compressed);
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(in.available());
+        byte[] chunk = new byte[STREAM_BUFFER_SIZE];
+        int read;
+        while ((read = in.read(chunk)) != -1) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, STREAM_BUFFER_SIZE)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    /** 압축 건수와 절약한 바이트 */
+    public Map<String, Object> getMetrics() {
+        long identity = identityBytes.get();
+        long compressed = compressedBytes.get();
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("minBytes", MIN_COMPRESS_BYTES);
+        metrics.put("compressed", compressedCount.get());
+        metrics.put("streamed", streamedCount.get());
+        metrics.put("skippedSmall", skippedSmallCount.get());
+        metrics.put("identityBytes", identity);
+        metrics.put("compressedBytes", compressed);
+        metrics.put("bytesSaved", identity - compressed);
+        metrics.put("ratio", identity > 0 ? Math.round(compressed * 1000.0 / identity) / 1000.0 : 0);
+        return metrics;
+    }
+
+    /** 원본 스트림을 읽는 대로 gzip 해서 내주는 스트림. 닫을 때 압축 전후 바이트를 기록한다 */
+    private final class GzipInputStream extends InputStream {
+        private final InputStream source;
+        private final ExposedBuffer buffer = new ExposedBuffer();
+        private final GZIPOutputStream gzip;
+        private final byte[] chunk = new byte[STREAM_BUFFER_SIZE];
+        private int position;
+        private boolean finished;
+        private boolean recorded;
+        private long sourceBytes;
+        private long outputBytes;
+
+        GzipInputStream(InputStream source) throws IOException {
+            this.source = source;
+            this.gzip = new GZIPOutputStream(buffer, STREAM_BUFFER_SIZE);
+        }
+
+        /** 내보낼 압축 바이트가 없으면 원본을 더 읽어 채운다. 끝이면 false */
+        private boolean fill() throws IOException {
+            while (position >= buffer.size()) {
+                if (finished) {
+                    return false;
+                }
+                buffer.reset();
+                position = 0;
+                int read = source.read(chunk);
+                if (read == -1) {
+                    gzip.finish();
+                    finished = true;
+                } else {
+                    gzip.write(chunk, 0, read);
+                    sourceBytes += read;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (!fill()) {
+                return -1;
+            }
+            outputBytes++;
+            return buffer.bytes()[position++] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.size() - position);
+            System.arraycopy(buffer.bytes(), position, b, off, count);
+            position += count;
+            outputBytes += count;
+            return count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                source.close();
+            } finally {
+                if (!recorded) {
+                    recorded = true;
+                    // 끝까지 읽지 않고 닫힌 경우 Deflater 를 해제 (버퍼에 남는 트레일러는 버린다)
+                    gzip.close();
+                    record(sourceBytes, outputBytes);
+                }
+            }
+        }
+    }
+
+    /** 복사 없이 내부 배열을 읽기 위한 버퍼 */
+    private static final class ExposedBuffer extends ByteArrayOutputStream {
+        ExposedBuffer() {
+            super(STREAM_BUFFER_SIZE);
+        }
+
+        byte[] bytes() {
+            return buf;
+        }
+    }
+}
@@ -28,12 +28,6 @@ import androidx.appcompat.app.AppCompatActivity;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
-import java.net.URL;
-
 import java.net.InetAddress;
 import java.net.NetworkInterface;
 import java.text.SimpleDateFormat;
@@ -71,6 +65,7 @@ public class ServerInfoActivity extends AppCompatActivity implements WebSocketCl
     private String serverStartTime = "";
     private Handler uiHandler;
     private WebSocketClient webSocketClient;
+    private final RelayDispatcher relayDispatcher = new RelayDispatcher();
     private SharedPreferences preferences;
     
     private ServiceConnection serviceConnection = new ServiceConnection() {
@@ -375,7 +370,7 @@ public class ServerInfoActivity extends AppCompatActivity implements WebSocketCl
     }
     
     private void disconnectWebSocket() {
-        if (webSocketClient != null && webSocketClient.isConnected()) {
+        if (webSocketClient != null && webSocketClient.isRunning()) {
             webSocketClient.disconnect();
             Toast.makeText(this, "웹소켓 연결을 끊는 중...", Toast.LENGTH_SHORT).show();
         }
@@ -423,146 +418,38 @@ public class ServerInfoActivity extends AppCompatActivity implements WebSocketCl
             String token = request.optString("token");
             
             Log.d("ServerInfo", "Handling API request - ID: " + requestId + ", Method: " + method + ", Endpoint: " + endpoint);
-            Log.d("ServerInfo", "Token: " + (token != null && !token.isEmpty() ? token.substring(0, Math.min(20, token.length())) + "..." : "null"));
+            Log.d("ServerInfo", "Token: " + (token != null && !token.isEmpty() ? AppLog.mask(token) : "null"));
             
-            // Handle login request
-            if ("/api/login".equals(endpoint) && "POST".equals(method) && data != null) {
-                // Forward the login request to the actual ApiServer
-                forwardApiRequestToLocalServer(requestId, method, endpoint, data, token);
-            }
-            // Handle other API endpoints - forward all to local server
-            else {
-                forwardApiRequestToLocalServer(requestId, method, endpoint, data, token);
-            }
+            // 로컬 ApiServer 로 같은 프로세스 안에서 바로 전달 (HTTP 루프백 없음)
+            String body = data != null ? data.toString() : ("POST".equals(method) || "PUT".equals(method) ? "{}" : null);
+            ApiServer server = isServiceBound && apiServerService != null ? apiServerService.getApiServer() : null;
+            boolean isLogin = "/api/login".equals(endpoint);
+            relayDispatcher.dispatch(server, requestId, method, endpoint, body, token,
+                    (id, status, message, error) -> sendApiResponse(id, status, message, error, isLogin));
             
         } catch (JSONException e) {
             Log.e("ServerInfo", "Error handling API request: " + e.getMessage());
         }
     }
     
-    private void forwardApiRequestToLocalServer(int requestId, String method, String endpoint, JSONObject data, String token) {
-        // Run API call in background thread
-        new Thread(() -> {
-            try {
-                // Get local server IP and port
-                String serverIP = getIPAddress();
-                if (serverIP == null) {
-                    serverIP = "127.0.0.1";
-                }
-                String apiUrl = "http://" + serverIP + ":" + SERVER_PORT + endpoint;
-                
-                Log.d("ServerInfo", "Forwarding API request to: " + apiUrl);
-                Log.d("ServerInfo", "Request data: " + (data != null ? data.toString() : "null"));
-                
-                URL url = new URL(apiUrl);
-                HttpURLConnection conn = (HttpURLConnection) url.openConnection();
-                
-                // Set request method and headers
-                conn.setRequestMethod(method);
-                conn.setRequestProperty("Content-Type", "application/json; charset=UTF-8");
-                conn.setRequestProperty("Accept", "application/json");
-                
-                // Add Authorization header if token is provided
-                if (token != null && !token.isEmpty()) {
-                    conn.setRequestProperty("Authorization", "Bearer " + token);
-                    Log.d("ServerInfo", "Added Authorization header with token");
-                }
-                
-                conn.setDoInput(true);
-                conn.setConnectTimeout(10000);
-                conn.setReadTimeout(10000);
-                
-                // Send request body for POST/PUT methods
-                if ("POST".equals(method) || "PUT".equals(method)) {
-                    conn.setDoOutput(true);
-                    
-                    // Always send a body for POST/PUT, even if it's empty
-                    String requestBody = data != null ? data.toString() : "{}";
-                    Log.d("ServerInfo", "Sending request body: " + requestBody);
-                    
-                    try (OutputStream os = conn.getOutputStream()) {
-                        byte[] input = requestBody.getBytes("utf-8");
-                        os.write(input, 0, input.length);
-                        os.flush();
-                    }
-                } else {
-                    // For GET, DELETE methods, don't set DoOutput
-                    conn.setDoOutput(false);
-                }
-                
-                // Get response
-                int responseCode = conn.getResponseCode();
-                Log.d("ServerInfo", "API response code: " + responseCode);
-                
-                BufferedReader reader;
-                if (responseCode >= 200 && responseCode < 300) {
-                    reader = new BufferedReader(new InputStreamReader(conn.getInputStream(), "utf-8"));
-                } else {
-                    reader = new BufferedReader(new InputStreamReader(conn.getErrorStream(), "utf-8"));
-                }
-                
-                StringBuilder response = new StringBuilder();
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    response.append(line);
-                }
-                reader.close();
-                
-                String responseBody = response.toString();
-                Log.d("ServerInfo", "API response body: " + responseBody);
-                
-                // Parse response and forward via WebSocket
-                JSONObject apiResponse = new JSONObject(responseBody);
-                
-                JSONObject wsResponse = new JSONObject();
-                wsResponse.put("type", "api_response");
-                wsResponse.put("id", requestId);
-                wsResponse.put("success", responseCode >= 200 && responseCode < 300);
-                wsResponse.put("data", apiResponse);
-                
-                // Send response back via WebSocket
-                if (webSocketClient != null && webSocketClient.isConnected()) {
-                    webSocketClient.sendMessage(wsResponse.toString());
-                    Log.d("ServerInfo", "Forwarded API response: " + wsResponse.toString());
-                    
-                    // Show toast on UI thread
-                    boolean loginSuccess = apiResponse.optBoolean("success", false);
-                    runOnUiThread(() -> {
-                        String message = loginSuccess ? "로그인 성공" : "로그인 실패";
-                        Toast.makeText(this, message + ": " + apiResponse.optString("message"), Toast.LENGTH_SHORT).show();
-                    });
-                } else {
-                    Log.e("ServerInfo", "WebSocket not connected, cannot send response");
-                }
-                
-            } catch (Exception e) {
-                Log.e("ServerInfo", "Error forwarding API request: " + e.getMessage(), e);
-                
-                // Send error response
-                try {
-                    JSONObject errorResponse = new JSONObject();
-                    errorResponse.put("type", "api_response");
-                    errorResponse.put("id", requestId);
-                    errorResponse.put("success", false);
-                    
-                    JSONObject errorData = new JSONObject();
-                    errorData.put("success", false);
-                    errorData.put("message", "Internal server error: " + e.getMessage());
-                    errorResponse.put("data", errorData);
-                    
-                    if (webSocketClient != null && webSocketClient.isConnected()) {
-                        webSocketClient.sendMessage(errorResponse.toString());
-                    }
-                    
-                    runOnUiThread(() -> {
-                        Toast.makeText(this, "API 호출 오류: " + e.getMessage(), Toast.LENGTH_LONG).show();
-                    });
-                    
-                } catch (JSONException jsonE) {
-                    Log.e("ServerInfo", "Error creating error response: " + jsonE.getMessage());
-                }
-            }
-        }).start();
+    /** 중계 응답(api_response)을 WebSocket 으로 돌려보낸다. 디스패처 워커 스레드에서 호출된다 */
+    private void sendApiResponse(int requestId, int status, byte[] message, String error, boolean isLogin) {
+        if (webSocketClient == null || !webSocketClient.sendMessage(message)) {
+            Log.e("ServerInfo", "WebSocket not connected, cannot send response for request " + requestId);
+            return;
+        }
+        Log.d("ServerInfo", "Forwarded API response - ID: " + requestId + ", status: " + status + ", " + message.length + " bytes");
+        
+        if (error != null) {
+            runOnUiThread(() -> {
+                Toast.makeText(this, "API 호출 오류: " + error, Toast.LENGTH_LONG).show();
+            });
+        } else if (isLogin) {
+            boolean loginSuccess = status >= 200 && status < 300;
+            runOnUiThread(() -> {
+                Toast.makeText(this, loginSuccess ? "로그인 성공" : "로그인 실패", Toast.LENGTH_SHORT).show();
+            });
+        }
     }
     
     private void updateWebSocketStatus() {
@@ -630,6 +517,16 @@ public class ServerInfoActivity extends AppCompatActivity implements WebSocketCl
         Toast.makeText(this, error, Toast.LENGTH_LONG).show();
     }
 
+    @Override
+    public void onReconnecting(int attempt, long delayMillis) {
+        Log.d("ServerInfo", "WebSocket reconnecting - attempt " + attempt + " in " + delayMillis + "ms");
+        tvWebSocketStatus.setText("재연결 대기 중 (" + attempt + "회, " + ((delayMillis + 999) / 1000) + "초 후)");
+        tvWebSocketStatus.setTextColor(getResources().getColor(android.R.color.holo_orange_dark));
+        // 재연결 중에도 연결 끊기로 재시도를 멈출 수 있게 한다
+        btnConnectWebSocket.setEnabled(true);
+        btnDisconnectWebSocket.setEnabled(true);
+    }
+
     @Override
     protected void onDestroy() {
         super.onDestroy();
@@ -638,6 +535,7 @@ public class ServerInfoActivity extends AppCompatActivity implements WebSocketCl
         if (webSocketClient != null) {
             webSocketClient.disconnect();
         }
+        relayDispatcher.shutdown();
         
         // 언바인드 서비스
         if (isServiceBound) {
@@ -0,0 +1,653 @@
+package com.example.couponman_6;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * 인증된 SMTP 세션을 재사용하는 메일 전송기.
+ * 메시지마다 연결/TLS 핸드셰이크/EHLO/AUTH 를 반복하지 않도록 설정별로 유휴 세션을 보관하고,
+ * 다음 메시지는 RSET 후 같은 세션으로 보낸다. 서버가 PIPELINING 을 광고하면
+ * RSET/MAIL FROM/RCPT TO/DATA 를 한 번에 보내고 응답을 순서대로 읽는다.
+ * 첨부파일은 버퍼 스트림 위에서 바로 base64 로 인코딩해 파일 전체를 메모리에 올리지 않는다.
+ */
+public class SmtpTransport {
+    private static final String TAG = "SmtpTransport";
+
+    public static final int DEFAULT_MAX_IDLE_SESSIONS = 2;
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 60_000L;
+    public static final int DEFAULT_MAX_MESSAGES_PER_SESSION = 100;
+    public static final int DEFAULT_SOCKET_TIMEOUT_MS = 30_000;
+    private static final int IO_BUFFER_SIZE = 8 * 1024;
+    private static final byte[] CRLF = {'\r', '\n'};
+    /** base64 후 encoded-word 가 75자를 넘지 않는 원문 바이트 수 */
+    private static final int MAX_ENCODED_WORD_BYTES = 45;
+
+    /**
+     * DATA 본문 전송을 시작한 뒤의 연결/프로토콜 오류.
+     * 서버가 이미 메시지를 받았을 수 있으므로 다시 보내면 중복 발송이 될 수 있다 (재시도 금지).
+     */
+    public static class DataStartedException extends IOException {
+        public DataStartedException(IOException cause) {
+            super("SMTP failure after DATA started: " + cause.getMessage(), cause);
+        }
+    }
+
+    /** SMTP 서버/계정 설정 (세션 풀의 키) */
+    public static class Config {
+        private final String host;
+        private final int port;
+        private final String security;
+        private final String username;
+        private final String password;
+        private final boolean useAuth;
+        private final String senderName;
+        private final String senderEmail;
+
+        public Config(String host, int port, String security, String username, String password,
+                      boolean useAuth, String senderName, String senderEmail) {
+            this.host = host;
+            this.port = port;
+            this.security = security != null ? security.toLowerCase(Locale.ROOT) : "none";
+            this.username = username;
+            this.password = password;
+            this.useAuth = useAuth;
+            this.senderName = senderName;
+            this.senderEmail = senderEmail;
+        }
+
+        String fromAddress() {
+            return senderEmail != null && !senderEmail.isEmpty() ? senderEmail : username;
+        }
+
+        boolean requiresAuth() {
+            return useAuth && password != null && !password.isEmpty();
+        }
+
+        String poolKey() {
+            return host + ":" + port + "|" + security + "|" + username + "|" + useAuth + "|"
+                    + (password != null ? password.hashCode() : 0);
+        }
+    }
+
+    /** 보낼 메시지 1건 (본문은 줄바꿈을 <br> 로 바꾼 HTML 로 전송) */
+    public static class Message {
+        private final String recipient;
+        private final String subject;
+        private final String text;
+        private final File attachment;
+        private final String attachmentName;
+        private final byte[] attachmentData;
+
+        public Message(String recipient, String subject, String text, File attachment) {
+            this.recipient = recipient;
+            this.subject = subject;
+            this.text = text;
+            this.attachment = attachment;
+            this.attachmentName = attachment != null ? attachment.getName() : null;
+            this.attachmentData = null;
+        }
+
+        /** 메모리에 있는 첨부 (QR PNG 캐시 등) 를 파일 없이 보낸다 */
+        public Message(String recipient, String subject, String text, String attachmentName, byte[] attachmentData) {
+            this.recipient = recipient;
+            this.subject = subject;
+            this.text = text;
+            this.attachment = null;
+            this.attachmentName = attachmentName;
+            this.attachmentData = attachmentData;
+        }
+
+        boolean hasAttachment() {
+            return attachmentData != null || (attachment != null && attachment.exists());
+        }
+
+        InputStream openAttachment() throws IOException {
+            return attachmentData != null ? new ByteArrayInputStream(attachmentData) : new FileInputStream(attachment);
+        }
+    }
+
+    private final int maxIdleSessions;
+    private final long idleTimeoutMs;
+    private final int maxMessagesPerSession;
+    private final int socketTimeoutMs;
+    private final Map<String, Deque<Session>> idleSessions = new HashMap<>();
+    private int idleCount;
+
+    private final AtomicLong sessionsOpened = new AtomicLong();
+    private final AtomicLong sessionsReused = new AtomicLong();
+    private final AtomicLong messagesSent = new AtomicLong();
+    private final AtomicLong messagesFailed = new AtomicLong();
+
+    public SmtpTransport() {
+        this(DEFAULT_MAX_IDLE_SESSIONS, DEFAULT_IDLE_TIMEOUT_MS, DEFAULT_MAX_MESSAGES_PER_SESSION, DEFAULT_SOCKET_TIMEOUT_MS);
+    }
+
+    public SmtpTransport(int maxIdleSessions, long idleTimeoutMs, int maxMessagesPerSession, int socketTimeoutMs) {
+        this.maxIdleSessions = maxIdleSessions;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.maxMessagesPerSession = maxMessagesPerSession;
+        this.socketTimeoutMs = socketTimeoutMs;
+    }
+
+    /**
+     * 메시지 1건 전송. 풀의 세션이 서버 쪽에서 끊겨 있었다면(본문 전송 전 실패) 새 세션으로 한 번 더 시도한다.
+     * 서버가 거절하면 false, 연결/프로토콜 오류는 IOException.
+     * DATA 본문 전송을 시작한 뒤의 오류는 DataStartedException 으로 구분한다 (그 전 오류만 재시도해도 안전).
+     */
+    public boolean send(Config config, Message message) throws IOException {
+        Session session = borrow(config);
+        boolean reused = session.messageCount > 0;
+        try {
+            boolean accepted = session.sendMessage(config, message);
+            release(session);
+            return countResult(accepted);
+        } catch (IOException e) {
+            session.close();
+            if (session.dataStarted) {
+                messagesFailed.incrementAndGet();
+                throw new DataStartedException(e);
+            }
+            if (!reused) {
+                messagesFailed.incrementAndGet();
+                throw e;
+            }
+            Log.w(TAG, "[SMTP-POOL] Pooled session was stale, reconnecting: " + e.getMessage());
+        }
+
+        Session fresh = open(config);
+        try {
+            boolean accepted = fresh.sendMessage(config, message);
+            release(fresh);
+            return countResult(accepted);
+        } catch (IOException e) {
+            fresh.close();
+            messagesFailed.incrementAndGet();
+            throw fresh.dataStarted ? new DataStartedException(e) : e;
+        }
+    }
+
+    /** 세션 생성/재사용 횟수와 현재 유휴 세션 수 */
+    public synchronized Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("idleSessions", idleCount);
+        metrics.put("maxIdleSessions", maxIdleSessions);
+        metrics.put("sessionsOpened", sessionsOpened.get());
+        metrics.put("sessionsReused", sessionsReused.get());
+        metrics.put("messagesSent", messagesSent.get());
+        metrics.put("messagesFailed", messagesFailed.get());
+        return metrics;
+    }
+
+    /** 유휴 세션 모두 QUIT 후 종료 (서버 종료 시) */
+    public void closeAll() {
+        List<Session> toClose = new ArrayList<>();
+        synchronized (this) {
+            for (Deque<Session> sessions : idleSessions.values()) {
+                toClose.addAll(sessions);
+            }
+            idleSessions.clear();
+            idleCount = 0;
+        }
+        for (Session session : toClose) {
+            session.quit();
+        }
+    }
+
+    private boolean countResult(boolean accepted) {
+        if (accepted) {
+            messagesSent.incrementAndGet();
+        } else {
+            messagesFailed.incrementAndGet();
+        }
+        return accepted;
+    }
+
+    private Session borrow(Config config) throws IOException {
+        List<Session> expired = new ArrayList<>();
+        Session reusable = null;
+        synchronized (this) {
+            Deque<Session> sessions = idleSessions.get(config.poolKey());
+            long now = System.currentTimeMillis();
+            while (sessions != null && !sessions.isEmpty()) {
+                Session candidate = sessions.pollFirst();
+                idleCount--;
+                if (now - candidate.lastUsedAt < idleTimeoutMs && !candidate.socket.isClosed()) {
+                    reusable = candidate;
+                    break;
+                }
+                expired.add(candidate);
+            }
+        }
+        for (Session session : expired) {
+            session.quit();
+        }
+        if (reusable != null) {
+            sessionsReused.incrementAndGet();
+            return reusable;
+        }
+        return open(config);
+    }
+
+    private void release(Session session) {
+        if (session.messageCount >= maxMessagesPerSession) {
+            session.quit();
+            return;
+        }
+        session.lastUsedAt = System.currentTimeMillis();
+        Session evicted = null;
+        synchronized (this) {
+            Deque<Session> sessions = idleSessions.get(session.poolKey);
+            if (sessions == null) {
+                sessions = new ArrayDeque<>();
+                idleSessions.put(session.poolKey, sessions);
+            }
+            sessions.addFirst(session);
+            idleCount++;
+            if (idleCount > maxIdleSessions) {
+                evicted = evictOldest();
+            }
+        }
+        if (evicted != null) {
+            evicted.quit();
+        }
+    }
+
+    private Session evictOldest() {
+        Session oldest = null;
+        Deque<Session> owner = null;
+        for (Deque<Session> sessions : idleSessions.values()) {
+            Session last = sessions.peekLast();
+            if (last != null && (oldest == null || last.lastUsedAt < oldest.lastUsedAt)) {
+                oldest = last;
+                owner = sessions;
+            }
+        }
+        if (owner != null) {
+            owner.pollLast();
+            idleCount--;
+            Iterator<Map.Entry<String, Deque<Session>>> it = idleSessions.entrySet().iterator();
+            while (it.hasNext()) {
+                if (it.next().getValue().isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+        return oldest;
+    }
+
+    private Session open(Config config) throws IOException {
+        Session session = new Session(config.poolKey());
+        try {
+            session.connect(config);
+        } catch (IOException e) {
+            session.close();
+            throw e;
+        }
+        sessionsOpened.incrementAndGet();
+        return session;
+    }
+
+    /** SMTP 연결 1개. 한 번에 한 스레드만 사용한다 (풀에서 빌려 쓰고 반납). */
+    private class Session {
+        private final String poolKey;
+        private Socket socket;
+        private InputStream in;
+        private OutputStream out;
+        private boolean pipelining;
+        private int messageCount;
+        private long lastUsedAt;
+        /** 현재 메시지의 DATA 본문 전송을 시작했는지 (이후 실패는 중복 발송 위험으로 재시도하지 않음) */
+        private boolean dataStarted;
+
+        Session(String poolKey) {
+            this.poolKey = poolKey;
+        }
+
+        void connect(Config config) throws IOException {
+            if ("ssl".equals(config.security)) {
+                socket = SSLSocketFactory.getDefault().createSocket();
+            } else {
+                socket = new Socket();
+            }
+            socket.connect(new InetSocketAddress(config.host, config.port), socketTimeoutMs);
+            socket.setSoTimeout(socketTimeoutMs);
+            attachStreams();
+
+            expect(readReply(), 220, "greeting");
+            String ehlo = command("EHLO " + localName());
+            expect(ehlo, 250, "EHLO");
+
+            if ("tls".equals(config.security)) {
+                expect(command("STARTTLS"), 220, "STARTTLS");
+                SSLSocket sslSocket = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                        .createSocket(socket, config.host, config.port, true);
+                sslSocket.startHandshake();
+                socket = sslSocket;
+                attachStreams();
+                ehlo = command("EHLO " + localName());
+                expect(ehlo, 250, "EHLO");
+            }
+            pipelining = advertises(ehlo, "PIPELINING");
+
+            if (config.requiresAuth()) {
+                expect(command("AUTH LOGIN"), 334, "AUTH LOGIN");
+                expect(command(base64(config.username)), 334, "AUTH username");
+                expect(command(base64(config.password)), 235, "AUTH password");
+            }
+            lastUsedAt = System.currentTimeMillis();
+            Log.i(TAG, "[SMTP-POOL] Session opened to " + config.host + ":" + config.port
+                    + " (security=" + config.security + ", pipelining=" + pipelining + ")");
+        }
+
+        /** @return 서버가 메시지를 수락하면 true, 봉투/본문이 거절되면 false */
+        boolean sendMessage(Config config, Message message) throws IOException {
+            dataStarted = false;
+            boolean reset = messageCount > 0;
+            messageCount++;
+
+            String mailFrom = "MAIL FROM:<" + config.fromAddress() + ">";
+            String rcptTo = "RCPT TO:<" + message.recipient + ">";
+            int mailReply;
+            int rcptReply;
+            int dataReply;
+            if (pipelining) {
+                if (reset) {
+                    writeLine("RSET");
+                }
+                writeLine(mailFrom);
+                writeLine(rcptTo);
+                writeLine("DATA");
+                out.flush();
+                if (reset) {
+                    expect(readReply(), 250, "RSET");
+                }
+                mailReply = replyCode(readReply());
+                rcptReply = replyCode(readReply());
+                dataReply = replyCode(readReply());
+            } else {
+                if (reset) {
+                    expect(command("RSET"), 250, "RSET");
+                }
+                mailReply = replyCode(command(mailFrom));
+                if (mailReply != 250) {
+                    Log.e(TAG, "[SMTP-POOL] MAIL FROM rejected: " + mailReply);
+                    return false;
+                }
+                rcptReply = replyCode(command(rcptTo));
+                if (rcptReply != 250 && rcptReply != 251) {
+                    Log.e(TAG, "[SMTP-POOL] RCPT TO rejected: " + rcptReply);
+                    return false;
+                }
+                dataReply = replyCode(command("DATA"));
+            }
+
+            boolean envelopeAccepted = mailReply == 250 && (rcptReply == 250 || rcptReply == 251);
+            if (dataReply != 354) {
+                Log.e(TAG, "[SMTP-POOL] Envelope rejected - MAIL " + mailReply + ", RCPT " + rcptReply + ", DATA " + dataReply);
+                return false;
+            }
+
+            dataStarted = true;
+            if (!envelopeAccepted) {
+                // 일부 서버는 RCPT 실패에도 354 를 줌: 빈 본문으로 트랜잭션만 종료
+                writeLine(".");
+                out.flush();
+                readReply();
+                return false;
+            }
+            writeContent(config, message);
+            writeLine(".");
+            out.flush();
+            int accepted = replyCode(readReply());
+            lastUsedAt = System.currentTimeMillis();
+            dataStarted = false;
+            if (accepted != 250) {
+                Log.e(TAG, "[SMTP-POOL] Message rejected: " + accepted);
+                return false;
+            }
+            return true;
+        }
+
+        private void writeContent(Config config, Message message) throws IOException {
+            String from = config.fromAddress();
+            String displayName = config.senderName != null && !config.senderName.isEmpty() ? config.senderName : from;
+            writeLine("From: " + encodeHeader(displayName) + " <" + from + ">");
+            writeLine("To: <" + message.recipient + ">");
+            writeLine("Subject: " + encodeHeader(message.subject != null ? message.subject : ""));
+            writeLine("MIME-Version: 1.0");
+
+            // 줄바꿈은 <br> 로 표시하되 SMTP 줄 길이 제한(998자)을 넘지 않도록 원래 줄은 유지
+            String html = message.text != null ? message.text.replace("\r\n", "\n").replace("\n", "<br>\n") : "";
+            if (message.hasAttachment()) {
+                String boundary = "----=_Part_" + System.nanoTime();
+                writeLine("Content-Type: multipart/mixed; boundary=\"" + boundary + "\"");
+                writeLine("");
+                writeLine("--" + boundary);
+                writeLine("Content-Type: text/html; charset=UTF-8");
+                writeLine("Content-Transfer-Encoding: 8bit");
+                writeLine("");
+                writeDotStuffed(html);
+                writeLine("");
+                writeLine("--" + boundary);
+                writeLine("Content-Type: " + contentTypeOf(message.attachmentName) + "; name=\"" + message.attachmentName + "\"");
+                writeLine("Content-Transfer-Encoding: base64");
+                writeLine("Content-Disposition: attachment; filename=\"" + message.attachmentName + "\"");
+                writeLine("");
+                writeBase64(message);
+                writeLine("");
+                writeLine("--" + boundary + "--");
+            } else {
+                writeLine("Content-Type: text/html; charset=UTF-8");
+                writeLine("Content-Transfer-Encoding: 8bit");
+                writeLine("");
+                writeDotStuffed(html);
+            }
+        }
+
+        /** 첨부를 76자 줄 단위 base64 로 소켓 버퍼에 바로 기록 (base64 줄은 '.' 로 시작하지 않음) */
+        private void writeBase64(Message message) throws IOException {
+            OutputStream encoder = Base64.getMimeEncoder(76, CRLF).wrap(new FilterOutputStream(out) {
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    // 소켓 스트림은 닫지 않음
+                }
+            });
+            try (InputStream source = message.openAttachment()) {
+                byte[] buffer = new byte[IO_BUFFER_SIZE];
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    encoder.write(buffer, 0, read);
+                }
+            }
+            encoder.close();
+            out.write(CRLF);
+        }
+
+        private void writeDotStuffed(String text) throws IOException {
+            for (String line : text.split("\n", -1)) {
+                writeLine(line.startsWith(".") ? "." + line : line);
+            }
+        }
+
+        private String command(String line) throws IOException {
+            writeLine(line);
+            out.flush();
+            return readReply();
+        }
+
+        private void writeLine(String line) throws IOException {
+            out.write(line.getBytes(StandardCharsets.UTF_8));
+            out.write(CRLF);
+        }
+
+        /** 멀티라인 응답을 끝까지 읽어 하나의 문자열로 반환 */
+        private String readReply() throws IOException {
+            StringBuilder reply = new StringBuilder();
+            while (true) {
+                String line = readLine();
+                if (line == null) {
+                    throw new IOException("SMTP connection closed");
+                }
+                reply.append(line).append('\n');
+                if (line.length() < 4 || line.charAt(3) != '-') {
+                    return reply.toString().trim();
+                }
+            }
+        }
+
+        private String readLine() throws IOException {
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = in.read()) != -1) {
+                if (c == '\n') {
+                    int len = line.length();
+                    if (len > 0 && line.charAt(len - 1) == '\r') {
+                        line.setLength(len - 1);
+                    }
+                    return line.toString();
+                }
+                line.append((char) c);
+            }
+            return line.length() > 0 ? line.toString() : null;
+        }
+
+        private void attachStreams() throws IOException {
+            in = new BufferedInputStream(socket.getInputStream(), IO_BUFFER_SIZE);
+            out = new BufferedOutputStream(socket.getOutputStream(), IO_BUFFER_SIZE);
+        }
+
+        private void expect(String reply, int code, String step) throws IOException {
+            if (replyCode(reply) != code) {
+                throw new IOException("SMTP " + step + " failed: " + reply);
+            }
+        }
+
+        void quit() {
+            try {
+                if (socket != null && !socket.isClosed()) {
+                    writeLine("QUIT");
+                    out.flush();
+                    readReply();
+                }
+            } catch (IOException ignored) {
+                // 이미 끊긴 세션
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            try {
+                if (socket != null) {
+                    socket.close();
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "[SMTP-POOL] Error closing session", e);
+            }
+        }
+    }
+
+    private static int replyCode(String reply) {
+        if (reply == null || reply.length() < 3) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(reply.substring(0, 3));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static boolean advertises(String ehloReply, String extension) {
+        for (String line : ehloReply.split("\n")) {
+            if (line.length() > 4 && line.substring(4).trim().toUpperCase(Locale.ROOT).startsWith(extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String localName() {
+        return "couponman.local";
+    }
+
+    private static String base64(String value) {
+        return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** 비ASCII 헤더는 RFC 2047 encoded-word(75자 이하)로 나눠 접어서 변환 */
+    static String encodeHeader(String value) {
+        boolean ascii = true;
+        for (int i = 0; i < value.length() && ascii; i++) {
+            char c = value.charAt(i);
+            ascii = c >= 0x20 && c <= 0x7e;
+        }
+        if (ascii) {
+            return value;
+        }
+        StringBuilder encoded = new StringBuilder();
+        int start = 0;
+        int bytes = 0;
+        for (int i = 0; i < value.length(); ) {
+            int codePoint = value.codePointAt(i);
+            int width = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (bytes + width > MAX_ENCODED_WORD_BYTES) {
+                appendEncodedWord(encoded, value.substring(start, i));
+                start = i;
+                bytes = 0;
+            }
+            bytes += width;
+            i += Character.charCount(codePoint);
+        }
+        appendEncodedWord(encoded, value.substring(start));
+        return encoded.toString();
+    }
+
+    private static void appendEncodedWord(StringBuilder encoded, String chunk) {
+        if (encoded.length() > 0) {
+            encoded.append("\r\n ");
+        }
+        encoded.append("=?UTF-8?B?").append(base64(chunk)).append("?=");
+    }
+
+    private static String contentTypeOf(String fileName) {
+        String name = fileName.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".png")) {
+            return "image/png";
+        }
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+            return "image/jpeg";
+        }
+        return "application/octet-stream";
+    }
+}
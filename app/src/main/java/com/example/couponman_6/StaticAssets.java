@@ -0,0 +1,315 @@
+package com.example.couponman_6;
+
+import android.content.res.AssetManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Response;
+
+/**
+ * 대시보드 정적 자산 (web/ 아래 html/js/css).
+ * 서버 시작 때 한 번 읽어 바이트와 gzip 본을 메모리에 올리고, 내용 해시로 강한 ETag 를 만든다.
+ * 요청마다 If-None-Match 면 304, Accept-Encoding 에 gzip 이 있으면 미리 압축한 본을 보낸다.
+ */
+public class StaticAssets {
+    private static final String TAG = "StaticAssets";
+
+    /** html 은 매번 ETag 재검증, js/css 는 파일명에 버전이 없으므로 짧게 캐시 */
+    static final String CACHE_CONTROL_HTML = "no-cache";
+    static final String CACHE_CONTROL_ASSET = "public, max-age=300";
+    /** 압축해도 이보다 작아지지 않으면 원본만 보낸다 */
+    private static final double MIN_GZIP_RATIO = 0.9;
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    private static final Map<String, String> CONTENT_TYPES = new HashMap<>();
+
+    static {
+        CONTENT_TYPES.put("html", "text/html; charset=utf-8");
+        CONTENT_TYPES.put("js", "application/javascript; charset=utf-8");
+        CONTENT_TYPES.put("css", "text/css; charset=utf-8");
+        CONTENT_TYPES.put("json", "application/json; charset=utf-8");
+        CONTENT_TYPES.put("svg", "image/svg+xml");
+        CONTENT_TYPES.put("png", "image/png");
+        CONTENT_TYPES.put("ico", "image/x-icon");
+    }
+
+    /** 자산 목록/열기 (AssetManager 또는 테스트용 디렉터리) */
+    interface Source {
+        String[] list(String path) throws IOException;
+
+        InputStream open(String path) throws IOException;
+    }
+
+    /** 메모리에 올린 자산 하나 */
+    static final class Asset {
+        final String path;
+        final String contentType;
+        final String cacheControl;
+        final byte[] identity;
+        final byte[] gzip;
+        final String etag;
+        final String gzipEtag;
+
+        Asset(String path, String contentType, String cacheControl, byte[] identity, byte[] gzip, String hash) {
+            this.path = path;
+            this.contentType = contentType;
+            this.cacheControl = cacheControl;
+            this.identity = identity;
+            this.gzip = gzip;
+            // 인코딩이 다르면 다른 표현이므로 ETag 도 구분한다
+            this.etag = "\"" + hash + "\"";
+            this.gzipEtag = "\"" + hash + "-gz\"";
+        }
+    }
+
+    private final Map<String, Asset> assets;
+    private final long identityBytes;
+    private final long gzipBytes;
+    private final AtomicLong servedCount = new AtomicLong();
+    private final AtomicLong gzipServedCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+
+    private StaticAssets(Map<String, Asset> assets) {
+        this.assets = Collections.unmodifiableMap(assets);
+        long identity = 0;
+        long gzip = 0;
+        for (Asset asset : assets.values()) {
+            identity += asset.identity.length;
+            gzip += asset.gzip != null ? asset.gzip.length : asset.identity.length;
+        }
+        this.identityBytes = identity;
+        this.gzipBytes = gzip;
+    }
+
+    /** APK 의 assets/{root} 아래 자산을 모두 읽는다 */
+    public static StaticAssets load(final AssetManager assetManager, String root) {
+        return load(new Source() {
+            @Override
+            public String[] list(String path) throws IOException {
+                return assetManager.list(path);
+            }
+
+            @Override
+            public InputStream open(String path) throws IOException {
+                return assetManager.open(path, AssetManager.ACCESS_STREAMING);
+            }
+        }, root);
+    }
+
+    static StaticAssets load(Source source, String root) {
+        long startTime = System.currentTimeMillis();
+        Map<String, Asset> assets = new LinkedHashMap<>();
+        try {
+            collect(source, root, assets);
+        } catch (IOException e) {
+            AppLog.e(TAG, "[STATIC] 자산 목록 읽기 실패: " + root, e);
+        }
+        StaticAssets loaded = new StaticAssets(assets);
+        AppLog.i(TAG, "[STATIC] 정적 자산 " + assets.size() + "개 로드 - " + loaded.identityBytes + " bytes (gzip "
+                + loaded.gzipBytes + " bytes), " + (System.currentTimeMillis() - startTime) + "ms");
+        return loaded;
+    }
+
+    private static void collect(Source source, String path, Map<String, Asset> assets) throws IOException {
+        String[] children = source.list(path);
+        if (children == null || children.length == 0) {
+            // 하위 항목이 없으면 파일 (빈 디렉터리는 열기에서 실패하므로 무시)
+            try {
+                Asset asset = readAsset(source, path);
+                if (asset != null) {
+                    assets.put(path, asset);
+                }
+            } catch (IOException e) {
+                AppLog.w(TAG, "[STATIC] 자산 읽기 실패: " + path + " - " + e.getMessage());
+            }
+            return;
+        }
+        for (String child : children) {
+            collect(source, path + "/" + child, assets);
+        }
+    }
+
+    private static Asset readAsset(Source source, String path) throws IOException {
+        int dot = path.lastIndexOf('.');
+        String contentType = dot >= 0 ? CONTENT_TYPES.get(path.substring(dot + 1).toLowerCase()) : null;
+        if (contentType == null) {
+            return null;
+        }
+
+        byte[] identity;
+        try (InputStream in = source.open(path)) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+            byte[] chunk = new byte[READ_BUFFER_SIZE];
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                buffer.write(chunk, 0, read);
+            }
+            identity = buffer.toByteArray();
+        }
+
+        byte[] gzip = null;
+        if (isCompressible(contentType)) {
+            byte[] compressed = gzip(identity);
+            if (compressed.length < identity.length * MIN_GZIP_RATIO) {
+                gzip = compressed;
+            }
+        }
+        String cacheControl = contentType.startsWith("text/html") ? CACHE_CONTROL_HTML : CACHE_CONTROL_ASSET;
+        return new Asset(path, contentType, cacheControl, identity, gzip, hash(identity));
+    }
+
+    /** 압축해서 이득이 있는 텍스트 계열 타입인지 */
+    static boolean isCompressible(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        contentType = contentType.toLowerCase();
+        return contentType.startsWith("text/") || contentType.contains("javascript")
+                || contentType.contains("json") || contentType.contains("svg");
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 3 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out, READ_BUFFER_SIZE) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static String hash(byte[] data) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(data);
+            StringBuilder hex = new StringBuilder(32);
+            for (int i = 0; i < 16; i++) {
+                hex.append(Character.forDigit((digest[i] >> 4) & 0xf, 16));
+                hex.append(Character.forDigit(digest[i] & 0xf, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** 로드된 자산 경로 (예: "web/assets/js/core/app.js") */
+    public Iterable<String> getPaths() {
+        return assets.keySet();
+    }
+
+    public boolean contains(String path) {
+        return assets.containsKey(path);
+    }
+
+    /**
+     * 자산 응답. 없는 경로면 null
+     */
+    public Response serve(IHTTPSession session, String path) {
+        Asset asset = assets.get(path);
+        if (asset == null) {
+            return null;
+        }
+        Map<String, String> headers = session.getHeaders();
+        boolean useGzip = asset.gzip != null && acceptsGzip(headers.get("accept-encoding"));
+        String etag = useGzip ? asset.gzipEtag : asset.etag;
+
+        Response response;
+        if (matchesIfNoneMatch(headers.get("if-none-match"), asset)) {
+            notModifiedCount.incrementAndGet();
+            response = NanoHTTPD.newFixedLengthResponse(Response.Status.NOT_MODIFIED, null, null, 0);
+        } else {
+            byte[] body = useGzip ? asset.gzip : asset.identity;
+            response = NanoHTTPD.newFixedLengthResponse(Response.Status.OK, asset.contentType,
+                    new ByteArrayInputStream(body), body.length);
+            if (useGzip) {
+                response.addHeader("Content-Encoding", "gzip");
+                gzipServedCount.incrementAndGet();
+            }
+            servedCount.incrementAndGet();
+            bytesSent.addAndGet(body.length);
+        }
+        response.addHeader("ETag", etag);
+        response.addHeader("Cache-Control", asset.cacheControl);
+        if (asset.gzip != null) {
+            response.addHeader("Vary", "Accept-Encoding");
+        }
+        return response;
+    }
+
+    /** If-None-Match 의 태그 중 하나라도 이 자산(어느 인코딩이든)과 같으면 true (약한 비교) */
+    static boolean matchesIfNoneMatch(String ifNoneMatch, Asset asset) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.trim();
+            if (value.equals("*")) {
+                return true;
+            }
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(asset.etag) || value.equals(asset.gzipEtag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Accept-Encoding 에 gzip(또는 *) 이 q=0 이 아닌 값으로 있으면 true */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim().toLowerCase();
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            double q = 1.0;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        q = Double.parseDouble(param.substring(2));
+                    } catch (NumberFormatException e) {
+                        q = 0;
+                    }
+                }
+            }
+            return q > 0;
+        }
+        return false;
+    }
+
+    /** 정적 자산 로드/응답 건수 */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("assets", assets.size());
+        metrics.put("identityBytes", identityBytes);
+        metrics.put("gzipBytes", gzipBytes);
+        metrics.put("served", servedCount.get());
+        metrics.put("servedGzip", gzipServedCount.get());
+        metrics.put("notModified", notModifiedCount.get());
+        metrics.put("bytesSent", bytesSent.get());
+        return metrics;
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.couponman_6;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 거래처/직원 단위 쿠폰 통계 집계 DAO.
+ * coupon · employee · coupon_transaction 을 JOIN + GROUP BY 하여 한 번의 쿼리로 집계하므로
+ * 거래처 수나 직원 수에 비례해 쿼리 횟수가 늘어나지 않는다.
+ */
+public class StatisticsDAO {
+    private static final String TAG = "StatisticsDAO";
+
+    private final DatabaseHelper dbHelper;
+    private SQLiteDatabase database;
+
+    public StatisticsDAO(Context context) {
+        dbHelper = DatabaseHelper.getInstance(context);
+    }
+
+    public void open() {
+        if (database != null && database.isOpen()) return;
+        database = dbHelper.getWritableDatabase();
+    }
+
+    public void close() {
+        // no-op: 공유 DatabaseHelper 연결 유지. shutdown()으로 참조만 해제.
+    }
+
+    public void shutdown() {
+        database = null;
+    }
+
+    /**
+     * 거래처별 통계 행
+     */
+    public static class CorporateStat {
+        private int corporateId;
+        private String corporateName;
+        private int employeeCount;
+        private int issuedCoupons;
+        private int usedCoupons;
+        private double usedCashAmount;
+        private double totalCashValue;
+        private double totalPointValue;
+
+        // Getters
+        public int getCorporateId() { return corporateId; }
+        public String getCorporateName() { return corporateName; }
+        public int getEmployeeCount() { return employeeCount; }
+        public int getIssuedCoupons() { return issuedCoupons; }
+        public int getUsedCoupons() { return usedCoupons; }
+        public double getUsedCashAmount() { return usedCashAmount; }
+        public double getTotalCashValue() { return totalCashValue; }
+        public double getTotalPointValue() { return totalPointValue; }
+    }
+
+    /**
+     * 거래처 내 직원별 통계 행
+     */
+    public static class EmployeeStat {
+        private int employeeId;
+        private String employeeName;
+        private int issuedCoupons;
+        private int usedCoupons;
+        private double usedCashAmount;
+        private double totalCashBalance;
+        private double totalPointBalance;
+
+        // Getters
+        public int getEmployeeId() { return employeeId; }
+        public String getEmployeeName() { return employeeName; }
+        public int getIssuedCoupons() { return issuedCoupons; }
+        public int getUsedCoupons() { return usedCoupons; }
+        public double getUsedCashAmount() { return usedCashAmount; }
+        public double getTotalCashBalance() { return totalCashBalance; }
+        public double getTotalPointBalance() { return totalPointBalance; }
+    }
+
+    /**
+     * 거래처별 쿠폰 발행/사용/잔액 통계 (startDate/endDate 가 모두 있을 때만 기간 필터 적용)
+     */
+    public List<CorporateStat> getCorporateStatistics(String startDate, String endDate) {
+        List<CorporateStat> stats = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        String usage = buildUsageSubquery(startDate, endDate, args);
+
+        String sql = "SELECT c." + DatabaseHelper.COLUMN_CUSTOMER_ID + ", c." + DatabaseHelper.COLUMN_NAME + ", " +
+                "(SELECT COUNT(*) FROM " + DatabaseHelper.TABLE_EMPLOYEE + " ec" +
+                " WHERE ec." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = c." + DatabaseHelper.COLUMN_CUSTOMER_ID + ") AS employee_count, " +
+                "COUNT(cp." + DatabaseHelper.COLUMN_COUPON_ID + ") AS issued_coupons, " +
+                "COUNT(u.coupon_id) AS used_coupons, " +
+                "COALESCE(SUM(u.cash_used), 0) AS used_cash_amount, " +
+                "COALESCE(SUM(cp." + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + "), 0) AS total_cash_value, " +
+                "COALESCE(SUM(cp." + DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + "), 0) AS total_point_value " +
+                "FROM " + DatabaseHelper.TABLE_CORPORATE + " c " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID +
+                " = c." + DatabaseHelper.COLUMN_CUSTOMER_ID + " " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_COUPON + " cp ON cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID +
+                " = e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + " " +
+                "LEFT JOIN " + usage + " u ON u.coupon_id = cp." + DatabaseHelper.COLUMN_COUPON_ID + " " +
+                "GROUP BY c." + DatabaseHelper.COLUMN_CUSTOMER_ID + " " +
+                "ORDER BY c." + DatabaseHelper.COLUMN_NAME + " ASC";
+
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args.toArray(new String[0]));
+            if (cursor != null && cursor.moveToFirst()) {
+                do {
+                    CorporateStat stat = new CorporateStat();
+                    stat.corporateId = cursor.getInt(0);
+                    stat.corporateName = cursor.getString(1);
+                    stat.employeeCount = cursor.getInt(2);
+                    stat.issuedCoupons = cursor.getInt(3);
+                    stat.usedCoupons = cursor.getInt(4);
+                    stat.usedCashAmount = cursor.getDouble(5);
+                    stat.totalCashValue = cursor.getDouble(6);
+                    stat.totalPointValue = cursor.getDouble(7);
+                    stats.add(stat);
+                } while (cursor.moveToNext());
+            }
+            AppLog.d(TAG, () -> "Retrieved corporate statistics: " + stats.size() + " corporates");
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting corporate statistics", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 거래처 내 직원별 쿠폰 발행/사용/잔액 통계
+     */
+    public List<EmployeeStat> getEmployeeStatistics(int corporateId, String startDate, String endDate) {
+        List<EmployeeStat> stats = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        String usage = buildUsageSubquery(startDate, endDate, args);
+        args.add(String.valueOf(corporateId));
+
+        String sql = "SELECT e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + ", e." + DatabaseHelper.COLUMN_EMPLOYEE_NAME + ", " +
+                "COUNT(cp." + DatabaseHelper.COLUMN_COUPON_ID + ") AS issued_coupons, " +
+                "COUNT(u.coupon_id) AS used_coupons, " +
+                "COALESCE(SUM(u.cash_used), 0) AS used_cash_amount, " +
+                "COALESCE(SUM(cp." + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + "), 0) AS total_cash_balance, " +
+                "COALESCE(SUM(cp." + DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + "), 0) AS total_point_balance " +
+                "FROM " + DatabaseHelper.TABLE_EMPLOYEE + " e " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_COUPON + " cp ON cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID +
+                " = e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + " " +
+                "LEFT JOIN " + usage + " u ON u.coupon_id = cp." + DatabaseHelper.COLUMN_COUPON_ID + " " +
+                "WHERE e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ? " +
+                "GROUP BY e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + " " +
+                "ORDER BY e." + DatabaseHelper.COLUMN_EMPLOYEE_NAME + " ASC";
+
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args.toArray(new String[0]));
+            if (cursor != null && cursor.moveToFirst()) {
+                do {
+                    EmployeeStat stat = new EmployeeStat();
+                    stat.employeeId = cursor.getInt(0);
+                    stat.employeeName = cursor.getString(1);
+                    stat.issuedCoupons = cursor.getInt(2);
+                    stat.usedCoupons = cursor.getInt(3);
+                    stat.usedCashAmount = cursor.getDouble(4);
+                    stat.totalCashBalance = cursor.getDouble(5);
+                    stat.totalPointBalance = cursor.getDouble(6);
+                    stats.add(stat);
+                } while (cursor.moveToNext());
+            }
+            AppLog.d(TAG, () -> "Retrieved employee statistics for corporate " + corporateId + ": " + stats.size() + " employees");
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting employee statistics", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return stats;
+    }
+
+    /**
+     * 쿠폰별 사용 횟수/현금 사용금액 서브쿼리 (사용 = TYPE_USE 또는 구버전 DEDUCTION)
+     */
+    private String buildUsageSubquery(String startDate, String endDate, List<String> args) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("(SELECT ").append(DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID).append(" AS coupon_id, ")
+                .append("COUNT(*) AS use_count, ")
+                .append("SUM(CASE WHEN ").append(DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE).append(" = ? ")
+                .append("THEN ABS(").append(DatabaseHelper.COLUMN_TRANSACTION_AMOUNT).append(") ELSE 0 END) AS cash_used ")
+                .append("FROM ").append(DatabaseHelper.TABLE_TRANSACTION)
+                .append(" WHERE ").append(DatabaseHelper.COLUMN_TRANSACTION_TYPE).append(" IN (?, 'DEDUCTION')");
+        args.add(Transaction.BALANCE_TYPE_CASH);
+        args.add(Transaction.TYPE_USE);
+
+        if (startDate != null && !startDate.isEmpty() && endDate != null && !endDate.isEmpty()) {
+            // 종료일이 "YYYY-MM-DD" 이면 해당 일자 전체 포함
+            String endDateTime = endDate.length() == 10 ? endDate + " 23:59:59" : endDate;
+            sb.append(" AND ").append(DatabaseHelper.COLUMN_TRANSACTION_DATE).append(" >= ?")
+                    .append(" AND ").append(DatabaseHelper.COLUMN_TRANSACTION_DATE).append(" <= ?");
+            args.add(startDate);
+            args.add(endDateTime);
+        }
+        sb.append(" GROUP BY ").append(DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID).append(")");
+        return sb.toString();
+    }
+}
@@ -5,19 +5,30 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteException;
-import android.util.Log;
+import android.util.Base64;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 public class TransactionDAO {
     private static final String TAG = "TransactionDAO";
+
+    /** 사용 내역 조회용 거래 → 쿠폰 → 직원 → 거래처 JOIN */
+    private static final String USAGE_HISTORY_FROM =
+            "FROM " + DatabaseHelper.TABLE_TRANSACTION + " t " +
+            "LEFT JOIN " + DatabaseHelper.TABLE_COUPON + " cp ON cp." + DatabaseHelper.COLUMN_COUPON_ID +
+            " = t." + DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID + " " +
+            "LEFT JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_ID +
+            " = cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " " +
+            "LEFT JOIN " + DatabaseHelper.TABLE_CORPORATE + " corp ON corp." + DatabaseHelper.COLUMN_CUSTOMER_ID +
+            " = e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID;
     
     private DatabaseHelper dbHelper;
     private SQLiteDatabase database;
 
     public TransactionDAO(Context context) {
-        dbHelper = new DatabaseHelper(context);
+        dbHelper = DatabaseHelper.getInstance(context);
     }
 
     /**
@@ -27,9 +38,9 @@ public class TransactionDAO {
         if (database != null && database.isOpen()) return;
         try {
             database = dbHelper.getWritableDatabase();
-            Log.d(TAG, "Database connection opened");
+            AppLog.d(TAG, "Database connection opened");
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error opening database", e);
+            AppLog.e(TAG, "Error opening database", e);
             throw e;
         }
     }
@@ -38,17 +49,16 @@ public class TransactionDAO {
      * 데이터베이스 연결 닫기 (no-op: 서버 핸들러에서 호출해도 연결 유지)
      */
     public void close() {
-        // no-op: SQLiteOpenHelper 연결 유지. shutdown()으로만 실제 닫기.
+        // no-op: 공유 DatabaseHelper 연결 유지. shutdown()으로 참조만 해제.
     }
 
     /**
-     * 실제 데이터베이스 연결 닫기 (서비스 종료 시에만 호출)
+     * 공유 데이터베이스 연결 참조 해제 (서비스 종료 시에만 호출)
      */
     public void shutdown() {
-        if (database != null && database.isOpen()) {
-            database.close();
-            Log.d(TAG, "Database connection closed");
-        }
+        // 공유 연결은 다른 DAO/화면이 계속 사용하므로 닫지 않고 참조만 해제
+        database = null;
+        AppLog.d(TAG, "Database connection released");
     }
 
     /**
@@ -56,7 +66,7 @@ public class TransactionDAO {
      */
     public long insertTransaction(Transaction transaction) {
         if (!transaction.isValidForSave()) {
-            Log.w(TAG, "Invalid transaction data for insert");
+            AppLog.w(TAG, "Invalid transaction data for insert");
             return -1;
         }
 
@@ -74,11 +84,11 @@ public class TransactionDAO {
 
         try {
             long id = database.insert(DatabaseHelper.TABLE_TRANSACTION, null, values);
-            Log.i(TAG, "Transaction inserted with ID: " + id + ", Type: " + transaction.getTransactionType() + 
+            AppLog.i(TAG, "Transaction inserted with ID: " + id + ", Type: " + transaction.getTransactionType() + 
                       ", Amount: " + transaction.getAmount());
             return id;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error inserting transaction", e);
+            AppLog.e(TAG, "Error inserting transaction", e);
             return -1;
         }
     }
@@ -88,7 +98,7 @@ public class TransactionDAO {
      */
     public int updateTransaction(Transaction transaction) {
         if (!transaction.isValidForSave()) {
-            Log.w(TAG, "Invalid transaction data for update");
+            AppLog.w(TAG, "Invalid transaction data for update");
             return 0;
         }
 
@@ -108,10 +118,10 @@ public class TransactionDAO {
                 DatabaseHelper.COLUMN_TRANSACTION_ID + " = ?",
                 new String[]{String.valueOf(transaction.getTransactionId())}
             );
-            Log.i(TAG, "Transaction updated, ID: " + transaction.getTransactionId() + ", rows affected: " + rowsAffected);
+            AppLog.i(TAG, "Transaction updated, ID: " + transaction.getTransactionId() + ", rows affected: " + rowsAffected);
             return rowsAffected;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error updating transaction", e);
+            AppLog.e(TAG, "Error updating transaction", e);
             return 0;
         }
     }
@@ -126,10 +136,10 @@ public class TransactionDAO {
                 DatabaseHelper.COLUMN_TRANSACTION_ID + " = ?",
                 new String[]{String.valueOf(transactionId)}
             );
-            Log.i(TAG, "Transaction deleted, ID: " + transactionId + ", rows affected: " + rowsAffected);
+            AppLog.i(TAG, "Transaction deleted, ID: " + transactionId + ", rows affected: " + rowsAffected);
             return rowsAffected;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error deleting transaction", e);
+            AppLog.e(TAG, "Error deleting transaction", e);
             return 0;
         }
     }
@@ -150,14 +160,14 @@ public class TransactionDAO {
 
             if (cursor != null && cursor.moveToFirst()) {
                 Transaction transaction = cursorToTransaction(cursor);
-                Log.d(TAG, "Transaction found by ID: " + transactionId);
+                AppLog.d(TAG, () -> "Transaction found by ID: " + transactionId);
                 return transaction;
             }
             
-            Log.d(TAG, "No transaction found with ID: " + transactionId);
+            AppLog.d(TAG, () -> "No transaction found with ID: " + transactionId);
             return null;
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting transaction by ID", e);
+            AppLog.e(TAG, "Error getting transaction by ID", e);
             return null;
         } finally {
             if (cursor != null) {
@@ -190,10 +200,10 @@ public class TransactionDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + transactions.size() + " transactions for coupon ID: " + couponId);
+            AppLog.i(TAG, "Retrieved " + transactions.size() + " transactions for coupon ID: " + couponId);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting transactions by coupon ID", e);
+            AppLog.e(TAG, "Error getting transactions by coupon ID", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -227,10 +237,10 @@ public class TransactionDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + transactions.size() + " transactions with type: " + transactionType);
+            AppLog.i(TAG, "Retrieved " + transactions.size() + " transactions with type: " + transactionType);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting transactions by type", e);
+            AppLog.e(TAG, "Error getting transactions by type", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -272,10 +282,10 @@ public class TransactionDAO {
                 } while (cursor.moveToNext());
             }
 
-            Log.i(TAG, "Retrieved " + transactions.size() + " transactions between " + startDate + " and " + endDateTime);
+            AppLog.i(TAG, "Retrieved " + transactions.size() + " transactions between " + startDate + " and " + endDateTime);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting transactions by date range", e);
+            AppLog.e(TAG, "Error getting transactions by date range", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -306,10 +316,10 @@ public class TransactionDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + transactions.size() + " transactions");
+            AppLog.i(TAG, "Retrieved " + transactions.size() + " transactions");
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting all transactions", e);
+            AppLog.e(TAG, "Error getting all transactions", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -341,10 +351,10 @@ public class TransactionDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.i(TAG, "Retrieved " + transactions.size() + " transactions (limit: " + limit + ", offset: " + offset + ")");
+            AppLog.i(TAG, "Retrieved " + transactions.size() + " transactions (limit: " + limit + ", offset: " + offset + ")");
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting paginated transactions", e);
+            AppLog.e(TAG, "Error getting paginated transactions", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -374,11 +384,11 @@ public class TransactionDAO {
             
             if (cursor != null && cursor.moveToFirst()) {
                 double total = cursor.getDouble(0);
-                Log.d(TAG, "Total charge amount for coupon " + couponId + " (" + balanceType + "): " + total);
+                AppLog.d(TAG, () -> "Total charge amount for coupon " + couponId + " (" + balanceType + "): " + total);
                 return total;
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting total charge amount", e);
+            AppLog.e(TAG, "Error getting total charge amount", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -407,11 +417,11 @@ public class TransactionDAO {
             
             if (cursor != null && cursor.moveToFirst()) {
                 double total = cursor.getDouble(0);
-                Log.d(TAG, "Total use amount for coupon " + couponId + " (" + balanceType + "): " + total);
+                AppLog.d(TAG, () -> "Total use amount for coupon " + couponId + " (" + balanceType + "): " + total);
                 return total;
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting total use amount", e);
+            AppLog.e(TAG, "Error getting total use amount", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -450,10 +460,10 @@ public class TransactionDAO {
                 } while (cursor.moveToNext());
             }
             
-            Log.d(TAG, "Retrieved transaction summary for coupon " + couponId);
+            AppLog.d(TAG, () -> "Retrieved transaction summary for coupon " + couponId);
             
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting transaction summary", e);
+            AppLog.e(TAG, "Error getting transaction summary", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -472,11 +482,11 @@ public class TransactionDAO {
             cursor = database.rawQuery("SELECT COUNT(*) FROM " + DatabaseHelper.TABLE_TRANSACTION, null);
             if (cursor != null && cursor.moveToFirst()) {
                 int count = cursor.getInt(0);
-                Log.d(TAG, "Total transaction count: " + count);
+                AppLog.d(TAG, () -> "Total transaction count: " + count);
                 return count;
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting transaction count", e);
+            AppLog.e(TAG, "Error getting transaction count", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -498,11 +508,11 @@ public class TransactionDAO {
             );
             if (cursor != null && cursor.moveToFirst()) {
                 int count = cursor.getInt(0);
-                Log.d(TAG, "Transaction count for coupon " + couponId + ": " + count);
+                AppLog.d(TAG, () -> "Transaction count for coupon " + couponId + ": " + count);
                 return count;
             }
         } catch (SQLiteException e) {
-            Log.e(TAG, "Error getting transaction count by coupon ID", e);
+            AppLog.e(TAG, "Error getting transaction count by coupon ID", e);
         } finally {
             if (cursor != null) {
                 cursor.close();
@@ -511,6 +521,369 @@ public class TransactionDAO {
         return 0;
     }
 
+    /**
+     * 기간 내 직원별 사용 집계 (corporateId <= 0 이면 전체 거래처).
+     * 거래 → 쿠폰 → 직원 → 거래처를 한 번에 JOIN 하고 직원 단위로 GROUP BY 한다.
+     */
+    public List<EmployeeUsageSummary> getUsageSummaryByEmployee(String startDate, String endDate, int corporateId) {
+        List<EmployeeUsageSummary> summaries = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(Transaction.BALANCE_TYPE_CASH);
+        args.add(Transaction.BALANCE_TYPE_POINT);
+        args.add(Transaction.TYPE_USE);
+        args.add(startDate);
+        args.add(toEndDateTime(endDate));
+
+        // MAX(transaction_date) 와 함께 선택한 cp 잔액 컬럼은 SQLite 규칙상
+        // 해당 직원의 가장 최근 사용 거래 행의 쿠폰 값이 된다.
+        String sql = "SELECT e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + ", " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_NAME + ", " +
+                "c." + DatabaseHelper.COLUMN_NAME + " AS corporate_name, " +
+                "COUNT(*) AS usage_count, " +
+                "SUM(CASE WHEN t." + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE + " = ? THEN ABS(t." +
+                DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ") ELSE 0 END) AS cash_used, " +
+                "SUM(CASE WHEN t." + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE + " = ? THEN ABS(t." +
+                DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ") ELSE 0 END) AS points_used, " +
+                "MAX(t." + DatabaseHelper.COLUMN_TRANSACTION_DATE + ") AS last_used_at, " +
+                "cp." + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + ", " +
+                "cp." + DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + " " +
+                "FROM " + DatabaseHelper.TABLE_TRANSACTION + " t " +
+                "JOIN " + DatabaseHelper.TABLE_COUPON + " cp ON cp." + DatabaseHelper.COLUMN_COUPON_ID +
+                " = t." + DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID + " " +
+                "JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_ID +
+                " = cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_CORPORATE + " c ON c." + DatabaseHelper.COLUMN_CUSTOMER_ID +
+                " = e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " " +
+                "WHERE t." + DatabaseHelper.COLUMN_TRANSACTION_TYPE + " IN (?, 'DEDUCTION') " +
+                "AND t." + DatabaseHelper.COLUMN_TRANSACTION_DATE + " >= ? " +
+                "AND t." + DatabaseHelper.COLUMN_TRANSACTION_DATE + " <= ?";
+        if (corporateId > 0) {
+            sql += " AND e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?";
+            args.add(String.valueOf(corporateId));
+        }
+        sql += " GROUP BY e." + DatabaseHelper.COLUMN_EMPLOYEE_ID;
+
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args.toArray(new String[0]));
+            if (cursor != null && cursor.moveToFirst()) {
+                do {
+                    EmployeeUsageSummary summary = new EmployeeUsageSummary();
+                    summary.employeeId = cursor.getInt(0);
+                    summary.employeeName = cursor.getString(1);
+                    summary.corporateName = cursor.isNull(2) ? "N/A" : cursor.getString(2);
+                    summary.usageCount = cursor.getInt(3);
+                    summary.cashUsed = cursor.getDouble(4);
+                    summary.pointsUsed = cursor.getDouble(5);
+                    summary.cashBalance = cursor.getDouble(7);
+                    summary.pointBalance = cursor.getDouble(8);
+                    summaries.add(summary);
+                } while (cursor.moveToNext());
+            }
+            AppLog.d(TAG, () -> "Retrieved usage summary for " + summaries.size() + " employees between " + startDate + " and " + endDate);
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting usage summary by employee", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * 기간 내 거래처별 사용 집계 (corporateId <= 0 이면 전체 거래처).
+     * 직원별 집계와 같은 JOIN 에서 거래처 단위로 GROUP BY 한다.
+     */
+    public List<CorporateUsageSummary> getUsageSummaryByCorporate(String startDate, String endDate, int corporateId) {
+        List<CorporateUsageSummary> summaries = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        args.add(Transaction.BALANCE_TYPE_CASH);
+        args.add(Transaction.BALANCE_TYPE_POINT);
+        args.add(Transaction.TYPE_USE);
+        args.add(startDate);
+        args.add(toEndDateTime(endDate));
+
+        String sql = "SELECT e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + ", " +
+                "c." + DatabaseHelper.COLUMN_NAME + " AS corporate_name, " +
+                "COUNT(DISTINCT e." + DatabaseHelper.COLUMN_EMPLOYEE_ID + ") AS employee_count, " +
+                "COUNT(*) AS usage_count, " +
+                "SUM(CASE WHEN t." + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE + " = ? THEN ABS(t." +
+                DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ") ELSE 0 END) AS cash_used, " +
+                "SUM(CASE WHEN t." + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE + " = ? THEN ABS(t." +
+                DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ") ELSE 0 END) AS points_used " +
+                "FROM " + DatabaseHelper.TABLE_TRANSACTION + " t " +
+                "JOIN " + DatabaseHelper.TABLE_COUPON + " cp ON cp." + DatabaseHelper.COLUMN_COUPON_ID +
+                " = t." + DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID + " " +
+                "JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_ID +
+                " = cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " " +
+                "LEFT JOIN " + DatabaseHelper.TABLE_CORPORATE + " c ON c." + DatabaseHelper.COLUMN_CUSTOMER_ID +
+                " = e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " " +
+                "WHERE t." + DatabaseHelper.COLUMN_TRANSACTION_TYPE + " IN (?, 'DEDUCTION') " +
+                "AND t." + DatabaseHelper.COLUMN_TRANSACTION_DATE + " >= ? " +
+                "AND t." + DatabaseHelper.COLUMN_TRANSACTION_DATE + " <= ?";
+        if (corporateId > 0) {
+            sql += " AND e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?";
+            args.add(String.valueOf(corporateId));
+        }
+        sql += " GROUP BY e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID;
+
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args.toArray(new String[0]));
+            if (cursor != null && cursor.moveToFirst()) {
+                do {
+                    CorporateUsageSummary summary = new CorporateUsageSummary();
+                    summary.corporateId = cursor.getInt(0);
+                    summary.corporateName = cursor.isNull(1) ? "N/A" : cursor.getString(1);
+                    summary.employeeCount = cursor.getInt(2);
+                    summary.usageCount = cursor.getInt(3);
+                    summary.cashUsed = cursor.getDouble(4);
+                    summary.pointsUsed = cursor.getDouble(5);
+                    summaries.add(summary);
+                } while (cursor.moveToNext());
+            }
+            AppLog.d(TAG, () -> "Retrieved usage summary for " + summaries.size() + " corporates between " + startDate + " and " + endDate);
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting usage summary by corporate", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return summaries;
+    }
+
+    /**
+     * 기간 내 사용 합계 + 현재 쿠폰 잔액 합계 (corporateId <= 0 이면 전체)
+     */
+    public UsageTotals getUsageTotals(String startDate, String endDate, int corporateId) {
+        UsageTotals totals = new UsageTotals();
+        boolean filterCorporate = corporateId > 0;
+        Cursor cursor = null;
+        try {
+            List<String> args = new ArrayList<>();
+            args.add(Transaction.BALANCE_TYPE_CASH);
+            args.add(Transaction.BALANCE_TYPE_POINT);
+            args.add(Transaction.TYPE_USE);
+            args.add(startDate);
+            args.add(toEndDateTime(endDate));
+            String usageSql = "SELECT COUNT(*), " +
+                    "COALESCE(SUM(CASE WHEN t." + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE + " = ? THEN ABS(t." +
+                    DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ") ELSE 0 END), 0), " +
+                    "COALESCE(SUM(CASE WHEN t." + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE + " = ? THEN ABS(t." +
+                    DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ") ELSE 0 END), 0) " +
+                    "FROM " + DatabaseHelper.TABLE_TRANSACTION + " t " +
+                    "JOIN " + DatabaseHelper.TABLE_COUPON + " cp ON cp." + DatabaseHelper.COLUMN_COUPON_ID +
+                    " = t." + DatabaseHelper.COLUMN_TRANSACTION_COUPON_ID + " " +
+                    "JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_ID +
+                    " = cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID + " " +
+                    "WHERE t." + DatabaseHelper.COLUMN_TRANSACTION_TYPE + " IN (?, 'DEDUCTION') " +
+                    "AND t." + DatabaseHelper.COLUMN_TRANSACTION_DATE + " >= ? " +
+                    "AND t." + DatabaseHelper.COLUMN_TRANSACTION_DATE + " <= ?";
+            if (filterCorporate) {
+                usageSql += " AND e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?";
+                args.add(String.valueOf(corporateId));
+            }
+            cursor = database.rawQuery(usageSql, args.toArray(new String[0]));
+            if (cursor != null && cursor.moveToFirst()) {
+                totals.usageCount = cursor.getInt(0);
+                totals.cashUsed = cursor.getDouble(1);
+                totals.pointsUsed = cursor.getDouble(2);
+            }
+            if (cursor != null) {
+                cursor.close();
+                cursor = null;
+            }
+
+            String balanceSql = "SELECT COALESCE(SUM(cp." + DatabaseHelper.COLUMN_COUPON_CASH_BALANCE + "), 0), " +
+                    "COALESCE(SUM(cp." + DatabaseHelper.COLUMN_COUPON_POINT_BALANCE + "), 0) " +
+                    "FROM " + DatabaseHelper.TABLE_COUPON + " cp";
+            String[] balanceArgs = null;
+            if (filterCorporate) {
+                balanceSql += " JOIN " + DatabaseHelper.TABLE_EMPLOYEE + " e ON e." + DatabaseHelper.COLUMN_EMPLOYEE_ID +
+                        " = cp." + DatabaseHelper.COLUMN_COUPON_EMPLOYEE_ID +
+                        " WHERE e." + DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID + " = ?";
+                balanceArgs = new String[]{String.valueOf(corporateId)};
+            }
+            cursor = database.rawQuery(balanceSql, balanceArgs);
+            if (cursor != null && cursor.moveToFirst()) {
+                totals.cashBalance = cursor.getDouble(0);
+                totals.pointBalance = cursor.getDouble(1);
+            }
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting usage totals", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return totals;
+    }
+
+    /**
+     * 사용 내역 목록 페이지 조회 (쿠폰 코드/직원/거래처 JOIN).
+     * 필터·정렬·LIMIT 을 모두 SQL 에서 처리하고, (transaction_date, transaction_id) keyset 커서로
+     * idx_transaction_date 에서 바로 다음 페이지를 읽는다. 일시가 없는 거래는 목록에 포함되지 않는다.
+     * 커서 형식이 잘못되면 IllegalArgumentException.
+     */
+    public UsageHistoryPage getUsageHistoryPage(UsageHistoryQuery query) {
+        List<String> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder();
+        appendUsageHistoryFilters(query, where, args);
+
+        String dateColumn = "t." + DatabaseHelper.COLUMN_TRANSACTION_DATE;
+        String idColumn = "t." + DatabaseHelper.COLUMN_TRANSACTION_ID;
+        if (query.getCursor() != null) {
+            String[] key = decodeHistoryCursor(query.getCursor());
+            where.append(" AND ").append(dateColumn).append(" <= ? AND (")
+                    .append(dateColumn).append(" < ? OR ").append(idColumn).append(" < ?)");
+            args.add(key[1]);
+            args.add(key[1]);
+            args.add(key[0]);
+        }
+
+        String sql = "SELECT t.*, " +
+                "cp." + DatabaseHelper.COLUMN_COUPON_FULL_CODE + " AS coupon_code, " +
+                "e." + DatabaseHelper.COLUMN_EMPLOYEE_NAME + " AS employee_name, " +
+                "corp." + DatabaseHelper.COLUMN_CUSTOMER_ID + " AS corporate_id, " +
+                "corp." + DatabaseHelper.COLUMN_NAME + " AS corporate_name " +
+                USAGE_HISTORY_FROM + where +
+                " ORDER BY " + dateColumn + " DESC, " + idColumn + " DESC" +
+                " LIMIT " + (query.getLimit() + 1);
+        if (query.getCursor() == null && query.getOffset() > 0) {
+            // 구버전 offset 파라미터 호환 (커서 사용 권장)
+            sql += " OFFSET " + query.getOffset();
+        }
+
+        List<UsageHistoryRow> rows = new ArrayList<>();
+        boolean hasMore = false;
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args.toArray(new String[0]));
+            while (cursor != null && cursor.moveToNext()) {
+                if (rows.size() == query.getLimit()) {
+                    hasMore = true;
+                    break;
+                }
+                UsageHistoryRow row = new UsageHistoryRow();
+                row.transaction = cursorToTransaction(cursor);
+                row.couponCode = cursor.getString(cursor.getColumnIndexOrThrow("coupon_code"));
+                row.employeeName = cursor.getString(cursor.getColumnIndexOrThrow("employee_name"));
+                row.corporateId = cursor.getInt(cursor.getColumnIndexOrThrow("corporate_id"));
+                row.corporateName = cursor.getString(cursor.getColumnIndexOrThrow("corporate_name"));
+                rows.add(row);
+            }
+            boolean more = hasMore;
+            AppLog.d(TAG, () -> "Retrieved usage history page: " + rows.size() + " rows, hasMore=" + more);
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting usage history page", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+
+        String nextCursor = null;
+        if (hasMore) {
+            Transaction last = rows.get(rows.size() - 1).getTransaction();
+            nextCursor = encodeHistoryCursor(last.getTransactionId(), last.getTransactionDate());
+        }
+        return new UsageHistoryPage(rows, hasMore, nextCursor);
+    }
+
+    /**
+     * 사용 내역 필터 기준 전체 건수 및 사용(TYPE_USE/구버전 DEDUCTION) 건수·금액 합계
+     */
+    public UsageHistorySummary getUsageHistorySummary(UsageHistoryQuery query) {
+        List<String> args = new ArrayList<>();
+        args.add(Transaction.TYPE_USE);
+        args.add(Transaction.TYPE_USE);
+        args.add(Transaction.BALANCE_TYPE_CASH);
+        args.add(Transaction.TYPE_USE);
+        args.add(Transaction.BALANCE_TYPE_POINT);
+        StringBuilder where = new StringBuilder();
+        appendUsageHistoryFilters(query, where, args);
+
+        String isUse = "t." + DatabaseHelper.COLUMN_TRANSACTION_TYPE + " IN (?, 'DEDUCTION')";
+        String absAmount = "ABS(t." + DatabaseHelper.COLUMN_TRANSACTION_AMOUNT + ")";
+        String balanceType = "t." + DatabaseHelper.COLUMN_TRANSACTION_BALANCE_TYPE;
+        String sql = "SELECT COUNT(*), " +
+                "COALESCE(SUM(CASE WHEN " + isUse + " THEN 1 ELSE 0 END), 0), " +
+                "COALESCE(SUM(CASE WHEN " + isUse + " AND " + balanceType + " = ? THEN " + absAmount + " ELSE 0 END), 0), " +
+                "COALESCE(SUM(CASE WHEN " + isUse + " AND " + balanceType + " = ? THEN " + absAmount + " ELSE 0 END), 0) " +
+                USAGE_HISTORY_FROM + where;
+
+        UsageHistorySummary summary = new UsageHistorySummary();
+        Cursor cursor = null;
+        try {
+            cursor = database.rawQuery(sql, args.toArray(new String[0]));
+            if (cursor != null && cursor.moveToFirst()) {
+                summary.totalCount = cursor.getInt(0);
+                summary.useCount = cursor.getInt(1);
+                summary.cashUsed = cursor.getDouble(2);
+                summary.pointsUsed = cursor.getDouble(3);
+            }
+        } catch (SQLiteException e) {
+            AppLog.e(TAG, "Error getting usage history summary", e);
+        } finally {
+            if (cursor != null) {
+                cursor.close();
+            }
+        }
+        return summary;
+    }
+
+    private void appendUsageHistoryFilters(UsageHistoryQuery query, StringBuilder where, List<String> args) {
+        where.append(" WHERE t.").append(DatabaseHelper.COLUMN_TRANSACTION_DATE).append(" IS NOT NULL");
+        if (query.getStartDate() != null) {
+            where.append(" AND t.").append(DatabaseHelper.COLUMN_TRANSACTION_DATE).append(" >= ?");
+            args.add(query.getStartDate());
+        }
+        if (query.getEndDate() != null) {
+            where.append(" AND t.").append(DatabaseHelper.COLUMN_TRANSACTION_DATE).append(" <= ?");
+            args.add(toEndDateTime(query.getEndDate()));
+        }
+        if (query.getType() != null) {
+            where.append(" AND t.").append(DatabaseHelper.COLUMN_TRANSACTION_TYPE).append(" = ?");
+            args.add(query.getType());
+        }
+        if (query.getCorporateId() > 0) {
+            where.append(" AND e.").append(DatabaseHelper.COLUMN_EMPLOYEE_CORPORATE_ID).append(" = ?");
+            args.add(String.valueOf(query.getCorporateId()));
+        }
+    }
+
+    /** 커서 = base64url("transaction_id|transaction_date") */
+    private static String encodeHistoryCursor(int transactionId, String transactionDate) {
+        String raw = transactionId + "|" + transactionDate;
+        return Base64.encodeToString(raw.getBytes(StandardCharsets.UTF_8),
+                Base64.URL_SAFE | Base64.NO_WRAP | Base64.NO_PADDING);
+    }
+
+    /** [transaction_id, transaction_date] */
+    private static String[] decodeHistoryCursor(String cursor) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.decode(cursor, Base64.URL_SAFE), StandardCharsets.UTF_8);
+            parts = raw.split("\\|", 2);
+            Integer.parseInt(parts[0]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("잘못된 커서입니다: " + cursor);
+        }
+        return parts;
+    }
+
+    /**
+     * 종료일이 "YYYY-MM-DD" 형식이면 해당 일자 전체가 포함되도록 " 23:59:59" 를 붙인다.
+     */
+    private String toEndDateTime(String endDate) {
+        return (endDate != null && endDate.length() == 10) ? endDate + " 23:59:59" : endDate;
+    }
+
     /**
      * Cursor를 Transaction 객체로 변환
      */
@@ -573,4 +946,150 @@ public class TransactionDAO {
         public double getPointChargeAmount() { return pointChargeAmount; }
         public double getPointUseAmount() { return pointUseAmount; }
     }
-}
\ No newline at end of file
+
+    /**
+     * 직원별 기간 사용 집계
+     */
+    public static class EmployeeUsageSummary {
+        private int employeeId;
+        private String employeeName;
+        private String corporateName;
+        private int usageCount;
+        private double cashUsed;
+        private double pointsUsed;
+        private double cashBalance;
+        private double pointBalance;
+
+        // Getters
+        public int getEmployeeId() { return employeeId; }
+        public String getEmployeeName() { return employeeName; }
+        public String getCorporateName() { return corporateName; }
+        public int getUsageCount() { return usageCount; }
+        public double getCashUsed() { return cashUsed; }
+        public double getPointsUsed() { return pointsUsed; }
+        public double getCashBalance() { return cashBalance; }
+        public double getPointBalance() { return pointBalance; }
+    }
+
+    /**
+     * 거래처별 기간 사용 집계
+     */
+    public static class CorporateUsageSummary {
+        private int corporateId;
+        private String corporateName;
+        private int employeeCount;
+        private int usageCount;
+        private double cashUsed;
+        private double pointsUsed;
+
+        // Getters
+        public int getCorporateId() { return corporateId; }
+        public String getCorporateName() { return corporateName; }
+        public int getEmployeeCount() { return employeeCount; }
+        public int getUsageCount() { return usageCount; }
+        public double getCashUsed() { return cashUsed; }
+        public double getPointsUsed() { return pointsUsed; }
+    }
+
+    /**
+     * 기간 사용 합계 및 현재 잔액 합계
+     */
+    public static class UsageTotals {
+        private int usageCount;
+        private double cashUsed;
+        private double pointsUsed;
+        private double cashBalance;
+        private double pointBalance;
+
+        // Getters
+        public int getUsageCount() { return usageCount; }
+        public double getCashUsed() { return cashUsed; }
+        public double getPointsUsed() { return pointsUsed; }
+        public double getCashBalance() { return cashBalance; }
+        public double getPointBalance() { return pointBalance; }
+    }
+
+    /**
+     * 사용 내역 조회 조건 (기간/거래처/거래 유형 필터, keyset 커서)
+     */
+    public static class UsageHistoryQuery {
+        public static final int DEFAULT_LIMIT = 200;
+        public static final int MAX_LIMIT = 1000;
+
+        private String startDate;
+        private String endDate;
+        private int corporateId;
+        private String type;
+        private int limit = DEFAULT_LIMIT;
+        private int offset;
+        private String cursor;
+
+        public String getStartDate() { return startDate; }
+        public void setStartDate(String startDate) { this.startDate = startDate; }
+        public String getEndDate() { return endDate; }
+        public void setEndDate(String endDate) { this.endDate = endDate; }
+        public int getCorporateId() { return corporateId; }
+        public void setCorporateId(int corporateId) { this.corporateId = corporateId; }
+        public String getType() { return type; }
+        public void setType(String type) { this.type = type; }
+        public int getLimit() { return limit; }
+        public void setLimit(int limit) { this.limit = Math.max(1, Math.min(limit, MAX_LIMIT)); }
+        public int getOffset() { return offset; }
+        public void setOffset(int offset) { this.offset = Math.max(0, offset); }
+        public String getCursor() { return cursor; }
+        public void setCursor(String cursor) { this.cursor = cursor; }
+    }
+
+    /**
+     * 사용 내역 한 행 (거래 + 쿠폰 코드/직원/거래처)
+     */
+    public static class UsageHistoryRow {
+        private Transaction transaction;
+        private String couponCode;
+        private String employeeName;
+        private int corporateId;
+        private String corporateName;
+
+        // Getters
+        public Transaction getTransaction() { return transaction; }
+        public String getCouponCode() { return couponCode; }
+        public String getEmployeeName() { return employeeName; }
+        public int getCorporateId() { return corporateId; }
+        public String getCorporateName() { return corporateName; }
+    }
+
+    /**
+     * 사용 내역 한 페이지. nextCursor 는 다음 페이지 요청에 그대로 전달한다.
+     */
+    public static class UsageHistoryPage {
+        private final List<UsageHistoryRow> rows;
+        private final boolean hasMore;
+        private final String nextCursor;
+
+        UsageHistoryPage(List<UsageHistoryRow> rows, boolean hasMore, String nextCursor) {
+            this.rows = rows;
+            this.hasMore = hasMore;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<UsageHistoryRow> getRows() { return rows; }
+        public boolean hasMore() { return hasMore; }
+        public String getNextCursor() { return nextCursor; }
+    }
+
+    /**
+     * 사용 내역 필터 기준 합계
+     */
+    public static class UsageHistorySummary {
+        private int totalCount;
+        private int useCount;
+        private double cashUsed;
+        private double pointsUsed;
+
+        // Getters
+        public int getTotalCount() { return totalCount; }
+        public int getUseCount() { return useCount; }
+        public double getCashUsed() { return cashUsed; }
+        public double getPointsUsed() { return pointsUsed; }
+    }
+}
@@ -2,441 +2,591 @@ package com.example.couponman_6;
 
 import android.os.Handler;
 import android.os.Looper;
-import android.util.Log;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.URI;
-import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
 import java.util.Base64;
 import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * 원격 대시보드 중계 서버와의 WebSocket 연결.
+ * 수신은 WebSocketFrames.Decoder 로 버퍼링된 스트림에서 프레임 경계를 따라 읽고 (큰 응답/분할/붙어서 온 프레임),
+ * 송신은 연결마다 하나인 writer 스레드가 제한된 큐를 비우며 쓴다. 연결이 예기치 않게 끊기면
+ * disconnect() 전까지 지수 백오프(+지터)로 다시 연결한다.
+ */
 public class WebSocketClient {
     private static final String TAG = "WebSocketClient";
-    
+
+    /** 이어 붙인 수신 메시지 최대 크기 */
+    static final int MAX_MESSAGE_BYTES = 16 * 1024 * 1024;
+    /** 보내지 못하고 쌓아 둘 수 있는 프레임 수 (넘으면 sendMessage 가 false) */
+    static final int OUTBOUND_QUEUE_CAPACITY = 256;
+    static final long INITIAL_RECONNECT_DELAY_MS = 1000;
+    static final long MAX_RECONNECT_DELAY_MS = 60_000;
+    private static final int CONNECT_TIMEOUT_MS = 10_000;
+    private static final int MAX_HANDSHAKE_BYTES = 8 * 1024;
+    private static final int STREAM_BUFFER_SIZE = 16 * 1024;
+    /** close 요청 후 남은 프레임과 close 프레임을 쓰는 데 기다리는 최대 시간 (넘으면 소켓을 강제로 닫는다) */
+    private static final long CLOSE_FLUSH_TIMEOUT_MS = 5000;
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    /** writer 스레드 종료 신호 */
+    private static final byte[] END_OF_STREAM = new byte[0];
+    /** close flush 시간 초과 시 소켓을 닫는 타이머 (모든 연결 공용, 쓰지 않으면 스레드가 정리된다) */
+    private static final ScheduledThreadPoolExecutor CLOSE_TIMER = newCloseTimer();
+
     public interface WebSocketListener {
         void onConnected();
         void onMessage(String message);
         void onDisconnected();
         void onError(String error);
+
+        /** 끊긴 뒤 delayMillis 후 attempt 번째 재연결을 시도한다 */
+        default void onReconnecting(int attempt, long delayMillis) {
+        }
+    }
+
+    private final Executor callbackExecutor;
+    private final Random random = new SecureRandom();
+    /** generation/running/connection 변경과 재연결 대기에 쓰는 락 */
+    private final Object stateLock = new Object();
+    private volatile WebSocketListener listener;
+    private volatile Connection connection;
+    /** connect() 마다 증가. 이전 연결 루프는 자기 세대가 아니면 멈춘다 */
+    private volatile int generation;
+    private volatile boolean running;
+    private long initialReconnectDelay = INITIAL_RECONNECT_DELAY_MS;
+    private long maxReconnectDelay = MAX_RECONNECT_DELAY_MS;
+
+    private static ScheduledThreadPoolExecutor newCloseTimer() {
+        ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "WebSocketClient-close-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setKeepAliveTime(10, TimeUnit.SECONDS);
+        timer.allowCoreThreadTimeOut(true);
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
     }
-    
-    private Socket socket;
-    private BufferedReader reader;
-    private OutputStream writer;
-    private Thread readThread;
-    private boolean isConnected = false;
-    private WebSocketListener listener;
-    private Handler mainHandler;
-    private String uri;
-    
+
     public WebSocketClient() {
-        mainHandler = new Handler(Looper.getMainLooper());
+        this(new Handler(Looper.getMainLooper())::post);
+    }
+
+    /**
+     * @param callbackExecutor 리스너 호출 스레드 (기본은 메인 스레드)
+     */
+    WebSocketClient(Executor callbackExecutor) {
+        this.callbackExecutor = callbackExecutor;
     }
-    
+
     public void setListener(WebSocketListener listener) {
         this.listener = listener;
     }
-    
+
+    void setReconnectDelays(long initialMillis, long maxMillis) {
+        this.initialReconnectDelay = initialMillis;
+        this.maxReconnectDelay = maxMillis;
+    }
+
+    /** 연결 시작. disconnect() 할 때까지 끊기면 다시 연결한다 */
     public void connect(String uri) {
-        this.uri = uri;
-        Log.d(TAG, "Starting connection to: " + uri);
-        
-        new Thread(() -> {
+        if (running) {
+            disconnect();
+        }
+        final int myGeneration;
+        synchronized (stateLock) {
+            myGeneration = ++generation;
+            running = true;
+        }
+        AppLog.i(TAG, "[WS] 연결 시작: " + redact(uri));
+        Thread thread = new Thread(() -> runConnectLoop(uri, myGeneration), "WebSocketClient-connect");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private boolean isCurrent(int myGeneration) {
+        return running && generation == myGeneration;
+    }
+
+    private void runConnectLoop(String uri, int myGeneration) {
+        int attempt = 0;
+        while (isCurrent(myGeneration)) {
+            Connection conn = null;
             try {
-                URI parsedUri = new URI(uri);
-                String host = parsedUri.getHost();
-                int port = parsedUri.getPort();
-                if (port == -1) {
-                    port = parsedUri.getScheme().equals("wss") ? 443 : 80;
+                conn = open(uri);
+                if (!publish(conn, myGeneration)) {
+                    // 수신 루프를 돌리지 않으므로 송신 쪽만 끝나면 소켓을 닫는다
+                    conn.close(1000, "superseded");
+                    conn.sideDone();
+                    return;
+                }
+                attempt = 0;
+                AppLog.i(TAG, "[WS] 연결됨");
+                notifyConnected();
+                sendInitialMessage();
+                conn.readLoop();
+                if (isCurrent(myGeneration)) {
+                    AppLog.i(TAG, "[WS] 서버가 연결을 닫음");
                 }
-                String path = parsedUri.getPath();
-                if (path == null || path.isEmpty()) {
-                    path = "/";
+            } catch (IOException e) {
+                if (conn == null) {
+                    AppLog.w(TAG, "[WS] 연결 실패: " + e.getMessage());
+                    if (attempt == 0) {
+                        notifyError("연결 실패: " + e.getMessage());
+                    }
+                } else if (isCurrent(myGeneration)) {
+                    AppLog.w(TAG, "[WS] 연결 끊김: " + e.getMessage());
                 }
-                String query = parsedUri.getQuery();
-                if (query != null && !query.isEmpty()) {
-                    path += "?" + query;
+            } finally {
+                if (conn != null) {
+                    conn.close(1000, null);
+                    conn.sideDone();
+                    boolean wasPublished;
+                    synchronized (stateLock) {
+                        wasPublished = connection == conn;
+                        if (wasPublished) {
+                            connection = null;
+                        }
+                    }
+                    if (wasPublished) {
+                        notifyDisconnected();
+                    }
                 }
-                
-                Log.d(TAG, "Connecting to host: " + host + ", port: " + port + ", path: " + path);
-                
-                // Connect to server
-                Log.d(TAG, "Creating socket connection...");
-                socket = new Socket(host, port);
-                socket.setSoTimeout(0); // No timeout
-                socket.setKeepAlive(true);
-                
-                Log.d(TAG, "Socket connected: " + socket.isConnected());
-                
-                reader = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-                writer = socket.getOutputStream();
-                
-                // Send WebSocket handshake
-                String key = generateWebSocketKey();
-                String handshake = "GET " + path + " HTTP/1.1\r\n" +
-                        "Host: " + host + ":" + port + "\r\n" +
-                        "Upgrade: websocket\r\n" +
-                        "Connection: Upgrade\r\n" +
-                        "Sec-WebSocket-Key: " + key + "\r\n" +
-                        "Sec-WebSocket-Version: 13\r\n" +
-                        "Origin: http://" + host + "\r\n" +
-                        "\r\n";
-                
-                Log.d(TAG, "Sending handshake:\n" + handshake);
-                writer.write(handshake.getBytes());
-                writer.flush();
-                
-                // Read handshake response
-                Log.d(TAG, "Reading handshake response...");
-                String line;
-                boolean validHandshake = false;
-                StringBuilder responseHeaders = new StringBuilder();
-                
-                while ((line = reader.readLine()) != null && !line.isEmpty()) {
-                    responseHeaders.append(line).append("\n");
-                    Log.d(TAG, "Response header: " + line);
-                    
-                    if (line.contains("HTTP/1.1 101")) {
-                        validHandshake = true;
-                        Log.d(TAG, "Received 101 Switching Protocols");
+            }
+
+            if (!isCurrent(myGeneration)) {
+                return;
+            }
+            attempt++;
+            long delay = reconnectDelay(attempt, initialReconnectDelay, maxReconnectDelay, random);
+            AppLog.i(TAG, "[WS] " + delay + "ms 후 재연결 시도 (" + attempt + "회)");
+            notifyReconnecting(attempt, delay);
+            synchronized (stateLock) {
+                long deadline = System.currentTimeMillis() + delay;
+                long remaining = delay;
+                while (remaining > 0 && isCurrent(myGeneration)) {
+                    try {
+                        stateLock.wait(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
                     }
+                    remaining = deadline - System.currentTimeMillis();
                 }
-                
-                Log.d(TAG, "Full response headers:\n" + responseHeaders.toString());
-                
-                if (validHandshake) {
-                    isConnected = true;
-                    Log.d(TAG, "WebSocket handshake successful, connection established");
-                    notifyConnected();
-                    
-                    // Send initial message after connection
-                    sendInitialMessage();
-                    
-                    startReading();
-                } else {
-                    Log.e(TAG, "Invalid handshake response - did not receive 101 status");
-                    throw new IOException("Invalid handshake response");
+            }
+        }
+    }
+
+    /**
+     * 새 연결을 current 로 등록한다. 그 사이 disconnect()/connect() 로 세대가 바뀌었으면 등록하지 않고 false
+     * (disconnect() 가 connection 을 읽는 것과 같은 락 안에서 확인하므로 닫히지 않은 연결이 남지 않는다)
+     */
+    private boolean publish(Connection conn, int myGeneration) {
+        synchronized (stateLock) {
+            if (!isCurrent(myGeneration)) {
+                return false;
+            }
+            connection = conn;
+            return true;
+        }
+    }
+
+    /**
+     * attempt 번째 재연결 대기 시간: initial * 2^(attempt-1) 을 max 로 자르고, 그 절반~전체 사이에서 고른다
+     * (여러 단말이 동시에 끊겨도 한꺼번에 몰리지 않도록)
+     */
+    static long reconnectDelay(int attempt, long initialMillis, long maxMillis, Random random) {
+        int shift = Math.min(Math.max(attempt - 1, 0), 20);
+        long base = Math.min(maxMillis, initialMillis << shift);
+        long half = base / 2;
+        return half + (half > 0 ? (long) (random.nextDouble() * (base - half + 1)) : 0);
+    }
+
+    /** 소켓 연결과 HTTP Upgrade 핸드셰이크 */
+    private Connection open(String uri) throws IOException {
+        URI parsedUri;
+        try {
+            parsedUri = new URI(uri);
+        } catch (Exception e) {
+            throw new IOException("잘못된 URI: " + e.getMessage());
+        }
+        boolean secure = "wss".equalsIgnoreCase(parsedUri.getScheme());
+        String host = parsedUri.getHost();
+        if (host == null) {
+            throw new IOException("호스트가 없는 URI");
+        }
+        int port = parsedUri.getPort() != -1 ? parsedUri.getPort() : (secure ? 443 : 80);
+        String path = parsedUri.getRawPath();
+        if (path == null || path.isEmpty()) {
+            path = "/";
+        }
+        if (parsedUri.getRawQuery() != null && !parsedUri.getRawQuery().isEmpty()) {
+            path += "?" + parsedUri.getRawQuery();
+        }
+
+        Socket socket = secure ? SSLSocketFactory.getDefault().createSocket() : new Socket();
+        try {
+            if (secure) {
+                SSLParameters params = ((SSLSocket) socket).getSSLParameters();
+                params.setEndpointIdentificationAlgorithm("HTTPS");
+                ((SSLSocket) socket).setSSLParameters(params);
+            }
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            socket.setSoTimeout(CONNECT_TIMEOUT_MS);
+            socket.setKeepAlive(true);
+            socket.setTcpNoDelay(true);
+
+            InputStream in = new BufferedInputStream(socket.getInputStream(), STREAM_BUFFER_SIZE);
+            OutputStream out = new BufferedOutputStream(socket.getOutputStream(), STREAM_BUFFER_SIZE);
+
+            byte[] keyBytes = new byte[16];
+            random.nextBytes(keyBytes);
+            String key = Base64.getEncoder().encodeToString(keyBytes);
+            String hostHeader = parsedUri.getPort() != -1 ? host + ":" + port : host;
+            String handshake = "GET " + path + " HTTP/1.1\r\n" +
+                    "Host: " + hostHeader + "\r\n" +
+                    "Upgrade: websocket\r\n" +
+                    "Connection: Upgrade\r\n" +
+                    "Sec-WebSocket-Key: " + key + "\r\n" +
+                    "Sec-WebSocket-Version: 13\r\n" +
+                    "Origin: http://" + host + "\r\n" +
+                    "\r\n";
+            out.write(handshake.getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+
+            // 헤더만 읽는다 (뒤따라 온 프레임 바이트는 in 버퍼에 남아 디코더가 읽는다)
+            String[] lines = readHandshakeResponse(in).split("\r\n");
+            if (lines.length == 0 || !lines[0].matches("HTTP/1\\.[01] 101(\\s.*)?")) {
+                throw new IOException("핸드셰이크 실패: " + (lines.length > 0 ? lines[0] : "응답 없음"));
+            }
+            String accept = null;
+            for (String line : lines) {
+                int colon = line.indexOf(':');
+                if (colon > 0 && line.substring(0, colon).trim().equalsIgnoreCase("Sec-WebSocket-Accept")) {
+                    accept = line.substring(colon + 1).trim();
                 }
-                
-            } catch (Exception e) {
-                Log.e(TAG, "Connection error: " + e.getMessage(), e);
-                e.printStackTrace();
-                notifyError("연결 실패: " + e.getMessage());
-                disconnect();
             }
-        }).start();
+            if (!expectedAccept(key).equals(accept)) {
+                throw new IOException("핸드셰이크 실패: Sec-WebSocket-Accept 불일치");
+            }
+            socket.setSoTimeout(0);
+            return new Connection(socket, in, out);
+        } catch (IOException | RuntimeException e) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+            throw e;
+        }
     }
-    
-    private String generateWebSocketKey() {
-        byte[] key = new byte[16];
-        new Random().nextBytes(key);
-        return Base64.getEncoder().encodeToString(key);
+
+    private static String readHandshakeResponse(InputStream in) throws IOException {
+        ByteArrayOutputStream header = new ByteArrayOutputStream(256);
+        int last4 = 0;
+        while (last4 != 0x0D0A0D0A) {
+            int b = in.read();
+            if (b == -1) {
+                throw new IOException("핸드셰이크 응답 도중 연결 종료");
+            }
+            if (header.size() >= MAX_HANDSHAKE_BYTES) {
+                throw new IOException("핸드셰이크 응답이 너무 깁니다");
+            }
+            header.write(b);
+            last4 = (last4 << 8) | b;
+        }
+        return new String(header.toByteArray(), StandardCharsets.ISO_8859_1).trim();
     }
-    
-    private String getCloseCodeDescription(int code) {
-        switch (code) {
-            case 1000: return "Normal Closure";
-            case 1001: return "Going Away";
-            case 1002: return "Protocol Error";
-            case 1003: return "Unsupported Data";
-            case 1007: return "Invalid frame payload data";
-            case 1008: return "Policy Violation";
-            case 1009: return "Message Too Big";
-            case 1010: return "Mandatory Extension";
-            case 1011: return "Internal Server Error";
-            default: return "Unknown";
+
+    static String expectedAccept(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1")
+                    .digest((key + ACCEPT_GUID).getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
         }
     }
-    
+
     private void sendInitialMessage() {
-        // Send JSON message similar to the JavaScript example
         String jsonMessage = "{\n" +
                 "    \"type\": \"message\",\n" +
                 "    \"content\": \"Android 클라이언트에서 서버로 보내는 메시지\"\n" +
                 "}";
-        Log.d(TAG, "Sending initial message: " + jsonMessage);
         sendMessage(jsonMessage);
     }
-    
-    private void startReading() {
-        Log.d(TAG, "Starting read thread...");
-        readThread = new Thread(() -> {
+
+    /**
+     * 텍스트 메시지를 송신 큐에 넣는다
+     *
+     * @return 연결이 없거나 큐가 가득 차서 넣지 못하면 false
+     */
+    public boolean sendMessage(String message) {
+        return sendMessage(message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 이미 UTF-8 로 인코딩된 텍스트 메시지를 송신 큐에 넣는다 (문자열로 되돌리지 않고 그대로 프레임에 담는다)
+     *
+     * @return 연결이 없거나 큐가 가득 차서 넣지 못하면 false
+     */
+    public boolean sendMessage(byte[] payload) {
+        Connection conn = connection;
+        if (conn == null) {
+            AppLog.w(TAG, "[WS] 연결되지 않아 메시지를 보낼 수 없음");
+            return false;
+        }
+        if (!conn.enqueue(WebSocketFrames.encode(WebSocketFrames.OPCODE_TEXT, true, payload, random))) {
+            AppLog.w(TAG, "[WS] 송신 큐가 가득 차 메시지를 버림 (" + payload.length + " bytes)");
+            return false;
+        }
+        AppLog.d(TAG, () -> "[WS] 송신 대기열 추가 - " + payload.length + " bytes");
+        return true;
+    }
+
+    /**
+     * 재연결을 멈추고 연결을 닫는다. 닫기(남은 프레임 송신, close 프레임, 소켓 종료)는 writer 스레드가 하므로
+     * 바로 반환한다 (UI 스레드에서 호출해도 된다)
+     */
+    public void disconnect() {
+        Connection conn;
+        synchronized (stateLock) {
+            running = false;
+            generation++;
+            conn = connection;
+            stateLock.notifyAll();
+        }
+        if (conn != null) {
+            AppLog.i(TAG, "[WS] 연결 종료 요청");
+            // writer 가 소켓을 닫으면 연결 스레드의 readLoop 가 끝나고 onDisconnected 를 알린다
+            conn.close(1000, "client disconnect");
+        } else {
+            notifyDisconnected();
+        }
+    }
+
+    /** connect() 이후 disconnect() 전 (연결 중이거나 재연결 대기 중) */
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isConnected() {
+        Connection conn = connection;
+        return conn != null && !conn.closed;
+    }
+
+    /** 연결 하나: 소켓, 수신 디코더, 송신 큐와 writer 스레드 */
+    private final class Connection {
+        private final Socket socket;
+        private final InputStream in;
+        private final OutputStream out;
+        /** close 프레임과 종료 신호가 항상 들어갈 수 있도록 두 칸을 더 잡는다 */
+        private final BlockingQueue<byte[]> outbound = new LinkedBlockingQueue<>(OUTBOUND_QUEUE_CAPACITY + 2);
+        private final Thread writerThread;
+        private volatile boolean closed;
+        private volatile ScheduledFuture<?> closeTimeout;
+        /** 송신(종료 신호까지 씀)과 수신(서버 close/EOF)이 모두 끝나면 2, 그때 소켓을 닫는다 */
+        private int sidesDone;
+
+        Connection(Socket socket, InputStream in, OutputStream out) {
+            this.socket = socket;
+            this.in = in;
+            this.out = out;
+            this.writerThread = new Thread(this::writeLoop, "WebSocketClient-writer");
+            this.writerThread.setDaemon(true);
+            this.writerThread.start();
+        }
+
+        /** 닫기 요청 전이고 큐에 자리가 있으면 넣는다 (close 와 같은 락이라 close 프레임 뒤에 들어가지 않는다) */
+        synchronized boolean enqueue(byte[] frame) {
+            return !closed && outbound.size() < OUTBOUND_QUEUE_CAPACITY && outbound.offer(frame);
+        }
+
+        /**
+         * 큐를 비우며 쓴다. 큐가 비는 순간에만 flush 해서 연속 메시지는 한 번에 내보낸다.
+         * 종료 신호를 만나면 flush 후 끝낸다 (소켓은 수신 쪽도 끝난 뒤 닫는다)
+         */
+        private void writeLoop() {
             try {
-                byte[] buffer = new byte[1024];
-                while (isConnected && socket != null && !socket.isClosed()) {
-                    int bytesRead = socket.getInputStream().read(buffer);
-                    Log.d(TAG, "Read " + bytesRead + " bytes from socket");
-                    
-                    if (bytesRead > 0) {
-                        // Log raw bytes for debugging
-                        StringBuilder hexDump = new StringBuilder();
-                        for (int i = 0; i < Math.min(bytesRead, 50); i++) {
-                            hexDump.append(String.format("%02X ", buffer[i]));
-                        }
-                        Log.d(TAG, "Raw frame bytes: " + hexDump.toString());
-                        // Simple frame parsing (for text frames only)
-                        int opcode = buffer[0] & 0x0F;
-                        boolean fin = (buffer[0] & 0x80) != 0;
-                        
-                        Log.d(TAG, "Frame - FIN: " + fin + ", Opcode: " + opcode);
-                        
-                        if (opcode == 0x08) { // Close frame
-                            int closePayloadLength = buffer[1] & 0x7F;
-                            int closeCode = -1;
-                            String closeReason = "";
-                            
-                            if (closePayloadLength >= 2) {
-                                closeCode = ((buffer[2] & 0xFF) << 8) | (buffer[3] & 0xFF);
-                                if (closePayloadLength > 2) {
-                                    closeReason = new String(buffer, 4, closePayloadLength - 2);
-                                }
-                            }
-                            
-                            Log.d(TAG, "Received close frame from server - Code: " + closeCode + 
-                                      " (" + getCloseCodeDescription(closeCode) + ")" +
-                                      (closeReason.isEmpty() ? "" : ", Reason: " + closeReason));
-                            break;
-                        } else if (opcode == 0x09) { // Ping frame
-                            int pingPayloadLength = buffer[1] & 0x7F;
-                            int pingOffset = 2;
-                            boolean pingMasked = (buffer[1] & 0x80) != 0;
-                            
-                            if (pingPayloadLength == 126) {
-                                pingPayloadLength = ((buffer[2] & 0xFF) << 8) | (buffer[3] & 0xFF);
-                                pingOffset = 4;
-                            }
-                            
-                            byte[] maskKey = null;
-                            if (pingMasked) {
-                                maskKey = new byte[4];
-                                System.arraycopy(buffer, pingOffset, maskKey, 0, 4);
-                                pingOffset += 4;
-                            }
-                            
-                            byte[] pingPayload = new byte[pingPayloadLength];
-                            System.arraycopy(buffer, pingOffset, pingPayload, 0, pingPayloadLength);
-                            
-                            // Unmask payload if needed
-                            if (pingMasked && maskKey != null) {
-                                for (int i = 0; i < pingPayloadLength; i++) {
-                                    pingPayload[i] ^= maskKey[i % 4];
-                                }
-                            }
-                            
-                            Log.d(TAG, "Received ping frame with " + pingPayloadLength + " bytes payload, sending pong");
-                            sendPong(pingPayload, pingPayloadLength);
-                        } else if (opcode == 0x0A) { // Pong frame
-                            Log.d(TAG, "Received pong frame");
-                        } else if (opcode == 0x01) { // Text frame
-                            int payloadLength = buffer[1] & 0x7F;
-                            int offset = 2;
-                            
-                            Log.d(TAG, "Text frame - Payload length: " + payloadLength);
-                            
-                            if (payloadLength == 126) {
-                                payloadLength = ((buffer[2] & 0xFF) << 8) | (buffer[3] & 0xFF);
-                                offset = 4;
-                            } else if (payloadLength == 127) {
-                                // Skip large frames for simplicity
-                                Log.w(TAG, "Skipping large frame (length > 65535)");
-                                continue;
-                            }
-                            
-                            if ((buffer[1] & 0x80) != 0) { // Masked
-                                Log.d(TAG, "Frame is masked (unusual for server->client)");
-                                offset += 4; // Skip mask key
-                            }
-                            
-                            String message = new String(buffer, offset, Math.min(payloadLength, bytesRead - offset));
-                            Log.d(TAG, "Received text message: " + message);
-                            notifyMessage(message);
-                        } else {
-                            Log.w(TAG, "Unknown opcode: " + opcode);
-                        }
-                    } else if (bytesRead == -1) {
-                        Log.d(TAG, "Socket closed by server (EOF)");
-                        break;
+                while (true) {
+                    byte[] frame = outbound.take();
+                    if (frame == END_OF_STREAM) {
+                        out.flush();
+                        sideDone();
+                        return;
+                    }
+                    out.write(frame);
+                    if (outbound.isEmpty()) {
+                        out.flush();
                     }
                 }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             } catch (IOException e) {
-                Log.e(TAG, "Read error: " + e.getMessage(), e);
-                e.printStackTrace();
+                if (!closed) {
+                    AppLog.w(TAG, "[WS] 송신 실패: " + e.getMessage());
+                }
+                closeSocket();
             }
-            
-            Log.d(TAG, "Read thread ending, disconnecting...");
-            disconnect();
-        });
-        readThread.start();
-    }
-    
-    private void sendPong(byte[] pingPayload, int payloadLength) {
-        if (!isConnected || socket == null || socket.isClosed()) {
-            return;
         }
-        
-        try {
-            java.io.ByteArrayOutputStream frame = new java.io.ByteArrayOutputStream();
-            frame.write(0x8A); // FIN = 1, opcode = 10 (pong)
-            
-            // Client must mask the frame
-            if (payloadLength <= 125) {
-                frame.write(payloadLength | 0x80); // Masked
-            } else {
-                Log.w(TAG, "Ping payload too large for pong response");
-                return;
-            }
-            
-            // Add mask key
-            byte[] mask = new byte[4];
-            new Random().nextBytes(mask);
-            frame.write(mask);
-            
-            // Add masked payload (echo the ping payload)
-            for (int i = 0; i < payloadLength; i++) {
-                frame.write(pingPayload[i] ^ mask[i % 4]);
+
+        /** 서버 프레임을 읽어 처리. 서버가 닫거나 스트림이 끝나면 반환 */
+        void readLoop() throws IOException {
+            WebSocketFrames.Decoder decoder = new WebSocketFrames.Decoder(in, MAX_MESSAGE_BYTES);
+            try {
+                WebSocketFrames.Frame frame;
+                while ((frame = decoder.next()) != null) {
+                    switch (frame.opcode) {
+                        case WebSocketFrames.OPCODE_TEXT:
+                            if (closed) {
+                                // close 를 보낸 뒤 서버 close 를 기다리는 동안 온 메시지는 응답할 수 없으므로 버린다
+                                break;
+                            }
+                            String message = new String(frame.payload, StandardCharsets.UTF_8);
+                            AppLog.d(TAG, () -> "[WS] 수신 - " + message.length() + "자");
+                            notifyMessage(message);
+                            break;
+                        case WebSocketFrames.OPCODE_BINARY:
+                            AppLog.w(TAG, "[WS] 바이너리 메시지 무시 (" + frame.payload.length + " bytes)");
+                            break;
+                        case WebSocketFrames.OPCODE_PING:
+                            // 데이터 프레임과 같은 큐로 보낸다 (큐가 가득 차면 버리고 서버의 다음 ping 에 응답)
+                            enqueue(WebSocketFrames.encode(WebSocketFrames.OPCODE_PONG, true, frame.payload, random));
+                            break;
+                        case WebSocketFrames.OPCODE_PONG:
+                            break;
+                        case WebSocketFrames.OPCODE_CLOSE:
+                            AppLog.i(TAG, "[WS] 서버 close 프레임 - " + frame.closeCode()
+                                    + (frame.closeReason().isEmpty() ? "" : " (" + frame.closeReason() + ")"));
+                            int echoCode = frame.closeCode() == 1005 ? 1000 : frame.closeCode();
+                            close(echoCode, null);
+                            return;
+                        default:
+                            break;
+                    }
+                }
+            } catch (WebSocketFrames.ProtocolException e) {
+                AppLog.w(TAG, "[WS] 프로토콜 오류: " + e.getMessage());
+                close(e.closeCode, e.getMessage());
+                throw e;
             }
-            
-            writer.write(frame.toByteArray());
-            writer.flush();
-            Log.d(TAG, "Sent pong frame with " + payloadLength + " bytes payload");
-        } catch (IOException e) {
-            Log.e(TAG, "Failed to send pong: " + e.getMessage());
         }
-    }
-    
-    public void sendMessage(String message) {
-        if (!isConnected || socket == null || socket.isClosed()) {
-            Log.w(TAG, "Cannot send message - not connected");
-            return;
-        }
-        
-        new Thread(() -> {
-            try {
-                byte[] messageBytes = message.getBytes("UTF-8");
-                int length = messageBytes.length;
-                
-                Log.d(TAG, "Sending message (" + length + " bytes): " + message);
-                
-                // Create WebSocket frame
-                java.io.ByteArrayOutputStream frame = new java.io.ByteArrayOutputStream();
-                frame.write(0x81); // FIN = 1, opcode = 1 (text)
-                
-                if (length <= 125) {
-                    frame.write(length | 0x80); // Masked
-                } else if (length <= 65535) {
-                    frame.write(126 | 0x80); // Masked
-                    frame.write((length >> 8) & 0xFF);
-                    frame.write(length & 0xFF);
-                } else {
-                    // Skip large messages for simplicity
+
+        /**
+         * 이미 큐에 있는 프레임 뒤에 close 프레임을 넣고 바로 반환한다 (sendMessage 가 true 를 돌려준 메시지는 버리지 않는다).
+         * writer 스레드가 남은 프레임과 close 프레임을 쓰고, 연결 스레드는 서버 close(또는 EOF)까지 계속 읽는다.
+         * 읽지 않은 수신 데이터를 남긴 채 소켓을 닫으면 RST 로 서버가 아직 읽지 않은 프레임까지 버려지기 때문이다.
+         * 둘 다 끝나면 소켓을 닫고, CLOSE_FLUSH_TIMEOUT_MS 안에 끝나지 않으면 타이머가 강제로 닫는다.
+         * 여러 스레드에서 불려도 한 번만 처리한다.
+         */
+        void close(int code, String reason) {
+            synchronized (this) {
+                if (closed) {
                     return;
                 }
-                
-                // Add mask key
-                byte[] mask = new byte[4];
-                new Random().nextBytes(mask);
-                frame.write(mask);
-                
-                // Add masked payload
-                for (int i = 0; i < messageBytes.length; i++) {
-                    frame.write(messageBytes[i] ^ mask[i % 4]);
-                }
-                
-                byte[] frameBytes = frame.toByteArray();
-                writer.write(frameBytes);
-                writer.flush();
-                
-                // Log sent frame for debugging
-                StringBuilder hexDump = new StringBuilder();
-                for (int i = 0; i < Math.min(frameBytes.length, 50); i++) {
-                    hexDump.append(String.format("%02X ", frameBytes[i]));
+                closed = true;
+                if (!socket.isClosed()) {
+                    outbound.offer(WebSocketFrames.encode(WebSocketFrames.OPCODE_CLOSE, true,
+                            WebSocketFrames.closePayload(code, reason), random));
                 }
-                Log.d(TAG, "Sent frame bytes: " + hexDump.toString());
-                
-            } catch (Exception e) {
-                Log.e(TAG, "Send error: " + e.getMessage(), e);
-                e.printStackTrace();
+                outbound.offer(END_OF_STREAM);
             }
-        }).start();
-    }
-    
-    public void disconnect() {
-        Log.d(TAG, "Disconnect called, current state - isConnected: " + isConnected);
-        
-        isConnected = false;
-        
-        try {
-            if (readThread != null) {
-                Log.d(TAG, "Interrupting read thread");
-                readThread.interrupt();
+            closeTimeout = CLOSE_TIMER.schedule(this::closeSocket, CLOSE_FLUSH_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        }
+
+        /** 송신/수신 한쪽이 끝남. 양쪽 모두 끝나면 소켓을 닫는다 */
+        void sideDone() {
+            boolean both;
+            synchronized (this) {
+                both = ++sidesDone == 2;
             }
-            
-            if (writer != null && socket != null && !socket.isClosed()) {
-                try {
-                    // Send close frame
-                    Log.d(TAG, "Sending close frame");
-                    writer.write(new byte[]{(byte)0x88, 0x00});
-                    writer.flush();
-                } catch (Exception e) {
-                    Log.e(TAG, "Failed to send close frame: " + e.getMessage());
-                }
+            if (both) {
+                closeSocket();
             }
-            
-            if (socket != null && !socket.isClosed()) {
-                Log.d(TAG, "Closing socket");
+        }
+
+        private void closeSocket() {
+            closed = true;
+            ScheduledFuture<?> timeout = closeTimeout;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+            writerThread.interrupt();
+            try {
                 socket.close();
+            } catch (IOException ignored) {
             }
-        } catch (IOException e) {
-            Log.e(TAG, "Disconnect error: " + e.getMessage(), e);
         }
-        
-        socket = null;
-        reader = null;
-        writer = null;
-        readThread = null;
-        
-        Log.d(TAG, "Disconnect complete, notifying listeners");
-        notifyDisconnected();
     }
-    
-    public boolean isConnected() {
-        return isConnected && socket != null && !socket.isClosed();
+
+    /** 로그용으로 password 쿼리 값을 가린다 */
+    private static String redact(String uri) {
+        return uri.replaceAll("(password=)[^&]*", "$1***");
     }
-    
+
     private void notifyConnected() {
-        mainHandler.post(() -> {
-            if (listener != null) {
-                listener.onConnected();
+        callbackExecutor.execute(() -> {
+            WebSocketListener l = listener;
+            if (l != null) {
+                l.onConnected();
             }
         });
     }
-    
+
     private void notifyMessage(String message) {
-        mainHandler.post(() -> {
-            if (listener != null) {
-                listener.onMessage(message);
+        callbackExecutor.execute(() -> {
+            WebSocketListener l = listener;
+            if (l != null) {
+                l.onMessage(message);
             }
         });
     }
-    
+
     private void notifyDisconnected() {
-        mainHandler.post(() -> {
-            if (listener != null) {
-                listener.onDisconnected();
+        callbackExecutor.execute(() -> {
+            WebSocketListener l = listener;
+            if (l != null) {
+                l.onDisconnected();
             }
         });
     }
-    
+
     private void notifyError(String error) {
-        mainHandler.post(() -> {
-            if (listener != null) {
-                listener.onError(error);
+        callbackExecutor.execute(() -> {
+            WebSocketListener l = listener;
+            if (l != null) {
+                l.onError(error);
+            }
+        });
+    }
+
+    private void notifyReconnecting(int attempt, long delayMillis) {
+        callbackExecutor.execute(() -> {
+            WebSocketListener l = listener;
+            if (l != null) {
+                l.onReconnecting(attempt, delayMillis);
             }
         });
     }
-    
-}
\ No newline at end of file
+}
@@ -0,0 +1,209 @@
+package com.example.couponman_6;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * RFC 6455 프레임 인코더/디코더.
+ * 디코더는 스트림에서 헤더와 페이로드를 필요한 만큼만 읽으므로 TCP 가 프레임을 쪼개거나 여러 개를 붙여 보내도
+ * 프레임 경계를 잃지 않는다. 7/16/64비트 길이, 마스킹, 분할(continuation) 메시지를 처리한다.
+ */
+final class WebSocketFrames {
+    static final int OPCODE_CONTINUATION = 0x0;
+    static final int OPCODE_TEXT = 0x1;
+    static final int OPCODE_BINARY = 0x2;
+    static final int OPCODE_CLOSE = 0x8;
+    static final int OPCODE_PING = 0x9;
+    static final int OPCODE_PONG = 0xA;
+
+    /** 제어 프레임 페이로드 최대 길이 (RFC 6455 5.5) */
+    static final int MAX_CONTROL_PAYLOAD = 125;
+
+    private WebSocketFrames() {
+    }
+
+    /** 프레임 하나, 또는 분할 프레임을 모두 이은 데이터 메시지 하나 */
+    static final class Frame {
+        final int opcode;
+        final byte[] payload;
+
+        Frame(int opcode, byte[] payload) {
+            this.opcode = opcode;
+            this.payload = payload;
+        }
+
+        boolean isControl() {
+            return (opcode & 0x8) != 0;
+        }
+
+        /** CLOSE 프레임의 상태 코드 (없으면 1005) */
+        int closeCode() {
+            return payload.length >= 2 ? ((payload[0] & 0xFF) << 8) | (payload[1] & 0xFF) : 1005;
+        }
+
+        String closeReason() {
+            return payload.length > 2 ? new String(payload, 2, payload.length - 2, StandardCharsets.UTF_8) : "";
+        }
+    }
+
+    /** 프로토콜 위반 (연결을 닫아야 하는 프레임) */
+    static class ProtocolException extends IOException {
+        final int closeCode;
+
+        ProtocolException(int closeCode, String message) {
+            super(message);
+            this.closeCode = closeCode;
+        }
+    }
+
+    /**
+     * 스트림에서 프레임을 읽는다. 데이터 메시지는 분할 프레임을 모두 이어 붙여 한 번에 돌려주고,
+     * 그 사이에 끼어든 제어 프레임(ping/pong/close)은 도착하는 즉시 돌려준다.
+     */
+    static final class Decoder {
+        private final DataInputStream in;
+        private final int maxMessageBytes;
+        private final ByteArrayOutputStream fragments = new ByteArrayOutputStream();
+        private int fragmentedOpcode = -1;
+
+        /**
+         * @param in              버퍼링된 스트림 (BufferedInputStream 등)
+         * @param maxMessageBytes 이어 붙인 메시지 최대 크기, 넘으면 1009 로 닫는다
+         */
+        Decoder(InputStream in, int maxMessageBytes) {
+            this.in = new DataInputStream(in);
+            this.maxMessageBytes = maxMessageBytes;
+        }
+
+        /** 다음 제어 프레임 또는 완성된 데이터 메시지. 스트림이 프레임 경계에서 끝나면 null */
+        Frame next() throws IOException {
+            while (true) {
+                int first = in.read();
+                if (first == -1) {
+                    if (fragmentedOpcode != -1) {
+                        throw new EOFException("분할 메시지 도중 연결 종료");
+                    }
+                    return null;
+                }
+                int second = in.readUnsignedByte();
+                boolean fin = (first & 0x80) != 0;
+                if ((first & 0x70) != 0) {
+                    throw new ProtocolException(1002, "RSV 비트가 설정된 프레임 (확장 미지원)");
+                }
+                int opcode = first & 0x0F;
+                boolean masked = (second & 0x80) != 0;
+                long length = second & 0x7F;
+                if (length == 126) {
+                    length = in.readUnsignedShort();
+                } else if (length == 127) {
+                    length = in.readLong();
+                    if (length < 0) {
+                        throw new ProtocolException(1002, "잘못된 64비트 페이로드 길이");
+                    }
+                }
+
+                boolean control = (opcode & 0x8) != 0;
+                if (control && (!fin || length > MAX_CONTROL_PAYLOAD)) {
+                    throw new ProtocolException(1002, "잘못된 제어 프레임 (분할 또는 125바이트 초과)");
+                }
+                long buffered = control ? 0 : fragments.size();
+                if (buffered + length > maxMessageBytes) {
+                    throw new ProtocolException(1009, "메시지가 너무 큽니다: " + (buffered + length) + " bytes");
+                }
+
+                byte[] mask = null;
+                if (masked) {
+                    mask = new byte[4];
+                    in.readFully(mask);
+                }
+                byte[] payload = new byte[(int) length];
+                in.readFully(payload);
+                if (mask != null) {
+                    for (int i = 0; i < payload.length; i++) {
+                        payload[i] ^= mask[i & 3];
+                    }
+                }
+
+                if (control) {
+                    return new Frame(opcode, payload);
+                }
+                if (opcode == OPCODE_CONTINUATION) {
+                    if (fragmentedOpcode == -1) {
+                        throw new ProtocolException(1002, "시작 프레임 없는 continuation 프레임");
+                    }
+                } else if (opcode == OPCODE_TEXT || opcode == OPCODE_BINARY) {
+                    if (fragmentedOpcode != -1) {
+                        throw new ProtocolException(1002, "분할 메시지가 끝나기 전에 새 데이터 프레임");
+                    }
+                    if (fin) {
+                        return new Frame(opcode, payload);
+                    }
+                    fragmentedOpcode = opcode;
+                } else {
+                    throw new ProtocolException(1002, "알 수 없는 opcode: " + opcode);
+                }
+
+                fragments.write(payload, 0, payload.length);
+                if (fin) {
+                    Frame message = new Frame(fragmentedOpcode, fragments.toByteArray());
+                    fragments.reset();
+                    fragmentedOpcode = -1;
+                    return message;
+                }
+            }
+        }
+    }
+
+    /**
+     * 프레임 하나를 바이트로 만든다. 클라이언트→서버 프레임은 반드시 마스킹한다 (random 이 null 이면 마스킹 안 함).
+     */
+    static byte[] encode(int opcode, boolean fin, byte[] payload, Random random) {
+        int length = payload.length;
+        int headerLength = 2 + (length > 65535 ? 8 : length > 125 ? 2 : 0) + (random != null ? 4 : 0);
+        byte[] frame = new byte[headerLength + length];
+        int pos = 0;
+        frame[pos++] = (byte) ((fin ? 0x80 : 0) | opcode);
+        int maskBit = random != null ? 0x80 : 0;
+        if (length <= 125) {
+            frame[pos++] = (byte) (maskBit | length);
+        } else if (length <= 65535) {
+            frame[pos++] = (byte) (maskBit | 126);
+            frame[pos++] = (byte) (length >>> 8);
+            frame[pos++] = (byte) length;
+        } else {
+            frame[pos++] = (byte) (maskBit | 127);
+            long longLength = length;
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                frame[pos++] = (byte) (longLength >>> shift);
+            }
+        }
+        if (random == null) {
+            System.arraycopy(payload, 0, frame, pos, length);
+            return frame;
+        }
+        byte[] mask = new byte[4];
+        random.nextBytes(mask);
+        System.arraycopy(mask, 0, frame, pos, 4);
+        pos += 4;
+        for (int i = 0; i < length; i++) {
+            frame[pos + i] = (byte) (payload[i] ^ mask[i & 3]);
+        }
+        return frame;
+    }
+
+    /** CLOSE 프레임 페이로드 (상태 코드 + 이유) */
+    static byte[] closePayload(int code, String reason) {
+        byte[] reasonBytes = reason != null ? reason.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        int reasonLength = Math.min(reasonBytes.length, MAX_CONTROL_PAYLOAD - 2);
+        byte[] payload = new byte[2 + reasonLength];
+        payload[0] = (byte) (code >>> 8);
+        payload[1] = (byte) code;
+        System.arraycopy(reasonBytes, 0, payload, 2, reasonLength);
+        return payload;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.couponman_6;
+
+import org.junit.Ignore;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import fi.iki.elonen.NanoHTTPD.Method;
+
+import static org.junit.Assert.*;
+
+/**
+ * 운영 라우트 표(ApiServer.buildRouter)의 trie 디스패치와 기존 startsWith/substring 체인의 지연 비교.
+ * 측정용이라 기본 테스트 실행에서는 제외하며, 필요할 때 @Ignore 를 빼거나 이 클래스만 지정해 실행한다.
+ */
+@Ignore("마이크로벤치마크 - 수동 실행용")
+public class ApiRouterBenchmarkTest {
+
+    private static final int ROUNDS = 200_000;
+
+    private static final String[][] REQUESTS = {
+            {"GET", "/api/coupons"},
+            {"POST", "/api/coupons/validate"},
+            {"GET", "/api/coupons/1234"},
+            {"DELETE", "/api/coupons/77"},
+            {"GET", "/api/corporates/search"},
+            {"GET", "/api/corporates/12/employees"},
+            {"GET", "/api/corporates/12/coupons"},
+            {"PUT", "/api/corporates/9"},
+            {"POST", "/api/employees/check-phone"},
+            {"GET", "/api/employees/5"},
+            {"GET", "/api/coupon-send/history"},
+            {"GET", "/api/statistics/corporate/3"},
+            {"GET", "/api/transactions/monthly"},
+            {"GET", "/api/transactions/employee/42/daily"},
+            {"POST", "/api/restore"},
+            {"GET", "/api/unknown/path"},
+    };
+
+    /** ApiServer.serve() 의 기존 분기 체인을 그대로 옮긴 비교 대상 */
+    private static String legacyDispatch(Method method, String uri) {
+        switch (uri) {
+            case "/api/coupons":
+                return Method.GET.equals(method) ? "getCoupons" : null;
+            case "/api/coupons/validate":
+                return Method.POST.equals(method) ? "validateCoupon" : null;
+            case "/api/corporates":
+                return Method.GET.equals(method) ? "getCorporates" : null;
+            default:
+                if (uri.startsWith("/api/coupons/")) {
+                    String couponId = uri.substring("/api/coupons/".length());
+                    if (Method.GET.equals(method)) return "getCoupon:" + couponId;
+                    if (Method.PUT.equals(method)) return "updateCoupon:" + couponId;
+                    if (Method.DELETE.equals(method)) return "deleteCoupon:" + couponId;
+                } else if (uri.startsWith("/api/corporates/")) {
+                    String path = uri.substring("/api/corporates/".length());
+                    if (path.equals("search")) {
+                        return "searchCorporates";
+                    } else if (path.contains("/employees")) {
+                        return "employeesByCorporate:" + path.split("/")[0];
+                    } else if (path.contains("/coupons")) {
+                        return "couponsByCorporate:" + path.split("/")[0];
+                    } else if (Method.PUT.equals(method)) {
+                        return "updateCorporate:" + path;
+                    }
+                    return "getCorporate:" + path;
+                } else if (uri.startsWith("/api/employees")) {
+                    if (uri.equals("/api/employees")) return "getEmployees";
+                    if (uri.equals("/api/employees/check-phone")) return "checkPhone";
+                    if (uri.startsWith("/api/employees/")) return "getEmployee:" + uri.substring("/api/employees/".length());
+                } else if (uri.startsWith("/api/email-config")) {
+                    return "emailConfig";
+                } else if (uri.startsWith("/api/sms-config")) {
+                    return "smsConfig";
+                } else if (uri.startsWith("/api/coupon-send")) {
+                    if (uri.equals("/api/coupon-send/email")) return "sendEmail";
+                    if (uri.startsWith("/api/coupon-send/")) {
+                        String path = uri.substring("/api/coupon-send/".length());
+                        if (path.equals("history")) return "deliveryHistory";
+                    }
+                } else if (uri.startsWith("/api/statistics/")) {
+                    if (uri.equals("/api/statistics/corporate")) return "corporateStats";
+                    if (uri.startsWith("/api/statistics/corporate/")) {
+                        return "corporateDetailStats:" + uri.substring("/api/statistics/corporate/".length());
+                    }
+                } else if (uri.startsWith("/api/system/settings")) {
+                    return "systemSettings";
+                } else if (uri.startsWith("/api/price-settings")) {
+                    return "priceSettings";
+                } else if (uri.startsWith("/api/business-settings")) {
+                    return "businessSettings";
+                } else if (uri.startsWith("/api/transactions")) {
+                    if (uri.equals("/api/transactions/monthly")) return "monthlyTransactions";
+                    if (uri.startsWith("/api/transactions/employee/")) {
+                        String path = uri.substring("/api/transactions/employee/".length());
+                        if (path.contains("/daily")) return "employeeDaily:" + path.substring(0, path.indexOf("/daily"));
+                    }
+                    if (uri.equals("/api/transactions")) return "transactions";
+                } else if (uri.equals("/api/backup")) {
+                    return "backup";
+                } else if (uri.equals("/api/restore")) {
+                    return "restore";
+                }
+                return null;
+        }
+    }
+
+    @Test
+    public void benchmark_trieVersusLegacyChain() {
+        ApiRouter router = ApiServer.buildRouter(null, Arrays.asList("web/index.html"));
+        Method[] methods = new Method[REQUESTS.length];
+        for (int i = 0; i < REQUESTS.length; i++) {
+            methods[i] = Method.valueOf(REQUESTS[i][0]);
+        }
+
+        // 워밍업
+        long sink = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            int k = i % REQUESTS.length;
+            sink += router.match(methods[k], REQUESTS[k][1]) != null ? 1 : 0;
+            sink += legacyDispatch(methods[k], REQUESTS[k][1]) != null ? 1 : 0;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            int k = i % REQUESTS.length;
+            sink += router.match(methods[k], REQUESTS[k][1]) != null ? 1 : 0;
+        }
+        long trieNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            int k = i % REQUESTS.length;
+            sink += legacyDispatch(methods[k], REQUESTS[k][1]) != null ? 1 : 0;
+        }
+        long legacyNanos = System.nanoTime() - start;
+
+        System.out.println(String.format("route dispatch: trie %.1f ns/op, legacy chain %.1f ns/op (sink=%d)",
+                (double) trieNanos / ROUNDS, (double) legacyNanos / ROUNDS, sink));
+        assertTrue(sink > 0);
+    }
+}
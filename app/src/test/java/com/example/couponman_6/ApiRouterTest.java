@@ -0,0 +1,90 @@
+package com.example.couponman_6;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import fi.iki.elonen.NanoHTTPD.Method;
+
+import static org.junit.Assert.*;
+
+/**
+ * ApiServer 가 실제로 등록하는 라우트 표의 매칭 결과 검증.
+ * 핸들러는 호출하지 않으므로 server 없이 라우트 표만 구성한다.
+ */
+public class ApiRouterTest {
+
+    /** {메서드, URI, 기대 템플릿, 기대 id} — 템플릿이 null 이면 매칭되지 않아야 한다 */
+    private static final String[][] REQUESTS = {
+            {"GET", "/api/coupons", "/api/coupons", null},
+            {"POST", "/api/coupons/validate", "/api/coupons/validate", null},
+            {"GET", "/api/coupons/1234", "/api/coupons/{id}", "1234"},
+            {"DELETE", "/api/coupons/77", "/api/coupons/{id}", "77"},
+            {"GET", "/api/corporates/search", "/api/corporates/search", null},
+            {"GET", "/api/corporates/12/employees", "/api/corporates/{id}/employees", "12"},
+            {"GET", "/api/corporates/12/coupons", "/api/corporates/{id}/coupons", "12"},
+            {"PUT", "/api/corporates/9", "/api/corporates/{id}", "9"},
+            {"POST", "/api/employees/check-phone", "/api/employees/check-phone", null},
+            {"GET", "/api/employees/5", "/api/employees/{id}", "5"},
+            {"GET", "/api/coupon-send/history", "/api/coupon-send/history", null},
+            {"GET", "/api/statistics/corporate/3", "/api/statistics/corporate/{id}", "3"},
+            {"GET", "/api/transactions/monthly", "/api/transactions/monthly", null},
+            {"GET", "/api/transactions/employee/42/daily", "/api/transactions/employee/{id}/daily", "42"},
+            {"POST", "/api/restore", "/api/restore", null},
+            {"GET", "/web/index.html", "/web/index.html", null},
+            {"GET", "/api/unknown/path", null, null},
+            {"PATCH", "/api/coupons", null, null},
+    };
+
+    private ApiRouter router;
+
+    @Before
+    public void setUp() {
+        router = ApiServer.buildRouter(null, Arrays.asList("web/index.html"));
+    }
+
+    @Test
+    public void routes_matchExpectedTemplatesAndParams() {
+        for (String[] request : REQUESTS) {
+            ApiRouter.Match match = router.match(Method.valueOf(request[0]), request[1]);
+            if (request[2] == null) {
+                assertNull(request[0] + " " + request[1], match);
+                continue;
+            }
+            assertNotNull(request[0] + " " + request[1], match);
+            assertEquals(request[1], request[2], match.getRoute().getTemplate());
+            assertEquals(request[1], request[3], match.getParams().get("id"));
+        }
+    }
+
+    @Test
+    public void staticSegmentTakesPrecedenceOverParam() {
+        ApiRouter.Match match = router.match(Method.GET, "/api/corporates/search");
+        assertNotNull(match);
+        assertEquals("/api/corporates/search", match.getRoute().getTemplate());
+        assertNull(router.match(Method.GET, "/api/coupons/validate"));
+        assertNull(router.match(Method.GET, "/api/coupons/"));
+    }
+
+    @Test
+    public void dashboardAndApiInfo_answerAnyMethodWithoutAuth() {
+        for (String uri : new String[]{"/dashboard", "/", "/api"}) {
+            for (Method method : new Method[]{Method.GET, Method.POST, Method.PUT, Method.DELETE, Method.HEAD}) {
+                ApiRouter.Match match = router.match(method, uri);
+                assertNotNull(method + " " + uri, match);
+                assertFalse(method + " " + uri, match.getRoute().requiresAuth());
+            }
+            assertNull(router.match(Method.OPTIONS, uri));
+        }
+    }
+
+    @Test
+    public void authRequirement_followsRouteRegistration() {
+        assertFalse(router.match(Method.POST, "/api/login").getRoute().requiresAuth());
+        assertFalse(router.match(Method.GET, "/api/server/status").getRoute().requiresAuth());
+        assertFalse(router.match(Method.GET, "/web/index.html").getRoute().requiresAuth());
+        assertTrue(router.match(Method.GET, "/api/coupons").getRoute().requiresAuth());
+        assertTrue(router.match(Method.GET, "/api/backup").getRoute().requiresAuth());
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.couponman_6;
+
+import android.util.Log;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * AppLog 레벨 필터와 지연 메시지 생성 검증.
+ */
+public class AppLogTest {
+    private static final String TAG = "AppLogTest";
+
+    @After
+    public void tearDown() {
+        AppLog.setMinLevel(Log.INFO);
+    }
+
+    @Test
+    public void disabledLevel_doesNotBuildMessage() {
+        AtomicInteger built = new AtomicInteger();
+        AppLog.setMinLevel(Log.INFO);
+
+        AppLog.d(TAG, () -> "row " + built.incrementAndGet());
+        AppLog.v(TAG, () -> "row " + built.incrementAndGet());
+
+        assertEquals(0, built.get());
+        assertFalse(AppLog.isDebugEnabled());
+    }
+
+    @Test
+    public void enabledLevel_buildsMessageOnce() {
+        AtomicInteger built = new AtomicInteger();
+        AppLog.setMinLevel(Log.DEBUG);
+
+        AppLog.d(TAG, () -> "row " + built.incrementAndGet());
+        AppLog.i(TAG, () -> "row " + built.incrementAndGet());
+
+        assertEquals(BuildConfig.DEBUG ? 2 : 1, built.get());
+    }
+
+    @Test
+    public void minLevel_isClampedAndFiltersLowerLevels() {
+        AppLog.setMinLevel(Log.ASSERT + 10);
+        assertEquals(Log.ERROR, AppLog.getMinLevel());
+        assertFalse(AppLog.isLoggable(Log.WARN));
+        assertTrue(AppLog.isLoggable(Log.ERROR));
+
+        AppLog.setMinLevel(Log.WARN);
+        assertFalse(AppLog.isLoggable(Log.INFO));
+        assertTrue(AppLog.isLoggable(Log.WARN));
+    }
+
+    @Test
+    public void mask_keepsOnlyShortPrefix() {
+        String token = "3f1c9a2e-7b44-4d1f-9e0a-5c2b8d7e6f10-1700000000000";
+
+        String masked = AppLog.mask(token);
+
+        assertTrue(masked.startsWith("3f1c9a"));
+        assertFalse(masked.contains("5c2b8d7e6f10"));
+        assertEquals("null", AppLog.mask(null));
+    }
+}
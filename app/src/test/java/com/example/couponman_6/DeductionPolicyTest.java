@@ -0,0 +1,71 @@
+package com.example.couponman_6;
+
+import org.junit.Test;
+
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * 시간대별 차감 규칙의 분 단위 조회가 기존 "HH:mm" 범위 비교(양끝 포함)와 같은지 검증.
+ */
+public class DeductionPolicyTest {
+
+    private static final TimeZone SEOUL = TimeZone.getTimeZone("Asia/Seoul");
+
+    private static DeductionPolicy policy(boolean timeBased) {
+        DeductionPolicy.Period[] periods = {
+                DeductionPolicy.Period.of("아침", "07:00", "10:59", 3000),
+                DeductionPolicy.Period.of("점심", "11:00", "14:59", 5000),
+                DeductionPolicy.Period.of("저녁", "15:00", "21:59", 7000),
+        };
+        DeductionPolicy.Period defaultPeriod = new DeductionPolicy.Period("기본", 0, 24 * 60 - 1, 4000);
+        return new DeductionPolicy(timeBased, false, "후순위", defaultPeriod, periods, SEOUL);
+    }
+
+    @Test
+    public void periodBoundaries_areInclusive() {
+        DeductionPolicy policy = policy(true);
+
+        assertEquals("기본", policy.periodAtMinute(6 * 60 + 59).getName());
+        assertEquals("아침", policy.periodAtMinute(7 * 60).getName());
+        assertEquals("아침", policy.periodAtMinute(10 * 60 + 59).getName());
+        assertEquals("점심", policy.periodAtMinute(11 * 60).getName());
+        assertEquals(7000, policy.periodAtMinute(21 * 60 + 59).getCashAmount());
+        assertEquals(4000, policy.periodAtMinute(22 * 60).getCashAmount());
+    }
+
+    @Test
+    public void timeBasedDisabled_alwaysUsesDefault() {
+        DeductionPolicy policy = policy(false);
+
+        assertEquals("기본", policy.periodAtMinute(12 * 60).getName());
+        assertEquals(4000, policy.periodAtMinute(8 * 60).getCashAmount());
+    }
+
+    @Test
+    public void earlierPeriodWins_andInvalidTimesNeverMatch() {
+        DeductionPolicy.Period[] periods = {
+                DeductionPolicy.Period.of("아침", "07:00", "12:00", 3000),
+                DeductionPolicy.Period.of("점심", "11:00", "14:59", 5000),
+                DeductionPolicy.Period.of("저녁", "25:00", "7pm", 7000),
+        };
+        DeductionPolicy policy = new DeductionPolicy(true, false, "후순위",
+                new DeductionPolicy.Period("기본", 0, 24 * 60 - 1, 4000), periods, SEOUL);
+
+        assertEquals("아침", policy.periodAtMinute(11 * 60 + 30).getName());
+        assertEquals("점심", policy.periodAtMinute(12 * 60 + 1).getName());
+        assertEquals("기본", policy.periodAtMinute(19 * 60).getName());
+        assertEquals(-1, DeductionPolicy.parseMinute("12:60"));
+        assertEquals(9 * 60 + 5, DeductionPolicy.parseMinute(" 09:05 "));
+    }
+
+    @Test
+    public void periodAt_usesLocalTimeZone() {
+        DeductionPolicy policy = policy(true);
+        // 2024-03-04 03:30 UTC = 12:30 KST
+        long utcMillis = 1709523000000L;
+
+        assertEquals("점심", policy.periodAt(utcMillis).getName());
+    }
+}
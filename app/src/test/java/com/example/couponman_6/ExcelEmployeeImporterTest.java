@@ -0,0 +1,128 @@
+package com.example.couponman_6;
+
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * 스트리밍 CSV 파서와 SAX 기반 XLSX 읽기, 헤더로 판별한 구형 XLS 읽기 검증.
+ */
+public class ExcelEmployeeImporterTest {
+
+    @Test
+    public void csv_handlesQuotesEmbeddedCommasAndNewlines() throws Exception {
+        String csv = "\uFEFF이름,사번\r\n"
+                + "홍길동,E001\r\n"
+                + "\"김, 철수\",\"E\"\"002\"\n"
+                + "\"이영희\n(재무)\",E003\r"
+                + "\n"
+                + ",E004\n"
+                + "박민수,";
+        List<CouponTargetDraft> drafts = new ArrayList<>();
+
+        int count = ExcelEmployeeImporter.importCsv(new StringReader(csv), drafts::add);
+
+        assertEquals(4, count);
+        assertEquals("홍길동", drafts.get(0).getName());
+        assertEquals("E001", drafts.get(0).getEmployeeCode());
+        assertEquals("김, 철수", drafts.get(1).getName());
+        assertEquals("E\"002", drafts.get(1).getEmployeeCode());
+        assertEquals("이영희\n(재무)", drafts.get(2).getName());
+        assertEquals("E003", drafts.get(2).getEmployeeCode());
+        // 사번이 비면 이름을 사번으로 사용 (CouponTargetDraft.resolveEmployeeCode)
+        assertEquals("박민수", drafts.get(3).resolveEmployeeCode());
+    }
+
+    @Test
+    public void csv_unterminatedQuoteFailsInsteadOfBufferingFile() {
+        StringBuilder csv = new StringBuilder("이름,사번\n\"끝나지 않은 따옴표,E001\n");
+        for (int i = 0; i < ExcelEmployeeImporter.MAX_CSV_RECORD_CHARS; i++) {
+            csv.append('x');
+        }
+        try {
+            ExcelEmployeeImporter.importCsv(new StringReader(csv.toString()), draft -> { });
+            fail("expected IOException");
+        } catch (Exception e) {
+            assertTrue(e instanceof IOException);
+        }
+    }
+
+    @Test
+    public void xlsx_streamsLargeSheetRowByRow() throws Exception {
+        File file = File.createTempFile("roster", ".xlsx");
+        file.deleteOnExit();
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(100);
+             OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("이름");
+            header.createCell(1).setCellValue("사번");
+            for (int i = 1; i <= 20_000; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("직원" + i);
+                if (i % 2 == 0) {
+                    row.createCell(1).setCellValue(i); // 숫자 사번
+                }
+            }
+            workbook.write(out);
+            workbook.dispose();
+        }
+
+        final List<CouponTargetDraft> first = new ArrayList<>();
+        final int[] seen = {0};
+        int count = ExcelEmployeeImporter.importWorkbook(file, draft -> {
+            if (seen[0]++ < 2) {
+                first.add(draft);
+            }
+        });
+
+        assertEquals(20_000, count);
+        assertEquals("직원1", first.get(0).getName());
+        assertEquals("", first.get(0).getEmployeeCode());
+        assertEquals("직원2", first.get(1).getName());
+        assertEquals("2", first.get(1).getEmployeeCode());
+    }
+
+    @Test
+    public void xls_isDetectedByHeaderAndReadThroughHssf() throws Exception {
+        // 확장자와 관계없이 OLE2 헤더로 판별되어야 한다
+        File file = File.createTempFile("roster", ".tmp");
+        file.deleteOnExit();
+        try (HSSFWorkbook workbook = new HSSFWorkbook();
+             OutputStream out = new FileOutputStream(file)) {
+            Sheet sheet = workbook.createSheet();
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("이름");
+            header.createCell(1).setCellValue("사번");
+            Row row = sheet.createRow(1);
+            row.createCell(0).setCellValue("홍길동");
+            row.createCell(1).setCellValue(1001);
+            Row second = sheet.createRow(2);
+            second.createCell(0).setCellValue("김철수");
+            second.createCell(1).setCellValue("E002");
+            sheet.createRow(3).createCell(1).setCellValue("E003"); // 이름 없음: 제외
+            workbook.write(out);
+        }
+
+        List<CouponTargetDraft> drafts = new ArrayList<>();
+        int count = ExcelEmployeeImporter.importWorkbook(file, drafts::add);
+
+        assertEquals(2, count);
+        assertEquals("홍길동", drafts.get(0).getName());
+        assertEquals("1001", drafts.get(0).getEmployeeCode());
+        assertEquals("E002", drafts.get(1).getEmployeeCode());
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.couponman_6;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import fi.iki.elonen.NanoHTTPD;
+import okhttp3.OkHttpClient;
+
+import static org.junit.Assert.*;
+
+/**
+ * 로컬 가짜 누썸 API 로 NusomeGateway 연결 재사용/배치 묶음/건별 전환 검증.
+ */
+public class NusomeGatewayTest {
+
+    private final Gson gson = new Gson();
+    private FakeNusomeServer server;
+    private NusomeGateway gateway;
+
+    @After
+    public void tearDown() {
+        if (gateway != null) {
+            gateway.shutdown();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private static Map<String, Object> request(String phone) {
+        Map<String, Object> request = new HashMap<>();
+        request.put("business_id", "1234567890");
+        request.put("recipient_phone", phone);
+        request.put("sms_kakao", "sms");
+        return request;
+    }
+
+    private List<NusomeGateway.Result> sendConcurrently(int count) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(count);
+        try {
+            List<Future<NusomeGateway.Result>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                final String phone = "0101234" + String.format("%04d", i);
+                futures.add(callers.submit(() -> gateway.send(request(phone))));
+            }
+            List<NusomeGateway.Result> results = new ArrayList<>();
+            for (Future<NusomeGateway.Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void sequentialSends_reuseOneConnection() throws Exception {
+        server = new FakeNusomeServer(true);
+        gateway = new NusomeGateway(new OkHttpClient(), gson);
+        gateway.configure(server.url("/single"), "", 0, 20);
+
+        for (int i = 0; i < 5; i++) {
+            NusomeGateway.Result result = gateway.sendNow(request("0100000000" + i));
+            assertTrue(result.isSuccess());
+            assertEquals("R-0100000000" + i, result.getRequestId());
+        }
+
+        assertEquals(5, server.singleCalls.get());
+        assertEquals(1, server.connections.get());
+    }
+
+    @Test
+    public void batchApi_coalescesQueuedSendsIntoOneCall() throws Exception {
+        server = new FakeNusomeServer(true);
+        gateway = new NusomeGateway(new OkHttpClient(), gson);
+        gateway.configure(server.url("/single"), server.url("/batch"), 500, 20);
+
+        List<NusomeGateway.Result> results = sendConcurrently(10);
+
+        for (int i = 0; i < results.size(); i++) {
+            assertTrue(results.get(i).isSuccess());
+            assertEquals("R-0101234" + String.format("%04d", i), results.get(i).getRequestId());
+        }
+        assertEquals(0, server.singleCalls.get());
+        assertEquals(1, server.batchCalls.get());
+        assertEquals(10, server.batchSizes.get(0).intValue());
+    }
+
+    @Test
+    public void batchApi_splitsAtMaxBatchSize() throws Exception {
+        server = new FakeNusomeServer(true);
+        gateway = new NusomeGateway(new OkHttpClient(), gson);
+        gateway.configure(server.url("/single"), server.url("/batch"), 500, 4);
+
+        List<NusomeGateway.Result> results = sendConcurrently(10);
+
+        for (NusomeGateway.Result result : results) {
+            assertTrue(result.isSuccess());
+        }
+        assertEquals(3, server.batchCalls.get());
+        for (Integer size : server.batchSizes) {
+            assertTrue(size <= 4);
+        }
+    }
+
+    @Test
+    public void unsupportedBatchApi_fallsBackToSingleRequests() throws Exception {
+        server = new FakeNusomeServer(false);
+        gateway = new NusomeGateway(new OkHttpClient(), gson);
+        gateway.configure(server.url("/single"), server.url("/batch"), 300, 20);
+
+        List<NusomeGateway.Result> results = sendConcurrently(6);
+
+        for (NusomeGateway.Result result : results) {
+            assertTrue(result.isSuccess());
+        }
+        assertEquals(1, server.batchCalls.get());
+        assertEquals(6, server.singleCalls.get());
+    }
+
+    @Test
+    public void withoutBatchApi_sendsImmediatelyIgnoringWindow() throws Exception {
+        server = new FakeNusomeServer(true);
+        gateway = new NusomeGateway(new OkHttpClient(), gson);
+        gateway.configure(server.url("/single"), "", 2000, 20);
+
+        long start = System.currentTimeMillis();
+        NusomeGateway.Result result = gateway.send(request("01012340000"));
+
+        assertTrue(result.isSuccess());
+        assertTrue(System.currentTimeMillis() - start < 2000);
+        assertEquals(0L, gateway.getMetrics().get("batchWindowMs"));
+        assertEquals(1, server.singleCalls.get());
+        assertEquals(0, server.batchCalls.get());
+    }
+
+    @Test
+    public void gatewayFailure_isReportedPerRequest() throws Exception {
+        server = new FakeNusomeServer(true);
+        gateway = new NusomeGateway(new OkHttpClient(), gson);
+        gateway.configure(server.url("/single"), server.url("/batch"), 0, 20);
+
+        NusomeGateway.Result rejected = gateway.send(request("fail"));
+
+        assertFalse(rejected.isSuccess());
+        assertEquals("rejected", rejected.getMessage());
+        assertEquals(1L, gateway.getMetrics().get("failures"));
+    }
+
+    /** /single 은 1건, /batch 는 {"requests":[...]} 를 받는다. 수신번호 "fail" 은 실패로 응답 */
+    private class FakeNusomeServer extends NanoHTTPD {
+        private final boolean batchSupported;
+        final AtomicInteger singleCalls = new AtomicInteger();
+        final AtomicInteger batchCalls = new AtomicInteger();
+        final List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<Integer>());
+        final AtomicInteger connections = new AtomicInteger();
+
+        FakeNusomeServer(boolean batchSupported) throws IOException {
+            super("127.0.0.1", 0);
+            this.batchSupported = batchSupported;
+            start(NanoHTTPD.SOCKET_READ_TIMEOUT, true);
+        }
+
+        String url(String path) {
+            return "http://127.0.0.1:" + getListeningPort() + path;
+        }
+
+        void close() {
+            stop();
+        }
+
+        @Override
+        protected ClientHandler createClientHandler(Socket socket, InputStream inputStream) {
+            connections.incrementAndGet();
+            return super.createClientHandler(socket, inputStream);
+        }
+
+        @Override
+        public Response serve(IHTTPSession session) {
+            String body;
+            try {
+                Map<String, String> files = new HashMap<>();
+                session.parseBody(files);
+                body = files.get("postData");
+            } catch (IOException | ResponseException e) {
+                return json(Response.Status.BAD_REQUEST, "{}");
+            }
+            if ("/single".equals(session.getUri())) {
+                singleCalls.incrementAndGet();
+                return json(Response.Status.OK, gson.toJson(resultFor(gson.fromJson(body, Map.class))));
+            }
+            batchCalls.incrementAndGet();
+            if (!batchSupported) {
+                return json(Response.Status.NOT_FOUND, "{\"success\":false}");
+            }
+            List<?> requests = (List<?>) gson.fromJson(body, Map.class).get("requests");
+            batchSizes.add(requests.size());
+            List<Map<String, Object>> results = new ArrayList<>();
+            for (Object request : requests) {
+                results.add(resultFor((Map<?, ?>) request));
+            }
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("results", results);
+            return json(Response.Status.OK, gson.toJson(response));
+        }
+
+        private Response json(Response.Status status, String body) {
+            return newFixedLengthResponse(status, "application/json; charset=utf-8", body);
+        }
+
+        private Map<String, Object> resultFor(Map<?, ?> request) {
+            String phone = String.valueOf(request.get("recipient_phone"));
+            Map<String, Object> result = new HashMap<>();
+            boolean ok = !"fail".equals(phone);
+            result.put("success", ok);
+            result.put("message", ok ? "ok" : "rejected");
+            result.put("request_id", "R-" + phone);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.couponman_6;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * 1비트 PNG 인코딩과 QR 캐시 검증. PNG 는 청크/CRC 를 직접 읽고 IDAT 를 풀어 픽셀을 비교한다.
+ */
+public class QRCodeGeneratorTest {
+
+    @Before
+    public void setUp() {
+        QRCodeGenerator.clearCache();
+    }
+
+    @Test
+    public void encodePng_matchesBitMatrixPixels() throws Exception {
+        BitMatrix matrix = new QRCodeWriter().encode("CPN-2024-000123-ABCD", BarcodeFormat.QR_CODE, 250, 250);
+
+        byte[] png = QRCodeGenerator.encodePng(matrix);
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(png));
+        byte[] signature = new byte[8];
+        in.readFully(signature);
+        assertArrayEquals(new byte[]{(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'}, signature);
+
+        int width = 0;
+        int height = 0;
+        ByteArrayOutputStream idat = new ByteArrayOutputStream();
+        while (true) {
+            int length = in.readInt();
+            byte[] type = new byte[4];
+            in.readFully(type);
+            byte[] data = new byte[length];
+            in.readFully(data);
+            CRC32 crc = new CRC32();
+            crc.update(type);
+            crc.update(data);
+            assertEquals((int) crc.getValue(), in.readInt());
+
+            String name = new String(type, StandardCharsets.US_ASCII);
+            if (name.equals("IHDR")) {
+                DataInputStream header = new DataInputStream(new ByteArrayInputStream(data));
+                width = header.readInt();
+                height = header.readInt();
+                assertEquals(1, header.readByte());
+                assertEquals(0, header.readByte());
+            } else if (name.equals("IDAT")) {
+                idat.write(data);
+            } else if (name.equals("IEND")) {
+                break;
+            }
+        }
+        assertEquals(matrix.getWidth(), width);
+        assertEquals(matrix.getHeight(), height);
+
+        int rowBytes = (width + 7) / 8;
+        DataInputStream pixels = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(idat.toByteArray())));
+        byte[] line = new byte[rowBytes + 1];
+        for (int y = 0; y < height; y++) {
+            pixels.readFully(line);
+            assertEquals(0, line[0]);
+            for (int x = 0; x < width; x++) {
+                boolean white = (line[1 + x / 8] & (0x80 >>> (x % 8))) != 0;
+                assertEquals("pixel " + x + "," + y, !matrix.get(x, y), white);
+            }
+        }
+        assertEquals(-1, pixels.read());
+    }
+
+    @Test
+    public void getQRCodePng_reusesCachedBytes() {
+        byte[] first = QRCodeGenerator.getQRCodePng("CPN-2024-000123-ABCD");
+        byte[] second = QRCodeGenerator.getQRCodePng("CPN-2024-000123-ABCD");
+        byte[] other = QRCodeGenerator.getQRCodePng("CPN-2024-000124-ABCD");
+
+        assertNotNull(first);
+        assertSame(first, second);
+        assertFalse(Arrays.equals(first, other));
+        assertEquals(1L, QRCodeGenerator.getCacheMetrics().get("hits"));
+        assertEquals(2L, QRCodeGenerator.getCacheMetrics().get("misses"));
+        assertNull(QRCodeGenerator.getQRCodePng(" "));
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.couponman_6;
+
+import com.google.gson.Gson;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * 중계 요청이 소켓 없이 serve() 로 전달되는지와 api_response 봉투 형식 검증.
+ */
+public class RelayDispatcherTest {
+
+    private final Gson gson = new Gson();
+    private final BlockingQueue<Object[]> results = new LinkedBlockingQueue<>();
+    private final RelayDispatcher.Callback callback =
+            (id, status, message, error) -> results.add(new Object[]{id, status, new String(message, StandardCharsets.UTF_8), error});
+    private RelayDispatcher dispatcher = new RelayDispatcher();
+
+    @After
+    public void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    /** 받은 세션 내용을 JSON 으로 돌려주는 서버 (listen 하지 않음) */
+    private static class EchoServer extends NanoHTTPD {
+        volatile CountDownLatch gate;
+
+        EchoServer() {
+            super(0);
+        }
+
+        @Override
+        public Response serve(IHTTPSession session) {
+            try {
+                if (gate != null) {
+                    gate.await(5, TimeUnit.SECONDS);
+                }
+                if ("/missing".equals(session.getUri())) {
+                    return newFixedLengthResponse(Response.Status.NOT_FOUND, MIME_PLAINTEXT, "404 Not Found");
+                }
+                Map<String, String> files = new HashMap<>();
+                session.parseBody(files);
+                Map<String, Object> echo = new HashMap<>();
+                echo.put("method", session.getMethod().name());
+                echo.put("uri", session.getUri());
+                echo.put("parms", session.getParms());
+                echo.put("authorization", session.getHeaders().get("authorization"));
+                echo.put("contentLength", session.getHeaders().get("content-length"));
+                echo.put("postData", files.get("postData"));
+                return newFixedLengthResponse(Response.Status.OK, "application/json; charset=utf-8", new Gson().toJson(echo));
+            } catch (IOException | ResponseException | InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private Object[] nextResult() throws InterruptedException {
+        Object[] result = results.poll(5, TimeUnit.SECONDS);
+        assertNotNull("timed out waiting for relay response", result);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void dispatch_servesInProcessAndSplicesJsonBody() throws Exception {
+        dispatcher.dispatch(new EchoServer(), 7, "post", "/api/coupons?corporateId=3&name=%ED%99%8D",
+                "{\"amount\":\"가나\"}", "tok-1", callback);
+
+        Object[] result = nextResult();
+        assertEquals(7, result[0]);
+        assertEquals(200, result[1]);
+        assertNull(result[3]);
+        Map<String, Object> envelope = gson.fromJson((String) result[2], Map.class);
+        assertEquals("api_response", envelope.get("type"));
+        assertEquals(7.0, envelope.get("id"));
+        assertEquals(Boolean.TRUE, envelope.get("success"));
+
+        Map<String, Object> data = (Map<String, Object>) envelope.get("data");
+        assertEquals("POST", data.get("method"));
+        assertEquals("/api/coupons", data.get("uri"));
+        Map<String, Object> parms = (Map<String, Object>) data.get("parms");
+        assertEquals("3", parms.get("corporateId"));
+        assertEquals("홍", parms.get("name"));
+        assertEquals("Bearer tok-1", data.get("authorization"));
+        assertEquals("{\"amount\":\"가나\"}", data.get("postData"));
+        assertEquals(String.valueOf("{\"amount\":\"가나\"}".getBytes(StandardCharsets.UTF_8).length), data.get("contentLength"));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void dispatch_wrapsNonJsonAndReportsMissingServer() throws Exception {
+        dispatcher.dispatch(new EchoServer(), 1, "GET", "/missing", null, "", callback);
+        Object[] notFound = nextResult();
+        assertEquals(404, notFound[1]);
+        Map<String, Object> envelope = gson.fromJson((String) notFound[2], Map.class);
+        assertEquals(Boolean.FALSE, envelope.get("success"));
+        assertEquals("404 Not Found", ((Map<String, Object>) envelope.get("data")).get("message"));
+
+        dispatcher.dispatch(null, 2, "GET", "/api/coupons", null, null, callback);
+        Object[] offline = nextResult();
+        assertEquals(503, offline[1]);
+        assertNotNull(offline[3]);
+        assertEquals(Boolean.FALSE, ((Map<String, Object>) gson.fromJson((String) offline[2], Map.class).get("data")).get("success"));
+    }
+
+    @Test
+    public void dispatch_rejectsWhenQueueIsFull() throws Exception {
+        dispatcher.shutdown();
+        dispatcher = new RelayDispatcher(1, 1);
+        EchoServer server = new EchoServer();
+        server.gate = new CountDownLatch(1);
+
+        dispatcher.dispatch(server, 1, "GET", "/api/a", null, null, callback);
+        dispatcher.dispatch(server, 2, "GET", "/api/b", null, null, callback);
+        dispatcher.dispatch(server, 3, "GET", "/api/c", null, null, callback);
+
+        // 워커 1개 + 대기 1개가 찼으므로 세 번째는 바로 503
+        Object[] rejected = nextResult();
+        assertEquals(3, rejected[0]);
+        assertEquals(503, rejected[1]);
+
+        server.gate.countDown();
+        assertEquals(200, nextResult()[1]);
+        assertEquals(200, nextResult()[1]);
+    }
+}
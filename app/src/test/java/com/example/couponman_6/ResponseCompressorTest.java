@@ -0,0 +1,127 @@
+package com.example.couponman_6;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import fi.iki.elonen.NanoHTTPD;
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * 크기 임계값, Accept-Encoding 협상, 고정 길이/스트리밍 압축 결과와 카운터 검증.
+ */
+public class ResponseCompressorTest {
+
+    private static final String JSON_TYPE = "application/json; charset=utf-8";
+
+    private static IHTTPSession session(String acceptEncoding) {
+        Map<String, String> headers = new HashMap<>();
+        if (acceptEncoding != null) {
+            headers.put("accept-encoding", acceptEncoding);
+        }
+        return (IHTTPSession) Proxy.newProxyInstance(IHTTPSession.class.getClassLoader(),
+                new Class<?>[]{IHTTPSession.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("getHeaders")) {
+                        return headers;
+                    }
+                    return method.getName().equals("getMethod") ? NanoHTTPD.Method.GET : null;
+                });
+    }
+
+    private static String couponsJson(int rows) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < rows; i++) {
+            json.append(i > 0 ? "," : "").append("{\"couponId\":").append(i)
+                    .append(",\"corporateName\":\"한빛식품 주식회사\",\"status\":\"사용가능\",\"cashBalance\":5000}");
+        }
+        return json.append("]").toString();
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1000];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static String gunzip(Response response) throws IOException {
+        try (InputStream in = new GZIPInputStream(response.getData())) {
+            return new String(readAll(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void largeJson_isCompressedAndCounted() throws Exception {
+        ResponseCompressor compressor = new ResponseCompressor();
+        String json = couponsJson(500);
+        Response response = NanoHTTPD.newFixedLengthResponse(Response.Status.OK, JSON_TYPE, json);
+
+        assertSame(response, compressor.encode(session("gzip, deflate"), response));
+
+        assertEquals("gzip", response.getHeader("content-encoding"));
+        assertEquals("Accept-Encoding", response.getHeader("vary"));
+        assertEquals(json, gunzip(response));
+        Map<String, Object> metrics = compressor.getMetrics();
+        assertEquals(1L, metrics.get("compressed"));
+        assertEquals((long) json.getBytes(StandardCharsets.UTF_8).length, metrics.get("identityBytes"));
+        assertTrue((Long) metrics.get("bytesSaved") > (Long) metrics.get("identityBytes") * 3 / 4);
+    }
+
+    @Test
+    public void smallOrUnacceptedOrBinary_isLeftAlone() throws Exception {
+        ResponseCompressor compressor = new ResponseCompressor();
+        Response small = NanoHTTPD.newFixedLengthResponse(Response.Status.OK, JSON_TYPE, "{\"success\":true}");
+        String json = couponsJson(100);
+        Response noGzip = NanoHTTPD.newFixedLengthResponse(Response.Status.OK, JSON_TYPE, json);
+        Response png = NanoHTTPD.newFixedLengthResponse(Response.Status.OK, "image/png",
+                new ByteArrayInputStream(new byte[4096]), 4096);
+
+        compressor.encode(session("gzip"), small);
+        compressor.encode(session("gzip;q=0, identity"), noGzip);
+        compressor.encode(session("gzip"), png);
+
+        assertNull(small.getHeader("content-encoding"));
+        assertNull(noGzip.getHeader("content-encoding"));
+        assertEquals("Accept-Encoding", noGzip.getHeader("vary"));
+        assertEquals(json, new String(readAll(noGzip.getData()), StandardCharsets.UTF_8));
+        assertNull(png.getHeader("content-encoding"));
+        assertEquals(1L, compressor.getMetrics().get("skippedSmall"));
+        assertEquals(0L, compressor.getMetrics().get("compressed"));
+    }
+
+    @Test
+    public void chunkedStream_isCompressedWhileRead() throws Exception {
+        ResponseCompressor compressor = new ResponseCompressor();
+        String json = couponsJson(3000);
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        // ByteArrayInputStream 이 아니면 길이를 모르는 스트림으로 취급한다
+        InputStream stream = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+        };
+        Response response = NanoHTTPD.newChunkedResponse(Response.Status.OK, JSON_TYPE, stream);
+
+        compressor.encode(session("gzip"), response);
+        assertEquals("gzip", response.getHeader("content-encoding"));
+        assertEquals(json, gunzip(response));
+        response.getData().close();
+
+        Map<String, Object> metrics = compressor.getMetrics();
+        assertEquals(1L, metrics.get("streamed"));
+        assertEquals((long) bytes.length, metrics.get("identityBytes"));
+        assertTrue((Long) metrics.get("compressedBytes") < bytes.length / 4);
+    }
+}
@@ -0,0 +1,273 @@
+package com.example.couponman_6;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 로컬 가짜 SMTP 서버로 SmtpTransport 세션 재사용/파이프라이닝/첨부 스트리밍 검증.
+ */
+public class SmtpTransportTest {
+
+    private FakeSmtpServer server;
+
+    @After
+    public void tearDown() throws IOException {
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    private SmtpTransport.Config config() {
+        return new SmtpTransport.Config("127.0.0.1", server.getPort(), "none", "user", "secret",
+                true, "쿠폰맨", "sender@example.com");
+    }
+
+    @Test
+    public void multipleMessages_reuseOneAuthenticatedSession() throws Exception {
+        server = new FakeSmtpServer(false, Integer.MAX_VALUE);
+        SmtpTransport transport = new SmtpTransport(2, 60_000L, 100, 2_000);
+
+        for (int i = 0; i < 3; i++) {
+            assertTrue(transport.send(config(), new SmtpTransport.Message("user" + i + "@example.com",
+                    "쿠폰 " + i, "본문 " + i, null)));
+        }
+        transport.closeAll();
+
+        assertEquals(1, server.connections.get());
+        assertEquals(1, server.count("AUTH LOGIN"));
+        assertEquals(2, server.count("RSET"));
+        assertEquals(3, server.messages.size());
+        assertTrue(server.messages.get(2).contains("To: <user2@example.com>"));
+    }
+
+    @Test
+    public void pipelining_sendsEnvelopeWithoutWaitingForReplies() throws Exception {
+        // 서버는 DATA 까지 모두 읽은 뒤에야 응답하므로, 명령마다 응답을 기다리면 타임아웃으로 실패한다
+        server = new FakeSmtpServer(true, Integer.MAX_VALUE);
+        SmtpTransport transport = new SmtpTransport(2, 60_000L, 100, 2_000);
+
+        assertTrue(transport.send(config(), new SmtpTransport.Message("a@example.com", "s", "first", null)));
+        assertTrue(transport.send(config(), new SmtpTransport.Message("b@example.com", "s", "second", null)));
+        transport.closeAll();
+
+        assertEquals(1, server.connections.get());
+        assertEquals(2, server.messages.size());
+    }
+
+    @Test
+    public void attachment_isStreamedAsBase64AndBodyIsDotStuffed() throws Exception {
+        server = new FakeSmtpServer(true, Integer.MAX_VALUE);
+        SmtpTransport transport = new SmtpTransport(2, 60_000L, 100, 2_000);
+
+        byte[] payload = new byte[20_000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i * 31);
+        }
+        File attachment = File.createTempFile("qr_test", ".jpg");
+        attachment.deleteOnExit();
+        try (OutputStream out = new FileOutputStream(attachment)) {
+            out.write(payload);
+        }
+
+        assertTrue(transport.send(config(), new SmtpTransport.Message("a@example.com", "QR 쿠폰",
+                "첫 줄\n.점으로 시작하는 줄", attachment)));
+        transport.closeAll();
+
+        String message = server.messages.get(0);
+        assertTrue(message.contains("\n..점으로 시작하는 줄\n"));
+        assertTrue(message.contains("Subject: =?UTF-8?B?"));
+
+        String marker = "Content-Disposition: attachment; filename=\"" + attachment.getName() + "\"\n\n";
+        int start = message.indexOf(marker) + marker.length();
+        int end = message.indexOf("\n\n", start);
+        String encoded = message.substring(start, end).replace("\n", "");
+        assertArrayEquals(payload, Base64.getDecoder().decode(encoded));
+    }
+
+    @Test
+    public void staleSession_isReplacedTransparently() throws Exception {
+        // 첫 메시지 후 서버가 연결을 끊음 (유휴 타임아웃 흉내)
+        server = new FakeSmtpServer(false, 1);
+        SmtpTransport transport = new SmtpTransport(2, 60_000L, 100, 2_000);
+
+        assertTrue(transport.send(config(), new SmtpTransport.Message("a@example.com", "s", "one", null)));
+        assertTrue(transport.send(config(), new SmtpTransport.Message("b@example.com", "s", "two", null)));
+        transport.closeAll();
+
+        assertEquals(2, server.connections.get());
+        assertEquals(2, server.messages.size());
+    }
+
+    @Test
+    public void rejectedRecipient_returnsFalseAndKeepsSession() throws Exception {
+        server = new FakeSmtpServer(true, Integer.MAX_VALUE);
+        SmtpTransport transport = new SmtpTransport(2, 60_000L, 100, 2_000);
+
+        assertFalse(transport.send(config(), new SmtpTransport.Message("reject@example.com", "s", "x", null)));
+        assertTrue(transport.send(config(), new SmtpTransport.Message("ok@example.com", "s", "y", null)));
+        transport.closeAll();
+
+        assertEquals(1, server.connections.get());
+        assertEquals(1, server.messages.size());
+    }
+
+    @Test
+    public void connectionLostAfterData_isReportedAsNotRetryable() throws Exception {
+        server = new FakeSmtpServer(false, Integer.MAX_VALUE);
+        SmtpTransport transport = new SmtpTransport(2, 60_000L, 100, 2_000);
+        assertTrue(transport.send(config(), new SmtpTransport.Message("a@example.com", "s", "one", null)));
+
+        // 재사용 세션이라도 본문을 보낸 뒤 끊기면 새 세션으로 다시 보내지 않는다
+        try {
+            transport.send(config(), new SmtpTransport.Message("drop@example.com", "s", "two", null));
+            fail("expected DataStartedException");
+        } catch (SmtpTransport.DataStartedException expected) {
+            // 중복 발송 위험 - 호출자가 재시도하지 않아야 함
+        }
+        transport.closeAll();
+
+        assertEquals(1, server.connections.get());
+        assertEquals(2, server.messages.size());
+    }
+
+    /** 최소한의 SMTP 서버. reject@ 수신자는 550 으로 거절하고, drop@ 메시지는 본문을 받은 뒤 응답 없이 끊는다. */
+    private static class FakeSmtpServer {
+        private final ServerSocket serverSocket;
+        private final boolean pipelining;
+        private final int messagesPerConnection;
+        final AtomicInteger connections = new AtomicInteger();
+        final List<String> commands = Collections.synchronizedList(new ArrayList<String>());
+        final List<String> messages = Collections.synchronizedList(new ArrayList<String>());
+
+        FakeSmtpServer(boolean pipelining, int messagesPerConnection) throws IOException {
+            this.serverSocket = new ServerSocket(0);
+            this.pipelining = pipelining;
+            this.messagesPerConnection = messagesPerConnection;
+            Thread acceptor = new Thread(() -> {
+                while (!serverSocket.isClosed()) {
+                    try {
+                        Socket socket = serverSocket.accept();
+                        connections.incrementAndGet();
+                        Thread handler = new Thread(() -> handle(socket));
+                        handler.setDaemon(true);
+                        handler.start();
+                    } catch (IOException e) {
+                        return;
+                    }
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int getPort() {
+            return serverSocket.getLocalPort();
+        }
+
+        int count(String command) {
+            int n = 0;
+            synchronized (commands) {
+                for (String c : commands) {
+                    if (c.equals(command)) {
+                        n++;
+                    }
+                }
+            }
+            return n;
+        }
+
+        void close() throws IOException {
+            serverSocket.close();
+        }
+
+        private void handle(Socket socket) {
+            try (Socket s = socket) {
+                BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+                OutputStream out = s.getOutputStream();
+                reply(out, "220 fake.smtp ready");
+                int delivered = 0;
+                List<String> pending = new ArrayList<>();
+                String line;
+                while ((line = in.readLine()) != null) {
+                    commands.add(line);
+                    String upper = line.toUpperCase();
+                    if (upper.startsWith("EHLO")) {
+                        reply(out, "250-fake.smtp" + (pipelining ? "\r\n250-PIPELINING" : "") + "\r\n250 8BITMIME");
+                    } else if (upper.equals("AUTH LOGIN")) {
+                        reply(out, "334 VXNlcm5hbWU6");
+                        commands.add(in.readLine());
+                        reply(out, "334 UGFzc3dvcmQ6");
+                        commands.add(in.readLine());
+                        reply(out, "235 ok");
+                    } else if (upper.equals("QUIT")) {
+                        reply(out, "221 bye");
+                        return;
+                    } else if (upper.equals("RSET") || upper.startsWith("MAIL FROM") || upper.startsWith("RCPT TO")) {
+                        pending.add(line);
+                        if (!pipelining) {
+                            reply(out, replyFor(line));
+                            pending.clear();
+                        }
+                    } else if (upper.equals("DATA")) {
+                        boolean rejected = false;
+                        StringBuilder replies = new StringBuilder();
+                        for (String p : pending) {
+                            String r = replyFor(p);
+                            rejected |= r.startsWith("5");
+                            replies.append(r).append("\r\n");
+                        }
+                        pending.clear();
+                        replies.append(rejected ? "554 no valid recipients" : "354 go ahead");
+                        reply(out, replies.toString());
+                        if (rejected) {
+                            continue;
+                        }
+                        StringBuilder message = new StringBuilder();
+                        String dataLine;
+                        while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                            message.append(dataLine).append('\n');
+                        }
+                        messages.add(message.toString());
+                        if (message.indexOf("To: <drop@example.com>") >= 0) {
+                            return;
+                        }
+                        reply(out, "250 queued");
+                        if (++delivered >= messagesPerConnection) {
+                            return;
+                        }
+                    } else {
+                        reply(out, "500 unknown");
+                    }
+                }
+            } catch (IOException ignored) {
+                // 클라이언트 종료
+            }
+        }
+
+        private String replyFor(String command) {
+            return command.toLowerCase().contains("reject@") ? "550 no such user" : "250 ok";
+        }
+
+        private void reply(OutputStream out, String text) throws IOException {
+            out.write((text + "\r\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+}
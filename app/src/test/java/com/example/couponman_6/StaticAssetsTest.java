@@ -0,0 +1,130 @@
+package com.example.couponman_6;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import fi.iki.elonen.NanoHTTPD.IHTTPSession;
+import fi.iki.elonen.NanoHTTPD.Response;
+
+import static org.junit.Assert.*;
+
+/**
+ * 디렉터리에서 읽은 자산으로 ETag/304/gzip 협상 검증.
+ */
+public class StaticAssetsTest {
+
+    private StaticAssets assets;
+    private String script;
+
+    @Before
+    public void setUp() throws Exception {
+        final File base = Files.createTempDirectory("static_assets").toFile();
+        base.deleteOnExit();
+        File root = new File(base, "web");
+        StringBuilder js = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            js.append("function loadCoupons").append(i).append("() { return fetch('/api/coupons'); }\n");
+        }
+        script = js.toString();
+        new File(root, "assets/js").mkdirs();
+        Files.write(new File(root, "assets/js/app.js").toPath(), script.getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(root, "index.html").toPath(), "<html></html>".getBytes(StandardCharsets.UTF_8));
+        Files.write(new File(root, "notes.txt").toPath(), "skip".getBytes(StandardCharsets.UTF_8));
+
+        assets = StaticAssets.load(new StaticAssets.Source() {
+            @Override
+            public String[] list(String path) {
+                String[] names = new File(base, path).list();
+                return names != null ? names : new String[0];
+            }
+
+            @Override
+            public InputStream open(String path) throws IOException {
+                return new FileInputStream(new File(base, path));
+            }
+        }, "web");
+    }
+
+    private static IHTTPSession session(String... headerPairs) {
+        Map<String, String> headers = new HashMap<>();
+        for (int i = 0; i < headerPairs.length; i += 2) {
+            headers.put(headerPairs[i], headerPairs[i + 1]);
+        }
+        return (IHTTPSession) Proxy.newProxyInstance(IHTTPSession.class.getClassLoader(),
+                new Class<?>[]{IHTTPSession.class},
+                (proxy, method, args) -> method.getName().equals("getHeaders") ? headers : null);
+    }
+
+    private static byte[] body(Response response) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        InputStream in = response.getData();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    @Test
+    public void loadsKnownTypesOnly() {
+        assertTrue(assets.contains("web/assets/js/app.js"));
+        assertTrue(assets.contains("web/index.html"));
+        assertFalse(assets.contains("web/notes.txt"));
+    }
+
+    @Test
+    public void gzipIsNegotiatedAndDecodesToOriginal() throws Exception {
+        Response plain = assets.serve(session(), "web/assets/js/app.js");
+        Response gzip = assets.serve(session("accept-encoding", "gzip, deflate, br"), "web/assets/js/app.js");
+
+        assertNull(plain.getHeader("content-encoding"));
+        assertArrayEquals(script.getBytes(StandardCharsets.UTF_8), body(plain));
+        assertEquals("gzip", gzip.getHeader("content-encoding"));
+        assertEquals("Accept-Encoding", gzip.getHeader("vary"));
+        assertNotEquals(plain.getHeader("etag"), gzip.getHeader("etag"));
+
+        byte[] compressed = body(gzip);
+        assertTrue(compressed.length < script.length() / 4);
+        try (InputStream in = new GZIPInputStream(new java.io.ByteArrayInputStream(compressed))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            assertEquals(script, new String(out.toByteArray(), StandardCharsets.UTF_8));
+        }
+        assertNull(assets.serve(session("accept-encoding", "gzip;q=0"), "web/assets/js/app.js")
+                .getHeader("content-encoding"));
+    }
+
+    @Test
+    public void ifNoneMatch_returnsNotModified() {
+        Response first = assets.serve(session("accept-encoding", "gzip"), "web/assets/js/app.js");
+        String etag = first.getHeader("etag");
+
+        Response again = assets.serve(session("accept-encoding", "gzip", "if-none-match", "W/" + etag),
+                "web/assets/js/app.js");
+
+        assertEquals(Response.Status.NOT_MODIFIED, again.getStatus());
+        assertEquals(etag, again.getHeader("etag"));
+        assertEquals(StaticAssets.CACHE_CONTROL_ASSET, again.getHeader("cache-control"));
+        assertEquals(1L, assets.getMetrics().get("notModified"));
+        assertEquals(StaticAssets.CACHE_CONTROL_HTML,
+                assets.serve(session(), "web/index.html").getHeader("cache-control"));
+        assertNull(assets.serve(session(), "web/missing.js"));
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.couponman_6;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * 프레임 코덱과 로컬 에코 서버 상대의 수신/송신/재연결 검증.
+ * 에코 서버는 응답을 여러 프레임으로 나누고 사이에 ping 을 끼운 뒤 한 번의 write 로 붙여 보낸다.
+ */
+public class WebSocketClientTest {
+
+    private ServerSocket serverSocket;
+    private Thread serverThread;
+    private final AtomicInteger accepted = new AtomicInteger();
+    private final BlockingQueue<String> serverReceived = new LinkedBlockingQueue<>();
+    private final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+    /** 첫 연결은 핸드셰이크 직후 서버가 끊는다 (재연결 테스트용) */
+    private volatile boolean dropFirstConnection;
+    private WebSocketClient client;
+
+    @Before
+    public void setUp() throws Exception {
+        serverSocket = new ServerSocket(0);
+        serverThread = new Thread(() -> {
+            while (!serverSocket.isClosed()) {
+                try {
+                    Socket socket = serverSocket.accept();
+                    int index = accepted.incrementAndGet();
+                    new Thread(() -> serveEcho(socket, index)).start();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        });
+        serverThread.start();
+
+        client = new WebSocketClient(Runnable::run);
+        client.setReconnectDelays(50, 200);
+        client.setListener(new WebSocketClient.WebSocketListener() {
+            @Override
+            public void onConnected() {
+                events.add("connected");
+            }
+
+            @Override
+            public void onMessage(String message) {
+                events.add("message:" + message);
+            }
+
+            @Override
+            public void onDisconnected() {
+                events.add("disconnected");
+            }
+
+            @Override
+            public void onError(String error) {
+                events.add("error:" + error);
+            }
+
+            @Override
+            public void onReconnecting(int attempt, long delayMillis) {
+                events.add("reconnecting:" + attempt);
+            }
+        });
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.disconnect();
+        serverSocket.close();
+        serverThread.join(1000);
+    }
+
+    private void serveEcho(Socket socket, int index) {
+        try (Socket s = socket) {
+            InputStream in = new BufferedInputStream(s.getInputStream());
+            OutputStream out = s.getOutputStream();
+            String key = null;
+            StringBuilder line = new StringBuilder();
+            int c;
+            while ((c = in.read()) != -1) {
+                if (c == '\n') {
+                    String header = line.toString().trim();
+                    if (header.isEmpty()) {
+                        break;
+                    }
+                    if (header.toLowerCase().startsWith("sec-websocket-key:")) {
+                        key = header.substring(header.indexOf(':') + 1).trim();
+                    }
+                    line.setLength(0);
+                } else {
+                    line.append((char) c);
+                }
+            }
+            out.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + WebSocketClient.expectedAccept(key) + "\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            if (dropFirstConnection && index == 1) {
+                return;
+            }
+
+            WebSocketFrames.Decoder decoder = new WebSocketFrames.Decoder(in, WebSocketClient.MAX_MESSAGE_BYTES);
+            WebSocketFrames.Frame frame;
+            while ((frame = decoder.next()) != null) {
+                if (frame.opcode == WebSocketFrames.OPCODE_CLOSE) {
+                    out.write(WebSocketFrames.encode(WebSocketFrames.OPCODE_CLOSE, true, frame.payload, null));
+                    return;
+                }
+                if (frame.opcode == WebSocketFrames.OPCODE_PONG) {
+                    serverReceived.add("pong:" + new String(frame.payload, StandardCharsets.UTF_8));
+                    continue;
+                }
+                String text = new String(frame.payload, StandardCharsets.UTF_8);
+                serverReceived.add(text);
+                byte[] payload = frame.payload;
+                int third = payload.length / 3;
+                ByteArrayOutputStream reply = new ByteArrayOutputStream();
+                reply.write(WebSocketFrames.encode(WebSocketFrames.OPCODE_TEXT, false, slice(payload, 0, third), null));
+                reply.write(WebSocketFrames.encode(WebSocketFrames.OPCODE_PING, true,
+                        "hb".getBytes(StandardCharsets.UTF_8), null));
+                reply.write(WebSocketFrames.encode(WebSocketFrames.OPCODE_CONTINUATION, false,
+                        slice(payload, third, 2 * third), null));
+                reply.write(WebSocketFrames.encode(WebSocketFrames.OPCODE_CONTINUATION, true,
+                        slice(payload, 2 * third, payload.length), null));
+                out.write(reply.toByteArray());
+                out.flush();
+            }
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static byte[] slice(byte[] data, int from, int to) {
+        byte[] part = new byte[to - from];
+        System.arraycopy(data, from, part, 0, part.length);
+        return part;
+    }
+
+    private String nextEvent() throws InterruptedException {
+        String event = events.poll(5, TimeUnit.SECONDS);
+        assertNotNull("timed out waiting for event", event);
+        return event;
+    }
+
+    private String url() {
+        return "ws://127.0.0.1:" + serverSocket.getLocalPort() + "/relay?client_id=test&password=secret";
+    }
+
+    @Test
+    public void decoder_handlesExtendedLengthsMaskingAndCoalescedFrames() throws Exception {
+        byte[] large = new byte[70_000];
+        new Random(1).nextBytes(large);
+        byte[] medium = "가".repeat(1000).getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        stream.write(WebSocketFrames.encode(WebSocketFrames.OPCODE_BINARY, true, large, new Random(2)));
+        stream.write(WebSocketFrames.encode(WebSocketFrames.OPCODE_TEXT, true, medium, null));
+        stream.write(WebSocketFrames.encode(WebSocketFrames.OPCODE_TEXT, true, new byte[0], new Random(3)));
+
+        // 한 바이트씩만 돌려주는 스트림으로 읽어도 프레임 경계가 맞아야 한다
+        InputStream trickle = new ByteArrayInputStream(stream.toByteArray()) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+        WebSocketFrames.Decoder decoder = new WebSocketFrames.Decoder(trickle, 1 << 20);
+
+        WebSocketFrames.Frame first = decoder.next();
+        assertEquals(WebSocketFrames.OPCODE_BINARY, first.opcode);
+        assertArrayEquals(large, first.payload);
+        assertArrayEquals(medium, decoder.next().payload);
+        assertEquals(0, decoder.next().payload.length);
+        assertNull(decoder.next());
+
+        WebSocketFrames.Decoder limited = new WebSocketFrames.Decoder(
+                new ByteArrayInputStream(WebSocketFrames.encode(WebSocketFrames.OPCODE_TEXT, true, large, null)), 1024);
+        try {
+            limited.next();
+            fail("expected message too big");
+        } catch (WebSocketFrames.ProtocolException e) {
+            assertEquals(1009, e.closeCode);
+        }
+    }
+
+    @Test
+    public void largeMessage_roundTripsThroughFragmentedReplyAndAnswersPing() throws Exception {
+        client.connect(url());
+        assertEquals("connected", nextEvent());
+        String initial = serverReceived.poll(5, TimeUnit.SECONDS);
+        assertTrue(initial.contains("\"type\": \"message\""));
+        assertTrue(nextEvent().startsWith("message:"));
+        assertEquals("pong:hb", serverReceived.poll(5, TimeUnit.SECONDS));
+
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 4000; i++) {
+            big.append("{\"couponId\":").append(i).append(",\"status\":\"사용가능\"},");
+        }
+        assertTrue(client.sendMessage(big.toString()));
+        assertTrue(client.sendMessage("second"));
+
+        assertTrue("server received big message", big.toString().equals(serverReceived.poll(5, TimeUnit.SECONDS)));
+        // 두 번째 메시지와 첫 응답의 ping 에 대한 pong 은 어느 쪽이 먼저 도착할지 정해져 있지 않다
+        List<String> next = Arrays.asList(serverReceived.poll(5, TimeUnit.SECONDS), serverReceived.poll(5, TimeUnit.SECONDS));
+        assertTrue(next.toString(), next.contains("second") && next.contains("pong:hb"));
+        assertTrue("client received big echo", ("message:" + big).equals(nextEvent()));
+        assertEquals("message:second", nextEvent());
+
+        client.disconnect();
+        assertEquals("disconnected", nextEvent());
+        assertFalse(client.isConnected());
+        assertFalse(client.sendMessage("after close"));
+    }
+
+    @Test
+    public void disconnect_flushesQueuedMessagesBeforeClose() throws Exception {
+        client.connect(url());
+        assertEquals("connected", nextEvent());
+        assertNotNull(serverReceived.poll(5, TimeUnit.SECONDS));
+        assertEquals("pong:hb", serverReceived.poll(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 50; i++) {
+            assertTrue(client.sendMessage("queued-" + i));
+        }
+        client.disconnect();
+
+        // 서버 에코의 ping 에 대한 pong 이 섞여 올 수 있으므로 데이터 메시지만 순서대로 확인
+        for (int i = 0; i < 50; i++) {
+            String received;
+            do {
+                received = serverReceived.poll(5, TimeUnit.SECONDS);
+                assertNotNull("message " + i + " lost on disconnect", received);
+            } while (received.startsWith("pong:"));
+            assertEquals("queued-" + i, received);
+        }
+        assertFalse(client.sendMessage("after close"));
+    }
+
+    @Test
+    public void droppedConnection_reconnectsWithBackoff() throws Exception {
+        dropFirstConnection = true;
+        client.connect(url());
+
+        assertEquals("connected", nextEvent());
+        assertEquals("disconnected", nextEvent());
+        assertEquals("reconnecting:1", nextEvent());
+        assertEquals("connected", nextEvent());
+        assertEquals(2, accepted.get());
+        assertTrue(client.isConnected());
+    }
+
+    @Test
+    public void reconnectDelay_growsExponentiallyWithinCap() {
+        Random random = new Random(7);
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long base = Math.min(60_000L, 1000L << (attempt - 1));
+            long delay = WebSocketClient.reconnectDelay(attempt, 1000, 60_000, random);
+            assertTrue("attempt " + attempt + ": " + delay, delay >= base / 2 && delay <= base);
+        }
+    }
+}
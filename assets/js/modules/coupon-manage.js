@@ -5,8 +5,23 @@
 
 // ========== 쿠폰 관리 관련 함수들 ==========
 
-// 전체 쿠폰 목록 로드
-async function loadAllCoupons() {
+// 쿠폰 목록 페이지 크기
+const COUPON_PAGE_SIZE = 100;
+
+// 다음 페이지 커서 ('더 보기' 에서 사용, 마지막 페이지면 null)
+let couponNextCursor = null;
+
+// 화면의 상태 선택값 → 서버에 저장된 쿠폰 상태
+const COUPON_STATUS_PARAMS = {
+    ACTIVE: '사용 가능',
+    USED: '사용됨',
+    EXPIRED: '만료됨',
+    SUSPENDED: '일시 중지',
+    TERMINATED: '해지됨'
+};
+
+// 쿠폰 목록 로드 (거래처/상태/코드/직원 필터와 통계는 서버에서 처리, append 면 nextCursor 로 다음 페이지를 이어 붙인다)
+async function loadAllCoupons(append = false) {
     if (!currentToken) {
         alert('먼저 로그인해주세요.');
         return;
@@ -15,10 +30,20 @@ async function loadAllCoupons() {
     const serverUrl = document.getElementById('serverUrl').value;
     
     try {
-        console.log('Loading coupons from:', `${serverUrl}/api/coupons`);
-        console.log('Using token:', currentToken ? 'Present' : 'Missing');
-        
-        const response = await fetch(`${serverUrl}/api/coupons`, {
+        const params = new URLSearchParams({ limit: COUPON_PAGE_SIZE });
+        const corporateId = document.getElementById('couponSearchCorporate').value;
+        const status = document.getElementById('couponSearchStatus').value;
+        const couponCode = document.getElementById('couponSearchCode').value.trim();
+        const employeeInfo = document.getElementById('couponSearchEmployee').value.trim();
+        if (corporateId) params.set('corporateId', corporateId);
+        if (status) params.set('status', COUPON_STATUS_PARAMS[status] || status);
+        if (couponCode) params.set('code', couponCode);
+        if (employeeInfo) params.set('employee', employeeInfo);
+        if (append && couponNextCursor) params.set('cursor', couponNextCursor);
+
+        console.log('Loading coupons from:', `${serverUrl}/api/coupons?${params.toString()}`);
+
+        const response = await fetch(`${serverUrl}/api/coupons?${params.toString()}`, {
             method: 'GET',
             headers: {
                 'Authorization': `Bearer ${currentToken}`
@@ -26,25 +51,28 @@ async function loadAllCoupons() {
         });
 
         console.log('Response status:', response.status);
-        console.log('Response headers:', response.headers);
 
         if (!response.ok) {
             throw new Error(`HTTP error! status: ${response.status}`);
         }
 
         const data = await response.json();
-        console.log('Response data:', data);
 
-        if (data.success) {
-            currentCoupons = data.data || [];
-            console.log('Loaded', currentCoupons.length, 'coupons');
-            await loadCorporatesForCouponSearch();
-            updateCouponList(currentCoupons);
-            updateCouponStats(currentCoupons);
-        } else {
+        if (!data.success) {
             console.error('Server returned error:', data);
             alert('쿠폰 목록 로드 실패: ' + (data.message || data.error || 'Unknown error'));
+            return;
         }
+
+        currentCoupons = append ? currentCoupons.concat(data.data || []) : (data.data || []);
+        couponNextCursor = data.hasMore ? data.nextCursor : null;
+        console.log('Loaded', currentCoupons.length, 'coupons');
+        if (!append) {
+            await loadCorporatesForCouponSearch();
+        }
+        updateCouponList(currentCoupons);
+        if (data.summary) updateCouponStats(data.summary);
+        document.getElementById('couponLoadMore').style.display = couponNextCursor ? '' : 'none';
     } catch (error) {
         console.error('쿠폰 목록 로드 오류:', error);
         console.error('Error details:', error.stack);
@@ -70,6 +98,7 @@ async function loadCorporatesForCouponSearch() {
 
         if (data.success) {
             const select = document.getElementById('couponSearchCorporate');
+            const selected = select.value;
             select.innerHTML = '<option value="">전체 거래처</option>';
             
             data.data.forEach(corporate => {
@@ -78,57 +107,16 @@ async function loadCorporatesForCouponSearch() {
                 option.textContent = corporate.name;
                 select.appendChild(option);
             });
+            select.value = selected;
         }
     } catch (error) {
         console.error('거래처 목록 로드 오류:', error);
     }
 }
 
-// 쿠폰 검색
+// 쿠폰 검색 (불러오지 않은 쿠폰도 검색되도록 서버에서 필터링)
 async function searchCoupons() {
-    if (!currentToken) {
-        alert('먼저 로그인해주세요.');
-        return;
-    }
-
-    const corporateId = document.getElementById('couponSearchCorporate').value;
-    const status = document.getElementById('couponSearchStatus').value;
-    const couponCode = document.getElementById('couponSearchCode').value;
-    const employeeInfo = document.getElementById('couponSearchEmployee').value;
-
-    let filteredCoupons = [...currentCoupons];
-
-    // 거래처 필터
-    if (corporateId) {
-        filteredCoupons = filteredCoupons.filter(coupon => 
-            coupon.corporateId == corporateId
-        );
-    }
-
-    // 상태 필터
-    if (status) {
-        filteredCoupons = filteredCoupons.filter(coupon => 
-            coupon.status === status
-        );
-    }
-
-    // 쿠폰 코드 필터
-    if (couponCode) {
-        filteredCoupons = filteredCoupons.filter(coupon => 
-            coupon.fullCouponCode && coupon.fullCouponCode.toLowerCase().includes(couponCode.toLowerCase())
-        );
-    }
-
-    // 직원 정보 필터
-    if (employeeInfo) {
-        filteredCoupons = filteredCoupons.filter(coupon => 
-            (coupon.recipientName && coupon.recipientName.includes(employeeInfo)) ||
-            (coupon.recipientPhone && coupon.recipientPhone.includes(employeeInfo))
-        );
-    }
-
-    updateCouponList(filteredCoupons);
-    updateCouponStats(filteredCoupons);
+    await loadAllCoupons();
 }
 
 // 쿠폰 목록 새로고침
@@ -209,17 +197,13 @@ function getStatusText(status) {
     }
 }
 
-// 쿠폰 통계 업데이트
-function updateCouponStats(coupons) {
-    const total = coupons.length;
-    const active = coupons.filter(c => c.status === 'ACTIVE').length;
-    const used = coupons.filter(c => c.status === 'USED').length;
-    const expired = coupons.filter(c => c.status === 'EXPIRED').length;
-
-    document.getElementById('totalCoupons').textContent = total;
-    document.getElementById('activeCoupons').textContent = active;
-    document.getElementById('usedCoupons').textContent = used;
-    document.getElementById('expiredCoupons').textContent = expired;
+// 쿠폰 통계 업데이트 (서버가 필터 기준으로 집계한 summary 사용)
+function updateCouponStats(summary) {
+    const counts = summary.statusCounts || {};
+    document.getElementById('totalCoupons').textContent = summary.totalCount || 0;
+    document.getElementById('activeCoupons').textContent = counts['사용 가능'] || 0;
+    document.getElementById('usedCoupons').textContent = counts['사용됨'] || 0;
+    document.getElementById('expiredCoupons').textContent = counts['만료됨'] || 0;
 }
 
 // 전체 선택 토글
@@ -346,12 +330,12 @@ function deleteCoupon(couponId) {
     console.log('[DELETE-COUPON] 현재 쿠폰 목록 개수:', currentCoupons ? currentCoupons.length : 'undefined');
     console.log('[DELETE-COUPON] currentCoupons 배열:', currentCoupons);
     
-    const coupon = currentCoupons.find(c => c.couponId === couponId || c.id === couponId);
+    const coupon = currentCoupons.find(c => c.couponId === couponId);
     console.log('[DELETE-COUPON] 찾은 쿠폰:', coupon);
     
     if (!coupon) {
         console.error('[DELETE-COUPON] ❌ 쿠폰을 찾을 수 없습니다!');
-        console.log('[DELETE-COUPON] 쿠폰 검색 조건: couponId === ' + couponId + ' || id === ' + couponId);
+        console.log('[DELETE-COUPON] 쿠폰 검색 조건: couponId === ' + couponId);
         alert('삭제할 쿠폰을 찾을 수 없습니다.');
         return;
     }
@@ -359,13 +343,13 @@ function deleteCoupon(couponId) {
     console.log('[DELETE-COUPON] ✅ 쿠폰을 찾았습니다. 모달에 정보 표시 시작');
     
     // 삭제 확인 모달에 정보 표시
-    document.getElementById('deleteCouponCode').textContent = coupon.fullCouponCode || coupon.code || 'N/A';
+    document.getElementById('deleteCouponCode').textContent = coupon.fullCouponCode || 'N/A';
     document.getElementById('deleteEmployeeName').textContent = coupon.recipientName || 'N/A';
     document.getElementById('deleteCashBalance').textContent = (coupon.cashBalance || 0).toLocaleString();
     document.getElementById('deletePointBalance').textContent = (coupon.pointBalance || 0).toLocaleString();
 
     // 전역 변수에 삭제할 쿠폰 ID 저장
-    window.deletingCouponId = coupon.couponId || coupon.id;
+    window.deletingCouponId = coupon.couponId;
     console.log('[DELETE-COUPON] window.deletingCouponId 설정됨:', window.deletingCouponId);
 
     // 모달 표시
@@ -87,48 +87,35 @@ async function loadCouponsForSend() {
             // API 응답에서 쿠폰 목록은 data.data에 있음
             const coupons = data.data || [];
             
-            // 각 쿠폰에 대해 발송 상태 확인
-            const couponsWithDeliveryStatus = await Promise.all(coupons.map(async (coupon) => {
-                try {
-                    // 발송 이력 조회
-                    const deliveryResponse = await fetch(`${serverUrl}/api/coupon-send/history?couponId=${coupon.couponId}`, {
-                        method: 'GET',
-                        headers: {
-                            'Authorization': `Bearer ${currentToken}`,
-                            'Content-Type': 'application/json; charset=utf-8'
-                        }
-                    });
-                    
-                    const deliveryData = await deliveryResponse.json();
-                    const deliveries = deliveryData.success ? deliveryData.data : [];
-                    
-                    // 발송 유형별 상태 확인
-                    const emailSent = deliveries.some(d => d.type === 'email' && (d.status === 'sent' || d.status === 'delivered'));
-                    const smsSent = deliveries.some(d => d.type === 'sms' && (d.status === 'sent' || d.status === 'delivered'));
-                    const kakaoSent = deliveries.some(d => d.type === 'kakao' && (d.status === 'sent' || d.status === 'delivered'));
-                    
-                    return {
-                        ...coupon,
-                        emailSent,
-                        smsSent,
-                        kakaoSent,
-                        recipientName: coupon.recipientName || '수신자',
-                        recipientPhone: coupon.recipientPhone || '-',
-                        recipientEmail: coupon.recipientEmail || '-'
-                    };
-                } catch (error) {
-                    console.error('발송 기록 조회 오류:', error);
-                    return {
-                        ...coupon,
-                        emailSent: false,
-                        smsSent: false,
-                        kakaoSent: false,
-                        recipientName: coupon.recipientName || '수신자',
-                        recipientPhone: coupon.recipientPhone || '-',
-                        recipientEmail: coupon.recipientEmail || '-'
-                    };
-                }
-            }));
+            // 쿠폰별 최근 발송 상태를 한 번에 조회 (쿠폰마다 history 를 부르지 않음)
+            let latestByCoupon = {};
+            try {
+                const deliveryResponse = await fetch(`${serverUrl}/api/coupon-send/history/latest?corporateId=${corporateId}`, {
+                    method: 'GET',
+                    headers: {
+                        'Authorization': `Bearer ${currentToken}`,
+                        'Content-Type': 'application/json; charset=utf-8'
+                    }
+                });
+                const deliveryData = await deliveryResponse.json();
+                latestByCoupon = deliveryData.success ? (deliveryData.data || {}) : {};
+            } catch (error) {
+                console.error('발송 기록 조회 오류:', error);
+            }
+
+            // 발송 유형별 상태 확인 (해당 유형으로 sent/delivered 된 적이 있으면 발송됨)
+            const couponsWithDeliveryStatus = coupons.map(coupon => {
+                const latest = latestByCoupon[coupon.couponId] || {};
+                return {
+                    ...coupon,
+                    emailSent: !!(latest.email && latest.email.sent),
+                    smsSent: !!(latest.sms && latest.sms.sent),
+                    kakaoSent: !!(latest.kakao && latest.kakao.sent),
+                    recipientName: coupon.recipientName || '수신자',
+                    recipientPhone: coupon.recipientPhone || '-',
+                    recipientEmail: coupon.recipientEmail || '-'
+                };
+            });
 
             // 전역 변수에 저장 (발송 함수에서 사용)
             window.currentCoupons = couponsWithDeliveryStatus;
@@ -211,7 +198,7 @@ function updateCouponSendTable(coupons) {
         `;
 
         row.innerHTML = `
-            <td style="border: 1px solid #e0e0e0; padding: 8px;">${coupon.fullCouponCode || coupon.couponCode || 'N/A'}</td>
+            <td style="border: 1px solid #e0e0e0; padding: 8px;">${coupon.fullCouponCode || 'N/A'}</td>
             <td style="border: 1px solid #e0e0e0; padding: 8px;">${coupon.recipientName || 'N/A'}</td>
             <td style="border: 1px solid #e0e0e0; padding: 8px;">${coupon.recipientPhone || '-'}</td>
             <td style="border: 1px solid #e0e0e0; padding: 8px;">${coupon.recipientEmail || '-'}</td>
@@ -308,6 +295,94 @@ async function checkSmsSettings() {
     }
 }
 
+// 발송 작업 진행 상황 조회 간격 / 최대 대기 시간
+const DELIVERY_JOB_POLL_MS = 2000;
+const DELIVERY_JOB_MAX_WAIT_MS = 120000;
+
+// 발송 API 는 대기열 등록(202)만 하고 jobId 를 돌려주므로, 작업이 끝날 때까지 진행 상황을 조회한다.
+// 끝나면 작업 결과, 최대 대기 시간이 지나면 null
+async function waitForDeliveryJob(jobId) {
+    const serverUrl = document.getElementById('serverUrl').value;
+    const deadline = Date.now() + DELIVERY_JOB_MAX_WAIT_MS;
+    while (Date.now() < deadline) {
+        await new Promise(resolve => setTimeout(resolve, DELIVERY_JOB_POLL_MS));
+        try {
+            const response = await fetch(`${serverUrl}/api/coupon-send/jobs/${encodeURIComponent(jobId)}`, {
+                method: 'GET',
+                headers: {
+                    'Authorization': `Bearer ${currentToken}`
+                }
+            });
+            const data = await response.json();
+            if (data.success && data.done) {
+                return data;
+            }
+        } catch (error) {
+            console.warn(`[DELIVERY-JOB] 진행 상황 조회 실패 - 작업ID: ${jobId}`, error);
+        }
+    }
+    return null;
+}
+
+// 개별 발송: 대기열 등록 후 결과를 기다려 알림 (호출한 쪽은 기다리지 않음)
+async function reportDeliveryJob(jobId, channelName) {
+    const job = jobId ? await waitForDeliveryJob(jobId) : null;
+    loadCouponsForSend(); // 테이블 새로고침
+    if (!job) {
+        alert(`${channelName} 발송이 대기열에 등록되었습니다. 발송은 계속 진행되며 결과는 발송 기록에서 확인할 수 있습니다.`);
+        return;
+    }
+    const failures = job.failures || [];
+    if (failures.length > 0) {
+        alert(`${channelName} 발송 실패: ` + (failures[0].errorMessage || '알 수 없는 오류'));
+    } else {
+        alert(`${channelName} 발송이 완료되었습니다.`);
+    }
+}
+
+// 일괄 발송: 선택한 쿠폰 ID 를 한 번에 등록하고 작업이 끝날 때까지 진행 상황을 조회해 결과를 알린다
+async function sendBulkDelivery(type, channelName, coupons) {
+    const serverUrl = document.getElementById('serverUrl').value;
+    const couponIds = coupons.map(c => c.couponId);
+    const logTag = `[${type.toUpperCase()}-BULK]`;
+
+    try {
+        const response = await fetch(`${serverUrl}/api/coupon-send/bulk`, {
+            method: 'POST',
+            headers: {
+                'Authorization': `Bearer ${currentToken}`,
+                'Content-Type': 'application/json; charset=utf-8'
+            },
+            body: JSON.stringify({ type, couponIds })
+        });
+        const data = await response.json();
+        if (!data.success) {
+            console.error(`${logTag} 일괄 발송 등록 실패:`, data);
+            alert(`${channelName} 일괄 발송 등록 실패: ` + (data.message || '알 수 없는 오류'));
+            return;
+        }
+
+        console.log(`${logTag} 대기열 등록 - 작업ID: ${data.jobId}, 등록: ${data.queued}, 제외: ${data.skipped || 0}`);
+        alert(`${channelName} 발송 대기열 등록: ${data.queued}/${couponIds.length}건` +
+            (data.skipped ? `, ${data.skipped}건 수신정보 없음` : '') +
+            '\n발송이 끝나면 결과를 알려드립니다.');
+        loadCouponsForSend(); // 테이블 새로고침
+
+        const job = data.jobId ? await waitForDeliveryJob(data.jobId) : null;
+        loadCouponsForSend();
+        if (!job) {
+            alert(`${channelName} 일괄 발송이 계속 진행 중입니다. 결과는 발송 기록에서 확인할 수 있습니다.`);
+            return;
+        }
+        const failures = job.failures || [];
+        alert(`${channelName} 일괄 발송 완료: 성공 ${job.total - failures.length}건` +
+            (failures.length > 0 ? `, 실패 ${failures.length}건` : ''));
+    } catch (error) {
+        console.error(`${logTag} 일괄 발송 오류:`, error);
+        alert(`${channelName} 일괄 발송 오류: ` + error.message);
+    }
+}
+
 // 전체 이메일 발송
 async function sendAllEmails() {
     console.log('[EMAIL-BULK] 전체 이메일 발송 시작');
@@ -339,37 +414,8 @@ async function sendAllEmails() {
         return;
     }
     
-    console.log('[EMAIL-BULK] 개별 이메일 발송 시작');
-    let successCount = 0;
-    let errorCount = 0;
-    
-    for (let i = 0; i < unsentCoupons.length; i++) {
-        const coupon = unsentCoupons[i];
-        console.log(`[EMAIL-BULK] 발송 진행 (${i + 1}/${unsentCoupons.length}) - 쿠폰ID: ${coupon.couponId}`);
-        
-        try {
-            const success = await sendIndividualEmail(coupon.couponId, false); // false = 개별 알림 안함
-            if (success) {
-                successCount++;
-                console.log(`[EMAIL-BULK] 발송 성공 - 쿠폰ID: ${coupon.couponId}`);
-            } else {
-                errorCount++;
-                console.error(`[EMAIL-BULK] 발송 실패 - 쿠폰ID: ${coupon.couponId}`);
-            }
-        } catch (error) {
-            errorCount++;
-            console.error(`[EMAIL-BULK] 발송 예외 - 쿠폰ID: ${coupon.couponId}`, error);
-        }
-        
-        // 발송 간격 (서버 부하 방지)
-        if (i < unsentCoupons.length - 1) {
-            await new Promise(resolve => setTimeout(resolve, 100)); // 100ms 간격
-        }
-    }
-    
-    console.log(`[EMAIL-BULK] 전체 발송 완료 - 성공: ${successCount}, 실패: ${errorCount}`);
-    alert(`이메일 발송 완료: ${successCount}/${unsentCoupons.length}건 성공${errorCount > 0 ? `, ${errorCount}건 실패` : ''}`);
-    loadCouponsForSend(); // 테이블 새로고침
+    console.log('[EMAIL-BULK] 일괄 발송 등록');
+    await sendBulkDelivery('email', '이메일', unsentCoupons);
 }
 
 // 전체 SMS 발송
@@ -402,15 +448,8 @@ async function sendAllSMS() {
         return;
     }
     
-    console.log('[SMS-BULK] 개별 SMS 발송 시작');
-    let successCount = 0;
-    for (const coupon of unsentCoupons) {
-        const success = await sendIndividualSMS(coupon.couponId, false); // false = 개별 알림 안함
-        if (success) successCount++;
-    }
-    
-    alert(`SMS 발송 완료: ${successCount}/${unsentCoupons.length}건`);
-    loadCouponsForSend(); // 테이블 새로고침
+    console.log('[SMS-BULK] 일괄 발송 등록');
+    await sendBulkDelivery('sms', 'SMS', unsentCoupons);
 }
 
 // 전체 카카오톡 발송
@@ -443,15 +482,8 @@ async function sendAllKakao() {
         return;
     }
     
-    console.log('[KAKAO-BULK] 개별 카카오톡 발송 시작');
-    let successCount = 0;
-    for (const coupon of unsentCoupons) {
-        const success = await sendIndividualKakao(coupon.couponId, false); // false = 개별 알림 안함
-        if (success) successCount++;
-    }
-    
-    alert(`카카오톡 발송 완료: ${successCount}/${unsentCoupons.length}건`);
-    loadCouponsForSend(); // 테이블 새로고침
+    console.log('[KAKAO-BULK] 일괄 발송 등록');
+    await sendBulkDelivery('kakao', '카카오톡', unsentCoupons);
 }
 
 // 개별 이메일 발송
@@ -492,7 +524,7 @@ async function sendIndividualEmail(couponId, showAlert = true) {
         recipientEmail: coupon.recipientEmail,
         recipientName: coupon.recipientName,
         subject: `[쿠폰 발송] ${coupon.recipientName}님의 쿠폰이 발급되었습니다`,
-        message: `안녕하세요 ${coupon.recipientName}님,\n\n쿠폰이 발급되었습니다.\n쿠폰번호: ${coupon.fullCouponCode || coupon.couponCode || 'N/A'}\n\n감사합니다.`
+        message: `안녕하세요 ${coupon.recipientName}님,\n\n쿠폰이 발급되었습니다.\n쿠폰번호: ${coupon.fullCouponCode || 'N/A'}\n\n감사합니다.`
     };
     console.log(`[EMAIL-SEND] 요청 데이터:`, requestData);
     
@@ -521,7 +553,7 @@ async function sendIndividualEmail(couponId, showAlert = true) {
         console.log(`[EMAIL-SEND] API 응답 데이터:`, data);
         
         if (data.success) {
-            console.log(`[EMAIL-SEND] 이메일 발송 성공 - 쿠폰ID: ${couponId}`);
+            console.log(`[EMAIL-SEND] 이메일 발송 대기열 등록 - 쿠폰ID: ${couponId}, 작업ID: ${data.jobId}`);
             
             // 쿠폰 상태 업데이트 (메모리에서)
             if (coupon) {
@@ -529,10 +561,9 @@ async function sendIndividualEmail(couponId, showAlert = true) {
                 console.log(`[EMAIL-SEND] 쿠폰 상태 업데이트 완료 - emailSent: true`);
             }
             
-            // 개별 발송인 경우에만 테이블 새로고침
+            // 개별 발송인 경우에만 발송 결과를 기다려 알림
             if (showAlert) {
-                loadCouponsForSend(); // 테이블 새로고침
-                alert('이메일 발송이 완료되었습니다.');
+                reportDeliveryJob(data.jobId, '이메일');
             }
             
             return true;
@@ -591,10 +622,9 @@ async function sendIndividualSMS(couponId, showAlert = true) {
                 console.log(`[SMS-SEND] 쿠폰 상태 업데이트 완료 - smsSent: true`);
             }
             
-            // 개별 발송인 경우에만 테이블 새로고침
+            // 개별 발송인 경우에만 발송 결과를 기다려 알림
             if (showAlert) {
-                loadCouponsForSend(); // 테이블 새로고침
-                alert('SMS 발송이 완료되었습니다.');
+                reportDeliveryJob(data.jobId, 'SMS');
             }
             return true;
         } else {
@@ -643,10 +673,9 @@ async function sendIndividualKakao(couponId, showAlert = true) {
                 console.log(`[KAKAO-SEND] 쿠폰 상태 업데이트 완료 - kakaoSent: true`);
             }
             
-            // 개별 발송인 경우에만 테이블 새로고침
+            // 개별 발송인 경우에만 발송 결과를 기다려 알림
             if (showAlert) {
-                loadCouponsForSend(); // 테이블 새로고침
-                alert('카카오톡 발송이 완료되었습니다.');
+                reportDeliveryJob(data.jobId, '카카오톡');
             }
             return true;
         } else {